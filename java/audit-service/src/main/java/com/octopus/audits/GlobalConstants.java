@@ -22,6 +22,8 @@ public final class GlobalConstants {
   public static final String FILTER_QUERY_PARAM = "filter";
   public static final String PAGE_OFFSET_QUERY_PARAM = "page[offset]";
   public static final String PAGE_LIMIT_QUERY_PARAM = "page[limit]";
+  public static final String PAGE_CURSOR_QUERY_PARAM = "page[cursor]";
+  public static final String PAGE_COUNT_QUERY_PARAM = "page[count]";
   public static final String GET_METHOD = "get";
   public static final String POST_METHOD = "post";
   public static final int DEFAULT_PAGE_LIMIT = 30;
@@ -0,0 +1,35 @@
+package com.octopus.audits.application.health;
+
+import com.octopus.audits.infrastructure.repositories.FilterCacheStats;
+import com.octopus.audits.infrastructure.repositories.RsqlFilterCache;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the statistics of the compiled audit filter cache. The cache has no failure state, so it
+ * is always up.
+ */
+@Readiness
+@ApplicationScoped
+public class FilterCacheHealthCheck implements HealthCheck {
+
+  @Inject
+  RsqlFilterCache filterCache;
+
+  @Override
+  public HealthCheckResponse call() {
+    final FilterCacheStats stats = filterCache.getStats();
+    return HealthCheckResponse.named("Audit filter cache")
+        .up()
+        .withData("hits", stats.getHits())
+        .withData("misses", stats.getMisses())
+        .withData("invalid", stats.getInvalid())
+        .withData("evictions", stats.getEvictions())
+        .withData("size", stats.getSize())
+        .withData("capacity", stats.getCapacity())
+        .build();
+  }
+}
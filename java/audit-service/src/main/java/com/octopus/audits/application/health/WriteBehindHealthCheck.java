@@ -0,0 +1,41 @@
+package com.octopus.audits.application.health;
+
+import com.octopus.audits.infrastructure.journal.AuditWriteBehindQueue;
+import com.octopus.audits.infrastructure.journal.WriteBehindStats;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the statistics of the queue writing new audits in the background. The service is not
+ * ready while the queue is full, as new audits are rejected until the waiting audits are written.
+ */
+@Readiness
+@ApplicationScoped
+public class WriteBehindHealthCheck implements HealthCheck {
+
+  @Inject
+  AuditWriteBehindQueue writeBehindQueue;
+
+  @Override
+  public HealthCheckResponse call() {
+    final WriteBehindStats stats = writeBehindQueue.getStats();
+    return HealthCheckResponse.named("Audit write behind queue")
+        .status(stats.getCapacity() == 0 || stats.getQueueDepth() < stats.getCapacity())
+        .withData("enabled", writeBehindQueue.isEnabled())
+        .withData("enqueued", stats.getEnqueued())
+        .withData("committed", stats.getCommitted())
+        .withData("rejected", stats.getRejected())
+        .withData("invalid", stats.getInvalid())
+        .withData("failedBatches", stats.getFailedBatches())
+        .withData("queueDepth", stats.getQueueDepth())
+        .withData("capacity", stats.getCapacity())
+        .withData("batches", stats.getBatches())
+        .withData("lastBatchSize", stats.getLastBatchSize())
+        .withData("lastCommitMillis", stats.getLastCommitMillis())
+        .withData("maxCommitMillis", stats.getMaxCommitMillis())
+        .build();
+  }
+}
@@ -38,6 +38,9 @@ public class AuditResource {
    *
    * @param acceptHeader The "Accept" headers.
    * @param filter       The RSQL query string.
+   * @param pageCursor   The cursor of the page to return. Pages are returned by offset if this is
+   *                     not set.
+   * @param pageCount    Set to "false" to skip counting the total number of matching resources.
    * @return a HTTP response object.
    * @throws DocumentSerializationException Thrown if the entity could not be converted to a JSONAPI resource.
    */
@@ -51,7 +54,9 @@ public class AuditResource {
       @HeaderParam(GlobalConstants.SERVICE_AUTHORIZATION_HEADER) final List<String> serviceAuthorizationHeader,
       @QueryParam(GlobalConstants.FILTER_QUERY_PARAM) final String filter,
       @QueryParam(GlobalConstants.PAGE_OFFSET_QUERY_PARAM) final String pageOffset,
-      @QueryParam(GlobalConstants.PAGE_LIMIT_QUERY_PARAM) final String pageLimit)
+      @QueryParam(GlobalConstants.PAGE_LIMIT_QUERY_PARAM) final String pageLimit,
+      @QueryParam(GlobalConstants.PAGE_CURSOR_QUERY_PARAM) final String pageCursor,
+      @QueryParam(GlobalConstants.PAGE_COUNT_QUERY_PARAM) final String pageCount)
       throws DocumentSerializationException {
     acceptHeaderVerifier.checkAcceptHeader(acceptHeader);
     return Response.ok(auditsHandler.getAll(
@@ -59,13 +64,16 @@ public class AuditResource {
             filter,
             pageOffset,
             pageLimit,
+            pageCursor,
+            pageCount,
             authorizationHeader.stream().findFirst().orElse(null),
             serviceAuthorizationHeader.stream().findFirst().orElse(null)))
         .build();
   }
 
   /**
-   * The resource creation endpoint.
+   * The resource creation endpoint. When audits are written in the background, the response is a
+   * 202 Accepted once the audit has been journaled.
    *
    * @param document     The JSONAPI resource to create.
    * @param acceptHeader The "Accept" headers.
@@ -84,6 +92,16 @@ public class AuditResource {
       @HeaderParam(GlobalConstants.SERVICE_AUTHORIZATION_HEADER) final List<String> serviceAuthorizationHeader)
       throws DocumentSerializationException {
     acceptHeaderVerifier.checkAcceptHeader(acceptHeader);
+
+    if (auditsHandler.isWriteBehindEnabled()) {
+      return Response.accepted(auditsHandler.enqueue(
+              document,
+              dataPartitionHeaders,
+              authorizationHeader.stream().findFirst().orElse(null),
+              serviceAuthorizationHeader.stream().findFirst().orElse(null)))
+          .build();
+    }
+
     return Response.ok(auditsHandler.create(
             document,
             dataPartitionHeaders,
@@ -92,6 +110,36 @@ public class AuditResource {
         .build();
   }
 
+  /**
+   * The bulk resource creation endpoint, which accepts a JSONAPI document whose data is an array of
+   * resources.
+   *
+   * @param document     The JSONAPI document holding the resources to create.
+   * @param acceptHeader The "Accept" headers.
+   * @return An HTTP response object with the created resources.
+   * @throws DocumentSerializationException Thrown if the entities could not be converted to a JSONAPI document.
+   */
+  @POST
+  @Consumes(GlobalConstants.JSONAPI_CONTENT_TYPE)
+  @Produces(GlobalConstants.JSONAPI_CONTENT_TYPE)
+  @Path("batch")
+  @Transactional
+  public Response createAll(
+      final String document,
+      @HeaderParam(GlobalConstants.ACCEPT) final List<String> acceptHeader,
+      @HeaderParam(GlobalConstants.DATA_PARTITION_HEADER) final List<String> dataPartitionHeaders,
+      @HeaderParam(GlobalConstants.AUTHORIZATION_HEADER) final List<String> authorizationHeader,
+      @HeaderParam(GlobalConstants.SERVICE_AUTHORIZATION_HEADER) final List<String> serviceAuthorizationHeader)
+      throws DocumentSerializationException {
+    acceptHeaderVerifier.checkAcceptHeader(acceptHeader);
+    return Response.ok(auditsHandler.createAll(
+            document,
+            dataPartitionHeaders,
+            authorizationHeader.stream().findFirst().orElse(null),
+            serviceAuthorizationHeader.stream().findFirst().orElse(null)))
+        .build();
+  }
+
   /**
    * The individual resource endpoint.
    *
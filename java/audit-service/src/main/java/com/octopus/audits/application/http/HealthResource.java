@@ -45,6 +45,20 @@ public class HealthResource {
     return Response.ok(healthHandler.getHealth("/health/audits", "POST")).build();
   }
 
+  /**
+   * The health check.
+   *
+   * @return a HTTP response object.
+   * @throws DocumentSerializationException Thrown if the entity could not be converted to a JSONAPI
+   *     resource.
+   */
+  @GET()
+  @Path("batch/POST")
+  @Transactional
+  public Response healthBatchPost() throws DocumentSerializationException {
+    return Response.ok(healthHandler.getHealth("/health/audits/batch", "POST")).build();
+  }
+
   /**
    * The health check.
    *
@@ -31,11 +31,13 @@ public class AuditApi implements RequestHandler<APIGatewayProxyRequestEvent, Pro
 
   /** A regular expression matching the collection of entities. */
   public static final Pattern ROOT_RE = Pattern.compile("/api/audits/?");
+  /** A regular expression matching the bulk creation of entities. */
+  public static final Pattern BATCH_RE = Pattern.compile("/api/audits/batch/?");
   /** A regular expression matching a single entity. */
   public static final Pattern INDIVIDUAL_RE = Pattern.compile("/api/audits/(?<id>\\d+)");
   /** A regular expression matching a health endpoint. */
   public static final Pattern HEALTH_RE =
-      Pattern.compile("/health/audits/(GET|POST|[A-Za-z0-9]+/(GET|DELETE|PATCH))");
+      Pattern.compile("/health/audits/(GET|POST|batch/POST|[A-Za-z0-9]+/(GET|DELETE|PATCH))");
 
   @Inject
   AuditsHandler auditsHandler;
@@ -69,6 +71,7 @@ public class AuditApi implements RequestHandler<APIGatewayProxyRequestEvent, Pro
     return getAll(input)
         .or(() -> getOne(input))
         .or(() -> createOne(input))
+        .or(() -> createAll(input))
         .or(() -> checkHealth(input))
         .orElse(ProxyResponseBuilder.buildNotFound());
   }
@@ -138,12 +141,14 @@ public class AuditApi implements RequestHandler<APIGatewayProxyRequestEvent, Pro
                     lambdaHttpValueExtractor.getQueryParam(input, GlobalConstants.FILTER_QUERY_PARAM).orElse(null),
                     lambdaHttpValueExtractor.getQueryParam(input, GlobalConstants.PAGE_OFFSET_QUERY_PARAM).orElse(null),
                     lambdaHttpValueExtractor.getQueryParam(input, GlobalConstants.PAGE_LIMIT_QUERY_PARAM).orElse(null),
+                    lambdaHttpValueExtractor.getQueryParam(input, GlobalConstants.PAGE_CURSOR_QUERY_PARAM).orElse(null),
+                    lambdaHttpValueExtractor.getQueryParam(input, GlobalConstants.PAGE_COUNT_QUERY_PARAM).orElse(null),
                     lambdaHttpHeaderExtractor.getFirstHeader(input, GlobalConstants.AUTHORIZATION_HEADER).orElse(null),
                     lambdaHttpHeaderExtractor.getFirstHeader(input, GlobalConstants.SERVICE_AUTHORIZATION_HEADER).orElse(null))));
       }
     } catch (final Unauthorized e) {
       return Optional.of(ProxyResponseBuilder.buildUnauthorizedRequest(e));
-    } catch (final RSQLParserException e) {
+    } catch (final RSQLParserException | InvalidInput e) {
       return Optional.of(ProxyResponseBuilder.buildBadRequest(e));
     } catch (final Exception e) {
       e.printStackTrace();
@@ -219,6 +224,36 @@ public class AuditApi implements RequestHandler<APIGatewayProxyRequestEvent, Pro
     return Optional.empty();
   }
 
+  /**
+   * Create a collection of audits.
+   *
+   * @param input The Lambda request.
+   * @return The Lambda response.
+   */
+  private Optional<ProxyResponse> createAll(final APIGatewayProxyRequestEvent input) {
+    try {
+      if (requestIsMatch(input, BATCH_RE, GlobalConstants.POST_METHOD)) {
+        return Optional.of(
+            new ProxyResponse(
+                "200",
+                auditsHandler.createAll(
+                    getBody(input),
+                    lambdaHttpHeaderExtractor.getAllHeaders(input, GlobalConstants.DATA_PARTITION_HEADER),
+                    lambdaHttpHeaderExtractor.getFirstHeader(input, GlobalConstants.AUTHORIZATION_HEADER).orElse(null),
+                    lambdaHttpHeaderExtractor.getFirstHeader(input, GlobalConstants.SERVICE_AUTHORIZATION_HEADER).orElse(null))));
+      }
+    } catch (final Unauthorized e) {
+      return Optional.of(ProxyResponseBuilder.buildUnauthorizedRequest(e));
+    } catch (final InvalidInput e) {
+      return Optional.of(ProxyResponseBuilder.buildBadRequest(e));
+    } catch (final Exception e) {
+      e.printStackTrace();
+      return Optional.of(ProxyResponseBuilder.buildError(e, getBody(input)));
+    }
+
+    return Optional.empty();
+  }
+
   /**
    * Determine if the Lambda request matches path and method.
    *
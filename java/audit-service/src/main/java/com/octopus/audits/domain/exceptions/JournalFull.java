@@ -0,0 +1,8 @@
+package com.octopus.audits.domain.exceptions;
+
+/** The exception thrown when too many audits are waiting to be written to the data store. */
+public class JournalFull extends RuntimeException {
+  public JournalFull() {
+    super("Too many audits are waiting to be saved");
+  }
+}
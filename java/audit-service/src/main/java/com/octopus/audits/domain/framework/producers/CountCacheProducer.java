@@ -0,0 +1,36 @@
+package com.octopus.audits.domain.framework.producers;
+
+import com.octopus.audits.infrastructure.repositories.TotalCountCache;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Produces the cache of collection counts.
+ */
+@ApplicationScoped
+public class CountCacheProducer {
+
+  @ConfigProperty(name = "audit.count.cache-ttl-seconds", defaultValue = "30")
+  long cacheTtlSeconds;
+
+  @ConfigProperty(name = "audit.count.cache-max-entries", defaultValue = "1000")
+  int cacheMaxEntries;
+
+  /**
+   * Produces the cache of collection counts, which is used by the "cached" and "estimated" count
+   * strategies. It is a singleton rather than application scoped, so the cache class does not need
+   * a client proxy.
+   *
+   * @return The count cache.
+   */
+  @Singleton
+  @Produces
+  public TotalCountCache getTotalCountCache() {
+    return TotalCountCache.builder()
+        .ttlMillis(cacheTtlSeconds * 1000)
+        .maxEntries(cacheMaxEntries)
+        .build();
+  }
+}
@@ -0,0 +1,33 @@
+package com.octopus.audits.domain.framework.producers;
+
+import com.octopus.audits.infrastructure.repositories.CustomizedArgumentParser;
+import com.octopus.audits.infrastructure.repositories.RsqlFilterCache;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Produces the cache of compiled RSQL filters.
+ */
+@ApplicationScoped
+public class FilterCacheProducer {
+
+  @ConfigProperty(name = "audit.filter-cache.max-entries", defaultValue = "500")
+  int maxEntries;
+
+  /**
+   * Produces the cache of compiled audit filters. It is a singleton rather than application
+   * scoped, so the cache class does not need a client proxy.
+   *
+   * @return The filter cache.
+   */
+  @Singleton
+  @Produces
+  public RsqlFilterCache getRsqlFilterCache() {
+    return RsqlFilterCache.builder()
+        .maxEntries(maxEntries)
+        .argumentParser(new CustomizedArgumentParser())
+        .build();
+  }
+}
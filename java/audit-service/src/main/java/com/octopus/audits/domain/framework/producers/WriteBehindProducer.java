@@ -0,0 +1,88 @@
+package com.octopus.audits.domain.framework.producers;
+
+import com.octopus.audits.infrastructure.journal.AuditWriteBehindQueue;
+import com.octopus.audits.infrastructure.journal.impl.DisabledAuditWriteBehindQueue;
+import com.octopus.audits.infrastructure.journal.impl.JournaledAuditWriteBehindQueue;
+import com.octopus.audits.infrastructure.repositories.AuditRepository;
+import io.quarkus.runtime.Startup;
+import java.nio.file.Paths;
+import java.util.Optional;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Produces the queue used to write new audits in the background.
+ */
+@ApplicationScoped
+public class WriteBehindProducer {
+
+  @ConfigProperty(name = "audit.write-behind.enabled", defaultValue = "false")
+  boolean writeBehindEnabled;
+
+  @ConfigProperty(name = "audit.write-behind.journal-directory", defaultValue = "audit-journal")
+  String journalDirectory;
+
+  @ConfigProperty(name = "audit.write-behind.batch-size", defaultValue = "50")
+  int batchSize;
+
+  @ConfigProperty(name = "audit.write-behind.max-latency-millis", defaultValue = "200")
+  long maxLatencyMillis;
+
+  @ConfigProperty(name = "audit.write-behind.max-pending", defaultValue = "10000")
+  int maxPending;
+
+  @ConfigProperty(name = "audit.write-behind.retry-delay-millis", defaultValue = "5000")
+  long retryDelayMillis;
+
+  @ConfigProperty(name = "audit.write-behind.compact-bytes", defaultValue = "16777216")
+  long compactBytes;
+
+  @ConfigProperty(name = "audit.write-behind.shutdown-timeout-millis", defaultValue = "10000")
+  long shutdownTimeoutMillis;
+
+  @ConfigProperty(name = "AWS_LAMBDA_FUNCTION_NAME")
+  Optional<String> lambdaFunctionName;
+
+  @Inject
+  AuditRepository auditRepository;
+
+  /**
+   * Produces the write behind queue. The queue is created at startup so any journaled audits are
+   * replayed straight away. A Lambda is frozen as soon as it returns a response, and its file
+   * system does not outlive it, so Lambdas always save audits directly.
+   *
+   * @return An implementation of AuditWriteBehindQueue.
+   */
+  @ApplicationScoped
+  @Produces
+  @Startup
+  public AuditWriteBehindQueue getWriteBehindQueue() {
+    if (!writeBehindEnabled || lambdaFunctionName.filter(StringUtils::isNotBlank).isPresent()) {
+      return new DisabledAuditWriteBehindQueue();
+    }
+
+    return JournaledAuditWriteBehindQueue.builder()
+        .journalDirectory(Paths.get(journalDirectory))
+        .batchWriter(auditRepository::saveAll)
+        .batchSize(batchSize)
+        .maxLatencyMillis(maxLatencyMillis)
+        .maxPending(maxPending)
+        .retryDelayMillis(retryDelayMillis)
+        .compactBytes(compactBytes)
+        .shutdownTimeoutMillis(shutdownTimeoutMillis)
+        .build();
+  }
+
+  /**
+   * Writes the waiting audits before the application shuts down.
+   *
+   * @param writeBehindQueue The queue to close.
+   */
+  public void closeWriteBehindQueue(@Disposes final AuditWriteBehindQueue writeBehindQueue) {
+    writeBehindQueue.close();
+  }
+}
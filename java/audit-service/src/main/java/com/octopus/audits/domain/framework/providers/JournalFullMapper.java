@@ -0,0 +1,23 @@
+package com.octopus.audits.domain.framework.providers;
+
+import com.octopus.audits.domain.exceptions.JournalFull;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+import lombok.NonNull;
+
+/**
+ * Converts a JournalFull exception to a HTTP response asking the client to try again later.
+ */
+@Provider
+public class JournalFullMapper implements ExceptionMapper<JournalFull> {
+
+  @Override
+  public Response toResponse(@NonNull final JournalFull exception) {
+    return Response.status(Status.SERVICE_UNAVAILABLE.getStatusCode(), exception.getMessage())
+        .header(HttpHeaders.RETRY_AFTER, "5")
+        .build();
+  }
+}
@@ -15,7 +15,9 @@ import com.octopus.audits.domain.utilities.JwtUtils;
 import com.octopus.audits.domain.utilities.PartitionIdentifier;
 import com.octopus.audits.domain.utilities.impl.JoseJwtVerifier;
 import com.octopus.audits.domain.wrappers.FilteredResultWrapper;
+import com.octopus.audits.infrastructure.journal.AuditWriteBehindQueue;
 import com.octopus.audits.infrastructure.repositories.AuditRepository;
+import cz.jirutka.rsql.parser.RSQLParserException;
 import dev.failsafe.Failsafe;
 import dev.failsafe.RetryPolicy;
 import io.vavr.control.Try;
@@ -50,6 +52,7 @@ public class AuditsHandler {
   private static final RetryPolicy<FilteredResultWrapper<Audit>> RETRY_POLICY_GET_ALL = RetryPolicy
       .<FilteredResultWrapper<Audit>>builder()
       .handle(Exception.class)
+      .abortOn(InvalidInput.class, RSQLParserException.class)
       .withDelay(Duration.ofSeconds(5))
       .withMaxRetries(3)
       .build();
@@ -76,6 +79,21 @@ public class AuditsHandler {
       .withMaxRetries(24)
       .build();
 
+  /**
+   * The retry policy for bulk creation requests, which retries for the same 2 minutes as a single
+   * record.
+   */
+  private static final RetryPolicy<List<Audit>> RETRY_POLICY_CREATE_ALL = RetryPolicy
+      .<List<Audit>>builder()
+      .handle(Exception.class)
+      .abortOn(InvalidInput.class)
+      .withDelay(Duration.ofSeconds(5))
+      .withMaxRetries(24)
+      .build();
+
+  @ConfigProperty(name = "audit.bulk.max-records", defaultValue = "500")
+  int bulkMaxRecords;
+
   @ConfigProperty(name = "cognito.admin-claim")
   String cognitoAdminClaim;
 
@@ -106,6 +124,9 @@ public class AuditsHandler {
   @Inject
   UntrustedActions untrustedActions;
 
+  @Inject
+  AuditWriteBehindQueue writeBehindQueue;
+
   /**
    * Returns all matching resources.
    *
@@ -121,6 +142,32 @@ public class AuditsHandler {
       final String authorizationHeader,
       final String serviceAuthorizationHeader)
       throws DocumentSerializationException {
+    return getAll(dataPartitionHeaders, filterParam, pageOffset, pageLimit, null, null,
+        authorizationHeader, serviceAuthorizationHeader);
+  }
+
+  /**
+   * Returns all matching resources, paged with either an offset or a cursor, and optionally
+   * without counting the total number of matching resources.
+   *
+   * @param dataPartitionHeaders The "data-partition" headers.
+   * @param filterParam          The filter query param.
+   * @param pageCursor           The page cursor query param. If this is not null, the offset is
+   *                             ignored, and an empty cursor returns the first page.
+   * @param pageCount            The page count query param. Set this to "false" to skip counting
+   *                             the total number of matching resources.
+   * @return All matching resources
+   * @throws DocumentSerializationException Thrown if the entity could not be converted to a JSONAPI resource.
+   */
+  public String getAll(@NonNull final List<String> dataPartitionHeaders,
+      final String filterParam,
+      final String pageOffset,
+      final String pageLimit,
+      final String pageCursor,
+      final String pageCount,
+      final String authorizationHeader,
+      final String serviceAuthorizationHeader)
+      throws DocumentSerializationException {
     if (!isAuthorized(authorizationHeader, serviceAuthorizationHeader)) {
       throw new Unauthorized();
     }
@@ -135,13 +182,19 @@ public class AuditsHandler {
             List.of(Constants.DEFAULT_PARTITION, partition),
             filterParam,
             pageOffset,
-            pageLimit)
+            pageLimit,
+            pageCursor,
+            !"false".equalsIgnoreCase(StringUtils.trim(pageCount)))
     );
 
     final JSONAPIDocument<List<Audit>> document = new JSONAPIDocument<List<Audit>>(
         audits.getList());
 
-    PagedResultsLinksBuilder.generatePageLinks(document, pageLimit, pageOffset, audits);
+    if (pageCursor == null) {
+      PagedResultsLinksBuilder.generatePageLinks(document, pageLimit, pageOffset, audits);
+    } else {
+      PagedResultsLinksBuilder.generateCursorPageLinks(document, pageLimit, audits);
+    }
 
     final byte[] content = resourceConverter.writeDocumentCollection(document);
     return new String(content);
@@ -162,20 +215,97 @@ public class AuditsHandler {
       final String serviceAuthorizationHeader)
       throws DocumentSerializationException {
 
-    final Audit audit = getResourceFromDocument(document);
+    final Audit audit = getAuthorizedResource(
+        document,
+        dataPartitionHeaders,
+        authorizationHeader,
+        serviceAuthorizationHeader);
 
-    if (!(untrustedActions.getUntrustedActions().contains(audit.getAction())
+    Failsafe.with(RETRY_POLICY_CREATE_ONE).run(() -> auditRepository.save(audit));
+
+    return respondWithResource(audit);
+  }
+
+  /**
+   * Indicates if new resources are written in the background, in which case they are created with
+   * enqueue() rather than create().
+   *
+   * @return true if new resources are written in the background.
+   */
+  public boolean isWriteBehindEnabled() {
+    return writeBehindQueue.isEnabled();
+  }
+
+  /**
+   * Validates a new resource, and enqueues it to be written in the background. The returned
+   * resource has no ID, as the ID is assigned when the resource is written.
+   *
+   * @param document             The JSONAPI resource to create.
+   * @param dataPartitionHeaders The "Data-Partition" headers.
+   * @return The accepted resource
+   * @throws DocumentSerializationException Thrown if the entity could not be converted to a JSONAPI resource.
+   */
+  public String enqueue(
+      @NonNull final String document,
+      @NonNull final List<String> dataPartitionHeaders,
+      final String authorizationHeader,
+      final String serviceAuthorizationHeader)
+      throws DocumentSerializationException {
+
+    final Audit audit = getAuthorizedResource(
+        document,
+        dataPartitionHeaders,
+        authorizationHeader,
+        serviceAuthorizationHeader);
+
+    auditRepository.validateEntity(audit);
+
+    // The background writer assigns the ID to the enqueued audit, so the response is serialized
+    // before the audit is handed over
+    final String response = respondWithResource(audit);
+    writeBehindQueue.enqueue(audit);
+    return response;
+  }
+
+  /**
+   * Creates a collection of new resources. All the resources are validated before any are saved,
+   * so either all the resources are created, or none are.
+   *
+   * @param document             The JSONAPI document holding the array of resources to create.
+   * @param dataPartitionHeaders The "Data-Partition" headers.
+   * @return The newly created resources
+   * @throws DocumentSerializationException Thrown if the entities could not be converted to a JSONAPI document.
+   */
+  public String createAll(
+      @NonNull final String document,
+      @NonNull final List<String> dataPartitionHeaders,
+      final String authorizationHeader,
+      final String serviceAuthorizationHeader)
+      throws DocumentSerializationException {
+
+    final List<Audit> audits = getResourcesFromDocument(document);
+
+    if (audits.isEmpty()) {
+      throw new InvalidInput("At least one audit must be supplied");
+    }
+
+    if (audits.size() > bulkMaxRecords) {
+      throw new InvalidInput("No more than " + bulkMaxRecords + " audits can be created at once");
+    }
+
+    if (!(audits.stream().allMatch(a -> untrustedActions.getUntrustedActions().contains(a.getAction()))
         || isAuthorized(authorizationHeader, serviceAuthorizationHeader))) {
       throw new Unauthorized();
     }
 
-    audit.dataPartition = partitionIdentifier.getPartition(
+    final String partition = partitionIdentifier.getPartition(
         dataPartitionHeaders,
         jwtUtils.getJwtFromAuthorizationHeader(authorizationHeader).orElse(null));
+    audits.forEach(a -> a.dataPartition = partition);
 
-    Failsafe.with(RETRY_POLICY_CREATE_ONE).run(() -> auditRepository.save(audit));
+    Failsafe.with(RETRY_POLICY_CREATE_ALL).get(() -> auditRepository.saveAll(audits));
 
-    return respondWithResource(audit);
+    return new String(resourceConverter.writeDocumentCollection(new JSONAPIDocument<>(audits)));
   }
 
   /**
@@ -213,6 +343,24 @@ public class AuditsHandler {
     throw new EntityNotFound();
   }
 
+  private Audit getAuthorizedResource(
+      final String document,
+      final List<String> dataPartitionHeaders,
+      final String authorizationHeader,
+      final String serviceAuthorizationHeader) {
+    final Audit audit = getResourceFromDocument(document);
+
+    if (!(untrustedActions.getUntrustedActions().contains(audit.getAction())
+        || isAuthorized(authorizationHeader, serviceAuthorizationHeader))) {
+      throw new Unauthorized();
+    }
+
+    audit.dataPartition = partitionIdentifier.getPartition(
+        dataPartitionHeaders,
+        jwtUtils.getJwtFromAuthorizationHeader(authorizationHeader).orElse(null));
+    return audit;
+  }
+
   private Audit getResourceFromDocument(final String document) {
     try {
       final JSONAPIDocument<Audit> resourceDocument =
@@ -231,6 +379,24 @@ public class AuditsHandler {
     }
   }
 
+  private List<Audit> getResourcesFromDocument(final String document) {
+    try {
+      final JSONAPIDocument<List<Audit>> resourceDocument =
+          resourceConverter.readDocumentCollection(
+              document.getBytes(StandardCharsets.UTF_8), Audit.class);
+      final List<Audit> audits = resourceDocument.get();
+      // As with a single audit, the ID and partition are never supplied by the client.
+      audits.forEach(a -> {
+        a.id = null;
+        a.dataPartition = null;
+      });
+      return audits;
+    } catch (final Exception ex) {
+      // Assume the JSON is unable to be parsed.
+      throw new InvalidInput();
+    }
+  }
+
   private String respondWithResource(final Audit audit)
       throws DocumentSerializationException {
     final JSONAPIDocument<Audit> document = new JSONAPIDocument<Audit>(audit);
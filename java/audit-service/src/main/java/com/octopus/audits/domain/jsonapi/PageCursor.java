@@ -0,0 +1,63 @@
+package com.octopus.audits.domain.jsonapi;
+
+import com.octopus.audits.domain.entities.Audit;
+import com.octopus.audits.domain.exceptions.InvalidInput;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * The position of the last audit in a page of audits sorted by time and ID. Clients treat the
+ * encoded cursor as an opaque value, and send it back to get the page of audits that follow it.
+ */
+@Value
+public class PageCursor {
+
+  private static final String SEPARATOR = "|";
+
+  Timestamp time;
+  int id;
+
+  /**
+   * Creates the cursor pointing at an audit.
+   *
+   * @param audit The last audit in a page.
+   * @return The cursor of the audit.
+   */
+  public static PageCursor of(@NonNull final Audit audit) {
+    return new PageCursor(audit.getTime(), audit.getId());
+  }
+
+  /**
+   * Decodes a cursor sent by a client.
+   *
+   * @param cursor The encoded cursor.
+   * @return The decoded cursor.
+   * @throws InvalidInput Thrown if the cursor is not valid.
+   */
+  public static PageCursor decode(@NonNull final String cursor) {
+    try {
+      final String decoded = new String(Base64.getUrlDecoder().decode(cursor),
+          StandardCharsets.UTF_8);
+      final int separator = decoded.lastIndexOf(SEPARATOR);
+      return new PageCursor(
+          Timestamp.from(Instant.parse(decoded.substring(0, separator))),
+          Integer.parseInt(decoded.substring(separator + 1)));
+    } catch (final Exception ex) {
+      throw new InvalidInput("The page cursor is not valid");
+    }
+  }
+
+  /**
+   * Encodes the cursor to be sent to a client.
+   *
+   * @return The encoded cursor, which is safe to include in a URL.
+   */
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(
+        (time.toInstant() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -4,9 +4,11 @@ import com.github.jasminb.jsonapi.JSONAPIDocument;
 import com.github.jasminb.jsonapi.Link;
 import com.google.common.collect.ImmutableMap;
 import com.octopus.audits.GlobalConstants;
+import com.octopus.audits.domain.wrappers.CountKind;
 import com.octopus.audits.domain.wrappers.FilteredResultWrapper;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import lombok.NonNull;
 import org.apache.commons.lang3.math.NumberUtils;
 
@@ -16,7 +18,8 @@ import org.apache.commons.lang3.math.NumberUtils;
 public class PagedResultsLinksBuilder {
 
   /**
-   * Generate the links field for a JSON API collection.
+   * Generate the links field for a JSON API collection. If the results were not counted exactly,
+   * there is no "last" link, as a cached or estimated count may not match the results.
    *
    * @param document The document containing the filtered list.
    * @param pageLimit The request page limit.
@@ -31,28 +34,96 @@ public class PagedResultsLinksBuilder {
       @NonNull final FilteredResultWrapper<T> resources) {
     final int pageLimitParsed = NumberUtils.toInt(pageLimit, GlobalConstants.DEFAULT_PAGE_LIMIT);
     final int pageOffsetParsed = NumberUtils.toInt(pageOffset, GlobalConstants.DEFAULT_PAGE_OFFSET);
-    final long lastOffset = Math.max(resources.getCount() - pageLimitParsed, 0);
+    final Map<String, Object> linkMeta = buildLinkMeta(resources);
+    final String countParam = countParam(resources);
 
-    // See https://jsonapi.org/format/#document-links for an example of link metadata including a count
-    final Map<String, Long> linkMeta = new ImmutableMap.Builder<String, Long>()
-        .put("total",  resources.getCount())
-        .build();
+    document.addLink("first", new Link("/api/audits?page[offset]=0&page[limit]=" + pageLimitParsed + countParam, linkMeta));
+
+    if (isExactCount(resources)) {
+      final long lastOffset = Math.max(resources.getCount() - pageLimitParsed, 0);
 
-    document.addLink("first", new Link("/api/audits?page[offset]=0&page[limit]=" + pageLimitParsed, linkMeta));
-    document.addLink("last", new Link("/api/audits?page[offset]=" + lastOffset + "&page[limit]=" + pageLimitParsed, linkMeta));
+      document.addLink("last", new Link("/api/audits?page[offset]=" + lastOffset + "&page[limit]=" + pageLimitParsed, linkMeta));
 
-    if (lastOffset > pageOffsetParsed) {
+      if (lastOffset > pageOffsetParsed) {
+        document.addLink("next", new Link(
+            "/api/audits?page[offset]=" + Math.min(resources.getCount() - pageLimitParsed, pageOffsetParsed + pageLimitParsed) + "&page[limit]="
+                + pageLimit,
+            linkMeta));
+      }
+    } else if (resources.getList().size() >= pageLimitParsed) {
+      // Without an exact count, a full page is the only hint there may be another one
       document.addLink("next", new Link(
-          "/api/audits?page[offset]=" + Math.min(resources.getCount() - pageLimitParsed, pageOffsetParsed + pageLimitParsed) + "&page[limit]="
-              + pageLimit,
+          "/api/audits?page[offset]=" + (pageOffsetParsed + pageLimitParsed) + "&page[limit]="
+              + pageLimitParsed + countParam,
           linkMeta));
     }
 
     if (pageOffsetParsed > 0) {
       document.addLink("prev", new Link(
           "/api/audits?page[offset]=" + Math.max(0, pageOffsetParsed - pageLimitParsed) + "&page[limit]="
-              + pageLimit,
+              + pageLimit + countParam,
           linkMeta));
     }
   }
+
+  /**
+   * Generate the links field for a JSON API collection that was paged with a cursor. Cursors only
+   * move forward, so there are no "last" or "prev" links.
+   *
+   * @param document The document containing the filtered list.
+   * @param pageLimit The request page limit.
+   * @param resources The list of filtered results.
+   * @param <T> The resource type.
+   */
+  public static <T> void generateCursorPageLinks(
+      @NonNull final JSONAPIDocument<List<T>> document,
+      final String pageLimit,
+      @NonNull final FilteredResultWrapper<T> resources) {
+    final int pageLimitParsed = NumberUtils.toInt(pageLimit, GlobalConstants.DEFAULT_PAGE_LIMIT);
+    final Map<String, Object> linkMeta = buildLinkMeta(resources);
+    final String countParam = countParam(resources);
+
+    document.addLink("first", new Link("/api/audits?page[cursor]=&page[limit]=" + pageLimitParsed + countParam, linkMeta));
+
+    if (resources.getNextCursor() != null) {
+      document.addLink("next", new Link(
+          "/api/audits?page[cursor]=" + resources.getNextCursor() + "&page[limit]=" + pageLimitParsed
+              + countParam,
+          linkMeta));
+    }
+  }
+
+  /**
+   * Builds the link metadata holding the total number of results, and whether that total is exact,
+   * cached or estimated. There is no metadata if the results were not counted.
+   */
+  private static <T> Map<String, Object> buildLinkMeta(final FilteredResultWrapper<T> resources) {
+    if (resources.getCount() == null) {
+      return null;
+    }
+
+    // See https://jsonapi.org/format/#document-links for an example of link metadata including a count
+    return new ImmutableMap.Builder<String, Object>()
+        .put("total", resources.getCount())
+        .put("totalKind", Optional.ofNullable(resources.getCountKind())
+            .orElse(CountKind.EXACT)
+            .getName())
+        .build();
+  }
+
+  /**
+   * A count from the index statistics is the average size of a partition, and a cached count may be
+   * out of date, so only an exact count can be used to find the last page.
+   */
+  private static <T> boolean isExactCount(final FilteredResultWrapper<T> resources) {
+    return resources.getCount() != null
+        && Optional.ofNullable(resources.getCountKind()).orElse(CountKind.EXACT) == CountKind.EXACT;
+  }
+
+  /**
+   * Links to other pages of uncounted results keep the results uncounted.
+   */
+  private static <T> String countParam(final FilteredResultWrapper<T> resources) {
+    return resources.getCount() == null ? "&page[count]=false" : "";
+  }
 }
@@ -46,8 +46,8 @@ public class JoseJwtVerifier implements JwtVerifier {
     }
 
     try {
-      if (jwtValidator.jwtIsValid(jwt, cognitoJwk.getCognitoJwk().get())) {
-        final JWSObject jwsObject = JWSObject.parse(jwt);
+      final JWSObject jwsObject = JWSObject.parse(jwt);
+      if (jwtValidator.jwtIsValid(jwsObject, cognitoJwk.getCognitoJwk().get())) {
         final Map<String, Object> payload = jwsObject.getPayload().toJSONObject();
         if (payload.containsKey(COGNITO_GROUPS)) {
           if (payload.get(COGNITO_GROUPS) instanceof List) {
@@ -78,9 +78,13 @@ public class JoseJwtVerifier implements JwtVerifier {
     }
 
     try {
-      if (jwtValidator.jwtIsValid(jwt, cognitoJwk.getCognitoJwk().get())) {
-        if (extractScope(jwt).contains(scope)) {
-          final boolean valid = extractClientId(jwt).map(c -> c.equals(clientId)).orElse(false);
+      final JWSObject jwsObject = JWSObject.parse(jwt);
+      if (jwtValidator.jwtIsValid(jwsObject, cognitoJwk.getCognitoJwk().get())) {
+        final Map<String, Object> payload = jwsObject.getPayload().toJSONObject();
+        if (extractScope(payload).contains(scope)) {
+          final boolean valid = extractClientId(payload)
+              .map(c -> c.equals(clientId))
+              .orElse(false);
           if (!valid) {
             Log.error(GlobalConstants.MICROSERVICE_NAME
                 + "-Jwt-ServiceAuthorizationError Service-Authorization token does not match the expected Cognito client");
@@ -107,7 +111,10 @@ public class JoseJwtVerifier implements JwtVerifier {
    * @throws ParseException If the string couldn't be parsed to a JWS object.
    */
   List<String> extractScope(final String jwt) throws ParseException {
-    final Map<String, Object> payload = getPayload(jwt);
+    return extractScope(getPayload(jwt));
+  }
+
+  private List<String> extractScope(final Map<String, Object> payload) {
     if (payload.containsKey(SCOPE)) {
       return Arrays.asList(payload.get(SCOPE).toString().split(" "));
     }
@@ -122,7 +129,10 @@ public class JoseJwtVerifier implements JwtVerifier {
    * @throws ParseException If the string couldn't be parsed to a JWS object.
    */
   Optional<String> extractClientId(final String jwt) throws ParseException {
-    final Map<String, Object> payload = getPayload(jwt);
+    return extractClientId(getPayload(jwt));
+  }
+
+  private Optional<String> extractClientId(final Map<String, Object> payload) {
     if (payload.containsKey(CLIENT_ID)) {
       return Optional.of(payload.get(CLIENT_ID).toString());
     }
@@ -0,0 +1,51 @@
+package com.octopus.audits.domain.wrappers;
+
+import java.util.Arrays;
+import java.util.Optional;
+import lombok.NonNull;
+
+/**
+ * The kinds of total count that can be returned with a filtered collection. The same values select
+ * the strategy used to count the results.
+ */
+public enum CountKind {
+  /**
+   * The results were counted with the page.
+   */
+  EXACT("exact"),
+  /**
+   * The results were counted exactly by an earlier request, and may be slightly out of date.
+   */
+  CACHED("cached"),
+  /**
+   * The count was estimated from the database index statistics.
+   */
+  ESTIMATED("estimated");
+
+  private final String name;
+
+  CountKind(final String name) {
+    this.name = name;
+  }
+
+  /**
+   * The name of the count kind, as reported in the response metadata.
+   *
+   * @return The count kind name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Finds the count kind with the supplied name, ignoring case.
+   *
+   * @param name The count kind name.
+   * @return The matching count kind, or an empty optional if there is no match.
+   */
+  public static Optional<CountKind> fromName(@NonNull final String name) {
+    return Arrays.stream(values())
+        .filter(k -> k.name.equalsIgnoreCase(name.trim()))
+        .findFirst();
+  }
+}
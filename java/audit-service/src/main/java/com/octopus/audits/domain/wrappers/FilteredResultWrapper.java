@@ -12,7 +12,19 @@ import lombok.Data;
 public class FilteredResultWrapper<T> {
 
   private List<T> list;
+  /**
+   * The total number of results, or null if the results were not counted.
+   */
   private Long count;
+  /**
+   * How the total number of results was found, or null if the results were not counted.
+   */
+  private CountKind countKind = CountKind.EXACT;
+  /**
+   * The cursor of the page after this one, or null if this is the last page or the results were
+   * not retrieved with a cursor.
+   */
+  private String nextCursor;
 
   public FilteredResultWrapper() {
 
@@ -22,4 +34,37 @@ public class FilteredResultWrapper<T> {
     this.list = list;
     this.count = count;
   }
+
+  /**
+   * Creates the results of a page retrieved with a cursor.
+   *
+   * @param list       The page of results.
+   * @param count      The total number of results.
+   * @param nextCursor The cursor of the next page, or null if this is the last page.
+   */
+  public FilteredResultWrapper(final List<T> list, final Long count, final String nextCursor) {
+    this.list = list;
+    this.count = count;
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Creates the results of a page, along with how the results were counted.
+   *
+   * @param list       The page of results.
+   * @param count      The total number of results, or null if the results were not counted.
+   * @param countKind  How the results were counted, or null if the results were not counted.
+   * @param nextCursor The cursor of the next page, or null if this is the last page or the results
+   *                   were not retrieved with a cursor.
+   */
+  public FilteredResultWrapper(
+      final List<T> list,
+      final Long count,
+      final CountKind countKind,
+      final String nextCursor) {
+    this.list = list;
+    this.count = count;
+    this.countKind = countKind;
+    this.nextCursor = nextCursor;
+  }
 }
@@ -0,0 +1,42 @@
+package com.octopus.audits.infrastructure.journal;
+
+import com.octopus.audits.domain.entities.Audit;
+import java.io.Closeable;
+
+/**
+ * A queue that accepts new audits and writes them to the data store in the background. Audit
+ * records are fire and forget for the services that create them, so they don't need to wait for
+ * the database to save each record.
+ */
+public interface AuditWriteBehindQueue extends Closeable {
+
+  /**
+   * Indicates if audits are written in the background. If not, audits must be saved directly.
+   *
+   * @return true if audits can be enqueued, and false otherwise.
+   */
+  boolean isEnabled();
+
+  /**
+   * Enqueues an audit to be written to the data store. The audit is durably recorded when this
+   * method returns.
+   *
+   * @param audit The validated audit to save.
+   * @throws com.octopus.audits.domain.exceptions.JournalFull Thrown if the queue is full.
+   */
+  void enqueue(Audit audit);
+
+  /**
+   * Gets the statistics of the queue.
+   *
+   * @return The current queue statistics.
+   */
+  WriteBehindStats getStats();
+
+  /**
+   * Stops writing audits. Audits that were not written are kept to be written when the queue is
+   * next created.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,57 @@
+package com.octopus.audits.infrastructure.journal;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The statistics of an AuditWriteBehindQueue.
+ */
+@Value
+@Builder
+public class WriteBehindStats {
+
+  /**
+   * The number of audits that were enqueued.
+   */
+  long enqueued;
+  /**
+   * The number of audits that were written to the data store.
+   */
+  long committed;
+  /**
+   * The number of audits that were rejected because the queue was full.
+   */
+  long rejected;
+  /**
+   * The number of audits that failed validation when they were written, and were set aside.
+   */
+  long invalid;
+  /**
+   * The number of batches that failed to be written, and were retried.
+   */
+  long failedBatches;
+  /**
+   * The number of audits waiting to be written now.
+   */
+  long queueDepth;
+  /**
+   * The number of audits that can wait to be written before new audits are rejected.
+   */
+  long capacity;
+  /**
+   * The number of batches that were written.
+   */
+  long batches;
+  /**
+   * The number of audits in the last batch that was written.
+   */
+  long lastBatchSize;
+  /**
+   * The time taken to write the last batch.
+   */
+  long lastCommitMillis;
+  /**
+   * The longest time taken to write a batch.
+   */
+  long maxCommitMillis;
+}
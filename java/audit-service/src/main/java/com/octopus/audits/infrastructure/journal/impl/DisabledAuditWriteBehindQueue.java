@@ -0,0 +1,32 @@
+package com.octopus.audits.infrastructure.journal.impl;
+
+import com.octopus.audits.domain.entities.Audit;
+import com.octopus.audits.infrastructure.journal.AuditWriteBehindQueue;
+import com.octopus.audits.infrastructure.journal.WriteBehindStats;
+import lombok.NonNull;
+
+/**
+ * An AuditWriteBehindQueue used when audits are saved directly to the data store.
+ */
+public class DisabledAuditWriteBehindQueue implements AuditWriteBehindQueue {
+
+  @Override
+  public boolean isEnabled() {
+    return false;
+  }
+
+  @Override
+  public void enqueue(@NonNull final Audit audit) {
+    throw new UnsupportedOperationException("Audits are not written in the background");
+  }
+
+  @Override
+  public WriteBehindStats getStats() {
+    return WriteBehindStats.builder().build();
+  }
+
+  @Override
+  public void close() {
+    // There is nothing to close
+  }
+}
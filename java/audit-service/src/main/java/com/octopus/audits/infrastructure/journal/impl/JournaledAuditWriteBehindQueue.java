@@ -0,0 +1,577 @@
+package com.octopus.audits.infrastructure.journal.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+import static org.jboss.logging.Logger.Level.INFO;
+import static org.jboss.logging.Logger.Level.WARN;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.octopus.audits.domain.entities.Audit;
+import com.octopus.audits.domain.exceptions.InvalidInput;
+import com.octopus.audits.domain.exceptions.JournalFull;
+import com.octopus.audits.infrastructure.journal.AuditWriteBehindQueue;
+import com.octopus.audits.infrastructure.journal.WriteBehindStats;
+import io.vavr.control.Try;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+import org.jboss.logging.Logger;
+
+/**
+ * An AuditWriteBehindQueue that records each audit in an append only journal file before
+ * acknowledging it. A background thread writes the audits to the data store in batches, either
+ * when a full batch is waiting, or when the oldest audit has waited for the maximum latency.
+ *
+ * <p>The sequence number of the last audit written to the data store is saved in a checkpoint
+ * file, and any journaled audits after the checkpoint are replayed when the queue is created. An
+ * audit written just before the application stopped may be replayed, so audits are saved at least
+ * once.
+ *
+ * <p>The journal is truncated whenever every audit has been written, and is rewritten with just
+ * the waiting audits when it grows beyond the compaction threshold. New audits are rejected once
+ * the maximum number of audits are waiting, which happens when the data store is unavailable.
+ *
+ * <p>An append that fails, or is cut short by a crash, leaves part of a line at the end of the
+ * journal. The partial line is removed before the next audit is appended, as an audit appended to
+ * it would be lost with it when the journal is replayed.
+ */
+public class JournaledAuditWriteBehindQueue implements AuditWriteBehindQueue {
+
+  private static final Logger LOG =
+      Logger.getLogger(JournaledAuditWriteBehindQueue.class.toString());
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String JOURNAL_FILE = "audits.journal";
+  private static final String CHECKPOINT_FILE = "audits.checkpoint";
+  private static final String INVALID_FILE = "audits.invalid";
+  private static final int DEFAULT_BATCH_SIZE = 50;
+  private static final long DEFAULT_MAX_LATENCY_MILLIS = 200;
+  private static final int DEFAULT_MAX_PENDING = 10000;
+  private static final long DEFAULT_RETRY_DELAY_MILLIS = 5000;
+  private static final long DEFAULT_COMPACT_BYTES = 16777216;
+  private static final long DEFAULT_SHUTDOWN_TIMEOUT_MILLIS = 10000;
+  private static final int TAIL_BUFFER_SIZE = 4096;
+
+  private final Path journalFile;
+  private final Path checkpointFile;
+  private final Path invalidFile;
+  private final Consumer<List<Audit>> batchWriter;
+  private final int batchSize;
+  private final long maxLatencyNanos;
+  private final int maxPending;
+  private final long retryDelayMillis;
+  private final long compactBytes;
+  private final long shutdownTimeoutMillis;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition changed = lock.newCondition();
+  private final Deque<JournalEntry> pending = new ArrayDeque<>();
+  private final Object syncLock = new Object();
+  private final Thread writer;
+  private final LongAdder enqueued = new LongAdder();
+  private final LongAdder committed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder invalid = new LongAdder();
+  private final LongAdder failedBatches = new LongAdder();
+  private final LongAdder batches = new LongAdder();
+  private final AtomicLong lastBatchSize = new AtomicLong();
+  private final AtomicLong lastCommitMillis = new AtomicLong();
+  private final AtomicLong maxCommitMillis = new AtomicLong();
+  private volatile FileChannel journal;
+  private volatile long appendedSequence;
+  private volatile boolean closed;
+  private long nextSequence;
+  private long syncedSequence;
+
+  /**
+   * Builds the queue, replaying any audits that were journaled but not written, and starts writing
+   * audits in the background. Any numeric value that is zero or negative is replaced with a
+   * sensible default.
+   *
+   * @param journalDirectory      The directory holding the journal.
+   * @param batchWriter           Writes a batch of audits to the data store in a transaction.
+   * @param batchSize             The maximum number of audits written in a batch.
+   * @param maxLatencyMillis      The maximum time an audit waits for a full batch.
+   * @param maxPending            The number of waiting audits before new audits are rejected.
+   * @param retryDelayMillis      The time to wait before retrying a batch that failed.
+   * @param compactBytes          The size of the journal that triggers a compaction.
+   * @param shutdownTimeoutMillis The time allowed to write the waiting audits when the queue is
+   *                              closed.
+   */
+  @Builder
+  public JournaledAuditWriteBehindQueue(
+      @NonNull final Path journalDirectory,
+      @NonNull final Consumer<List<Audit>> batchWriter,
+      final int batchSize,
+      final long maxLatencyMillis,
+      final int maxPending,
+      final long retryDelayMillis,
+      final long compactBytes,
+      final long shutdownTimeoutMillis) {
+    this.journalFile = journalDirectory.resolve(JOURNAL_FILE);
+    this.checkpointFile = journalDirectory.resolve(CHECKPOINT_FILE);
+    this.invalidFile = journalDirectory.resolve(INVALID_FILE);
+    this.batchWriter = batchWriter;
+    this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(
+        maxLatencyMillis > 0 ? maxLatencyMillis : DEFAULT_MAX_LATENCY_MILLIS);
+    this.maxPending = maxPending > 0 ? maxPending : DEFAULT_MAX_PENDING;
+    this.retryDelayMillis = retryDelayMillis > 0 ? retryDelayMillis : DEFAULT_RETRY_DELAY_MILLIS;
+    this.compactBytes = compactBytes > 0 ? compactBytes : DEFAULT_COMPACT_BYTES;
+    this.shutdownTimeoutMillis = shutdownTimeoutMillis > 0
+        ? shutdownTimeoutMillis
+        : DEFAULT_SHUTDOWN_TIMEOUT_MILLIS;
+
+    try {
+      Files.createDirectories(journalDirectory);
+      replay();
+      journal = openJournal();
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+
+    writer = new Thread(this::run, "audit-write-behind");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  @Override
+  public void enqueue(@NonNull final Audit audit) {
+    final long sequence;
+    lock.lock();
+    try {
+      if (closed) {
+        throw new IllegalStateException("The write behind queue has been closed");
+      }
+
+      if (pending.size() >= maxPending) {
+        rejected.increment();
+        throw new JournalFull();
+      }
+
+      sequence = nextSequence;
+      final ByteBuffer line = toJournalLine(sequence, audit);
+      final long position = journal.size();
+      try {
+        writeFully(journal, line);
+      } catch (final IOException ex) {
+        discardPartialLine(position);
+        throw ex;
+      }
+      nextSequence++;
+      appendedSequence = sequence;
+      pending.add(new JournalEntry(sequence, audit, System.nanoTime()));
+      enqueued.increment();
+      changed.signalAll();
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    } finally {
+      lock.unlock();
+    }
+
+    sync(sequence);
+  }
+
+  @Override
+  public WriteBehindStats getStats() {
+    lock.lock();
+    try {
+      return WriteBehindStats.builder()
+          .enqueued(enqueued.sum())
+          .committed(committed.sum())
+          .rejected(rejected.sum())
+          .invalid(invalid.sum())
+          .failedBatches(failedBatches.sum())
+          .queueDepth(pending.size())
+          .capacity(maxPending)
+          .batches(batches.sum())
+          .lastBatchSize(lastBatchSize.get())
+          .lastCommitMillis(lastCommitMillis.get())
+          .maxCommitMillis(maxCommitMillis.get())
+          .build();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    LOG.log(DEBUG, "JournaledAuditWriteBehindQueue.close()");
+    lock.lock();
+    try {
+      closed = true;
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+
+    try {
+      writer.join(shutdownTimeoutMillis);
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (writer.isAlive()) {
+      writer.interrupt();
+      LOG.log(WARN, "The waiting audits were not written within " + shutdownTimeoutMillis
+          + "ms of shutting down, and will be replayed from the journal on the next start");
+    }
+
+    synchronized (syncLock) {
+      Try.run(() -> journal.close());
+    }
+  }
+
+  /**
+   * Forces the journal to disk. Threads that append at the same time share a single force, as
+   * each force covers every audit appended before it.
+   */
+  private void sync(final long sequence) {
+    synchronized (syncLock) {
+      if (syncedSequence >= sequence) {
+        return;
+      }
+
+      final long appended = appendedSequence;
+      try {
+        journal.force(false);
+      } catch (final IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+      syncedSequence = appended;
+    }
+  }
+
+  private void run() {
+    while (true) {
+      final List<JournalEntry> batch = nextBatch();
+      if (batch.isEmpty()) {
+        return;
+      }
+
+      if (!write(batch) && !pause()) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Waits for a full batch, or for the oldest audit to reach the maximum latency. Once the queue is
+   * closed, the waiting audits are returned straight away.
+   */
+  private List<JournalEntry> nextBatch() {
+    lock.lock();
+    try {
+      while (!closed && pending.size() < batchSize) {
+        if (pending.isEmpty()) {
+          changed.await();
+        } else {
+          final long wait = pending.peekFirst().getEnqueuedNanos() + maxLatencyNanos
+              - System.nanoTime();
+          if (wait <= 0) {
+            break;
+          }
+          changed.awaitNanos(wait);
+        }
+      }
+
+      return pending.stream().limit(batchSize).collect(Collectors.toList());
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return List.of();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits before retrying a batch.
+   *
+   * @return false if the queue was closed, and the batch should be left for the journal replay.
+   */
+  private boolean pause() {
+    lock.lock();
+    try {
+      if (!closed) {
+        changed.await(retryDelayMillis, TimeUnit.MILLISECONDS);
+      }
+      return !closed;
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Writes a batch to the data store.
+   *
+   * @return true if the batch was written or set aside, and false if it must be retried.
+   */
+  private boolean write(final List<JournalEntry> batch) {
+    final long start = System.nanoTime();
+    try {
+      batchWriter.accept(batch.stream().map(JournalEntry::getAudit).collect(Collectors.toList()));
+    } catch (final InvalidInput ex) {
+      /*
+       Audits are validated before they are enqueued, so this only happens if the validation rules
+       changed before the journal was replayed. One invalid audit must not block the journal, so
+       the audits are written one at a time to find it.
+      */
+      if (batch.size() == 1) {
+        setAside(batch.get(0), ex);
+        complete(batch);
+        return true;
+      }
+
+      for (final JournalEntry entry : batch) {
+        if (!write(List.of(entry))) {
+          return false;
+        }
+      }
+      return true;
+    } catch (final Exception ex) {
+      failedBatches.increment();
+      LOG.log(WARN, "Failed to write " + batch.size() + " audits, which will be retried in "
+          + retryDelayMillis + "ms", ex);
+      return false;
+    }
+
+    final long commitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    complete(batch);
+    committed.add(batch.size());
+    batches.increment();
+    lastBatchSize.set(batch.size());
+    lastCommitMillis.set(commitMillis);
+    maxCommitMillis.accumulateAndGet(commitMillis, Math::max);
+    LOG.log(DEBUG, "Wrote " + batch.size() + " audits in " + commitMillis + "ms");
+    return true;
+  }
+
+  /**
+   * Records that a batch, which is always at the head of the queue, was written. The journal is
+   * then truncated or compacted if needed.
+   */
+  private void complete(final List<JournalEntry> batch) {
+    writeCheckpoint(batch.get(batch.size() - 1).getSequence());
+
+    lock.lock();
+    try {
+      batch.forEach(e -> pending.pollFirst());
+      synchronized (syncLock) {
+        if (pending.isEmpty()) {
+          journal.truncate(0);
+        } else if (journal.size() > compactBytes) {
+          compact();
+        }
+      }
+    } catch (final IOException ex) {
+      // The checkpoint means the written audits are not replayed, so the journal can be left as is
+      LOG.log(WARN, "Failed to truncate the audit journal", ex);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Replaces the journal with one holding just the waiting audits. The caller holds both locks.
+   */
+  private void compact() throws IOException {
+    final Path compacted = journalFile.resolveSibling(JOURNAL_FILE + ".tmp");
+    try (FileChannel channel = FileChannel.open(compacted, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      for (final JournalEntry entry : pending) {
+        writeFully(channel, toJournalLine(entry.getSequence(), entry.getAudit()));
+      }
+      channel.force(false);
+    }
+
+    journal.close();
+    Files.move(compacted, journalFile, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    journal = openJournal();
+    syncedSequence = appendedSequence;
+    LOG.log(DEBUG, "Compacted the audit journal to " + pending.size() + " audits");
+  }
+
+  private void writeCheckpoint(final long sequence) {
+    final Path checkpoint = checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+    Try.run(() -> {
+          Files.writeString(checkpoint, Long.toString(sequence));
+          Files.move(checkpoint, checkpointFile, StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+        })
+        .onFailure(ex -> LOG.log(WARN, "Failed to save the audit journal checkpoint, so audits "
+            + "up to " + sequence + " may be written again after a restart", ex));
+  }
+
+  private void setAside(final JournalEntry entry, final InvalidInput ex) {
+    invalid.increment();
+    LOG.log(WARN, "Audit " + entry.getSequence() + " failed validation and was moved to "
+        + invalidFile, ex);
+    Try.run(() -> Files.write(
+            invalidFile,
+            toJournalLine(entry.getSequence(), entry.getAudit()).array(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND))
+        .onFailure(e -> LOG.log(WARN, "Failed to save the invalid audit", e));
+  }
+
+  /**
+   * Removes the part of an audit written by a failed append. The caller holds the lock.
+   */
+  private void discardPartialLine(final long position) {
+    Try.run(() -> journal.truncate(position))
+        .onFailure(ex -> LOG.log(WARN, "Failed to remove a partly written audit from the journal",
+            ex));
+  }
+
+  /**
+   * Removes a partly written line from the end of the journal, left by a crash or a failed append,
+   * so the next audit starts on a new line.
+   */
+  private void truncatePartialLine() throws IOException {
+    try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      final long size = channel.size();
+      final ByteBuffer buffer = ByteBuffer.allocate(TAIL_BUFFER_SIZE);
+      long end = size;
+      long complete = 0;
+      while (end > 0 && complete == 0) {
+        final long start = Math.max(0, end - TAIL_BUFFER_SIZE);
+        buffer.clear().limit((int) (end - start));
+        while (buffer.hasRemaining()) {
+          if (channel.read(buffer, start + buffer.position()) < 0) {
+            break;
+          }
+        }
+
+        for (int i = buffer.position() - 1; i >= 0; --i) {
+          if (buffer.get(i) == '\n') {
+            complete = start + i + 1;
+            break;
+          }
+        }
+        end = start;
+      }
+
+      if (complete < size) {
+        LOG.log(WARN, "Removing " + (size - complete)
+            + " bytes of a partly written audit from the end of the journal");
+        channel.truncate(complete);
+        channel.force(false);
+      }
+    }
+  }
+
+  /**
+   * Loads the audits that were journaled after the last checkpoint.
+   */
+  private void replay() throws IOException {
+    final long checkpoint = Files.exists(checkpointFile)
+        ? Try.of(() -> Long.parseLong(Files.readString(checkpointFile).trim()))
+            .getOrElseGet(ex -> 0L)
+        : 0L;
+    nextSequence = checkpoint + 1;
+
+    if (Files.exists(journalFile)) {
+      truncatePartialLine();
+      try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          readJournalLine(line)
+              .filter(e -> e.getSequence() > checkpoint)
+              .ifPresent(e -> {
+                pending.add(e);
+                nextSequence = Math.max(nextSequence, e.getSequence() + 1);
+              });
+        }
+      }
+    }
+
+    appendedSequence = nextSequence - 1;
+    syncedSequence = appendedSequence;
+
+    if (!pending.isEmpty()) {
+      LOG.log(INFO, "Replaying " + pending.size() + " audits from the journal");
+    }
+  }
+
+  private FileChannel openJournal() throws IOException {
+    return FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND);
+  }
+
+  private static ByteBuffer toJournalLine(final long sequence, final Audit audit)
+      throws IOException {
+    final ObjectNode node = OBJECT_MAPPER.createObjectNode();
+    node.put("sequence", sequence);
+    node.set("audit", OBJECT_MAPPER.valueToTree(audit));
+    return ByteBuffer.wrap((OBJECT_MAPPER.writeValueAsString(node) + "\n")
+        .getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Optional<JournalEntry> readJournalLine(final String line) {
+    if (StringUtils.isBlank(line)) {
+      return Optional.empty();
+    }
+
+    return Try.of(() -> {
+          final JsonNode node = OBJECT_MAPPER.readTree(line);
+          return new JournalEntry(
+              node.get("sequence").asLong(),
+              OBJECT_MAPPER.treeToValue(node.get("audit"), Audit.class),
+              System.nanoTime());
+        })
+        .map(Optional::of)
+        .getOrElseGet(ex -> {
+          LOG.log(WARN, "Skipping a damaged audit journal entry", ex);
+          return Optional.empty();
+        });
+  }
+
+  private static void writeFully(final FileChannel channel, final ByteBuffer buffer)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * An audit in the journal.
+   */
+  @Value
+  private static class JournalEntry {
+
+    long sequence;
+    Audit audit;
+    long enqueuedNanos;
+  }
+}
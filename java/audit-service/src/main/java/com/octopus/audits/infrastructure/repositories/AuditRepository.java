@@ -1,14 +1,15 @@
 package com.octopus.audits.infrastructure.repositories;
 
-import com.github.tennaito.rsql.jpa.JpaPredicateVisitor;
 import com.octopus.audits.GlobalConstants;
 import com.octopus.audits.domain.entities.Audit;
 import com.octopus.audits.domain.exceptions.InvalidInput;
+import com.octopus.audits.domain.jsonapi.PageCursor;
+import com.octopus.audits.domain.wrappers.CountKind;
 import com.octopus.audits.domain.wrappers.FilteredResultWrapper;
-import cz.jirutka.rsql.parser.RSQLParser;
-import cz.jirutka.rsql.parser.ast.Node;
-import cz.jirutka.rsql.parser.ast.RSQLVisitor;
+import io.vavr.control.Try;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
@@ -19,11 +20,14 @@ import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Predicate;
+import javax.transaction.Transactional;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
 import lombok.NonNull;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.h2.util.StringUtils;
 
 /**
@@ -33,12 +37,41 @@ import org.h2.util.StringUtils;
 @ApplicationScoped
 public class AuditRepository {
 
+  private static final Set<String> MYSQL_DB_KINDS = Set.of("mysql", "mariadb");
+
+  /**
+   * Estimates the number of audits in a partition as the number of rows in the table divided by the
+   * number of distinct partitions, both taken from the statistics MySQL keeps for the index that
+   * starts with the partition column.
+   */
+  private static final String INDEX_STATISTICS_QUERY =
+      "SELECT t.TABLE_ROWS, s.CARDINALITY FROM information_schema.TABLES t "
+          + "JOIN information_schema.STATISTICS s "
+          + "ON s.TABLE_SCHEMA = t.TABLE_SCHEMA AND s.TABLE_NAME = t.TABLE_NAME "
+          + "WHERE t.TABLE_SCHEMA = DATABASE() AND t.TABLE_NAME = 'audit' "
+          + "AND s.INDEX_NAME = 'audit_partition_time_id' AND s.SEQ_IN_INDEX = 1";
+
   @Inject
   EntityManager em;
 
+  @Inject
+  TotalCountCache totalCountCache;
+
+  @Inject
+  RsqlFilterCache filterCache;
+
   @Inject
   Validator validator;
 
+  @ConfigProperty(name = "quarkus.hibernate-orm.jdbc.statement-batch-size", defaultValue = "50")
+  int batchSize;
+
+  @ConfigProperty(name = "quarkus.datasource.db-kind", defaultValue = "h2")
+  String dbKind;
+
+  @ConfigProperty(name = "audit.count.strategy", defaultValue = "exact")
+  String countStrategy;
+
   /**
    * Get a single entity.
    *
@@ -61,7 +94,7 @@ public class AuditRepository {
   }
 
   /**
-   * Returns all matching entities.
+   * Returns all matching entities, paged with an offset.
    *
    * @param partitions The partitions that entities can be found in.
    * @param filter     The RSQL filter used to query the entities.
@@ -72,11 +105,56 @@ public class AuditRepository {
       final String filter,
       final String pageOffset,
       final String pageLimit) {
+    return findAll(partitions, filter, pageOffset, pageLimit, null);
+  }
+
+  /**
+   * Returns all matching entities. Entities are sorted by time and then ID, newest first.
+   *
+   * <p>If a page cursor is supplied, even an empty one, the page starts after the entity identified
+   * by the cursor, and the offset is ignored. Seeking to the cursor uses the index on the sort
+   * columns, so unlike an offset, the database does not have to read and discard every entity
+   * before the page.
+   *
+   * @param partitions The partitions that entities can be found in.
+   * @param filter     The RSQL filter used to query the entities.
+   * @param pageCursor The cursor of the last entity of the previous page, an empty string for the
+   *                   first page, or null to page with an offset.
+   * @return The matching entities.
+   */
+  public FilteredResultWrapper<Audit> findAll(
+      @NonNull final List<String> partitions,
+      final String filter,
+      final String pageOffset,
+      final String pageLimit,
+      final String pageCursor) {
+    return findAll(partitions, filter, pageOffset, pageLimit, pageCursor, true);
+  }
+
+  /**
+   * Returns all matching entities, optionally skipping the count of the total number of matching
+   * entities. The total is counted with the configured count strategy.
+   *
+   * @param partitions The partitions that entities can be found in.
+   * @param filter     The RSQL filter used to query the entities.
+   * @param pageCursor The cursor of the last entity of the previous page, an empty string for the
+   *                   first page, or null to page with an offset.
+   * @param countTotal false to skip counting the total number of matching entities.
+   * @return The matching entities.
+   */
+  public FilteredResultWrapper<Audit> findAll(
+      @NonNull final List<String> partitions,
+      final String filter,
+      final String pageOffset,
+      final String pageLimit,
+      final String pageCursor,
+      final boolean countTotal) {
 
     final CriteriaBuilder builder = em.getCriteriaBuilder();
     final CriteriaQuery<Audit> criteria = builder.createQuery(Audit.class);
     final From<Audit, Audit> root = criteria.from(Audit.class);
-    criteria.orderBy(builder.desc(root.get("time")));
+    // The ID breaks ties between entities with the same time, giving each entity a unique position
+    criteria.orderBy(builder.desc(root.get("time")), builder.desc(root.get("id")));
 
     // add the partition search rules
     final Predicate partitionPredicate =
@@ -87,42 +165,135 @@ public class AuditRepository {
                 .collect(Collectors.toList())
                 .toArray(new Predicate[0]));
 
+    final Predicate restriction;
+    // The filter as the parser understood it, so equivalent filters share a cached count
+    final String normalizedFilter;
     if (!StringUtils.isNullOrEmpty(filter)) {
-      /*
-       Makes use of RSQL queries to filter any responses:
-       https://github.com/jirutka/rsql-parser
-      */
-      final JpaPredicateVisitor<Audit> visitor = new JpaPredicateVisitor<Audit>().defineRoot(root);
-      visitor.getBuilderTools().setArgumentParser(new CustomizedArgumentParser());
-      final Node rootNode = new RSQLParser().parse(filter);
-      final Predicate filterPredicate = rootNode.accept(visitor, em);
+      // Filters are parsed and checked once, and the compiled filter is applied to this query
+      final CompiledFilter compiledFilter =
+          filterCache.compile(filter, em.getMetamodel().entity(Audit.class));
 
       // combine with the filter rules
-      final Predicate combinedPredicate = builder.and(partitionPredicate, filterPredicate);
-
-      criteria.where(combinedPredicate);
+      restriction = builder.and(partitionPredicate, compiledFilter.toPredicate(root, em));
+      normalizedFilter = compiledFilter.getNormalized();
     } else {
-      criteria.where(partitionPredicate);
+      restriction = partitionPredicate;
+      normalizedFilter = null;
     }
 
     // Deal with paging
-    final TypedQuery<Audit> query = em.createQuery(criteria);
     final int pageLimitParsed = NumberUtils.toInt(pageLimit, GlobalConstants.DEFAULT_PAGE_LIMIT);
-    final int pageOffsetParsed = NumberUtils.toInt(pageOffset, GlobalConstants.DEFAULT_PAGE_OFFSET);
-    query.setFirstResult(pageOffsetParsed);
-    query.setMaxResults(pageLimitParsed);
-    final List<Audit> results = query.getResultList();
+    final List<Audit> results;
+    final String nextCursor;
+    if (pageCursor == null) {
+      criteria.where(restriction);
+      final TypedQuery<Audit> query = em.createQuery(criteria);
+      final int pageOffsetParsed = NumberUtils.toInt(pageOffset, GlobalConstants.DEFAULT_PAGE_OFFSET);
+      query.setFirstResult(pageOffsetParsed);
+      query.setMaxResults(pageLimitParsed);
+      results = query.getResultList();
+      nextCursor = null;
+    } else {
+      criteria.where(StringUtils.isNullOrEmpty(pageCursor)
+          ? restriction
+          : builder.and(restriction, seekPredicate(builder, root, PageCursor.decode(pageCursor))));
+      // Read one extra entity to find out if there is a next page
+      final TypedQuery<Audit> query = em.createQuery(criteria);
+      query.setMaxResults(pageLimitParsed + 1);
+      final List<Audit> page = query.getResultList();
+      final boolean hasNextPage = page.size() > pageLimitParsed;
+      results = hasNextPage ? new ArrayList<>(page.subList(0, pageLimitParsed)) : page;
+      nextCursor = hasNextPage && !results.isEmpty()
+          ? PageCursor.of(results.get(results.size() - 1)).encode()
+          : null;
+    }
 
     // Get total results
+    final Pair<Long, CountKind> count = countTotal
+        ? countResults(builder, restriction, partitions, normalizedFilter)
+        : Pair.of(null, null);
+
+    // detach all the entities
+    em.clear();
+
+    return new FilteredResultWrapper<>(results, count.getLeft(), count.getRight(), nextCursor);
+  }
+
+  /**
+   * Counts the entities matching a query with the configured strategy. Index statistics can't
+   * estimate how many entities a filter matches, so filtered queries fall back to a cached count,
+   * as do databases other than MySQL. A cached count is only reported as cached when it was counted
+   * by an earlier request.
+   */
+  private Pair<Long, CountKind> countResults(
+      final CriteriaBuilder builder,
+      final Predicate restriction,
+      final List<String> partitions,
+      final String normalizedFilter) {
+    final CountKind strategy = CountKind.fromName(countStrategy).orElse(CountKind.EXACT);
+
+    if (strategy == CountKind.ESTIMATED && normalizedFilter == null) {
+      final Optional<Long> estimate = estimateCount(partitions);
+      if (estimate.isPresent()) {
+        return Pair.of(estimate.get(), CountKind.ESTIMATED);
+      }
+    }
+
+    if (strategy != CountKind.EXACT) {
+      final Optional<Long> cached = totalCountCache.get(partitions, normalizedFilter);
+      if (cached.isPresent()) {
+        return Pair.of(cached.get(), CountKind.CACHED);
+      }
+    }
+
     final CriteriaQuery<Long> countQuery = builder.createQuery(Long.class);
     countQuery.select(builder.count(countQuery.from(Audit.class)));
-    countQuery.where(criteria.getRestriction());
+    countQuery.where(restriction);
     final Long count = em.createQuery(countQuery).getSingleResult();
 
-    // detach all the entities
-    em.clear();
+    if (strategy != CountKind.EXACT) {
+      totalCountCache.put(partitions, normalizedFilter, count);
+    }
 
-    return new FilteredResultWrapper(results, count);
+    return Pair.of(count, CountKind.EXACT);
+  }
+
+  /**
+   * Estimates the number of entities in the partitions from the MySQL index statistics.
+   *
+   * @return The estimate, or an empty optional if the database has no statistics to estimate from.
+   */
+  private Optional<Long> estimateCount(final List<String> partitions) {
+    if (!MYSQL_DB_KINDS.contains(dbKind)) {
+      return Optional.empty();
+    }
+
+    final long partitionCount = partitions.stream()
+        .filter(org.apache.commons.lang3.StringUtils::isNotBlank)
+        .distinct()
+        .count();
+
+    return Try.of(() -> (Object[]) em.createNativeQuery(INDEX_STATISTICS_QUERY).getSingleResult())
+        .filter(r -> r[0] != null && r[1] != null)
+        .map(r -> ((Number) r[0]).longValue() * partitionCount
+            / Math.max(((Number) r[1]).longValue(), 1))
+        .map(Optional::of)
+        .getOrElseGet(ex -> Optional.empty());
+  }
+
+  /**
+   * Builds the predicate matching the entities after the cursor in the sort order, which is
+   * (time, id) &lt; (cursor time, cursor id) expanded into a form JPA can express.
+   */
+  private Predicate seekPredicate(
+      final CriteriaBuilder builder,
+      final From<Audit, Audit> root,
+      final PageCursor cursor) {
+    return builder.or(
+        builder.lessThan(root.get("time"), cursor.getTime()),
+        builder.and(
+            builder.equal(root.get("time"), cursor.getTime()),
+            builder.lessThan(root.get("id"), cursor.getId())));
   }
 
   /**
@@ -138,10 +309,46 @@ public class AuditRepository {
 
     em.persist(audit);
     em.flush();
+    totalCountCache.invalidate(audit.dataPartition);
     return audit;
   }
 
-  private void validateEntity(final Audit audit) {
+  /**
+   * Saves a collection of new audits in the data store. Every audit is validated before any are
+   * saved, and the inserts are sent to the database in JDBC batches. A transaction is started if
+   * the caller, like the write behind queue, is not already in one.
+   *
+   * @param audits The audits to save.
+   * @return The newly created entities.
+   */
+  @Transactional
+  public List<Audit> saveAll(@NonNull final List<Audit> audits) {
+    audits.forEach(audit -> {
+      audit.id = null;
+      validateEntity(audit);
+    });
+
+    for (int i = 0; i < audits.size(); ++i) {
+      em.persist(audits.get(i));
+      // Flush a full batch at a time, and release the persisted entities from the context
+      if ((i + 1) % Math.max(batchSize, 1) == 0) {
+        em.flush();
+        em.clear();
+      }
+    }
+    em.flush();
+    em.clear();
+    audits.stream().map(a -> a.dataPartition).distinct().forEach(totalCountCache::invalidate);
+    return audits;
+  }
+
+  /**
+   * Validates an audit before it is saved.
+   *
+   * @param audit The audit to validate.
+   * @throws InvalidInput Thrown if the audit is not valid.
+   */
+  public void validateEntity(@NonNull final Audit audit) {
     /*
       A sanity check to ensure that any audit record that indicates it has encrypted values
       has encoded those values as Base64. Note that this doesn't verify that the values are actually
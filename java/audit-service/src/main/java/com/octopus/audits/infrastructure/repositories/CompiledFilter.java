@@ -0,0 +1,49 @@
+package com.octopus.audits.infrastructure.repositories;
+
+import com.github.tennaito.rsql.jpa.JpaPredicateVisitor;
+import com.github.tennaito.rsql.misc.ArgumentParser;
+import cz.jirutka.rsql.parser.ast.Node;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Predicate;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A RSQL filter that has been parsed and checked against the fields of an entity. The parsed
+ * filter is immutable, so it is shared by every request that sends the same filter.
+ */
+@Value
+public class CompiledFilter {
+
+  /**
+   * The parsed filter.
+   */
+  Node node;
+  /**
+   * The filter as the parser understood it, so equivalent filters have the same normalized text.
+   */
+  String normalized;
+  /**
+   * The parser used to convert the filter arguments to the types of the entity fields.
+   */
+  ArgumentParser argumentParser;
+
+  /**
+   * Converts the filter to a JPA predicate.
+   *
+   * @param root The root of the query the predicate is added to.
+   * @param em   The entity manager.
+   * @param <T>  The entity type.
+   * @return The predicate matching the entities selected by the filter.
+   */
+  public <T> Predicate toPredicate(@NonNull final From<T, T> root, @NonNull final EntityManager em) {
+    /*
+     Makes use of RSQL queries to filter any responses:
+     https://github.com/jirutka/rsql-parser
+    */
+    final JpaPredicateVisitor<T> visitor = new JpaPredicateVisitor<T>().defineRoot(root);
+    visitor.getBuilderTools().setArgumentParser(argumentParser);
+    return node.accept(visitor, em);
+  }
+}
@@ -0,0 +1,37 @@
+package com.octopus.audits.infrastructure.repositories;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The statistics of a RsqlFilterCache.
+ */
+@Value
+@Builder
+public class FilterCacheStats {
+
+  /**
+   * The number of filters that were found in the cache.
+   */
+  long hits;
+  /**
+   * The number of filters that had to be compiled.
+   */
+  long misses;
+  /**
+   * The number of filters that failed to compile.
+   */
+  long invalid;
+  /**
+   * The number of compiled filters that were dropped to make room for new ones.
+   */
+  long evictions;
+  /**
+   * The number of compiled filters in the cache.
+   */
+  long size;
+  /**
+   * The maximum number of compiled filters in the cache.
+   */
+  long capacity;
+}
@@ -0,0 +1,145 @@
+package com.octopus.audits.infrastructure.repositories;
+
+import com.github.tennaito.rsql.misc.ArgumentParser;
+import com.octopus.audits.domain.exceptions.InvalidInput;
+import cz.jirutka.rsql.parser.RSQLParser;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.LogicalNode;
+import cz.jirutka.rsql.parser.ast.Node;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
+import lombok.Builder;
+import lombok.NonNull;
+
+/**
+ * Caches RSQL filters once they have been parsed and checked against the fields of an entity.
+ * Clients like dashboards send the same few filters over and over, and this saves parsing them with
+ * every request. The least recently used filter is dropped when the cache is full.
+ *
+ * <p>Each cache compiles filters for a single entity type.
+ */
+public class RsqlFilterCache {
+
+  private static final int DEFAULT_MAX_ENTRIES = 500;
+
+  private final int maxEntries;
+  private final ArgumentParser argumentParser;
+  private final RSQLParser parser = new RSQLParser();
+  private final Map<String, CompiledFilter> entries;
+  private long hits;
+  private long misses;
+  private long invalid;
+  private long evictions;
+
+  /**
+   * Creates the cache.
+   *
+   * @param maxEntries     The maximum number of compiled filters that are cached.
+   * @param argumentParser The parser used to convert filter arguments to the types of the entity
+   *                       fields.
+   */
+  @Builder
+  public RsqlFilterCache(final int maxEntries, final ArgumentParser argumentParser) {
+    this.maxEntries = maxEntries <= 0 ? DEFAULT_MAX_ENTRIES : maxEntries;
+    this.argumentParser = argumentParser == null ? new CustomizedArgumentParser() : argumentParser;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, CompiledFilter> eldest) {
+        if (size() > RsqlFilterCache.this.maxEntries) {
+          ++evictions;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns the compiled filter, compiling it if it is not in the cache. The leading and trailing
+   * whitespace of the filter is ignored.
+   *
+   * @param filter The RSQL filter.
+   * @param entity The entity the filter selects.
+   * @return The compiled filter.
+   * @throws cz.jirutka.rsql.parser.RSQLParserException Thrown if the filter is not valid RSQL.
+   * @throws InvalidInput Thrown if the filter refers to a field the entity does not have, or has an
+   *                      argument that does not match the type of its field.
+   */
+  public CompiledFilter compile(@NonNull final String filter, @NonNull final ManagedType<?> entity) {
+    final String key = filter.trim();
+
+    synchronized (this) {
+      final CompiledFilter cached = entries.get(key);
+      if (cached != null) {
+        ++hits;
+        return cached;
+      }
+      ++misses;
+    }
+
+    // Compiling outside the lock means two requests may compile the same new filter, which is
+    // harmless, rather than every request waiting on one slow compilation
+    final CompiledFilter compiled;
+    try {
+      final Node node = parser.parse(key);
+      validate(node, entity);
+      compiled = new CompiledFilter(node, node.toString(), argumentParser);
+    } catch (final RuntimeException ex) {
+      synchronized (this) {
+        ++invalid;
+      }
+      throw ex;
+    }
+
+    synchronized (this) {
+      entries.put(key, compiled);
+    }
+    return compiled;
+  }
+
+  /**
+   * Returns the statistics of the cache.
+   *
+   * @return The cache statistics.
+   */
+  public synchronized FilterCacheStats getStats() {
+    return FilterCacheStats.builder()
+        .hits(hits)
+        .misses(misses)
+        .invalid(invalid)
+        .evictions(evictions)
+        .size(entries.size())
+        .capacity(maxEntries)
+        .build();
+  }
+
+  /**
+   * Checks that every comparison in the filter refers to a field of the entity, and that every
+   * argument can be converted to the type of its field, which would otherwise only fail when the
+   * filter was applied to a query.
+   */
+  private void validate(final Node node, final ManagedType<?> entity) {
+    if (node instanceof LogicalNode) {
+      ((LogicalNode) node).getChildren().forEach(c -> validate(c, entity));
+      return;
+    }
+
+    final ComparisonNode comparison = (ComparisonNode) node;
+    final Attribute<?, ?> attribute = entity.getAttributes().stream()
+        .filter(a -> a.getName().equals(comparison.getSelector()))
+        .findFirst()
+        .orElseThrow(() -> new InvalidInput(
+            "The filter field \"" + comparison.getSelector() + "\" is not valid"));
+
+    for (final String argument : comparison.getArguments()) {
+      try {
+        argumentParser.parse(argument, attribute.getJavaType());
+      } catch (final Exception ex) {
+        throw new InvalidInput("The filter value \"" + argument + "\" is not valid for the field \""
+            + comparison.getSelector() + "\"");
+      }
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.octopus.audits.infrastructure.repositories;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Caches the total number of entities matching a query for a short time, so the pages of a
+ * collection do not each have to count the same results. Counts are keyed by the partitions and
+ * the normalized filter of the query, and the least recently used count is dropped when the cache
+ * is full.
+ */
+public class TotalCountCache {
+
+  private static final long DEFAULT_TTL_MILLIS = 30000;
+  private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+  private final long ttlMillis;
+  private final int maxEntries;
+  private final LongSupplier clock;
+  private final Map<Key, Entry> entries;
+
+  /**
+   * Creates the cache.
+   *
+   * @param ttlMillis  The time a count is cached for.
+   * @param maxEntries The maximum number of counts that are cached.
+   * @param clock      The source of the current time in milliseconds.
+   */
+  @Builder
+  public TotalCountCache(final long ttlMillis, final int maxEntries, final LongSupplier clock) {
+    this.ttlMillis = ttlMillis <= 0 ? DEFAULT_TTL_MILLIS : ttlMillis;
+    this.maxEntries = maxEntries <= 0 ? DEFAULT_MAX_ENTRIES : maxEntries;
+    this.clock = clock == null ? System::currentTimeMillis : clock;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest) {
+        return size() > TotalCountCache.this.maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached count of a query.
+   *
+   * @param partitions The partitions that were queried.
+   * @param filter     The normalized filter of the query, or null if it was not filtered.
+   * @return The count, or an empty optional if the count was not cached or has expired.
+   */
+  public synchronized Optional<Long> get(
+      @NonNull final List<String> partitions,
+      final String filter) {
+    final Key key = Key.of(partitions, filter);
+    final Entry entry = entries.get(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (clock.getAsLong() - entry.getCreated() >= ttlMillis) {
+      entries.remove(key);
+      return Optional.empty();
+    }
+    return Optional.of(entry.getCount());
+  }
+
+  /**
+   * Caches the count of a query.
+   *
+   * @param partitions The partitions that were queried.
+   * @param filter     The normalized filter of the query, or null if it was not filtered.
+   * @param count      The number of matching entities.
+   */
+  public synchronized void put(
+      @NonNull final List<String> partitions,
+      final String filter,
+      final long count) {
+    entries.put(Key.of(partitions, filter), new Entry(count, clock.getAsLong()));
+  }
+
+  /**
+   * Drops the counts of every query that included a partition, so a client listing the entities
+   * it just created sees them counted.
+   *
+   * @param partition The partition that was modified.
+   */
+  public synchronized void invalidate(final String partition) {
+    entries.keySet().removeIf(k -> k.getPartitions().contains(StringUtils.defaultString(partition)));
+  }
+
+  /**
+   * Returns the number of cached counts, including any that have expired but were not yet dropped.
+   *
+   * @return The number of cached counts.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Queries for the same partitions in any order share a count.
+   */
+  @Value
+  private static class Key {
+
+    TreeSet<String> partitions;
+    String filter;
+
+    static Key of(final List<String> partitions, final String filter) {
+      final TreeSet<String> sorted = new TreeSet<>();
+      partitions.stream().filter(StringUtils::isNotBlank).forEach(sorted::add);
+      return new Key(sorted, StringUtils.defaultString(filter));
+    }
+  }
+
+  @Value
+  private static class Entry {
+
+    long count;
+    long created;
+  }
+}
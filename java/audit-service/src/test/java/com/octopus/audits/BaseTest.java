@@ -63,4 +63,11 @@ public class BaseTest {
     final JSONAPIDocument<Audit> document = new JSONAPIDocument<Audit>(audit);
     return new String(resourceConverter.writeDocument(document));
   }
+
+  protected String auditsToResourceDocument(
+      @NonNull final ResourceConverter resourceConverter, @NonNull final List<Audit> audits)
+      throws DocumentSerializationException {
+    final JSONAPIDocument<List<Audit>> document = new JSONAPIDocument<List<Audit>>(audits);
+    return new String(resourceConverter.writeDocumentCollection(document));
+  }
 }
@@ -44,7 +44,8 @@ public class LambdaBadBackendTests extends BaseTest {
   @BeforeEach
   public void setup() throws DocumentSerializationException {
     Mockito.when(auditsHandler.getOne(any(), any(), any(), any())).thenThrow(new RuntimeException());
-    Mockito.when(auditsHandler.getAll(any(), any(), any(), any(), any(), any())).thenThrow(new RuntimeException());
+    Mockito.when(auditsHandler.getAll(any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenThrow(new RuntimeException());
     Mockito.when(auditsHandler.create(any(), any(), any(), any())).thenThrow(new RuntimeException());
     Mockito.when(healthHandler.getHealth(any(), any())).thenThrow(new RuntimeException());
   }
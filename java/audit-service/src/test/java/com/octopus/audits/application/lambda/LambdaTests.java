@@ -117,6 +117,32 @@ public class LambdaTests extends BaseTest {
     assertEquals(getEntity.getSubject(), postEntity.getSubject());
   }
 
+  @Test
+  public void testLambdaCreateAll() throws DocumentSerializationException {
+    final APIGatewayProxyRequestEvent apiGatewayProxyRequestEvent =
+        new APIGatewayProxyRequestEvent();
+    apiGatewayProxyRequestEvent.setHeaders(
+        new HashMap<>() {
+          {
+            put("Accept", "application/vnd.api+json");
+          }
+        });
+    apiGatewayProxyRequestEvent.setHttpMethod("POST");
+    apiGatewayProxyRequestEvent.setPath("/api/audits/batch");
+    apiGatewayProxyRequestEvent.setBody(
+        auditsToResourceDocument(resourceConverter, List.of(
+            createAudit("testCreateAllResource1"),
+            createAudit("testCreateAllResource2"))));
+    final ProxyResponse postResponse =
+        auditApi.handleRequest(apiGatewayProxyRequestEvent, Mockito.mock(Context.class));
+    assertEquals("200", postResponse.statusCode);
+
+    final List<Audit> postEntities = getAuditsFromDocument(resourceConverter, postResponse.body);
+    assertEquals(2, postEntities.size());
+    assertEquals("testCreateAllResource1", postEntities.get(0).getSubject());
+    assertEquals("testCreateAllResource2", postEntities.get(1).getSubject());
+  }
+
   @Test
   public void testLambdaCreateAndGetBase64Encoded() throws DocumentSerializationException {
     final APIGatewayProxyRequestEvent apiGatewayProxyRequestEvent =
@@ -31,7 +31,8 @@ public class LambdaUnauthorizedBackendTestsException extends BaseTest {
   @BeforeEach
   public void setup() throws DocumentSerializationException {
     Mockito.when(auditsHandler.getOne(any(), any(), any(), any())).thenThrow(new Unauthorized());
-    Mockito.when(auditsHandler.getAll(any(), any(), any(), any(), any(), any())).thenThrow(new Unauthorized());
+    Mockito.when(auditsHandler.getAll(any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenThrow(new Unauthorized());
     Mockito.when(auditsHandler.create(any(), any(), any(), any())).thenThrow(new Unauthorized());
   }
 
@@ -2,10 +2,13 @@ package com.octopus.audits.domain.handlers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.github.jasminb.jsonapi.JSONAPIDocument;
 import com.github.jasminb.jsonapi.ResourceConverter;
 import com.github.jasminb.jsonapi.exceptions.DocumentSerializationException;
 import com.octopus.audits.BaseTest;
@@ -16,14 +19,18 @@ import com.octopus.audits.domain.handlers.AuditsHandler;
 import com.octopus.audits.domain.handlers.HealthHandler;
 import com.octopus.audits.infrastructure.utilities.LiquidbaseUpdater;
 import io.quarkus.test.junit.QuarkusTest;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import liquibase.exception.LiquibaseException;
 import lombok.NonNull;
 import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -56,6 +63,7 @@ public class HandlerTests extends BaseTest {
   @CsvSource({
       "/health/audits,GET",
       "/health/audits,POST",
+      "/health/audits/batch,POST",
       "/health/audits/x,GET"
   })
   public void testHealth(@NonNull final String path, @NonNull final String method)
@@ -134,6 +142,55 @@ public class HandlerTests extends BaseTest {
     assertEquals("action", resultObject.getAction());
   }
 
+  @Test
+  @Transactional
+  public void testCreateAudits() throws DocumentSerializationException {
+    final String result = auditsHandler.createAll(
+        auditsToResourceDocument(resourceConverter,
+            List.of(createAudit("subject1"), createAudit("subject2"))),
+        List.of("testing"),
+        null, null);
+    final List<Audit> resultObjects = getAuditsFromDocument(resourceConverter, result);
+
+    assertEquals(2, resultObjects.size());
+    assertNotNull(resultObjects.get(0).getId());
+    assertNotNull(resultObjects.get(1).getId());
+    assertNotEquals(resultObjects.get(0).getId(), resultObjects.get(1).getId());
+    assertEquals("subject1", resultObjects.get(0).getSubject());
+    assertEquals("subject2", resultObjects.get(1).getSubject());
+    assertEquals("testing", resultObjects.get(1).getDataPartition());
+
+    final Audit getResultObject = getAuditFromDocument(resourceConverter,
+        auditsHandler.getOne(resultObjects.get(1).getId().toString(), List.of("testing"), null,
+            null));
+    assertEquals("subject2", getResultObject.getSubject());
+  }
+
+  @Test
+  @Transactional
+  public void createInvalidAudits() {
+    assertThrows(InvalidInput.class, () -> {
+      final Audit audit = createAudit("subject");
+      audit.setObject(null);
+      auditsHandler.createAll(
+          auditsToResourceDocument(resourceConverter, List.of(createAudit("subject"), audit)),
+          List.of("testing"),
+          null, null);
+    });
+
+    assertThrows(InvalidInput.class, () ->
+        auditsHandler.createAll(
+            auditsToResourceDocument(resourceConverter, List.of()),
+            List.of("testing"),
+            null, null));
+
+    assertThrows(InvalidInput.class, () ->
+        auditsHandler.createAll(
+            auditToResourceDocument(resourceConverter, createAudit("subject")),
+            List.of("testing"),
+            null, null));
+  }
+
   @Test
   @Transactional
   public void getAudit() throws DocumentSerializationException {
@@ -293,6 +350,76 @@ public class HandlerTests extends BaseTest {
     assertEquals(resultObject.getDataPartition(), getResultObjects.get(0).getDataPartition());
   }
 
+  @Test
+  @Transactional
+  public void getAllAuditsWithCursor() throws DocumentSerializationException {
+    auditsHandler.createAll(
+        auditsToResourceDocument(resourceConverter,
+            List.of(createAudit("cursor1"), createAudit("cursor2"), createAudit("cursor3"))),
+        List.of("cursortesting"),
+        null, null);
+
+    final JSONAPIDocument<List<Audit>> firstPage = resourceConverter.readDocumentCollection(
+        auditsHandler.getAll(List.of("cursortesting"), null, null, "2", "", null, null, null)
+            .getBytes(StandardCharsets.UTF_8),
+        Audit.class);
+    assertEquals(2, firstPage.get().size());
+    assertNotNull(firstPage.getLinks().getNext());
+
+    final String nextHref = firstPage.getLinks().getNext().getHref();
+    final String cursor = StringUtils.substringBetween(nextHref, "page[cursor]=", "&");
+    final JSONAPIDocument<List<Audit>> secondPage = resourceConverter.readDocumentCollection(
+        auditsHandler.getAll(List.of("cursortesting"), null, null, "2", cursor, null, null, null)
+            .getBytes(StandardCharsets.UTF_8),
+        Audit.class);
+    assertEquals(1, secondPage.get().size());
+    assertNull(secondPage.getLinks().getNext());
+
+    // Each audit appears on exactly one page
+    final Set<Integer> ids = new HashSet<>();
+    firstPage.get().forEach(a -> ids.add(a.getId()));
+    secondPage.get().forEach(a -> ids.add(a.getId()));
+    assertEquals(3, ids.size());
+
+    assertThrows(InvalidInput.class, () ->
+        auditsHandler.getAll(List.of("cursortesting"), null, null, "2", "invalid", null, null,
+            null));
+  }
+
+  @Test
+  @Transactional
+  public void getAllAuditsWithInvalidFilter() {
+    assertThrows(InvalidInput.class, () ->
+        auditsHandler.getAll(List.of("testing"), "unknown==value", null, null, null, null));
+    assertThrows(InvalidInput.class, () ->
+        auditsHandler.getAll(List.of("testing"), "time=gt=yesterday", null, null, null, null));
+  }
+
+  @Test
+  @Transactional
+  public void getAllAuditsWithoutCount() throws DocumentSerializationException {
+    auditsHandler.createAll(
+        auditsToResourceDocument(resourceConverter,
+            List.of(createAudit("count1"), createAudit("count2"))),
+        List.of("counttesting"),
+        null, null);
+
+    final JSONAPIDocument<List<Audit>> counted = resourceConverter.readDocumentCollection(
+        auditsHandler.getAll(List.of("counttesting"), null, null, "1", null, null, null, null)
+            .getBytes(StandardCharsets.UTF_8),
+        Audit.class);
+    assertEquals(2, ((Number) counted.getLinks().getFirst().getMeta().get("total")).intValue());
+    assertEquals("exact", counted.getLinks().getFirst().getMeta().get("totalKind"));
+
+    final JSONAPIDocument<List<Audit>> uncounted = resourceConverter.readDocumentCollection(
+        auditsHandler.getAll(List.of("counttesting"), null, null, "1", null, "false", null, null)
+            .getBytes(StandardCharsets.UTF_8),
+        Audit.class);
+    assertEquals(1, uncounted.get().size());
+    assertNull(uncounted.getLinks().getLast());
+    assertNotNull(uncounted.getLinks().getNext());
+  }
+
   /**
    * You should not be able to list resources in another partition.
    *
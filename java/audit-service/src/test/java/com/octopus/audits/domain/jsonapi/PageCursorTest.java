@@ -0,0 +1,35 @@
+package com.octopus.audits.domain.jsonapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.octopus.audits.domain.entities.Audit;
+import com.octopus.audits.domain.exceptions.InvalidInput;
+import java.sql.Timestamp;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+public class PageCursorTest {
+
+  @Test
+  public void testCursorRoundTrip() {
+    final Audit audit = new Audit();
+    audit.setId(1234);
+    audit.setTime(Timestamp.from(Instant.parse("2022-05-01T10:15:30.123456Z")));
+
+    final String encoded = PageCursor.of(audit).encode();
+    final PageCursor decoded = PageCursor.decode(encoded);
+
+    assertFalse(encoded.contains("="));
+    assertEquals(1234, decoded.getId());
+    assertEquals(audit.getTime(), decoded.getTime());
+  }
+
+  @Test
+  public void testInvalidCursors() {
+    assertThrows(InvalidInput.class, () -> PageCursor.decode("not a cursor"));
+    assertThrows(InvalidInput.class, () -> PageCursor.decode("bm90IGEgY3Vyc29y"));
+    assertThrows(NullPointerException.class, () -> PageCursor.decode(null));
+  }
+}
@@ -1,11 +1,15 @@
 package com.octopus.audits.domain.jsonapi;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.github.jasminb.jsonapi.JSONAPIDocument;
 import com.octopus.audits.domain.jsonapi.PagedResultsLinksBuilder;
 import com.octopus.audits.domain.entities.Audit;
+import com.octopus.audits.domain.wrappers.CountKind;
 import com.octopus.audits.domain.wrappers.FilteredResultWrapper;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -34,6 +38,87 @@ public class PagedResultsLinksBuilderTests {
     assertTrue(document.getLinks().getPrevious().getMeta().containsKey("total"));
   }
 
+  @Test
+  public void testCursorLinksAreAdded() {
+    final List<Audit> resourceList = List.of(new Audit(), new Audit());
+    final JSONAPIDocument<List<Audit>> document = new JSONAPIDocument<List<Audit>>(resourceList);
+    final FilteredResultWrapper<Audit> results =
+        new FilteredResultWrapper<>(resourceList, 100l, "cursor");
+    PagedResultsLinksBuilder.generateCursorPageLinks(document, "2", results);
+
+    assertEquals("/api/audits?page[cursor]=&page[limit]=2", document.getLinks().getFirst().getHref());
+    assertEquals("/api/audits?page[cursor]=cursor&page[limit]=2",
+        document.getLinks().getNext().getHref());
+    assertTrue(document.getLinks().getNext().getMeta().containsKey("total"));
+    assertNull(document.getLinks().getPrevious());
+    assertNull(document.getLinks().getLast());
+  }
+
+  @Test
+  public void testCursorLinksOnLastPage() {
+    final List<Audit> resourceList = List.of(new Audit());
+    final JSONAPIDocument<List<Audit>> document = new JSONAPIDocument<List<Audit>>(resourceList);
+    final FilteredResultWrapper<Audit> results =
+        new FilteredResultWrapper<>(resourceList, 1l, null);
+    PagedResultsLinksBuilder.generateCursorPageLinks(document, "2", results);
+
+    assertFalse(document.getLinks().getLinks().containsKey("next"));
+  }
+
+  @Test
+  public void testCountKindIsAdded() {
+    final List<Audit> resourceList = List.of(new Audit());
+    final JSONAPIDocument<List<Audit>> document = new JSONAPIDocument<List<Audit>>(resourceList);
+    final FilteredResultWrapper<Audit> results =
+        new FilteredResultWrapper<>(resourceList, 1l, CountKind.CACHED, null);
+    PagedResultsLinksBuilder.generatePageLinks(document, "2", "0", results);
+
+    assertEquals(1l, document.getLinks().getFirst().getMeta().get("total"));
+    assertEquals("cached", document.getLinks().getFirst().getMeta().get("totalKind"));
+  }
+
+  @Test
+  public void testEstimatedCountLinks() {
+    // The estimate is lower than the number of results, which must not hide the next page
+    final List<Audit> resourceList = List.of(new Audit(), new Audit());
+    final JSONAPIDocument<List<Audit>> document = new JSONAPIDocument<List<Audit>>(resourceList);
+    final FilteredResultWrapper<Audit> results =
+        new FilteredResultWrapper<>(resourceList, 3l, CountKind.ESTIMATED, null);
+    PagedResultsLinksBuilder.generatePageLinks(document, "2", "2", results);
+
+    assertEquals("estimated", document.getLinks().getFirst().getMeta().get("totalKind"));
+    assertNull(document.getLinks().getLast());
+    assertEquals("/api/audits?page[offset]=4&page[limit]=2",
+        document.getLinks().getNext().getHref());
+  }
+
+  @Test
+  public void testUncountedLinks() {
+    final List<Audit> resourceList = List.of(new Audit(), new Audit());
+    final JSONAPIDocument<List<Audit>> document = new JSONAPIDocument<List<Audit>>(resourceList);
+    final FilteredResultWrapper<Audit> results =
+        new FilteredResultWrapper<>(resourceList, null, null, null);
+    PagedResultsLinksBuilder.generatePageLinks(document, "2", "2", results);
+
+    assertNull(document.getLinks().getFirst().getMeta());
+    assertNull(document.getLinks().getLast());
+    assertEquals("/api/audits?page[offset]=4&page[limit]=2&page[count]=false",
+        document.getLinks().getNext().getHref());
+    assertEquals("/api/audits?page[offset]=0&page[limit]=2&page[count]=false",
+        document.getLinks().getPrevious().getHref());
+  }
+
+  @Test
+  public void testUncountedLinksOnLastPage() {
+    final List<Audit> resourceList = List.of(new Audit());
+    final JSONAPIDocument<List<Audit>> document = new JSONAPIDocument<List<Audit>>(resourceList);
+    final FilteredResultWrapper<Audit> results =
+        new FilteredResultWrapper<>(resourceList, null, null, null);
+    PagedResultsLinksBuilder.generatePageLinks(document, "2", "2", results);
+
+    assertFalse(document.getLinks().getLinks().containsKey("next"));
+  }
+
   @Test
   public void verifyNullInputs() {
     final List<Audit> resourceList = List.of(new Audit());
@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 
 import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSObject;
 import com.octopus.audits.domain.features.impl.CognitoJwkBase64Feature;
 import com.octopus.audits.domain.features.impl.DisableSecurityFeature;
 import io.quarkus.test.junit.QuarkusTest;
@@ -49,7 +50,7 @@ public class JoseJwtVerifierTest {
       throws SQLException, LiquibaseException, ParseException, IOException, JOSEException {
     Mockito.when(cognitoDisableAuth.getCognitoAuthDisabled()).thenReturn(true);
     Mockito.when(cognitoJwkBase64Feature.getCognitoJwk()).thenReturn(Optional.of(JWK));
-    Mockito.when(jwtValidator.jwtIsValid(any(), any())).thenReturn(true);
+    Mockito.when(jwtValidator.jwtIsValid(any(JWSObject.class), any())).thenReturn(true);
   }
 
   @Test
@@ -0,0 +1,192 @@
+package com.octopus.audits.infrastructure.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.audits.domain.entities.Audit;
+import com.octopus.audits.domain.exceptions.InvalidInput;
+import com.octopus.audits.domain.exceptions.JournalFull;
+import com.octopus.audits.infrastructure.journal.impl.JournaledAuditWriteBehindQueue;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class JournaledAuditWriteBehindQueueTest {
+
+  private static final Consumer<List<Audit>> FAILING_WRITER = audits -> {
+    throw new IllegalStateException("The database is asleep");
+  };
+
+  @Test
+  public void testFullBatchIsWritten() throws IOException {
+    final List<List<Audit>> batches = new CopyOnWriteArrayList<>();
+    try (final AuditWriteBehindQueue queue = buildQueue(
+        Files.createTempDirectory("journal"), batches::add, 3, 60000)) {
+      queue.enqueue(createAudit("one"));
+      queue.enqueue(createAudit("two"));
+      queue.enqueue(createAudit("three"));
+
+      waitFor(() -> queue.getStats().getCommitted() == 3);
+      assertEquals(1, batches.size());
+      assertEquals(List.of("one", "two", "three"), subjects(batches.get(0)));
+      assertEquals(1, queue.getStats().getBatches());
+      assertEquals(3, queue.getStats().getLastBatchSize());
+      assertEquals(0, queue.getStats().getQueueDepth());
+    }
+  }
+
+  @Test
+  public void testPartialBatchIsWrittenAfterLatency() throws IOException {
+    final List<List<Audit>> batches = new CopyOnWriteArrayList<>();
+    try (final AuditWriteBehindQueue queue = buildQueue(
+        Files.createTempDirectory("journal"), batches::add, 50, 50)) {
+      queue.enqueue(createAudit("one"));
+
+      waitFor(() -> queue.getStats().getCommitted() == 1);
+      assertEquals(List.of("one"), subjects(batches.get(0)));
+    }
+  }
+
+  @Test
+  public void testBackpressure() throws IOException {
+    try (final AuditWriteBehindQueue queue = JournaledAuditWriteBehindQueue.builder()
+        .journalDirectory(Files.createTempDirectory("journal"))
+        .batchWriter(FAILING_WRITER)
+        .maxPending(2)
+        .shutdownTimeoutMillis(100)
+        .build()) {
+      queue.enqueue(createAudit("one"));
+      queue.enqueue(createAudit("two"));
+
+      assertThrows(JournalFull.class, () -> queue.enqueue(createAudit("three")));
+      assertEquals(1, queue.getStats().getRejected());
+      assertEquals(2, queue.getStats().getQueueDepth());
+    }
+  }
+
+  @Test
+  public void testUnwrittenAuditsAreReplayed() throws IOException {
+    final Path journalDirectory = Files.createTempDirectory("journal");
+    try (final AuditWriteBehindQueue queue = buildQueue(journalDirectory, FAILING_WRITER, 50, 10)) {
+      queue.enqueue(createAudit("one"));
+      queue.enqueue(createAudit("two"));
+      waitFor(() -> queue.getStats().getFailedBatches() > 0);
+    }
+
+    final List<List<Audit>> batches = new CopyOnWriteArrayList<>();
+    try (final AuditWriteBehindQueue queue = buildQueue(journalDirectory, batches::add, 50, 10)) {
+      waitFor(() -> queue.getStats().getCommitted() == 2);
+      assertEquals(List.of("one", "two"), subjects(batches.get(0)));
+
+      // New audits continue the sequence of the replayed audits
+      queue.enqueue(createAudit("three"));
+      waitFor(() -> queue.getStats().getCommitted() == 3);
+    }
+
+    final List<List<Audit>> replayed = new CopyOnWriteArrayList<>();
+    try (final AuditWriteBehindQueue queue = buildQueue(journalDirectory, replayed::add, 50, 10)) {
+      assertEquals(0, queue.getStats().getQueueDepth());
+    }
+    assertTrue(replayed.isEmpty());
+  }
+
+  @Test
+  public void testPartlyWrittenAuditIsRemoved() throws IOException {
+    final Path journalDirectory = Files.createTempDirectory("journal");
+    try (final AuditWriteBehindQueue queue = buildQueue(journalDirectory, FAILING_WRITER, 50, 10)) {
+      queue.enqueue(createAudit("one"));
+    }
+
+    // Simulate a crash part way through appending an audit
+    Files.writeString(journalDirectory.resolve("audits.journal"), "{\"sequence\":2,\"au",
+        StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+    try (final AuditWriteBehindQueue queue = buildQueue(journalDirectory, FAILING_WRITER, 50, 10)) {
+      assertEquals(1, queue.getStats().getQueueDepth());
+      queue.enqueue(createAudit("two"));
+    }
+
+    final List<List<Audit>> batches = new CopyOnWriteArrayList<>();
+    try (final AuditWriteBehindQueue queue = buildQueue(journalDirectory, batches::add, 50, 10)) {
+      waitFor(() -> queue.getStats().getCommitted() == 2);
+      assertEquals(List.of("one", "two"), subjects(batches.get(0)));
+    }
+  }
+
+  @Test
+  public void testInvalidAuditIsSetAside() throws IOException {
+    final List<List<Audit>> batches = new CopyOnWriteArrayList<>();
+    final Consumer<List<Audit>> validatingWriter = audits -> {
+      if (audits.stream().anyMatch(a -> "invalid".equals(a.getSubject()))) {
+        throw new InvalidInput("invalid");
+      }
+      batches.add(audits);
+    };
+
+    try (final AuditWriteBehindQueue queue = buildQueue(
+        Files.createTempDirectory("journal"), validatingWriter, 3, 60000)) {
+      queue.enqueue(createAudit("one"));
+      queue.enqueue(createAudit("invalid"));
+      queue.enqueue(createAudit("three"));
+
+      waitFor(() -> queue.getStats().getCommitted() == 2);
+      assertEquals(1, queue.getStats().getInvalid());
+      assertEquals(List.of("one", "three"), batches.stream()
+          .flatMap(List::stream)
+          .map(Audit::getSubject)
+          .collect(Collectors.toList()));
+    }
+  }
+
+  private AuditWriteBehindQueue buildQueue(
+      final Path journalDirectory,
+      final Consumer<List<Audit>> batchWriter,
+      final int batchSize,
+      final long maxLatencyMillis) {
+    return JournaledAuditWriteBehindQueue.builder()
+        .journalDirectory(journalDirectory)
+        .batchWriter(batchWriter)
+        .batchSize(batchSize)
+        .maxLatencyMillis(maxLatencyMillis)
+        .retryDelayMillis(10)
+        .shutdownTimeoutMillis(1000)
+        .build();
+  }
+
+  private Audit createAudit(final String subject) {
+    final Audit audit = new Audit();
+    audit.setSubject(subject);
+    audit.setObject("object");
+    audit.setAction("action");
+    audit.setDataPartition("testing");
+    audit.setTime(new Timestamp(System.currentTimeMillis()));
+    return audit;
+  }
+
+  private List<String> subjects(final List<Audit> audits) {
+    return audits.stream().map(Audit::getSubject).collect(Collectors.toList());
+  }
+
+  private void waitFor(final BooleanSupplier condition) {
+    final long deadline = System.currentTimeMillis() + 5000;
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the queue");
+      try {
+        Thread.sleep(10);
+      } catch (final InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.octopus.audits.infrastructure.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.octopus.audits.domain.entities.Audit;
+import com.octopus.audits.domain.exceptions.InvalidInput;
+import cz.jirutka.rsql.parser.RSQLParserException;
+import io.quarkus.test.junit.QuarkusTest;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.ManagedType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class RsqlFilterCacheTest {
+
+  @Inject
+  EntityManager em;
+
+  ManagedType<Audit> entity;
+
+  @BeforeEach
+  public void setup() {
+    entity = em.getMetamodel().entity(Audit.class);
+  }
+
+  @Test
+  public void testFiltersAreCompiledOnce() {
+    final RsqlFilterCache cache = RsqlFilterCache.builder().build();
+
+    final CompiledFilter compiled = cache.compile("action==Login;time=gt=2022-01-01T00:00:00Z",
+        entity);
+    assertSame(compiled, cache.compile(" action==Login;time=gt=2022-01-01T00:00:00Z ", entity));
+    assertEquals(1, cache.getStats().getMisses());
+    assertEquals(1, cache.getStats().getHits());
+  }
+
+  @Test
+  public void testInvalidFiltersAreRejected() {
+    final RsqlFilterCache cache = RsqlFilterCache.builder().build();
+
+    assertThrows(InvalidInput.class, () -> cache.compile("unknown==value", entity));
+    assertThrows(InvalidInput.class, () -> cache.compile("action==Login,id==notanumber", entity));
+    assertThrows(InvalidInput.class, () -> cache.compile("time=gt=yesterday", entity));
+    assertThrows(RSQLParserException.class, () -> cache.compile("action==", entity));
+    assertEquals(4, cache.getStats().getInvalid());
+    assertEquals(0, cache.getStats().getSize());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedFilterIsDropped() {
+    final RsqlFilterCache cache = RsqlFilterCache.builder().maxEntries(2).build();
+
+    final CompiledFilter first = cache.compile("id==1", entity);
+    cache.compile("id==2", entity);
+    cache.compile("id==1", entity);
+    cache.compile("id==3", entity);
+
+    assertSame(first, cache.compile("id==1", entity));
+    cache.compile("id==2", entity);
+    assertEquals(4, cache.getStats().getMisses());
+    assertEquals(2, cache.getStats().getEvictions());
+    assertEquals(2, cache.getStats().getSize());
+  }
+}
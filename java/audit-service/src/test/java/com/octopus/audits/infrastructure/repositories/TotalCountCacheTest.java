@@ -0,0 +1,54 @@
+package com.octopus.audits.infrastructure.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class TotalCountCacheTest {
+
+  @Test
+  public void testCountsExpire() {
+    final AtomicLong now = new AtomicLong();
+    final TotalCountCache cache = TotalCountCache.builder()
+        .ttlMillis(1000)
+        .clock(now::get)
+        .build();
+
+    cache.put(List.of("main", "testing"), "action==Login", 10);
+    assertEquals(Optional.of(10L), cache.get(List.of("testing", "main", ""), "action==Login"));
+    assertTrue(cache.get(List.of("main", "testing"), null).isEmpty());
+
+    now.set(1000);
+    assertTrue(cache.get(List.of("main", "testing"), "action==Login").isEmpty());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedCountIsDropped() {
+    final TotalCountCache cache = TotalCountCache.builder().maxEntries(2).build();
+
+    cache.put(List.of("main"), "a==1", 1);
+    cache.put(List.of("main"), "a==2", 2);
+    cache.get(List.of("main"), "a==1");
+    cache.put(List.of("main"), "a==3", 3);
+
+    assertEquals(2, cache.size());
+    assertEquals(Optional.of(1L), cache.get(List.of("main"), "a==1"));
+    assertTrue(cache.get(List.of("main"), "a==2").isEmpty());
+  }
+
+  @Test
+  public void testModifiedPartitionsAreInvalidated() {
+    final TotalCountCache cache = TotalCountCache.builder().build();
+
+    cache.put(List.of("main", "testing"), null, 10);
+    cache.put(List.of("main", "other"), null, 20);
+    cache.invalidate("testing");
+
+    assertTrue(cache.get(List.of("main", "testing"), null).isEmpty());
+    assertEquals(Optional.of(20L), cache.get(List.of("main", "other"), null));
+  }
+}
@@ -7,17 +7,21 @@ public final class GlobalConstants {
 
   public static final String JSONAPI_CONTENT_TYPE = "application/vnd.api+json";
   public static final String JSON_CONTENT_TYPE = "application/json";
+  public static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
   public static final String FROM_ENCODED_CONTENT_TYPE = "application/x-www-form-urlencoded";
   public static final String ACCEPT_HEADER = "Accept";
   public static final String ROUTING_HEADER = "Routing";
   public static final String AMAZON_TRACE_ID_HEADER = "X-Amzn-Trace-Id";
   public static final String DATA_PARTITION = "Data-Partition";
   public static final String AUTHORIZATION_HEADER = "Authorization";
+  public static final String REPOS_TRUNCATED_HEADER = "X-Repos-Truncated";
   public static final String SERVICE_AUTHORIZATION_HEADER = "Service-Authorization";
   public static final String INVOCATION_TYPE = "Invocation-Type";
   public static final String ASYNC_INVOCATION_TYPE = "Event";
   public static final String CREATED_TEMPLATE_ACTION = "CreateTemplateUsing";
   public static final String CREATED_TEMPLATE_FOR_ACTION = "CreateTemplateFor";
+  public static final String GITHUB_ACTIONS_TARGET = "GitHub Actions";
+  public static final String JENKINS_TARGET = "Jenkins";
   public static final String CLIENT_CREDENTIALS = "client_credentials";
   public static final String AUDIT_SCOPE = "audit.content-team/admin";
 
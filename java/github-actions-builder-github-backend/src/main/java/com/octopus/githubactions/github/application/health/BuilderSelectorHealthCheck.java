@@ -0,0 +1,33 @@
+package com.octopus.githubactions.github.application.health;
+
+import com.octopus.builders.BuilderSelector;
+import com.octopus.builders.BuilderSelectorStats;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the statistics of the service selecting the builder for each repo.
+ */
+@Readiness
+@ApplicationScoped
+public class BuilderSelectorHealthCheck implements HealthCheck {
+
+  @Inject
+  BuilderSelector builderSelector;
+
+  @Override
+  public HealthCheckResponse call() {
+    final BuilderSelectorStats stats = builderSelector.getStats();
+    return HealthCheckResponse.named("Builder selector")
+        .up()
+        .withData("selections", stats.getSelections())
+        .withData("deadlinesExceeded", stats.getDeadlinesExceeded())
+        .withData("cancelledProbes", stats.getCancelledProbes())
+        .withData("failedProbes", stats.getFailedProbes())
+        .withData("averageSelectionMillis", String.valueOf(stats.getAverageSelectionMillis()))
+        .build();
+  }
+}
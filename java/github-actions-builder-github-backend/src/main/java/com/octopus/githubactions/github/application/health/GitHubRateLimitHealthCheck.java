@@ -0,0 +1,44 @@
+package com.octopus.githubactions.github.application.health;
+
+import com.octopus.http.CredentialQuota;
+import com.octopus.http.RateLimitScheduler;
+import com.octopus.http.RateLimitStats;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the statistics of the GitHub rate limit scheduler, along with the credentials that have
+ * the least quota remaining.
+ */
+@Readiness
+@ApplicationScoped
+public class GitHubRateLimitHealthCheck implements HealthCheck {
+
+  @Inject
+  RateLimitScheduler rateLimitScheduler;
+
+  @Override
+  public HealthCheckResponse call() {
+    final RateLimitStats stats = rateLimitScheduler.getStats();
+    final HealthCheckResponseBuilder builder = HealthCheckResponse.named("GitHub rate limits")
+        .up()
+        .withData("allowed", stats.getAllowed())
+        .withData("delayed", stats.getDelayed())
+        .withData("shedHigh", stats.getShedHigh())
+        .withData("shedLow", stats.getShedLow())
+        .withData("trackedCredentials", stats.getTrackedCredentials());
+
+    for (final CredentialQuota quota : stats.getQuotas()) {
+      builder.withData(quota.getCredential(),
+          quota.getRemaining() + "/" + quota.getLimit()
+              + " reset=" + quota.getResetEpochSeconds()
+              + (quota.isBlocked() ? " blocked" : ""));
+    }
+
+    return builder.build();
+  }
+}
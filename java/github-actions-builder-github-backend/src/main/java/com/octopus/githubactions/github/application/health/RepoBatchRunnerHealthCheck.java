@@ -0,0 +1,33 @@
+package com.octopus.githubactions.github.application.health;
+
+import com.octopus.builders.RepoBatchRunner;
+import com.octopus.builders.RepoBatchStats;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the statistics of the service running the repos of bulk requests.
+ */
+@Readiness
+@ApplicationScoped
+public class RepoBatchRunnerHealthCheck implements HealthCheck {
+
+  @Inject
+  RepoBatchRunner repoBatchRunner;
+
+  @Override
+  public HealthCheckResponse call() {
+    final RepoBatchStats stats = repoBatchRunner.getStats();
+    return HealthCheckResponse.named("Bulk pipeline generation")
+        .up()
+        .withData("batches", stats.getBatches())
+        .withData("activeBatches", stats.getActiveBatches())
+        .withData("repos", stats.getRepos())
+        .withData("failedRepos", stats.getFailedRepos())
+        .withData("cancelledRepos", stats.getCancelledRepos())
+        .build();
+  }
+}
@@ -0,0 +1,33 @@
+package com.octopus.githubactions.github.application.health;
+
+import com.octopus.tasks.BackgroundTaskQueue;
+import com.octopus.tasks.BackgroundTaskStats;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the statistics of the queue recording the details of users generating templates.
+ */
+@Readiness
+@ApplicationScoped
+public class UserDetailsQueueHealthCheck implements HealthCheck {
+
+  @Inject
+  BackgroundTaskQueue userDetailsQueue;
+
+  @Override
+  public HealthCheckResponse call() {
+    final BackgroundTaskStats stats = userDetailsQueue.getStats();
+    return HealthCheckResponse.named("User details queue")
+        .up()
+        .withData("submitted", stats.getSubmitted())
+        .withData("completed", stats.getCompleted())
+        .withData("failed", stats.getFailed())
+        .withData("dropped", stats.getDropped())
+        .withData("queued", stats.getQueued())
+        .build();
+  }
+}
@@ -0,0 +1,69 @@
+package com.octopus.githubactions.github.application.http;
+
+import com.octopus.PipelineConstants;
+import com.octopus.githubactions.github.GlobalConstants;
+import com.octopus.githubactions.github.domain.entities.CombinedPipelineResult;
+import com.octopus.githubactions.github.domain.entities.Utms;
+import com.octopus.githubactions.github.domain.exceptions.BadRequest;
+import com.octopus.githubactions.github.domain.hanlder.CombinedTemplateHandler;
+import javax.inject.Inject;
+import javax.ws.rs.CookieParam;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The REST server generating the pipelines of every supported CI server.
+ */
+@Path("/api/pipeline/github/generate/combined")
+public class CombinedPipelineResource {
+
+  @Inject
+  CombinedTemplateHandler combinedTemplateHandler;
+
+  /**
+   * Generates a GitHub Actions workflow and a Jenkins pipeline from the given git repository. The
+   * language of the repository is only detected once.
+   *
+   * @param repo The repository URL.
+   * @return The pipelines keyed by CI server.
+   */
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public CombinedPipelineResult pipelines(
+      @QueryParam("repo") final String repo,
+      @HeaderParam(GlobalConstants.AMAZON_TRACE_ID_HEADER) final String xray,
+      @HeaderParam(GlobalConstants.ROUTING_HEADER) final String routingHeaders,
+      @HeaderParam(GlobalConstants.DATA_PARTITION) final String dataPartitionHeaders,
+      @HeaderParam(GlobalConstants.AUTHORIZATION_HEADER) final String authHeaders,
+      @CookieParam(PipelineConstants.GITHUB_SESSION_COOKIE) final String auth,
+      @QueryParam("utm_source") final String source,
+      @QueryParam("utm_medium") final String medium,
+      @QueryParam("utm_campaign") final String campaign,
+      @QueryParam("utm_term") final String term,
+      @QueryParam("utm_content") final String content) {
+
+    if (StringUtils.isBlank(repo)) {
+      throw new BadRequest();
+    }
+
+    return combinedTemplateHandler.generatePipelines(
+        repo,
+        auth,
+        xray,
+        routingHeaders,
+        dataPartitionHeaders,
+        authHeaders,
+        Utms.builder()
+            .source(source)
+            .medium(medium)
+            .campaign(campaign)
+            .term(term)
+            .content(content)
+            .build());
+  }
+}
@@ -4,16 +4,28 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 import com.octopus.PipelineConstants;
 import com.octopus.features.MicroserviceNameFeature;
 import com.octopus.githubactions.github.GlobalConstants;
+import com.octopus.githubactions.github.domain.entities.BulkPipelineRequest;
+import com.octopus.githubactions.github.domain.entities.CombinedPipelineResult;
 import com.octopus.githubactions.github.domain.entities.Utms;
+import com.octopus.githubactions.github.domain.exceptions.BadRequest;
+import com.octopus.githubactions.github.domain.exceptions.EntityNotFound;
+import com.octopus.githubactions.github.domain.exceptions.Unauthorized;
+import com.octopus.githubactions.github.domain.hanlder.BulkPipelineBatch;
+import com.octopus.githubactions.github.domain.hanlder.BulkTemplateHandler;
+import com.octopus.githubactions.github.domain.hanlder.CombinedTemplateHandler;
 import com.octopus.githubactions.github.domain.hanlder.SimpleResponse;
 import com.octopus.githubactions.github.domain.hanlder.TemplateHandler;
+import com.octopus.json.JsonSerializer;
 import com.octopus.lambda.LambdaHttpCookieExtractor;
 import com.octopus.lambda.LambdaHttpHeaderExtractor;
 import com.octopus.lambda.LambdaHttpValueExtractor;
+import com.octopus.lambda.RequestBodyExtractor;
 import io.quarkus.logging.Log;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -27,6 +39,8 @@ import javax.inject.Named;
 public class PipelineLambda implements
     RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
   @Inject
   LambdaHttpValueExtractor lambdaHttpValueExtractor;
 
@@ -36,9 +50,21 @@ public class PipelineLambda implements
   @Inject
   LambdaHttpHeaderExtractor lambdaHttpHeaderExtractor;
 
+  @Inject
+  RequestBodyExtractor requestBodyExtractor;
+
   @Inject
   TemplateHandler templateHandler;
 
+  @Inject
+  BulkTemplateHandler bulkTemplateHandler;
+
+  @Inject
+  CombinedTemplateHandler combinedTemplateHandler;
+
+  @Inject
+  JsonSerializer jsonSerializer;
+
   @Inject
   MicroserviceNameFeature microserviceNameFeature;
 
@@ -91,6 +117,16 @@ public class PipelineLambda implements
               .build());
     }
 
+    if (lambdaHttpValueExtractor.getQueryParam(input, "action").orElse("").equals("bulk")) {
+      return generatePipelines(input, session, xray, routingHeaders, dataPartitionHeaders,
+          authHeaders, utms);
+    }
+
+    if (lambdaHttpValueExtractor.getQueryParam(input, "action").orElse("").equals("combined")) {
+      return generateCombinedPipelines(input, session, xray, routingHeaders, dataPartitionHeaders,
+          authHeaders, utms);
+    }
+
     try {
       final SimpleResponse response = templateHandler.generatePipeline(
           lambdaHttpValueExtractor.getQueryParam(input, "repo").orElse(""),
@@ -125,4 +161,96 @@ public class PipelineLambda implements
     }
   }
 
+  /**
+   * Generates the pipelines of the repos in the request body. Lambda responses can not be
+   * streamed, so the newline delimited JSON results are returned once every repo has finished.
+   */
+  private APIGatewayProxyResponseEvent generatePipelines(
+      final APIGatewayProxyRequestEvent input,
+      final String session,
+      final String xray,
+      final String routingHeaders,
+      final String dataPartitionHeaders,
+      final String authHeaders,
+      final Utms utms) {
+    try {
+      final BulkPipelineBatch batch = bulkTemplateHandler.prepareBatch(
+          OBJECT_MAPPER.readValue(requestBodyExtractor.getBody(input), BulkPipelineRequest.class),
+          session);
+
+      final StringBuilder body = new StringBuilder();
+      bulkTemplateHandler.generatePipelines(batch, xray, routingHeaders, dataPartitionHeaders,
+          authHeaders, utms, result -> body.append(jsonSerializer.toJson(result)).append("\n"));
+
+      final ImmutableMap.Builder<String, String> headers =
+          new ImmutableMap.Builder<String, String>()
+              .put("Content-Type", GlobalConstants.NDJSON_CONTENT_TYPE);
+      if (batch.isTruncated()) {
+        headers.put(GlobalConstants.REPOS_TRUNCATED_HEADER,
+            String.valueOf(batch.getRepos().size()));
+      }
+
+      return new APIGatewayProxyResponseEvent()
+          .withStatusCode(200)
+          .withBody(body.toString())
+          .withHeaders(headers.build());
+    } catch (final JsonProcessingException | IllegalArgumentException | BadRequest ex) {
+      return buildError(400, "The request was invalid.");
+    } catch (final Unauthorized ex) {
+      return buildError(401, "You must login to GitHub.");
+    } catch (final EntityNotFound ex) {
+      return buildError(404, "The org was not found.");
+    } catch (final Exception ex) {
+      Log.error(microserviceNameFeature.getMicroserviceName() + "-General-Error", ex);
+      return buildError(500, "An internal server error was encountered.");
+    }
+  }
+
+  /**
+   * Generates the pipelines of every target CI server for the repo, returning them as JSON.
+   */
+  private APIGatewayProxyResponseEvent generateCombinedPipelines(
+      final APIGatewayProxyRequestEvent input,
+      final String session,
+      final String xray,
+      final String routingHeaders,
+      final String dataPartitionHeaders,
+      final String authHeaders,
+      final Utms utms) {
+    try {
+      final CombinedPipelineResult result = combinedTemplateHandler.generatePipelines(
+          lambdaHttpValueExtractor.getQueryParam(input, "repo").orElse(""),
+          session,
+          xray,
+          routingHeaders,
+          dataPartitionHeaders,
+          authHeaders,
+          utms);
+
+      return new APIGatewayProxyResponseEvent()
+          .withStatusCode(200)
+          .withBody(jsonSerializer.toJson(result))
+          .withHeaders(new ImmutableMap.Builder<String, String>()
+              .put("Content-Type", GlobalConstants.JSON_CONTENT_TYPE)
+              .build());
+    } catch (final IllegalArgumentException ex) {
+      return buildError(400, "The request was invalid.");
+    } catch (final Unauthorized ex) {
+      return buildError(401, "You must login to GitHub.");
+    } catch (final EntityNotFound ex) {
+      return buildError(404, "The repo was not found.");
+    } catch (final Exception ex) {
+      Log.error(microserviceNameFeature.getMicroserviceName() + "-General-Error", ex);
+      return buildError(500, "An internal server error was encountered.");
+    }
+  }
+
+  private APIGatewayProxyResponseEvent buildError(final int code, final String body) {
+    return new APIGatewayProxyResponseEvent()
+        .withStatusCode(code)
+        .withBody(body)
+        .withHeaders(new ImmutableMap.Builder<String, String>()
+            .put("Content-Type", "text/plain")
+            .build());
+  }
 }
@@ -5,13 +5,14 @@ import com.github.jasminb.jsonapi.JSONAPIDocument;
 import com.octopus.features.MicroserviceNameFeature;
 import com.octopus.githubactions.github.GlobalConstants;
 import com.octopus.githubactions.github.domain.entities.Audit;
-import com.octopus.githubactions.github.domain.framework.jsonapi.JsonApiConverter;
 import com.octopus.githubactions.github.infrastructure.client.AuditClient;
 import com.octopus.githubactions.github.infrastructure.client.CognitoClient;
+import com.octopus.jsonapi.JsonApiDocumentWriter;
 import io.quarkus.logging.Log;
 import io.vavr.control.Try;
 import java.util.Base64;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -37,7 +38,7 @@ public class AuditGenerator {
   CognitoClient cognitoClient;
 
   @Inject
-  JsonApiConverter jsonApiConverter;
+  JsonApiDocumentWriter jsonApiDocumentWriter;
 
   @Inject
   MicroserviceNameFeature microserviceNameFeature;
@@ -66,8 +67,7 @@ public class AuditGenerator {
     getAccessToken()
         .andThenTry(auditAccessToken ->
             auditClient.createAudit(
-                new String(jsonApiConverter.buildResourceConverter().writeDocument(
-                    new JSONAPIDocument<>(audit))),
+                jsonApiDocumentWriter.writeDocumentAsString(new JSONAPIDocument<>(audit)),
                 StringUtils.defaultString(xrayId),
                 routingHeaders,
                 dataPartitionHeaders,
@@ -82,6 +82,43 @@ public class AuditGenerator {
         });
   }
 
+  /**
+   * Create a number of audit events with a single request to the audits microservice.
+   *
+   * @param audits               The details of the audit events.
+   * @param routingHeaders       The "routing" headers to propagate with the request.
+   * @param dataPartitionHeaders The "data-partition" headers to propagate with the request.
+   * @param authHeaders          The "authorization" headers propagate with the request.
+   */
+  public void createAuditEvents(
+      @NonNull final List<Audit> audits,
+      final String xrayId,
+      @NonNull final String routingHeaders,
+      @NonNull final String dataPartitionHeaders,
+      @NonNull final String authHeaders) {
+
+    if (audits.isEmpty()) {
+      return;
+    }
+
+    getAccessToken()
+        .andThenTry(auditAccessToken ->
+            auditClient.createAudits(
+                jsonApiDocumentWriter.writeDocumentCollectionAsString(new JSONAPIDocument<>(audits)),
+                StringUtils.defaultString(xrayId),
+                routingHeaders,
+                dataPartitionHeaders,
+                authHeaders,
+                "Bearer " + auditAccessToken,
+                GlobalConstants.ASYNC_INVOCATION_TYPE))
+        .onFailure(e -> {
+          // Note the failure
+          Log.error(microserviceNameFeature.getMicroserviceName() + "-Audit-Failed", e);
+          // As a fallback, write the audit events to the logs
+          audits.forEach(audit -> Try.run(() -> Log.error(OBJECT_MAPPER.writer().writeValueAsString(audit))));
+        });
+  }
+
   private Try<String> getAccessToken() {
     if (!StringUtils.isEmpty(accessToken) && new Date().getTime() < expiry) {
       return Try.of(() -> accessToken);
@@ -0,0 +1,24 @@
+package com.octopus.githubactions.github.domain.entities;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The pipelines generated for one repo from a single detection pass, keyed by the name of the
+ * target CI server, like GitHub Actions or Jenkins.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CombinedPipelineResult {
+  private String repo;
+  private String builder;
+  private Map<String, String> pipelines;
+  private String message;
+}
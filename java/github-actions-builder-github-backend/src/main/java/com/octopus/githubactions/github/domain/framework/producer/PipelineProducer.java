@@ -1,6 +1,16 @@
 package com.octopus.githubactions.github.domain.framework.producer;
 
+import com.octopus.builders.BuilderSelector;
+import com.octopus.builders.MultiTargetGenerator;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.PipelineCache;
+import com.octopus.builders.RepoBatchRunner;
+import com.octopus.builders.impl.ConcurrentBuilderSelector;
+import com.octopus.builders.impl.ConcurrentRepoBatchRunner;
+import com.octopus.builders.impl.FilePipelineCacheTier;
+import com.octopus.builders.impl.MemoryPipelineCacheTier;
+import com.octopus.builders.impl.SharedDetectionGenerator;
+import com.octopus.builders.impl.TieredPipelineCache;
 import com.octopus.encryption.AsymmetricEncryptor;
 import com.octopus.encryption.CryptoUtils;
 import com.octopus.encryption.impl.AesCryptoUtils;
@@ -25,9 +35,16 @@ import com.octopus.githubactions.shared.builders.NodeJsBuilder;
 import com.octopus.githubactions.shared.builders.PhpComposerBuilder;
 import com.octopus.githubactions.shared.builders.PythonBuilder;
 import com.octopus.githubactions.shared.builders.RubyBuilder;
+import com.octopus.githubactions.github.GlobalConstants;
 import com.octopus.githubactions.github.domain.features.ServiceBusCognitoConfig;
 import com.octopus.githubactions.github.infrastructure.client.CognitoClient;
+import com.octopus.http.HttpClientPool;
+import com.octopus.http.HttpResponseCache;
+import com.octopus.http.RateLimitScheduler;
 import com.octopus.http.ReadOnlyHttpClient;
+import com.octopus.http.impl.BoundedHttpResponseCache;
+import com.octopus.http.impl.GitHubRateLimitScheduler;
+import com.octopus.http.impl.PoolingHttpClientPool;
 import com.octopus.http.impl.ReadOnlyHttpClientImpl;
 import com.octopus.json.JsonSerializer;
 import com.octopus.json.impl.JacksonJsonSerializerImpl;
@@ -38,22 +55,34 @@ import com.octopus.jwt.impl.JwtValidatorImpl;
 import com.octopus.lambda.LambdaHttpCookieExtractor;
 import com.octopus.lambda.LambdaHttpHeaderExtractor;
 import com.octopus.lambda.LambdaHttpValueExtractor;
+import com.octopus.lambda.RequestBodyExtractor;
 import com.octopus.lambda.impl.CaseInsensitiveCookieExtractor;
 import com.octopus.lambda.impl.CaseInsensitiveHttpHeaderExtractor;
 import com.octopus.lambda.impl.CaseInsensitiveLambdaHttpValueExtractor;
+import com.octopus.lambda.impl.RequestBodyExtractorImpl;
 import com.octopus.oauth.OauthClientCredsAccessor;
 import com.octopus.oauth.impl.OauthClientCredsAccessorImpl;
 import com.octopus.repoclients.RepoClientFactory;
 import com.octopus.repoclients.impl.GitHubRepoClientFactory;
+import com.octopus.repoclients.impl.RepoArchiveCache;
+import com.octopus.tasks.BackgroundTaskQueue;
+import com.octopus.tasks.impl.BoundedBackgroundTaskQueue;
+import com.octopus.tasks.impl.SynchronousBackgroundTaskQueue;
 import com.octopus.utilties.PartitionIdentifier;
 import com.octopus.utilties.impl.PartitionIdentifierImpl;
+import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import javax.crypto.NoSuchPaddingException;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.Produces;
 import javax.inject.Inject;
 import javax.inject.Named;
+import org.apache.commons.lang3.StringUtils;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 
@@ -70,12 +99,170 @@ public class PipelineProducer {
   @ConfigProperty(name = "application.github-client-secret", defaultValue = "")
   Optional<String> clientSecret;
 
+  @ConfigProperty(name = "http.pool.max-total", defaultValue = "50")
+  int httpPoolMaxTotal;
+
+  @ConfigProperty(name = "http.pool.max-per-route", defaultValue = "20")
+  int httpPoolMaxPerRoute;
+
+  @ConfigProperty(name = "http.pool.connect-timeout-millis", defaultValue = "5000")
+  int httpPoolConnectTimeout;
+
+  @ConfigProperty(name = "http.pool.socket-timeout-millis", defaultValue = "15000")
+  int httpPoolSocketTimeout;
+
+  @ConfigProperty(name = "http.pool.connection-request-timeout-millis", defaultValue = "5000")
+  int httpPoolConnectionRequestTimeout;
+
+  @ConfigProperty(name = "http.pool.idle-timeout-seconds", defaultValue = "30")
+  int httpPoolIdleTimeout;
+
+  @ConfigProperty(name = "http.cache.maximum-weight", defaultValue = "33554432")
+  long httpCacheMaximumWeight;
+
+  @ConfigProperty(name = "http.cache.ttl-seconds", defaultValue = "600")
+  long httpCacheTtl;
+
+  @ConfigProperty(name = "http.cache.negative-ttl-seconds", defaultValue = "60")
+  long httpCacheNegativeTtl;
+
+  @ConfigProperty(name = "http.cache.validator-ttl-seconds", defaultValue = "86400")
+  long httpCacheValidatorTtl;
+
+  @ConfigProperty(name = "http.cache.coalesce-timeout-millis", defaultValue = "20000")
+  long httpCacheCoalesceTimeout;
+
+  @ConfigProperty(name = "github.rate-limit.low-priority-reserve-percent", defaultValue = "20")
+  int rateLimitLowPriorityReserve;
+
+  @ConfigProperty(name = "github.rate-limit.max-wait-millis", defaultValue = "2000")
+  long rateLimitMaxWait;
+
+  @ConfigProperty(name = "github.rate-limit.maximum-credentials", defaultValue = "10000")
+  int rateLimitMaximumCredentials;
+
+  @ConfigProperty(name = "github.archive.max-repo-size-kb", defaultValue = "0")
+  long archiveMaxRepoSize;
+
+  @ConfigProperty(name = "github.archive.max-bytes", defaultValue = "67108864")
+  long archiveMaxBytes;
+
+  @ConfigProperty(name = "github.archive.memory-threshold-bytes", defaultValue = "8388608")
+  long archiveMemoryThreshold;
+
+  @ConfigProperty(name = "github.archive.cache-maximum-weight", defaultValue = "33554432")
+  long archiveCacheMaximumWeight;
+
+  @ConfigProperty(name = "github.archive.cache-ttl-seconds", defaultValue = "600")
+  long archiveCacheTtl;
+
+  @ConfigProperty(name = "builder.selector.threads", defaultValue = "16")
+  int builderSelectorThreads;
+
+  @ConfigProperty(name = "builder.selector.queue-size", defaultValue = "256")
+  int builderSelectorQueueSize;
+
+  @ConfigProperty(name = "builder.selector.deadline-millis", defaultValue = "20000")
+  long builderSelectorDeadline;
+
+  @ConfigProperty(name = "bulk.threads", defaultValue = "8")
+  int bulkThreads;
+
+  @ConfigProperty(name = "bulk.batch-concurrency", defaultValue = "4")
+  int bulkBatchConcurrency;
+
+  @ConfigProperty(name = "user-details.async", defaultValue = "true")
+  boolean userDetailsAsync;
+
+  @ConfigProperty(name = "user-details.threads", defaultValue = "2")
+  int userDetailsThreads;
+
+  @ConfigProperty(name = "user-details.queue-size", defaultValue = "1000")
+  int userDetailsQueueSize;
+
+  @ConfigProperty(name = "user-details.shutdown-timeout-millis", defaultValue = "10000")
+  int userDetailsShutdownTimeout;
+
+  @ConfigProperty(name = "AWS_LAMBDA_FUNCTION_NAME")
+  Optional<String> lambdaFunctionName;
+
+  @ConfigProperty(name = "pipeline.cache.maximum-weight", defaultValue = "8388608")
+  long pipelineCacheMaximumWeight;
+
+  @ConfigProperty(name = "pipeline.cache.ttl-seconds", defaultValue = "86400")
+  long pipelineCacheTtl;
+
+  @ConfigProperty(name = "pipeline.cache.directory")
+  Optional<String> pipelineCacheDirectory;
+
+  @ConfigProperty(name = "pipeline.cache.file-ttl-seconds", defaultValue = "604800")
+  long pipelineCacheFileTtl;
+
   @RestClient
   CognitoClient cognitoClient;
 
   @Inject
   ServiceBusCognitoConfig serviceBusCognitoConfig;
 
+  /**
+   * Produces the shared HTTP connection pool.
+   *
+   * @return An implementation of HttpClientPool.
+   */
+  @ApplicationScoped
+  @Produces
+  public HttpClientPool getHttpClientPool() {
+    return PoolingHttpClientPool.builder()
+        .maxTotal(httpPoolMaxTotal)
+        .maxPerRoute(httpPoolMaxPerRoute)
+        .connectTimeoutMillis(httpPoolConnectTimeout)
+        .socketTimeoutMillis(httpPoolSocketTimeout)
+        .connectionRequestTimeoutMillis(httpPoolConnectionRequestTimeout)
+        .idleTimeoutSeconds(httpPoolIdleTimeout)
+        .build();
+  }
+
+  /**
+   * Closes the shared HTTP connection pool when the application shuts down.
+   *
+   * @param httpClientPool The pool to close.
+   */
+  public void closeHttpClientPool(@Disposes final HttpClientPool httpClientPool) {
+    httpClientPool.close();
+  }
+
+  /**
+   * Produces the cache holding the results of GitHub API requests.
+   *
+   * @return An implementation of HttpResponseCache.
+   */
+  @ApplicationScoped
+  @Produces
+  public HttpResponseCache getHttpResponseCache() {
+    return BoundedHttpResponseCache.builder()
+        .maximumWeight(httpCacheMaximumWeight)
+        .ttlSeconds(httpCacheTtl)
+        .negativeTtlSeconds(httpCacheNegativeTtl)
+        .validatorTtlSeconds(httpCacheValidatorTtl)
+        .coalesceTimeoutMillis(httpCacheCoalesceTimeout)
+        .build();
+  }
+
+  /**
+   * Produces the scheduler that keeps GitHub requests within the rate limits of each credential.
+   *
+   * @return An implementation of RateLimitScheduler.
+   */
+  @ApplicationScoped
+  @Produces
+  public RateLimitScheduler getRateLimitScheduler() {
+    return GitHubRateLimitScheduler.builder()
+        .lowPriorityReservePercent(rateLimitLowPriorityReserve)
+        .maxWaitMillis(rateLimitMaxWait)
+        .maximumCredentials(rateLimitMaximumCredentials)
+        .build();
+  }
+
   /**
    * Produces the HTTP client.
    *
@@ -83,8 +270,114 @@ public class PipelineProducer {
    */
   @ApplicationScoped
   @Produces
-  public ReadOnlyHttpClient getHttpClient() {
-    return new ReadOnlyHttpClientImpl();
+  public ReadOnlyHttpClient getHttpClient(
+      final HttpClientPool httpClientPool,
+      final HttpResponseCache httpResponseCache,
+      final RateLimitScheduler rateLimitScheduler) {
+    return new ReadOnlyHttpClientImpl(httpClientPool, httpResponseCache, rateLimitScheduler);
+  }
+
+  /**
+   * Produces the service that selects the builder for a repo.
+   *
+   * @return An implementation of BuilderSelector.
+   */
+  @ApplicationScoped
+  @Produces
+  public BuilderSelector getBuilderSelector() {
+    return ConcurrentBuilderSelector.builder()
+        .threads(builderSelectorThreads)
+        .queueSize(builderSelectorQueueSize)
+        .deadlineMillis(builderSelectorDeadline)
+        .build();
+  }
+
+  /**
+   * Shuts down the builder selector threads when the application shuts down.
+   *
+   * @param builderSelector The selector to close.
+   */
+  public void closeBuilderSelector(@Disposes final BuilderSelector builderSelector) {
+    builderSelector.close();
+  }
+
+  /**
+   * Produces the service that runs the repos of bulk requests. The threads are shared by every
+   * bulk request, which limits the number of repos processed at once.
+   *
+   * @return An implementation of RepoBatchRunner.
+   */
+  @ApplicationScoped
+  @Produces
+  public RepoBatchRunner getRepoBatchRunner() {
+    return ConcurrentRepoBatchRunner.builder()
+        .threads(bulkThreads)
+        .batchConcurrency(bulkBatchConcurrency)
+        .build();
+  }
+
+  /**
+   * Shuts down the bulk request threads when the application shuts down.
+   *
+   * @param repoBatchRunner The runner to close.
+   */
+  public void closeRepoBatchRunner(@Disposes final RepoBatchRunner repoBatchRunner) {
+    repoBatchRunner.close();
+  }
+
+  /**
+   * Produces the queue that records the details of users generating templates in the background.
+   * A Lambda is frozen as soon as it returns a response, so background threads can not be relied
+   * on, and the details are recorded before the response is returned instead.
+   *
+   * @return An implementation of BackgroundTaskQueue.
+   */
+  @ApplicationScoped
+  @Produces
+  public BackgroundTaskQueue getUserDetailsQueue() {
+    if (!userDetailsAsync || lambdaFunctionName.filter(StringUtils::isNotBlank).isPresent()) {
+      return new SynchronousBackgroundTaskQueue();
+    }
+
+    return BoundedBackgroundTaskQueue.builder()
+        .threads(userDetailsThreads)
+        .queueSize(userDetailsQueueSize)
+        .shutdownTimeoutMillis(userDetailsShutdownTimeout)
+        .build();
+  }
+
+  /**
+   * Records the queued user details before the application shuts down.
+   *
+   * @param backgroundTaskQueue The queue to close.
+   */
+  public void closeUserDetailsQueue(@Disposes final BackgroundTaskQueue backgroundTaskQueue) {
+    backgroundTaskQueue.close();
+  }
+
+  /**
+   * Produces the cache of generated pipelines. Pipelines are always cached in memory, and are also
+   * cached in files if a directory is configured.
+   *
+   * @return An implementation of PipelineCache.
+   */
+  @ApplicationScoped
+  @Produces
+  public PipelineCache getPipelineCache() {
+    final TieredPipelineCache.TieredPipelineCacheBuilder builder = TieredPipelineCache.builder()
+        .tier(MemoryPipelineCacheTier.builder()
+            .maximumWeight(pipelineCacheMaximumWeight)
+            .ttlSeconds(pipelineCacheTtl)
+            .build());
+
+    pipelineCacheDirectory
+        .filter(StringUtils::isNotBlank)
+        .ifPresent(d -> builder.tier(FilePipelineCacheTier.builder()
+            .directory(Path.of(d))
+            .ttlSeconds(pipelineCacheFileTtl)
+            .build()));
+
+    return builder.build();
   }
 
   /**
@@ -99,6 +392,14 @@ public class PipelineProducer {
         .readOnlyHttpClient(readOnlyHttpClient)
         .username(clientId.orElse(""))
         .password(clientSecret.orElse(""))
+        .archiveMaxRepoSizeKilobytes(archiveMaxRepoSize)
+        .archiveMaxBytes(archiveMaxBytes)
+        .archiveMemoryThresholdBytes(archiveMemoryThreshold)
+        .archiveCache(RepoArchiveCache.builder()
+            .maximumWeight(archiveCacheMaximumWeight)
+            .ttlSeconds(archiveCacheTtl)
+            .coalesceTimeoutMillis(httpCacheCoalesceTimeout)
+            .build())
         .build();
   }
 
@@ -158,6 +459,17 @@ public class PipelineProducer {
     return new CaseInsensitiveCookieExtractor();
   }
 
+  /**
+   * Produces the Lambda request body extractor.
+   *
+   * @return An implementation of RequestBodyExtractor.
+   */
+  @ApplicationScoped
+  @Produces
+  public RequestBodyExtractor getRequestBodyExtractor() {
+    return new RequestBodyExtractorImpl();
+  }
+
   /**
    * Produces the Maven pipeline builder.
    *
@@ -257,6 +569,36 @@ public class PipelineProducer {
     return new GenericBuilder();
   }
 
+  /**
+   * Produces the generator used to build the GitHub Actions workflow and the Jenkins pipeline of a
+   * repo from one detection pass. The Jenkins builders are only used by this generator, so they are
+   * not produced as PipelineBuilder beans.
+   *
+   * @param builderSelector The selector used to detect the language of a repo.
+   * @param builders        The GitHub Actions builders.
+   * @return An implementation of MultiTargetGenerator.
+   */
+  @ApplicationScoped
+  @Produces
+  public MultiTargetGenerator getMultiTargetGenerator(
+      final BuilderSelector builderSelector,
+      final Instance<PipelineBuilder> builders) {
+    return SharedDetectionGenerator.builder()
+        .builderSelector(builderSelector)
+        .target(GlobalConstants.GITHUB_ACTIONS_TARGET, builders.stream().collect(Collectors.toList()))
+        .target(GlobalConstants.JENKINS_TARGET, List.of(
+            new com.octopus.jenkins.shared.builders.java.JavaMavenBuilder(),
+            new com.octopus.jenkins.shared.builders.java.JavaGradleBuilder(),
+            new com.octopus.jenkins.shared.builders.nodejs.NodejsBuilder(),
+            new com.octopus.jenkins.shared.builders.php.PhpComposerBuilder(),
+            new com.octopus.jenkins.shared.builders.python.PythonBuilder(),
+            new com.octopus.jenkins.shared.builders.go.GoBuilder(),
+            new com.octopus.jenkins.shared.builders.ruby.RubyGemBuilder(),
+            new com.octopus.jenkins.shared.builders.dotnet.DotnetCoreBuilder(),
+            new com.octopus.jenkins.shared.builders.generic.GenericBuilder()))
+        .build();
+  }
+
   /**
    * Produces the JSON serializer.
    *
@@ -0,0 +1,17 @@
+package com.octopus.githubactions.github.domain.hanlder;
+
+import java.util.List;
+import lombok.ToString;
+import lombok.Value;
+
+/**
+ * The repos of a bulk request, along with the access token decrypted once for the whole batch. The
+ * batch is truncated when the org named by the request had more repos than the batch can hold.
+ */
+@Value
+public class BulkPipelineBatch {
+  @ToString.Exclude
+  String auth;
+  List<String> repos;
+  boolean truncated;
+}
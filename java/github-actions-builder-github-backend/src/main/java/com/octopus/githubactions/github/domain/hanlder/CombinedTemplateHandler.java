@@ -0,0 +1,195 @@
+package com.octopus.githubactions.github.domain.hanlder;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import com.octopus.builders.CachedPipeline;
+import com.octopus.builders.MultiTargetGenerator;
+import com.octopus.builders.PipelineCache;
+import com.octopus.builders.PipelineCacheKey;
+import com.octopus.features.MicroserviceNameFeature;
+import com.octopus.githubactions.github.GlobalConstants;
+import com.octopus.githubactions.github.domain.audits.AuditGenerator;
+import com.octopus.githubactions.github.domain.entities.Audit;
+import com.octopus.githubactions.github.domain.entities.CombinedPipelineResult;
+import com.octopus.githubactions.github.domain.entities.Utms;
+import com.octopus.githubactions.github.domain.exceptions.EntityNotFound;
+import com.octopus.githubactions.github.domain.exceptions.Unauthorized;
+import com.octopus.repoclients.RepoClient;
+import com.octopus.repoclients.RepoClientFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import lombok.NonNull;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Generates the pipelines of every target CI server for a repo. The language of the repo is
+ * detected once, and the facts found by the detectors are shared by the builders of each target.
+ * Each target is cached separately, so only the targets without a cached pipeline are generated.
+ */
+@ApplicationScoped
+public class CombinedTemplateHandler {
+
+  private static final Logger LOG = Logger.getLogger(CombinedTemplateHandler.class.toString());
+
+  @Inject
+  TemplateHandler templateHandler;
+
+  @Inject
+  RepoClientFactory repoClientFactory;
+
+  @Inject
+  MultiTargetGenerator multiTargetGenerator;
+
+  @Inject
+  PipelineCache pipelineCache;
+
+  @Inject
+  AuditGenerator auditGenerator;
+
+  @Inject
+  MicroserviceNameFeature microserviceNameFeature;
+
+  @ConfigProperty(name = "quarkus.application.version", defaultValue = "unknown")
+  String applicationVersion;
+
+  /**
+   * The version of the builders of each target, which only changes when the application is
+   * redeployed.
+   */
+  private final Map<String, String> builderVersions = new ConcurrentHashMap<>();
+
+  /**
+   * Generates the pipeline of every target for a repo.
+   *
+   * @param repo                 The repo URL.
+   * @param sessionCookie        The session cookie holding the GitHub access token.
+   * @param xray                 The AWS X-Ray trace header.
+   * @param routingHeaders       The "Routing" headers.
+   * @param dataPartitionHeaders The "Data-Partition" headers.
+   * @param authHeaders          The "Authorization" headers.
+   * @param utms                 The utm query params.
+   * @return The pipelines keyed by target.
+   * @throws Unauthorized   if the repo requires the user to log in.
+   * @throws EntityNotFound if the repo is not accessible.
+   */
+  public CombinedPipelineResult generatePipelines(
+      @NonNull final String repo,
+      final String sessionCookie,
+      final String xray,
+      final String routingHeaders,
+      final String dataPartitionHeaders,
+      final String authHeaders,
+      @NonNull final Utms utms) {
+    LOG.log(DEBUG, "CombinedTemplateHandler.generatePipelines(String, ...)");
+    if (StringUtils.isBlank(repo)) {
+      throw new IllegalArgumentException("repo can not be blank");
+    }
+
+    final String auth = templateHandler.decryptSession(sessionCookie);
+    final RepoClient accessor = repoClientFactory.buildRepoClient(repo, auth);
+
+    final Optional<SimpleResponse> error = templateHandler.checkForPublicRepo(accessor);
+    if (error.isPresent()) {
+      if (error.get().getCode() == 401) {
+        throw new Unauthorized();
+      }
+      throw new EntityNotFound();
+    }
+
+    final Map<String, CachedPipeline> pipelines = findPipelines(accessor);
+    final Optional<String> builderName = pipelines.values().stream()
+        .findFirst()
+        .map(CachedPipeline::getBuilderName);
+
+    // Write one audit message, as the pipelines were generated from one request
+    builderName.ifPresent(b ->
+        auditGenerator.createAuditEvent(new Audit(
+                microserviceNameFeature.getMicroserviceName(),
+                GlobalConstants.CREATED_TEMPLATE_ACTION,
+                b),
+            xray,
+            routingHeaders,
+            dataPartitionHeaders,
+            authHeaders));
+
+    templateHandler.logUserDetails(auth, xray, routingHeaders, dataPartitionHeaders, authHeaders,
+        utms, builderName);
+
+    return CombinedPipelineResult.builder()
+        .repo(repo)
+        .builder(builderName.orElse(null))
+        .pipelines(pipelines.isEmpty()
+            ? null
+            : pipelines.entrySet().stream().collect(Collectors.toMap(
+                Map.Entry::getKey,
+                e -> e.getValue().getPipeline(),
+                (a, b) -> a,
+                LinkedHashMap::new)))
+        .message(pipelines.isEmpty() ? "No suitable builders were found." : null)
+        .build();
+  }
+
+  /**
+   * Reuses the pipelines cached for the head commit, and generates the remaining targets from one
+   * detection pass.
+   */
+  private Map<String, CachedPipeline> findPipelines(final RepoClient accessor) {
+    final List<String> targets = multiTargetGenerator.getTargets();
+    final Optional<String> commit = accessor.getHeadCommit()
+        .onFailure(e -> LOG.log(DEBUG, "Not caching the pipelines: " + e))
+        .toJavaOptional();
+
+    final Map<String, CachedPipeline> cached = new LinkedHashMap<>();
+    commit.ifPresent(c -> targets.forEach(t ->
+        pipelineCache.get(getCacheKey(accessor, c, t)).ifPresent(p -> cached.put(t, p))));
+
+    final List<String> missing = targets.stream()
+        .filter(t -> !cached.containsKey(t))
+        .collect(Collectors.toList());
+
+    final Map<String, CachedPipeline> generated = missing.isEmpty()
+        ? Map.of()
+        : multiTargetGenerator.detect(accessor)
+            .map(f -> multiTargetGenerator.generate(accessor, f, missing))
+            .orElse(Map.of());
+
+    // Pipelines generated from guessed answers about the repo may be wrong, so are not cached
+    commit.ifPresent(c -> generated.entrySet().stream()
+        .filter(e -> !e.getValue().isDegraded())
+        .forEach(e -> pipelineCache.put(getCacheKey(accessor, c, e.getKey()), e.getValue())));
+
+    // Return the pipelines in the order of the targets
+    final Map<String, CachedPipeline> pipelines = new LinkedHashMap<>();
+    targets.forEach(t -> Optional.ofNullable(cached.get(t))
+        .or(() -> Optional.ofNullable(generated.get(t)))
+        .ifPresent(p -> pipelines.put(t, p)));
+    return pipelines;
+  }
+
+  /**
+   * The pipelines of each target are generated by different builders, so the target is part of the
+   * key. GitHub Actions workflows use the same key as the single pipeline endpoint, so the two
+   * endpoints share their cached workflows.
+   */
+  private PipelineCacheKey getCacheKey(final RepoClient accessor, final String commit,
+      final String target) {
+    return PipelineCacheKey.builder()
+        .repo(accessor.getRepo())
+        .commit(commit)
+        .builderVersion(builderVersions.computeIfAbsent(target, t ->
+            PipelineCacheKey.getBuilderVersion(multiTargetGenerator.getBuilders(t),
+                applicationVersion)))
+        .backend(GlobalConstants.GITHUB_ACTIONS_TARGET.equals(target)
+            ? microserviceNameFeature.getMicroserviceName()
+            : target)
+        .build();
+  }
+}
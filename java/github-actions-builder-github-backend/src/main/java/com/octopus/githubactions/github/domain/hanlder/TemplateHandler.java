@@ -2,8 +2,13 @@ package com.octopus.githubactions.github.domain.hanlder;
 
 import static org.jboss.logging.Logger.Level.DEBUG;
 
+import com.google.common.base.Suppliers;
 import com.google.common.io.Resources;
+import com.octopus.builders.BuilderSelector;
+import com.octopus.builders.CachedPipeline;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.PipelineCache;
+import com.octopus.builders.PipelineCacheKey;
 import com.octopus.encryption.AsymmetricEncryptor;
 import com.octopus.encryption.CryptoUtils;
 import com.octopus.features.MicroserviceNameFeature;
@@ -23,12 +28,15 @@ import com.octopus.githubactions.github.infrastructure.client.GitHubApi;
 import com.octopus.json.JsonSerializer;
 import com.octopus.repoclients.RepoClient;
 import com.octopus.repoclients.RepoClientFactory;
+import com.octopus.tasks.BackgroundTaskQueue;
 import io.quarkus.logging.Log;
 import io.vavr.control.Try;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Instance;
@@ -48,6 +56,14 @@ public class TemplateHandler {
 
   private static final Logger LOG = Logger.getLogger(PipelineLambda.class.toString());
 
+  /**
+   * The public key used to encrypt email addresses. The key is bundled with the application, so it
+   * is read once rather than for every email that is audited.
+   */
+  private static final Supplier<Try<String>> PUBLIC_KEY = Suppliers.memoize(() ->
+      Try.of(() -> Base64.getEncoder()
+          .encodeToString(Resources.toByteArray(Resources.getResource("public_key.der")))));
+
   @ConfigProperty(name = "github.encryption")
   String githubEncryption;
 
@@ -60,6 +76,23 @@ public class TemplateHandler {
   @Inject
   Instance<PipelineBuilder> builders;
 
+  @Inject
+  BuilderSelector builderSelector;
+
+  @Inject
+  PipelineCache pipelineCache;
+
+  @ConfigProperty(name = "quarkus.application.version", defaultValue = "unknown")
+  String applicationVersion;
+
+  /**
+   * The version of the builders, which only changes when the application is redeployed.
+   */
+  private final Supplier<String> builderVersion = Suppliers.memoize(() ->
+      PipelineCacheKey.getBuilderVersion(
+          builders.stream().collect(Collectors.toList()),
+          applicationVersion));
+
   @Inject
   CryptoUtils cryptoUtils;
 
@@ -91,6 +124,9 @@ public class TemplateHandler {
   @Inject
   JsonSerializer jsonSerializer;
 
+  @Inject
+  BackgroundTaskQueue userDetailsQueue;
+
   /**
    * Generate a github repo.
    *
@@ -115,9 +151,7 @@ public class TemplateHandler {
       throw new IllegalArgumentException("repo can not be blank");
     }
 
-    final String auth = sessionCookie == null
-        ? ""
-        : cryptoUtils.decrypt(sessionCookie, githubEncryption, githubSalt);
+    final String auth = decryptSession(sessionCookie);
 
     final RepoClient accessor = repoClientFactory.buildRepoClient(repo, auth);
 
@@ -126,14 +160,51 @@ public class TemplateHandler {
             authHeaders, utms));
   }
 
-  private void logUserDetails(final String token,
+  /**
+   * Decrypts the GitHub access token held by the session cookie.
+   *
+   * @param sessionCookie The session cookie, or null if the user has not logged in.
+   * @return The GitHub access token, or an empty string if there is no session.
+   */
+  public String decryptSession(final String sessionCookie) {
+    return sessionCookie == null
+        ? ""
+        : cryptoUtils.decrypt(sessionCookie, githubEncryption, githubSalt);
+  }
+
+  /**
+   * Makes a best effort to record the details of the user generating a template. The GitHub
+   * lookups, audits and service bus messages are queued to run in the background, so the template
+   * is returned without waiting for them. Any errors are logged rather than thrown, and the details
+   * are dropped if the queue is full.
+   *
+   * @param token                The GitHub access token.
+   * @param xray                 The AWS X-Ray trace header.
+   * @param routingHeaders       The "Routing" headers.
+   * @param dataPartitionHeaders The "Data-Partition" headers.
+   * @param authHeaders          The "Authorization" headers.
+   * @param utms                 The utm query params.
+   * @param builderName          The name of the builder used to generate the template.
+   */
+  public void logUserDetails(final String token,
       final String xray,
       final String routingHeaders,
       final String dataPartitionHeaders,
       final String authHeaders,
       final Utms utms,
-      final Optional<PipelineBuilder> builder) {
+      final Optional<String> builderName) {
+    // Dropped tasks are counted by the queue and reported by the health check
+    userDetailsQueue.submit("user details", () -> recordUserDetails(token, xray,
+        routingHeaders, dataPartitionHeaders, authHeaders, utms, builderName));
+  }
 
+  private void recordUserDetails(final String token,
+      final String xray,
+      final String routingHeaders,
+      final String dataPartitionHeaders,
+      final String authHeaders,
+      final Utms utms,
+      final Optional<String> builderName) {
     try {
       // Make a best effort to get the users details. We don't break for any errors here though.
       final GitHubEmail[] emails = StringUtils.isNotBlank(token)
@@ -153,7 +224,7 @@ public class TemplateHandler {
           dataPartitionHeaders,
           authHeaders,
           utms,
-          builder,
+          builderName,
           user);
 
       auditEmail(token, xray, emails, routingHeaders, dataPartitionHeaders, authHeaders);
@@ -166,6 +237,15 @@ public class TemplateHandler {
     }
   }
 
+  /**
+   * Extracts the addresses from the emails returned by GitHub.
+   */
+  private List<String> getEmailAddresses(final GitHubEmail[] emails) {
+    return Arrays.stream(emails)
+        .map(GitHubEmail::getEmail)
+        .collect(Collectors.toList());
+  }
+
   /**
    * Write the audit event as JSON to the console, which allows tools like CloudWatch to pick up the
    * records. See
@@ -175,10 +255,8 @@ public class TemplateHandler {
    * @param emails The email addresses associated with the logged-in user
    */
   private void logEmailToConsole(final GitHubEmail[] emails) {
-    Try.of(() -> Base64.getEncoder()
-            .encodeToString(Resources.toByteArray(Resources.getResource("public_key.der"))))
-        .onSuccess(key -> Arrays.stream(emails)
-            .map(e -> asymmetricEncryptor.encrypt(e.getEmail(), key))
+    PUBLIC_KEY.get()
+        .onSuccess(key -> asymmetricEncryptor.encrypt(getEmailAddresses(emails), key).stream()
             .map(e -> new Audit(
                 microserviceNameFeature.getMicroserviceName(),
                 GlobalConstants.CREATED_TEMPLATE_FOR_ACTION,
@@ -210,24 +288,24 @@ public class TemplateHandler {
 
     try {
 
-      final String publicKey = Base64.getEncoder()
-          .encodeToString(Resources.toByteArray(Resources.getResource("public_key.der")));
-
-      // Log first to the audit service
-      for (final GitHubEmail email : emails) {
-        final String encryptedEmail = asymmetricEncryptor.encrypt(email.getEmail(), publicKey);
-
-        auditGenerator.createAuditEvent(new Audit(
-                microserviceNameFeature.getMicroserviceName(),
-                GlobalConstants.CREATED_TEMPLATE_FOR_ACTION,
-                encryptedEmail,
-                true,
-                false),
-            xray,
-            routingHeaders,
-            dataPartitionHeaders,
-            authHeaders);
-      }
+      final List<String> encryptedEmails = asymmetricEncryptor.encrypt(
+          getEmailAddresses(emails),
+          PUBLIC_KEY.get().get());
+
+      // Log first to the audit service, with one request for all the addresses
+      auditGenerator.createAuditEvents(
+          encryptedEmails.stream()
+              .map(encryptedEmail -> new Audit(
+                  microserviceNameFeature.getMicroserviceName(),
+                  GlobalConstants.CREATED_TEMPLATE_FOR_ACTION,
+                  encryptedEmail,
+                  true,
+                  false))
+              .collect(Collectors.toList()),
+          xray,
+          routingHeaders,
+          dataPartitionHeaders,
+          authHeaders);
     } catch (final Exception ex) {
       Log.error(
           microserviceNameFeature.getMicroserviceName() + "-Audit-RecordEmailFailed",
@@ -249,7 +327,7 @@ public class TemplateHandler {
       final String dataPartitionHeaders,
       final String authHeaders,
       final Utms utms,
-      final Optional<PipelineBuilder> builder,
+      final Optional<String> builderName,
       final GitHubUser user) {
 
     // Log second to the Azure service bus proxy service
@@ -266,7 +344,7 @@ public class TemplateHandler {
               .emailAddress(email)
               .utmParameters(utms.getMap())
               .toolName(microserviceNameFeature.getMicroserviceName())
-              .programmingLanguage(builder.isPresent() ? builder.get().getName() : "")
+              .programmingLanguage(builderName.orElse(""))
               .firstName(usernameSplitter.getFirstName(user.getName()))
               .lastName(usernameSplitter.getLastName(user.getName()))
               .gitHubUsername(user.getLogin())
@@ -290,36 +368,121 @@ public class TemplateHandler {
       final String dataPartitionHeaders,
       final String authHeaders,
       final Utms utms) {
-    // Get the builder
-    final Optional<PipelineBuilder> builder = builders.stream()
-        .sorted((o1, o2) -> o2.getPriority().compareTo(o1.getPriority()))
-        .parallel()
-        .filter(b -> b.canBuild(accessor))
-        .findFirst();
+    final Optional<CachedPipeline> pipeline = findPipeline(accessor, xray, routingHeaders,
+        dataPartitionHeaders, authHeaders);
 
-    // Audit the details of the user generating the template
-    logUserDetails(auth, xray, routingHeaders, dataPartitionHeaders, authHeaders, utms, builder);
+    // Log the details of the user generating the template
+    logUserDetails(auth, xray, routingHeaders, dataPartitionHeaders, authHeaders, utms,
+        pipeline.map(CachedPipeline::getBuilderName));
+
+    // Return the template
+    return pipeline
+        .map(p -> new SimpleResponse(200, p.getPipeline()))
+        .orElse(new SimpleResponse(200, "No suitable builders were found.\n"
+            + "This can happen if no recognised project files were found in the root directory.\n"
+            + "You may still be able to use one of the sample projects from the main page, and customize it to suit your project.\n"
+            + "Click the heading in the top left corner to return to the main page.\n"));
+  }
+
+  /**
+   * Reuses the pipeline generated for the same commit, or generates a new one, and audits the
+   * builder that was used.
+   *
+   * @param accessor             The repo to generate the pipeline for.
+   * @param xray                 The AWS X-Ray trace header.
+   * @param routingHeaders       The "Routing" headers.
+   * @param dataPartitionHeaders The "Data-Partition" headers.
+   * @param authHeaders          The "Authorization" headers.
+   * @return The pipeline, or empty if no builder could generate a pipeline for the repo.
+   */
+  public Optional<CachedPipeline> findPipeline(
+      @NonNull final RepoClient accessor,
+      final String xray,
+      final String routingHeaders,
+      final String dataPartitionHeaders,
+      final String authHeaders) {
+    return findPipeline(accessor, xray, routingHeaders, dataPartitionHeaders, authHeaders,
+        () -> true);
+  }
+
+  /**
+   * Reuses the pipeline generated for the same commit, or generates a new one, and audits the
+   * builder that was used.
+   *
+   * @param accessor             The repo to generate the pipeline for.
+   * @param xray                 The AWS X-Ray trace header.
+   * @param routingHeaders       The "Routing" headers.
+   * @param dataPartitionHeaders The "Data-Partition" headers.
+   * @param authHeaders          The "Authorization" headers.
+   * @param cacheable            Checked after a new pipeline is generated. The pipeline is only
+   *                             cached if this returns true.
+   * @return The pipeline, or empty if no builder could generate a pipeline for the repo.
+   */
+  public Optional<CachedPipeline> findPipeline(
+      @NonNull final RepoClient accessor,
+      final String xray,
+      final String routingHeaders,
+      final String dataPartitionHeaders,
+      final String authHeaders,
+      @NonNull final BooleanSupplier cacheable) {
+    final Optional<PipelineCacheKey> cacheKey = getCacheKey(accessor);
+    final Optional<CachedPipeline> pipeline = cacheKey
+        .flatMap(pipelineCache::get)
+        .or(() -> generate(accessor, cacheKey, cacheable));
 
     // Write an audit message
-    builder.ifPresent(b ->
+    pipeline.ifPresent(p ->
         auditGenerator.createAuditEvent(new Audit(
                 microserviceNameFeature.getMicroserviceName(),
                 GlobalConstants.CREATED_TEMPLATE_ACTION,
-                b.getName()),
+                p.getBuilderName()),
             xray,
             routingHeaders,
             dataPartitionHeaders,
             authHeaders)
     );
 
-    // Return the template
-    return builder
-        .map(b -> b.generate(accessor))
-        .map(b -> new SimpleResponse(200, b))
-        .orElse(new SimpleResponse(200, "No suitable builders were found.\n"
-            + "This can happen if no recognised project files were found in the root directory.\n"
-            + "You may still be able to use one of the sample projects from the main page, and customize it to suit your project.\n"
-            + "Click the heading in the top left corner to return to the main page.\n"));
+    return pipeline;
+  }
+
+  /**
+   * Selects the builder and generates the pipeline, caching the result if the head commit of the
+   * repo is known. A pipeline generated from guessed answers about the repo may be wrong, so it is
+   * returned but not cached, as is a pipeline the caller reports is not cacheable.
+   */
+  private Optional<CachedPipeline> generate(
+      final RepoClient accessor,
+      final Optional<PipelineCacheKey> cacheKey,
+      final BooleanSupplier cacheable) {
+    final Optional<CachedPipeline> pipeline = builderSelector.selectBuilder(
+            builders.stream().collect(Collectors.toList()),
+            accessor)
+        .map(b -> b.generatePipeline(accessor));
+
+    pipeline.ifPresent(p -> {
+      if (p.isDegraded() || !cacheable.getAsBoolean()) {
+        LOG.log(DEBUG, "Not caching the pipeline of " + accessor.getRepo() + " as it may be wrong");
+      } else {
+        cacheKey.ifPresent(k -> pipelineCache.put(k, p));
+      }
+    });
+    return pipeline;
+  }
+
+  /**
+   * Builds the key of the cached pipeline from the head commit of the default branch. Without a
+   * commit there is no way to know if a cached pipeline is current, so the pipeline is not cached.
+   */
+  private Optional<PipelineCacheKey> getCacheKey(final RepoClient accessor) {
+    return accessor.getHeadCommit()
+        .onFailure(e -> LOG.log(DEBUG, "Not caching the pipeline: " + e))
+        .map(c -> PipelineCacheKey.builder()
+            .repo(accessor.getRepo())
+            .commit(c)
+            .builderVersion(builderVersion.get())
+            .backend(microserviceNameFeature.getMicroserviceName())
+            .build())
+        .toJavaOptional();
   }
 
   /**
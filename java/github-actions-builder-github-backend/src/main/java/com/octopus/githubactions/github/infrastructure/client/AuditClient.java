@@ -24,4 +24,17 @@ public interface AuditClient {
       @HeaderParam(GlobalConstants.AUTHORIZATION_HEADER) String auth,
       @HeaderParam(GlobalConstants.SERVICE_AUTHORIZATION_HEADER) String serviceAuth,
       @HeaderParam(GlobalConstants.INVOCATION_TYPE) String invocationType);
+
+  @Path("audits/batch")
+  @POST
+  @Consumes(GlobalConstants.JSONAPI_CONTENT_TYPE)
+  @Produces(GlobalConstants.JSONAPI_CONTENT_TYPE)
+  String createAudits(
+      final String audits,
+      @HeaderParam(GlobalConstants.AMAZON_TRACE_ID_HEADER) String xray,
+      @HeaderParam(GlobalConstants.ROUTING_HEADER) String routing,
+      @HeaderParam(GlobalConstants.DATA_PARTITION) String dataPartition,
+      @HeaderParam(GlobalConstants.AUTHORIZATION_HEADER) String auth,
+      @HeaderParam(GlobalConstants.SERVICE_AUTHORIZATION_HEADER) String serviceAuth,
+      @HeaderParam(GlobalConstants.INVOCATION_TYPE) String invocationType);
 }
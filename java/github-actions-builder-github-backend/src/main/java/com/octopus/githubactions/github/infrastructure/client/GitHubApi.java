@@ -2,18 +2,23 @@ package com.octopus.githubactions.github.infrastructure.client;
 
 import com.octopus.githubactions.github.GlobalConstants;
 import com.octopus.githubactions.github.domain.entities.GitHubEmail;
+import com.octopus.githubactions.github.domain.entities.GitHubRepo;
 import com.octopus.githubactions.github.domain.entities.GitHubUser;
 import javax.ws.rs.GET;
 import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
 /**
  * A REST client to query GitHub users.
  */
 @RegisterRestClient
+@RegisterProvider(GitHubRateLimitFilter.class)
 @Path("/")
 public interface GitHubApi {
 
@@ -38,4 +43,22 @@ public interface GitHubApi {
   @Produces(MediaType.APPLICATION_JSON)
   @GET
   GitHubUser user(@HeaderParam(GlobalConstants.AUTHORIZATION_HEADER) String auth);
-}
\ No newline at end of file
+
+  /**
+   * Get a page of the repos in an org.
+   *
+   * @param org     The name of the org.
+   * @param perPage The number of repos in each page.
+   * @param page    The page to return, starting at 1.
+   * @param auth    The Authorization header.
+   * @return The repos in the page.
+   */
+  @Path("orgs/{org}/repos")
+  @Produces(MediaType.APPLICATION_JSON)
+  @GET
+  GitHubRepo[] orgRepos(
+      @PathParam("org") String org,
+      @QueryParam("per_page") int perPage,
+      @QueryParam("page") int page,
+      @HeaderParam(GlobalConstants.AUTHORIZATION_HEADER) String auth);
+}
@@ -0,0 +1,63 @@
+package com.octopus.githubactions.github.infrastructure.client;
+
+import com.octopus.exceptions.RateLimitedException;
+import com.octopus.githubactions.github.GlobalConstants;
+import com.octopus.http.RateLimitScheduler;
+import com.octopus.http.RequestPriority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.Response;
+
+/**
+ * Schedules the requests made by the GitHub REST client against the rate limit of the credential
+ * they are sent with. Email lookups are low priority, as the pipeline is generated without them,
+ * so they are rejected before any request that is needed to generate the pipeline.
+ */
+@ApplicationScoped
+public class GitHubRateLimitFilter implements ClientRequestFilter, ClientResponseFilter {
+
+  private static final String CREDENTIAL_PROPERTY =
+      GitHubRateLimitFilter.class.getName() + ".credential";
+
+  @Inject
+  RateLimitScheduler rateLimitScheduler;
+
+  @Override
+  public void filter(final ClientRequestContext requestContext) {
+    final String credential = rateLimitScheduler.identify(
+        requestContext.getHeaderString(GlobalConstants.AUTHORIZATION_HEADER));
+
+    try {
+      rateLimitScheduler.acquire(credential, getPriority(requestContext));
+      requestContext.setProperty(CREDENTIAL_PROPERTY, credential);
+    } catch (final RateLimitedException ex) {
+      requestContext.abortWith(Response.status(429)
+          .header("Retry-After", (long) Math.ceil(ex.getRetryAfterMillis() / 1000.0))
+          .build());
+    }
+  }
+
+  @Override
+  public void filter(
+      final ClientRequestContext requestContext,
+      final ClientResponseContext responseContext) {
+    // Requests that were rejected by the scheduler never reached GitHub, so have no property
+    final Object credential = requestContext.getProperty(CREDENTIAL_PROPERTY);
+    if (credential != null) {
+      rateLimitScheduler.update(
+          credential.toString(),
+          responseContext.getStatus(),
+          responseContext::getHeaderString);
+    }
+  }
+
+  private RequestPriority getPriority(final ClientRequestContext requestContext) {
+    return requestContext.getUri().getPath().endsWith("emails")
+        ? RequestPriority.LOW
+        : RequestPriority.HIGH;
+  }
+}
@@ -0,0 +1,111 @@
+package com.octopus.githubactions.github.domain.hanlder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.octopus.encryption.CryptoUtils;
+import com.octopus.githubactions.github.domain.TestingProfile;
+import com.octopus.githubactions.github.domain.entities.BulkPipelineRequest;
+import com.octopus.githubactions.github.domain.entities.GitHubRepo;
+import com.octopus.githubactions.github.domain.exceptions.BadRequest;
+import com.octopus.githubactions.github.infrastructure.client.GitHubApi;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectMock;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.inject.Inject;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+@QuarkusTest
+@TestProfile(TestingProfile.class)
+public class BulkTemplateHandlerTest {
+
+  private static final String ORG = "OctopusSamples";
+  private static final int MAX_REPOS = 500;
+  private static final int PAGE_SIZE = 100;
+
+  @Inject
+  BulkTemplateHandler bulkTemplateHandler;
+
+  @InjectMock
+  @RestClient
+  GitHubApi gitHubApi;
+
+  @InjectMock
+  CryptoUtils cryptoUtils;
+
+  @BeforeEach
+  public void setup() {
+    Mockito.when(cryptoUtils.decrypt(any(), any(), any())).thenReturn("decrypted");
+  }
+
+  @Test
+  public void testOrgAboveCapIsTruncated() {
+    mockOrg(MAX_REPOS * 2);
+
+    final BulkPipelineBatch batch = bulkTemplateHandler.prepareBatch(
+        BulkPipelineRequest.builder().org(ORG).build(),
+        "sessioncookie");
+
+    assertTrue(batch.isTruncated());
+    assertEquals(MAX_REPOS, batch.getRepos().size());
+    assertEquals(repoUrl(0), batch.getRepos().get(0));
+    // Paging stops at the first page that does not fit in the batch
+    verify(gitHubApi, times(MAX_REPOS / PAGE_SIZE + 1))
+        .orgRepos(eq(ORG), anyInt(), anyInt(), any());
+  }
+
+  @Test
+  public void testOrgBelowCapIsNotTruncated() {
+    mockOrg(PAGE_SIZE + 50);
+
+    final BulkPipelineBatch batch = bulkTemplateHandler.prepareBatch(
+        BulkPipelineRequest.builder().org(ORG).repos(List.of(repoUrl(0))).build(),
+        "sessioncookie");
+
+    assertFalse(batch.isTruncated());
+    assertEquals(PAGE_SIZE + 50, batch.getRepos().size());
+    verify(gitHubApi, times(2)).orgRepos(eq(ORG), anyInt(), anyInt(), any());
+  }
+
+  @Test
+  public void testTooManyListedRepos() {
+    final List<String> repos = IntStream.range(0, MAX_REPOS + 1)
+        .mapToObj(BulkTemplateHandlerTest::repoUrl)
+        .collect(Collectors.toList());
+
+    assertThrows(BadRequest.class, () -> bulkTemplateHandler.prepareBatch(
+        BulkPipelineRequest.builder().repos(repos).build(),
+        "sessioncookie"));
+  }
+
+  /**
+   * Returns the pages of an org holding the supplied number of repos.
+   */
+  private void mockOrg(final int repoCount) {
+    Mockito.when(gitHubApi.orgRepos(eq(ORG), anyInt(), anyInt(), any()))
+        .thenAnswer(invocation -> {
+          final int perPage = invocation.getArgument(1);
+          final int page = invocation.getArgument(2);
+          return IntStream.range((page - 1) * perPage, Math.min(page * perPage, repoCount))
+              .mapToObj(i -> GitHubRepo.builder().htmlUrl(repoUrl(i)).build())
+              .toArray(GitHubRepo[]::new);
+        });
+  }
+
+  private static String repoUrl(final int index) {
+    return "https://github.com/" + ORG + "/repo" + index;
+  }
+}
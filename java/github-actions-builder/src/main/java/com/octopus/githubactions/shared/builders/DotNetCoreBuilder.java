@@ -4,7 +4,10 @@ import static org.jboss.logging.Logger.Level.DEBUG;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.DotNetCoreDetector;
 import com.octopus.githubactions.shared.builders.dsl.Build;
 import com.octopus.githubactions.shared.builders.dsl.Jobs;
 import com.octopus.githubactions.shared.builders.dsl.On;
@@ -15,10 +18,6 @@ import com.octopus.githubactions.shared.builders.dsl.UsesWith;
 import com.octopus.githubactions.shared.builders.dsl.Workflow;
 import com.octopus.githubactions.shared.builders.dsl.WorkflowDispatch;
 import com.octopus.repoclients.RepoClient;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.regex.Pattern;
 import lombok.NonNull;
 import org.jboss.logging.Logger;
 
@@ -29,10 +28,7 @@ public class DotNetCoreBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(DotNetCoreBuilder.class.toString());
   private static final GitBuilder GIT_BUILDER = new GitBuilder();
-  private static final Pattern DOT_NET_CORE_REGEX = Pattern.compile(
-      "Sdk\\s*=\\s*\"Microsoft\\.NET\\.Sdk");
-
-  private String workingDirectory = null;
+  private static final LanguageDetector DETECTOR = new DotNetCoreDetector();
 
   /**
    * This builder is very permissive, finding any solution files anywhere in the repo. If there are
@@ -52,21 +48,26 @@ public class DotNetCoreBuilder implements PipelineBuilder {
 
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
-    LOG.log(DEBUG, "DotnetCoreBuilder.canBuild(RepoClient)");
-
-    final List<String> solutionFiles = hasSolutionFiles(accessor);
-
-    if (!solutionFiles.isEmpty()) {
-      setWorkingDir(solutionFiles);
-      return hasDotNetCoreProjectFiles(accessor);
-    }
+    return detect(accessor).isMatched();
+  }
 
-    return false;
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
   public String generate(@NonNull final RepoClient accessor) {
-    LOG.log(DEBUG, "DotNetCoreBuilder.generate(RepoClient)");
+    return generate(accessor, detect(accessor));
+  }
+
+  @Override
+  public String generate(
+      @NonNull final RepoClient accessor,
+      @NonNull final DetectionResult detection) {
+    LOG.log(DEBUG, "DotNetCoreBuilder.generate(RepoClient, DetectionResult)");
+    final String workingDirectory = detection.getFact(DotNetCoreDetector.WORKING_DIRECTORY)
+        .orElse(null);
     return GIT_BUILDER.getInitialComments() + "\n"
         + SnakeYamlFactory.getConfiguredYaml()
         .dump(
@@ -230,36 +231,4 @@ public class DotNetCoreBuilder implements PipelineBuilder {
                         .build())
                 .build());
   }
-
-  private List<String> hasSolutionFiles(@NonNull final RepoClient accessor) {
-    final List<String> files = accessor.getWildcardFiles("**/*.sln", 1).getOrElse(List.of());
-    LOG.log(DEBUG, "Found " + files.size() + " solution files");
-    files.forEach(s -> LOG.log(DEBUG, "  " + s));
-    return files;
-  }
-
-  private boolean hasDotNetCoreProjectFiles(@NonNull final RepoClient accessor) {
-    final List<String> projectFiles = accessor.getWildcardFiles("**/*.csproj", 1)
-        .getOrElse(List.of());
-    LOG.log(DEBUG, "Found " + projectFiles.size() + " project files");
-    projectFiles.forEach(s -> LOG.log(DEBUG, "  " + s));
-
-    /*
-     https://natemcmaster.com/blog/2017/03/09/vs2015-to-vs2017-upgrade/ provides some great insights
-     into the various project file formats.
-     */
-    return projectFiles
-        .stream()
-        .anyMatch(f -> DOT_NET_CORE_REGEX.matcher(accessor.getFile(f).getOrElse("")).find());
-  }
-
-  private void setWorkingDir(final List<String> solutionFiles) {
-    final List<String> split = new ArrayList<>(Arrays.asList(solutionFiles.get(0).split("/")));
-    if (split.size() > 1) {
-      split.remove(split.size() - 1);
-      workingDirectory = String.join("/", split);
-    } else {
-      workingDirectory = null;
-    }
-  }
 }
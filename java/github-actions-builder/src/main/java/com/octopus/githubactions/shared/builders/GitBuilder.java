@@ -9,6 +9,70 @@ import org.apache.commons.lang3.StringUtils;
 
 /** Contains a number of common steps shared between builders. */
 public class GitBuilder {
+
+  // Steps that are the same in every workflow are only represented as YAML once
+  private static final Step CHECKOUT = PrecompiledStep.of(
+      UsesWith.builder()
+          .uses("actions/checkout@v1")
+          .with(new ImmutableMap.Builder<String, String>().put("fetch-depth", "0").build())
+          .build());
+  private static final Step GITVERSION_INSTALL = PrecompiledStep.of(
+      UsesWith.builder()
+          .name("Install GitVersion")
+          .uses("gittools/actions/gitversion/setup@v0.9.7")
+          .with(new ImmutableMap.Builder<String, String>().put("versionSpec", "5.x").build())
+          .build());
+  private static final Step VERSION_CALCULATE = PrecompiledStep.of(
+      UsesWith.builder()
+          .name("Determine Version")
+          .id("determine_version")
+          .uses("gittools/actions/gitversion/execute@v0.9.7")
+          .with(new ImmutableMap.Builder<String, String>().put("additionalArguments", "/overrideconfig mode=Mainline").build())
+          .build());
+  private static final Step OCTOPUS_CLI_INSTALL = PrecompiledStep.of(
+      UsesWith.builder()
+          .name("Install Octopus Deploy CLI")
+          .uses("OctopusDeploy/install-octocli@v1.1.1")
+          .with(new ImmutableMap.Builder<String, String>().put("version", "latest").build())
+          .build());
+  private static final Step GITHUB_RELEASE = PrecompiledStep.of(
+      UsesWith.builder()
+          .name("Create Release")
+          .id("create_release")
+          .uses("actions/create-release@v1")
+          .env(
+              new ImmutableMap.Builder<String, String>()
+                  .put("GITHUB_TOKEN", "${{ secrets.GITHUB_TOKEN }}")
+                  .build())
+          .with(
+              new ImmutableMap.Builder<String, String>()
+                  .put("tag_name", "${{ steps.determine_version.outputs.semVer }}+run${{ github.run_number }}-attempt${{ github.run_attempt }}")
+                  .put("release_name", "Release ${{ steps.determine_version.outputs.semVer }} Run ${{ github.run_number }} Attempt ${{ github.run_attempt }}")
+                  .put("draft", "false")
+                  .put("prerelease", "false")
+                  .build())
+          .build());
+  private static final Step TAG_REPO = PrecompiledStep.of(
+      UsesWith.builder()
+          .name("Tag Release")
+          .uses("mathieudutour/github-tag-action@v6.0")
+          .with(
+              new ImmutableMap.Builder<String, String>()
+                  .put("custom_tag", "${{ steps.determine_version.outputs.semVer }}")
+                  .put("github_token", "${{ secrets.GITHUB_TOKEN }}")
+                  .build())
+          .build());
+  private static final Step JAVA_INSTALL = PrecompiledStep.of(
+      UsesWith.builder()
+          .name("Set up JDK 1.17")
+          .uses("actions/setup-java@v2")
+          .with(
+              new ImmutableMap.Builder<String, String>()
+                  .put("java-version", "17")
+                  .put("distribution", "adopt")
+                  .build())
+          .build());
+
   /** Builds the common top level comments for the workflow. */
   public String getInitialComments() {
     return "# The following workflow provides an opinionated template you can customize for your own needs.\n"
@@ -27,38 +91,22 @@ public class GitBuilder {
 
   /** Build the checkout step. */
   public Step checkOutStep() {
-    return UsesWith.builder()
-        .uses("actions/checkout@v1")
-        .with(new ImmutableMap.Builder<String, String>().put("fetch-depth", "0").build())
-        .build();
+    return CHECKOUT;
   }
 
   /** Build the GitVersion installation step. */
   public Step gitVersionInstallStep() {
-    return UsesWith.builder()
-        .name("Install GitVersion")
-        .uses("gittools/actions/gitversion/setup@v0.9.7")
-        .with(new ImmutableMap.Builder<String, String>().put("versionSpec", "5.x").build())
-        .build();
+    return GITVERSION_INSTALL;
   }
 
   /** Build the step to calculate the versions from git. */
   public Step getVersionCalculate() {
-    return UsesWith.builder()
-        .name("Determine Version")
-        .id("determine_version")
-        .uses("gittools/actions/gitversion/execute@v0.9.7")
-        .with(new ImmutableMap.Builder<String, String>().put("additionalArguments", "/overrideconfig mode=Mainline").build())
-        .build();
+    return VERSION_CALCULATE;
   }
 
   /** Build the Octopus CLI installation step. */
   public Step installOctopusCli() {
-    return UsesWith.builder()
-        .name("Install Octopus Deploy CLI")
-        .uses("OctopusDeploy/install-octocli@v1.1.1")
-        .with(new ImmutableMap.Builder<String, String>().put("version", "latest").build())
-        .build();
+    return OCTOPUS_CLI_INSTALL;
   }
 
   /** Build the test processing step. */
@@ -85,35 +133,12 @@ public class GitBuilder {
    * So we embed the run_number and run_attempt in the metadata.
    */
   public Step createGitHubRelease() {
-    return UsesWith.builder()
-        .name("Create Release")
-        .id("create_release")
-        .uses("actions/create-release@v1")
-        .env(
-            new ImmutableMap.Builder<String, String>()
-                .put("GITHUB_TOKEN", "${{ secrets.GITHUB_TOKEN }}")
-                .build())
-        .with(
-            new ImmutableMap.Builder<String, String>()
-                .put("tag_name", "${{ steps.determine_version.outputs.semVer }}+run${{ github.run_number }}-attempt${{ github.run_attempt }}")
-                .put("release_name", "Release ${{ steps.determine_version.outputs.semVer }} Run ${{ github.run_number }} Attempt ${{ github.run_attempt }}")
-                .put("draft", "false")
-                .put("prerelease", "false")
-                .build())
-        .build();
+    return GITHUB_RELEASE;
   }
 
   /** Tag the repo with the release. */
   public Step tagRepo() {
-    return UsesWith.builder()
-        .name("Tag Release")
-        .uses("mathieudutour/github-tag-action@v6.0")
-        .with(
-            new ImmutableMap.Builder<String, String>()
-                .put("custom_tag", "${{ steps.determine_version.outputs.semVer }}")
-                .put("github_token", "${{ secrets.GITHUB_TOKEN }}")
-                .build())
-        .build();
+    return TAG_REPO;
   }
 
   /** Build the step to upload file to the github release. */
@@ -224,14 +249,6 @@ public class GitBuilder {
 
   /** Build the java installation step. */
   public Step installJava() {
-    return UsesWith.builder()
-        .name("Set up JDK 1.17")
-        .uses("actions/setup-java@v2")
-        .with(
-            new ImmutableMap.Builder<String, String>()
-                .put("java-version", "17")
-                .put("distribution", "adopt")
-                .build())
-        .build();
+    return JAVA_INSTALL;
   }
 }
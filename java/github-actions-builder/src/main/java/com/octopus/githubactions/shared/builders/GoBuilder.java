@@ -4,7 +4,10 @@ import static org.jboss.logging.Logger.Level.DEBUG;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.GoDetector;
 import com.octopus.githubactions.shared.builders.dsl.Build;
 import com.octopus.githubactions.shared.builders.dsl.Jobs;
 import com.octopus.githubactions.shared.builders.dsl.On;
@@ -15,8 +18,6 @@ import com.octopus.githubactions.shared.builders.dsl.UsesWith;
 import com.octopus.githubactions.shared.builders.dsl.Workflow;
 import com.octopus.githubactions.shared.builders.dsl.WorkflowDispatch;
 import com.octopus.repoclients.RepoClient;
-import io.vavr.control.Try;
-import java.util.List;
 import lombok.NonNull;
 import org.jboss.logging.Logger;
 
@@ -27,6 +28,7 @@ public class GoBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(GoBuilder.class.toString());
   private static final GitBuilder GIT_BUILDER = new GitBuilder();
+  private static final LanguageDetector DETECTOR = new GoDetector();
 
   @Override
   public String getName() {
@@ -35,10 +37,12 @@ public class GoBuilder implements PipelineBuilder {
 
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
-    final Try<List<String>> files = accessor.getWildcardFiles("*.go", 1);
+    return detect(accessor).isMatched();
+  }
 
-    return accessor.testFile("go.mod")
-        || (files.isSuccess() && !files.get().isEmpty());
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
@@ -3,7 +3,10 @@ package com.octopus.githubactions.shared.builders;
 import static org.jboss.logging.Logger.Level.DEBUG;
 
 import com.google.common.collect.ImmutableList;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.JavaGradleDetector;
 import com.octopus.githubactions.shared.builders.dsl.Build;
 import com.octopus.githubactions.shared.builders.dsl.Jobs;
 import com.octopus.githubactions.shared.builders.dsl.On;
@@ -13,7 +16,6 @@ import com.octopus.githubactions.shared.builders.dsl.Step;
 import com.octopus.githubactions.shared.builders.dsl.Workflow;
 import com.octopus.githubactions.shared.builders.dsl.WorkflowDispatch;
 import com.octopus.repoclients.RepoClient;
-import java.util.Arrays;
 import lombok.NonNull;
 import org.jboss.logging.Logger;
 
@@ -24,8 +26,7 @@ public class JavaGradleBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(JavaGradleBuilder.class.toString());
   private static final GitBuilder GIT_BUILDER = new GitBuilder();
-  private static final String[] GRADLE_BUILD_FILES = {"build.gradle", "build.gradle.kts"};
-  private boolean usesWrapper = false;
+  private static final LanguageDetector DETECTOR = new JavaGradleDetector();
 
   @Override
   public String getName() {
@@ -34,21 +35,25 @@ public class JavaGradleBuilder implements PipelineBuilder {
 
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
-    LOG.log(DEBUG, "JavaGradleBuilder.canBuild(RepoClient)");
-
-    if (Arrays.stream(GRADLE_BUILD_FILES).anyMatch(accessor::testFile)) {
-      LOG.log(DEBUG, String.join(" or ", GRADLE_BUILD_FILES) + " was found");
-      usesWrapper = usesWrapper(accessor);
-      LOG.log(DEBUG, "Wrapper script was " + (usesWrapper ? "" : "not ") + "found");
-      return true;
-    }
+    return detect(accessor).isMatched();
+  }
 
-    return false;
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
   public String generate(@NonNull final RepoClient accessor) {
-    LOG.log(DEBUG, "JavaMavenBuilder.generate(RepoClient)");
+    return generate(accessor, detect(accessor));
+  }
+
+  @Override
+  public String generate(
+      @NonNull final RepoClient accessor,
+      @NonNull final DetectionResult detection) {
+    LOG.log(DEBUG, "JavaGradleBuilder.generate(RepoClient, DetectionResult)");
+    final boolean usesWrapper = detection.getFlag(JavaGradleDetector.USES_WRAPPER);
     return GIT_BUILDER.getInitialComments() + "\n"
         + SnakeYamlFactory.getConfiguredYaml()
         .dump(
@@ -73,7 +78,7 @@ public class JavaGradleBuilder implements PipelineBuilder {
                                                 .name("List Dependencies")
                                                 .shell("bash")
                                                 .run(
-                                                    gradleExecutable()
+                                                    gradleExecutable(usesWrapper)
                                                         + " dependencies --console=plain > dependencies.txt")
                                                 .build())
                                         .add(GIT_BUILDER.collectDependencies())
@@ -82,7 +87,7 @@ public class JavaGradleBuilder implements PipelineBuilder {
                                                 .name("Test")
                                                 .shell("bash")
                                                 .run(
-                                                    gradleExecutable()
+                                                    gradleExecutable(usesWrapper)
                                                         + " check --console=plain")
                                                 .build())
                                         .add(
@@ -93,7 +98,7 @@ public class JavaGradleBuilder implements PipelineBuilder {
                                                 .name("Package")
                                                 .shell("bash")
                                                 .run(
-                                                    gradleExecutable()
+                                                    gradleExecutable(usesWrapper)
                                                         + " clean assemble --console=plain")
                                                 .build())
                                         .add(
@@ -156,11 +161,7 @@ public class JavaGradleBuilder implements PipelineBuilder {
                 .build());
   }
 
-  private String gradleExecutable() {
+  private String gradleExecutable(final boolean usesWrapper) {
     return usesWrapper ? "./gradlew" : "gradle";
   }
-
-  private boolean usesWrapper(@NonNull final RepoClient accessor) {
-    return accessor.testFile("gradlew");
-  }
 }
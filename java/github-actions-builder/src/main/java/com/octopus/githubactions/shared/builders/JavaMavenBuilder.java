@@ -3,7 +3,10 @@ package com.octopus.githubactions.shared.builders;
 import static org.jboss.logging.Logger.Level.DEBUG;
 
 import com.google.common.collect.ImmutableList;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.JavaMavenDetector;
 import com.octopus.githubactions.shared.builders.dsl.Build;
 import com.octopus.githubactions.shared.builders.dsl.Jobs;
 import com.octopus.githubactions.shared.builders.dsl.On;
@@ -23,7 +26,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(JavaMavenBuilder.class.toString());
   private static final GitBuilder GIT_BUILDER = new GitBuilder();
-  private boolean usesWrapper = false;
+  private static final LanguageDetector DETECTOR = new JavaMavenDetector();
 
   @Override
   public String getName() {
@@ -32,18 +35,25 @@ public class JavaMavenBuilder implements PipelineBuilder {
 
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
-    LOG.log(DEBUG, "JavaMavenBuilder.canBuild(RepoClient)");
-    if (accessor.testFile("pom.xml")) {
-      usesWrapper = usesWrapper(accessor);
-      return true;
-    }
+    return detect(accessor).isMatched();
+  }
 
-    return false;
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
   public String generate(@NonNull final RepoClient accessor) {
-    LOG.log(DEBUG, "JavaMavenBuilder.generate(RepoClient)");
+    return generate(accessor, detect(accessor));
+  }
+
+  @Override
+  public String generate(
+      @NonNull final RepoClient accessor,
+      @NonNull final DetectionResult detection) {
+    LOG.log(DEBUG, "JavaMavenBuilder.generate(RepoClient, DetectionResult)");
+    final boolean usesWrapper = detection.getFlag(JavaMavenDetector.USES_WRAPPER);
     return GIT_BUILDER.getInitialComments() + "\n"
         + SnakeYamlFactory.getConfiguredYaml()
         .dump(
@@ -68,7 +78,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
                                                 .name("Set Version")
                                                 .shell("bash")
                                                 .run(
-                                                    mavenExecutable()
+                                                    mavenExecutable(usesWrapper)
                                                         + " --batch-mode versions:set -DnewVersion=${{ steps.determine_version.outputs.semVer }}")
                                                 .build())
                                         .add(
@@ -76,7 +86,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
                                                 .name("List Dependencies")
                                                 .shell("bash")
                                                 .run(
-                                                    mavenExecutable()
+                                                    mavenExecutable(usesWrapper)
                                                         + " --batch-mode dependency:tree --no-transfer-progress > dependencies.txt")
                                                 .build())
                                         .add(GIT_BUILDER.collectDependencies())
@@ -85,7 +95,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
                                                 .name("List Dependency Updates")
                                                 .shell("bash")
                                                 .run(
-                                                    mavenExecutable()
+                                                    mavenExecutable(usesWrapper)
                                                         + " --batch-mode versions:display-dependency-updates > dependencyUpdates.txt")
                                                 .build())
                                         .add(GIT_BUILDER.collectDependencyUpdates())
@@ -94,7 +104,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
                                                 .name("Test")
                                                 .shell("bash")
                                                 .run(
-                                                    mavenExecutable()
+                                                    mavenExecutable(usesWrapper)
                                                         + " --batch-mode test")
                                                 .build())
                                         .add(
@@ -105,7 +115,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
                                                 .name("Package")
                                                 .shell("bash")
                                                 .run(
-                                                    mavenExecutable()
+                                                    mavenExecutable(usesWrapper)
                                                         + " --batch-mode -DskipTests=true package")
                                                 .build())
                                         .add(
@@ -169,11 +179,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
                 .build());
   }
 
-  private String mavenExecutable() {
+  private String mavenExecutable(final boolean usesWrapper) {
     return usesWrapper ? "./mvnw" : "mvn";
   }
-
-  private boolean usesWrapper(@NonNull final RepoClient accessor) {
-    return accessor.testFile("mvnw");
-  }
 }
@@ -5,7 +5,10 @@ import static org.jboss.logging.Logger.Level.DEBUG;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.NodeJsDetector;
 import com.octopus.githubactions.shared.builders.dsl.Build;
 import com.octopus.githubactions.shared.builders.dsl.Jobs;
 import com.octopus.githubactions.shared.builders.dsl.On;
@@ -27,8 +30,7 @@ public class NodeJsBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(NodeJsBuilder.class.toString());
   private static final GitBuilder GIT_BUILDER = new GitBuilder();
-  private boolean useYarn = false;
-  private boolean packageLock = false;
+  private static final LanguageDetector DETECTOR = new NodeJsDetector();
 
   @Override
   public String getName() {
@@ -37,15 +39,26 @@ public class NodeJsBuilder implements PipelineBuilder {
 
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
-    LOG.log(DEBUG, "NodeJsBuilder.canBuild(RepoClient)");
-    useYarn = accessor.testFile("yarn.lock");
-    packageLock = accessor.testFile("package-lock.json");
-    return accessor.testFile("package.json");
+    return detect(accessor).isMatched();
+  }
+
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
   public String generate(@NonNull final RepoClient accessor) {
-    LOG.log(DEBUG, "NodeJsBuilder.generate(RepoClient)");
+    return generate(accessor, detect(accessor));
+  }
+
+  @Override
+  public String generate(
+      @NonNull final RepoClient accessor,
+      @NonNull final DetectionResult detection) {
+    LOG.log(DEBUG, "NodeJsBuilder.generate(RepoClient, DetectionResult)");
+    final boolean useYarn = detection.getFlag(NodeJsDetector.USE_YARN);
+    final boolean packageLock = detection.getFlag(NodeJsDetector.PACKAGE_LOCK);
     return GIT_BUILDER.getInitialComments() + "\n"
         + SnakeYamlFactory.getConfiguredYaml()
         .dump(
@@ -73,14 +86,14 @@ public class NodeJsBuilder implements PipelineBuilder {
                                                 .name("Install Dependencies")
                                                 .shell("bash")
                                                 // npm ci can be used when the package-lock.json file exists
-                                                .run(getPackageManager() + (packageLock && !useYarn ? " ci" : " install"))
+                                                .run(getPackageManager(useYarn) + (packageLock && !useYarn ? " ci" : " install"))
                                                 .build())
                                         .add(
                                             RunStep.builder()
                                                 .name("List Dependencies")
                                                 .shell("bash")
                                                 .run(
-                                                    getPackageManager()
+                                                    getPackageManager(useYarn)
                                                         + " list --all > dependencies.txt")
                                                 .build())
                                         .add(GIT_BUILDER.collectDependencies())
@@ -89,7 +102,7 @@ public class NodeJsBuilder implements PipelineBuilder {
                                                 .name("List Dependency Updates")
                                                 .shell("bash")
                                                 .run(
-                                                    getPackageManager()
+                                                    getPackageManager(useYarn)
                                                         + " outdated > dependencyUpdates.txt")
                                                 .build())
                                         .add(GIT_BUILDER.collectDependencyUpdates())
@@ -97,7 +110,7 @@ public class NodeJsBuilder implements PipelineBuilder {
                                             RunStep.builder()
                                                 .name("Test")
                                                 .shell("bash")
-                                                .run(getPackageManager() + " test")
+                                                .run(getPackageManager(useYarn) + " test")
                                                 .build())
                                         .add(
                                             RunStep.builder()
@@ -107,7 +120,7 @@ public class NodeJsBuilder implements PipelineBuilder {
                                                     (!scriptExists(accessor, "build")
                                                         ? "# package.json does not define a build script, so the build command is commented out.\n# "
                                                         : "")
-                                                        + getPackageManager()
+                                                        + getPackageManager(useYarn)
                                                         + " run build")
                                                 .build())
                                         .add(
@@ -181,7 +194,7 @@ public class NodeJsBuilder implements PipelineBuilder {
         .getOrElse(false);
   }
 
-  private String getPackageManager() {
+  private String getPackageManager(final boolean useYarn) {
     return useYarn ? "yarn" : "npm";
   }
 }
@@ -3,7 +3,10 @@ package com.octopus.githubactions.shared.builders;
 import static org.jboss.logging.Logger.Level.DEBUG;
 
 import com.google.common.collect.ImmutableList;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.SingleFileDetector;
 import com.octopus.githubactions.shared.builders.dsl.Build;
 import com.octopus.githubactions.shared.builders.dsl.Jobs;
 import com.octopus.githubactions.shared.builders.dsl.On;
@@ -23,6 +26,7 @@ public class PhpComposerBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(PhpComposerBuilder.class.toString());
   private static final GitBuilder GIT_BUILDER = new GitBuilder();
+  private static final LanguageDetector DETECTOR = new SingleFileDetector("PHP", "composer.json");
 
   @Override
   public String getName() {
@@ -32,7 +36,12 @@ public class PhpComposerBuilder implements PipelineBuilder {
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
     LOG.log(DEBUG, "PhpComposerBuilder.canBuild(RepoClient)");
-    return accessor.testFile("composer.json");
+    return detect(accessor).isMatched();
+  }
+
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
@@ -0,0 +1,82 @@
+package com.octopus.githubactions.shared.builders;
+
+import com.octopus.githubactions.shared.builders.dsl.Step;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.NonNull;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+
+/**
+ * Wraps a step whose content is the same in every workflow. The step is represented as a tree of
+ * YAML nodes the first time it is dumped, and every later workflow receives a copy of that tree,
+ * so SnakeYAML does not need to introspect the step again.
+ */
+final class PrecompiledStep implements Step {
+
+  @Getter
+  private final Step step;
+  private volatile Node node;
+
+  private PrecompiledStep(final Step step) {
+    this.step = step;
+  }
+
+  /**
+   * Wraps a step that does not change between workflows.
+   *
+   * @param step The invariant step.
+   * @return The wrapped step.
+   */
+  static PrecompiledStep of(@NonNull final Step step) {
+    return new PrecompiledStep(step);
+  }
+
+  /**
+   * Returns a copy of the nodes representing the step. Each workflow gets its own copy, as
+   * SnakeYAML writes a node that appears twice in a document as an anchor and alias.
+   *
+   * @param representer The function used to represent the step the first time it is dumped.
+   * @return A copy of the nodes representing the step.
+   */
+  Node getNode(@NonNull final Function<Step, Node> representer) {
+    if (node == null) {
+      // Racing threads build identical trees, so there is no need to lock
+      node = representer.apply(step);
+    }
+    return copy(node);
+  }
+
+  private static Node copy(final Node source) {
+    if (source instanceof ScalarNode) {
+      final ScalarNode scalar = (ScalarNode) source;
+      return new ScalarNode(scalar.getTag(), scalar.getValue(), null, null,
+          scalar.getScalarStyle());
+    }
+
+    if (source instanceof SequenceNode) {
+      final SequenceNode sequence = (SequenceNode) source;
+      final List<Node> values = new ArrayList<>(sequence.getValue().size());
+      for (final Node value : sequence.getValue()) {
+        values.add(copy(value));
+      }
+      return new SequenceNode(sequence.getTag(), values, sequence.getFlowStyle());
+    }
+
+    if (source instanceof MappingNode) {
+      final MappingNode mapping = (MappingNode) source;
+      final List<NodeTuple> values = new ArrayList<>(mapping.getValue().size());
+      for (final NodeTuple tuple : mapping.getValue()) {
+        values.add(new NodeTuple(copy(tuple.getKeyNode()), copy(tuple.getValueNode())));
+      }
+      return new MappingNode(mapping.getTag(), values, mapping.getFlowStyle());
+    }
+
+    throw new IllegalStateException("Unexpected node " + source.getNodeId());
+  }
+}
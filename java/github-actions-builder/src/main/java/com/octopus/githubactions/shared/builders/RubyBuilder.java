@@ -4,7 +4,10 @@ import static org.jboss.logging.Logger.Level.DEBUG;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.SingleFileDetector;
 import com.octopus.githubactions.shared.builders.dsl.Build;
 import com.octopus.githubactions.shared.builders.dsl.Jobs;
 import com.octopus.githubactions.shared.builders.dsl.On;
@@ -25,6 +28,7 @@ public class RubyBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(RubyBuilder.class.toString());
   private static final GitBuilder GIT_BUILDER = new GitBuilder();
+  private static final LanguageDetector DETECTOR = new SingleFileDetector("Ruby", "Gemfile");
 
   @Override
   public String getName() {
@@ -34,7 +38,12 @@ public class RubyBuilder implements PipelineBuilder {
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
     LOG.log(DEBUG, "RubyBuilder.canBuild(RepoClient)");
-    return accessor.testFile("Gemfile");
+    return detect(accessor).isMatched();
+  }
+
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
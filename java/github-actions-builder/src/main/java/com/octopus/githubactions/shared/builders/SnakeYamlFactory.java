@@ -19,27 +19,28 @@ import org.yaml.snakeyaml.representer.Representer;
 public final class SnakeYamlFactory {
 
   /**
-   * Builds an instance of SnakeYAML configured to generate workflow DSLs.
+   * SnakeYAML instances are not thread safe, but are expensive to build, as each one introspects
+   * the DSL classes from scratch. So each thread builds one instance and reuses it.
+   */
+  private static final ThreadLocal<Yaml> YAML =
+      ThreadLocal.withInitial(SnakeYamlFactory::buildConfiguredYaml);
+
+  /**
+   * Returns an instance of SnakeYAML configured to generate workflow DSLs. The instance is reused
+   * by the calling thread, and must not be shared with other threads.
    *
    * @return A configured instance of SnakeYAML.
    */
   public static Yaml getConfiguredYaml() {
-    final Representer representer =
-        new Representer() {
-          @Override
-          protected NodeTuple representJavaBeanProperty(
-              final Object javaBean,
-              final Property property,
-              final Object propertyValue,
-              final Tag customTag) {
-            // if value of property is null, ignore it.
-            if (propertyValue == null) {
-              return null;
-            } else {
-              return super.representJavaBeanProperty(javaBean, property, propertyValue, customTag);
-            }
-          }
-        };
+    return YAML.get();
+  }
+
+  private static Yaml buildConfiguredYaml() {
+    final DumperOptions options = new DumperOptions();
+    options.setDefaultFlowStyle(FlowStyle.BLOCK);
+    options.setWidth(4096);
+
+    final Representer representer = new WorkflowRepresenter(options);
 
     representer.addClassTag(Workflow.class, Tag.MAP);
     representer.addClassTag(UsesWith.class, Tag.MAP);
@@ -66,10 +67,32 @@ public final class SnakeYamlFactory {
     usesWith.setExcludes("ifProperty");
     representer.addTypeDescription(usesWith);
 
-    final DumperOptions options = new DumperOptions();
-    options.setDefaultFlowStyle(FlowStyle.BLOCK);
-    options.setWidth(4096);
-
     return new Yaml(representer, options);
   }
+
+  /**
+   * Skips null properties, and writes precompiled steps from their cached nodes.
+   */
+  private static class WorkflowRepresenter extends Representer {
+
+    WorkflowRepresenter(final DumperOptions options) {
+      super(options);
+      this.representers.put(PrecompiledStep.class,
+          data -> ((PrecompiledStep) data).getNode(this::representData));
+    }
+
+    @Override
+    protected NodeTuple representJavaBeanProperty(
+        final Object javaBean,
+        final Property property,
+        final Object propertyValue,
+        final Tag customTag) {
+      // if value of property is null, ignore it.
+      if (propertyValue == null) {
+        return null;
+      } else {
+        return super.representJavaBeanProperty(javaBean, property, propertyValue, customTag);
+      }
+    }
+  }
 }
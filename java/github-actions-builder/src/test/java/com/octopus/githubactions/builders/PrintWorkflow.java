@@ -20,8 +20,7 @@ public class PrintWorkflow {
     final JavaMavenBuilder builder = new JavaMavenBuilder();
     final RepoClient client =
         new MavenTestRepoClient("https://github.com/OctopusSamples/RandomQuotes-Java", true);
-    builder.canBuild(client);
-    System.out.println(builder.generate(client));
+    System.out.println(builder.generate(client, builder.detect(client)));
   }
 
   @Test
@@ -29,8 +28,7 @@ public class PrintWorkflow {
     final NodeJsBuilder builder = new NodeJsBuilder();
     final RepoClient client =
         new NodeTestRepoClient("https://github.com/OctopusSamples/RandomQuotes-Js");
-    builder.canBuild(client);
-    System.out.println(builder.generate(client));
+    System.out.println(builder.generate(client, builder.detect(client)));
   }
 
   @Test
@@ -38,8 +36,7 @@ public class PrintWorkflow {
     final PhpComposerBuilder builder = new PhpComposerBuilder();
     final RepoClient client =
         new PhpTestRepoClient("https://github.com/OctopusSamples/RandomQuotes-PHP");
-    builder.canBuild(client);
-    System.out.println(builder.generate(client));
+    System.out.println(builder.generate(client, builder.detect(client)));
   }
 
   @Test
@@ -47,8 +44,7 @@ public class PrintWorkflow {
     final DotNetCoreBuilder builder = new DotNetCoreBuilder();
     final RepoClient client =
         new DotnetTestRepoClient("https://github.com/OctopusSamples/RandomQuotes");
-    builder.canBuild(client);
-    System.out.println(builder.generate(client));
+    System.out.println(builder.generate(client, builder.detect(client)));
   }
 
   @Test
@@ -56,7 +52,6 @@ public class PrintWorkflow {
     final GenericBuilder builder = new GenericBuilder();
     final RepoClient client =
         new GenericTestRepoClient("https://github.com/OctopusSamples/RandomQuotes");
-    builder.canBuild(client);
-    System.out.println(builder.generate(client));
+    System.out.println(builder.generate(client, builder.detect(client)));
   }
 }
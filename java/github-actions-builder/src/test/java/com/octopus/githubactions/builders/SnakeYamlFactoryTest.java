@@ -0,0 +1,58 @@
+package com.octopus.githubactions.builders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.octopus.githubactions.shared.builders.GitBuilder;
+import com.octopus.githubactions.shared.builders.SnakeYamlFactory;
+import com.octopus.githubactions.shared.builders.dsl.Build;
+import com.octopus.githubactions.shared.builders.dsl.Step;
+import com.octopus.githubactions.shared.builders.dsl.UsesWith;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+
+public class SnakeYamlFactoryTest {
+
+  private static final GitBuilder GIT_BUILDER = new GitBuilder();
+
+  @Test
+  public void testPrecompiledStepMatchesBean() {
+    assertEquals(dumpSteps(buildCheckout(), buildCheckout()),
+        dumpSteps(GIT_BUILDER.checkOutStep(), buildCheckout()));
+  }
+
+  @Test
+  public void testRepeatedPrecompiledStepIsNotAliased() {
+    final String yaml = dumpSteps(GIT_BUILDER.installJava(), GIT_BUILDER.installJava());
+
+    assertFalse(yaml.contains("&id"));
+    assertFalse(yaml.contains("*id"));
+  }
+
+  @Test
+  public void testInstancePerThread() throws Exception {
+    final Yaml yaml = SnakeYamlFactory.getConfiguredYaml();
+
+    assertSame(yaml, SnakeYamlFactory.getConfiguredYaml());
+    assertNotSame(yaml, CompletableFuture.supplyAsync(SnakeYamlFactory::getConfiguredYaml).get());
+  }
+
+  private Step buildCheckout() {
+    return UsesWith.builder()
+        .uses("actions/checkout@v1")
+        .with(new ImmutableMap.Builder<String, String>().put("fetch-depth", "0").build())
+        .build();
+  }
+
+  private String dumpSteps(final Step first, final Step second) {
+    return SnakeYamlFactory.getConfiguredYaml().dump(Build.builder()
+        .runsOn("ubuntu-latest")
+        .steps(new ImmutableList.Builder<Step>().add(first).add(second).build())
+        .build());
+  }
+}
@@ -7,8 +7,8 @@ import com.octopus.features.MicroserviceNameFeature;
 import com.octopus.githubrepo.GlobalConstants;
 import com.octopus.githubrepo.domain.cognito.CognitoAccessTokenGenerator;
 import com.octopus.githubrepo.domain.entities.Audit;
-import com.octopus.githubrepo.domain.framework.producers.JsonApiConverter;
 import com.octopus.githubrepo.infrastructure.clients.AuditClient;
+import com.octopus.jsonapi.JsonApiDocumentWriter;
 import io.quarkus.logging.Log;
 import io.vavr.control.Try;
 import javax.enterprise.context.ApplicationScoped;
@@ -35,7 +35,7 @@ public class AuditGenerator {
   DisableSecurityFeature disableSecurityFeature;
 
   @Inject
-  JsonApiConverter jsonApiConverter;
+  JsonApiDocumentWriter jsonApiDocumentWriter;
 
   @Inject
   MicroserviceNameFeature microserviceNameFeature;
@@ -63,8 +63,7 @@ public class AuditGenerator {
     authHeader
         .andThenTry(auditAccessToken ->
             auditClient.createAudit(
-                new String(jsonApiConverter.buildResourceConverter().writeDocument(
-                    new JSONAPIDocument<>(audit))),
+                jsonApiDocumentWriter.writeDocumentAsString(new JSONAPIDocument<>(audit)),
                 StringUtils.defaultString(xrayId),
                 routingHeaders,
                 dataPartitionHeaders,
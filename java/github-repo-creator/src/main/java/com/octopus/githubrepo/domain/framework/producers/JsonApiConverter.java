@@ -8,6 +8,8 @@ import com.octopus.githubrepo.domain.entities.CreateGithubCommit;
 import com.octopus.githubrepo.domain.entities.GenerateTemplate;
 import com.octopus.githubrepo.domain.entities.Health;
 import com.octopus.githubrepo.domain.entities.PopulateGithubRepo;
+import com.octopus.jsonapi.JsonApiDocumentWriter;
+import com.octopus.jsonapi.impl.ResourceConverterDocumentWriter;
 import javax.enterprise.inject.Produces;
 
 /**
@@ -15,13 +17,35 @@ import javax.enterprise.inject.Produces;
  */
 public class JsonApiConverter {
 
+  /**
+   * The converter scans the registered types with reflection and builds its own ObjectMapper, so it
+   * is built once and shared. It is thread safe once configured.
+   */
+  private static final ResourceConverter RESOURCE_CONVERTER = createResourceConverter();
+  private static final JsonApiDocumentWriter DOCUMENT_WRITER =
+      new ResourceConverterDocumentWriter(RESOURCE_CONVERTER);
+
   /**
    * Produces a ResourceConverter.
    *
-   * @return The configured ResourceConverter.
+   * @return The shared ResourceConverter.
    */
   @Produces
   public ResourceConverter buildResourceConverter() {
+    return RESOURCE_CONVERTER;
+  }
+
+  /**
+   * Produces a JsonApiDocumentWriter.
+   *
+   * @return The shared JsonApiDocumentWriter.
+   */
+  @Produces
+  public JsonApiDocumentWriter buildDocumentWriter() {
+    return DOCUMENT_WRITER;
+  }
+
+  private static ResourceConverter createResourceConverter() {
     final ResourceConverter resourceConverter = new ResourceConverter(
         PopulateGithubRepo.class,
         CreateGithubCommit.class,
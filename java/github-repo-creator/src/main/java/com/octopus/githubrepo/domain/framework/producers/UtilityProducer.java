@@ -18,6 +18,8 @@ import com.octopus.githubrepo.domain.utils.JsonApiResourceUtils;
 import com.octopus.githubrepo.domain.utils.impl.JsonApiServiceUtilsCreateGithubCommit;
 import com.octopus.githubrepo.domain.utils.impl.JsonApiServiceUtilsCreateGithubRepo;
 import com.octopus.githubrepo.domain.utils.impl.JsonApiServiceUtilsGenerateTemplate;
+import com.octopus.http.RateLimitScheduler;
+import com.octopus.http.impl.GitHubRateLimitScheduler;
 import com.octopus.jsonapi.AcceptHeaderVerifier;
 import com.octopus.jsonapi.PagedResultsLinksBuilder;
 import com.octopus.jsonapi.impl.PagedResultsLinksBuilderImpl;
@@ -49,6 +51,7 @@ import javax.crypto.NoSuchPaddingException;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Produces;
 import javax.inject.Named;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kohsuke.github.GitHubBuilder;
 
 /**
@@ -57,6 +60,30 @@ import org.kohsuke.github.GitHubBuilder;
 @ApplicationScoped
 public class UtilityProducer {
 
+  @ConfigProperty(name = "github.rate-limit.low-priority-reserve-percent", defaultValue = "20")
+  int rateLimitLowPriorityReserve;
+
+  @ConfigProperty(name = "github.rate-limit.max-wait-millis", defaultValue = "2000")
+  long rateLimitMaxWait;
+
+  @ConfigProperty(name = "github.rate-limit.maximum-credentials", defaultValue = "10000")
+  int rateLimitMaximumCredentials;
+
+  /**
+   * Produces the scheduler that keeps GitHub requests within the rate limits of each credential.
+   *
+   * @return An implementation of RateLimitScheduler.
+   */
+  @ApplicationScoped
+  @Produces
+  public RateLimitScheduler getRateLimitScheduler() {
+    return GitHubRateLimitScheduler.builder()
+        .lowPriorityReservePercent(rateLimitLowPriorityReserve)
+        .maxWaitMillis(rateLimitMaxWait)
+        .maximumCredentials(rateLimitMaximumCredentials)
+        .build();
+  }
+
   /**
    * Produces the Lambda query param extractor.
    *
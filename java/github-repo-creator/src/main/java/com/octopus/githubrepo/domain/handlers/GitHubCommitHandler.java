@@ -2,6 +2,7 @@ package com.octopus.githubrepo.domain.handlers;
 
 import com.github.jasminb.jsonapi.exceptions.DocumentSerializationException;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Suppliers;
 import com.google.common.io.Resources;
 import com.octopus.encryption.AsymmetricEncryptor;
 import com.octopus.encryption.CryptoUtils;
@@ -40,6 +41,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -84,6 +86,14 @@ import org.jboss.resteasy.reactive.ClientWebApplicationException;
 @ApplicationScoped
 public class GitHubCommitHandler {
 
+  /**
+   * The public key used to encrypt email addresses. The key is bundled with the application, so it
+   * is read once rather than for every commit that is audited.
+   */
+  private static final Supplier<Try<String>> PUBLIC_KEY = Suppliers.memoize(() ->
+      Try.of(() -> Base64.getEncoder()
+          .encodeToString(Resources.toByteArray(Resources.getResource("public_key.der")))));
+
   /**
    * We have a hard limit with API gateways of 29 seconds. Direct calls from browser timeout
    * anywhere from 90 to 300 seconds.
@@ -306,22 +316,20 @@ public class GitHubCommitHandler {
 
     /*
       Auditing is a best effort exercise. We don't throw any exceptions here, nor do we block any processing if anything goes wrong.
-      Start by loading the public key.
+      Start with the public key, which is loaded once.
      */
-    final List<String> emails = Try.of(
-            () -> Resources.toByteArray(Resources.getResource("public_key.der")))
-        // convert it to a base64 string
-        .map(Base64.getEncoder()::encodeToString)
+    final List<String> emails = PUBLIC_KEY.get()
         // now try and get the email addresses associated with the github user
-        .map(k -> Arrays.stream(gitHubClient.publicEmails("token " + githubToken))
-            // extract the email
-            .map(GitHubEmail::getEmail)
-            // limit the results to public emails
-            .filter(publicEmailTester::isPublicEmail)
-            // encrypt the email
-            .map(e -> asymmetricEncryptor.encrypt(e, k))
-            // collect the list
-            .collect(Collectors.toList()))
+        .map(k -> asymmetricEncryptor.encrypt(
+            Arrays.stream(gitHubClient.publicEmails("token " + githubToken))
+                // extract the email
+                .map(GitHubEmail::getEmail)
+                // limit the results to public emails
+                .filter(publicEmailTester::isPublicEmail)
+                // collect the list
+                .collect(Collectors.toList()),
+            // encrypt the emails in one batch
+            k))
         // get the resulting list, or an empty list if anything went wrong.
         .getOrElse(List.of());
 
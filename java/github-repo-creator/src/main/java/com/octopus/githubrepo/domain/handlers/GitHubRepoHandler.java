@@ -31,13 +31,13 @@ import com.octopus.githubrepo.domain.entities.github.GithubRef;
 import com.octopus.githubrepo.domain.entities.github.GithubRepo;
 import com.octopus.githubrepo.domain.exceptions.GitHubException;
 import com.octopus.githubrepo.domain.features.DisableServiceFeature;
-import com.octopus.githubrepo.domain.framework.producers.JsonApiConverter;
 import com.octopus.githubrepo.domain.utils.JsonApiResourceUtils;
 import com.octopus.githubrepo.domain.utils.LinksHeaderParsing;
 import com.octopus.githubrepo.domain.utils.ScopeVerifier;
 import com.octopus.githubrepo.domain.utils.ServiceAuthUtils;
 import com.octopus.githubrepo.infrastructure.clients.GenerateTemplateClient;
 import com.octopus.githubrepo.infrastructure.clients.GitHubClient;
+import com.octopus.jsonapi.JsonApiDocumentWriter;
 import dev.failsafe.Failsafe;
 import dev.failsafe.RetryPolicy;
 import io.quarkus.logging.Log;
@@ -150,7 +150,7 @@ public class GitHubRepoHandler {
   Validator validator;
 
   @Inject
-  JsonApiConverter jsonApiConverter;
+  JsonApiDocumentWriter jsonApiDocumentWriter;
 
   @Inject
   DisableServiceFeature disableServiceFeature;
@@ -273,7 +273,7 @@ public class GitHubRepoHandler {
       final String authHeader,
       final String serviceAuthHeader,
       final String routingHeader)
-      throws DocumentSerializationException, IOException {
+      throws IOException {
 
     final GenerateTemplate generateTemplate = GenerateTemplate.builder()
         .id("")
@@ -281,7 +281,7 @@ public class GitHubRepoHandler {
         .options(populateGithubRepo.getOptions())
         .build();
 
-    final String body = new String(jsonApiConverter.buildResourceConverter().writeDocument(new JSONAPIDocument<>(generateTemplate)));
+    final String body = jsonApiDocumentWriter.writeDocumentAsString(new JSONAPIDocument<>(generateTemplate));
 
     try (final TemporaryResources temp = new TemporaryResources()) {
       final Path zipFile = downloadTemplateToTempFile(body, temp, authHeader, serviceAuthHeader, routingHeader);
@@ -0,0 +1,34 @@
+package com.octopus.jenkins.github.application.health;
+
+import com.octopus.http.HttpClientPool;
+import com.octopus.http.HttpClientPoolStats;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the state of the shared HTTP connection pool used to query GitHub.
+ */
+@Readiness
+@ApplicationScoped
+public class HttpClientPoolHealthCheck implements HealthCheck {
+
+  @Inject
+  HttpClientPool httpClientPool;
+
+  @Override
+  public HealthCheckResponse call() {
+    final HttpClientPoolStats stats = httpClientPool.getStats();
+    return HealthCheckResponse.named("HTTP client pool")
+        .up()
+        .withData("leased", stats.getLeased())
+        .withData("available", stats.getAvailable())
+        .withData("pending", stats.getPending())
+        .withData("max", stats.getMax())
+        .withData("handshakes", stats.getHandshakes())
+        .withData("averageHandshakeMillis", String.valueOf(stats.getAverageHandshakeMillis()))
+        .build();
+  }
+}
@@ -0,0 +1,37 @@
+package com.octopus.jenkins.github.application.health;
+
+import com.octopus.http.HttpResponseCache;
+import com.octopus.http.HttpResponseCacheStats;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the statistics of the cache holding GitHub API responses.
+ */
+@Readiness
+@ApplicationScoped
+public class HttpResponseCacheHealthCheck implements HealthCheck {
+
+  @Inject
+  HttpResponseCache httpResponseCache;
+
+  @Override
+  public HealthCheckResponse call() {
+    final HttpResponseCacheStats stats = httpResponseCache.getStats();
+    return HealthCheckResponse.named("HTTP response cache")
+        .up()
+        .withData("hits", stats.getHits())
+        .withData("negativeHits", stats.getNegativeHits())
+        .withData("misses", stats.getMisses())
+        .withData("notModified", stats.getNotModified())
+        .withData("modified", stats.getModified())
+        .withData("evictions", stats.getEvictions())
+        .withData("coalesced", stats.getCoalesced())
+        .withData("coalesceTimeouts", stats.getCoalesceTimeouts())
+        .withData("size", stats.getSize())
+        .build();
+  }
+}
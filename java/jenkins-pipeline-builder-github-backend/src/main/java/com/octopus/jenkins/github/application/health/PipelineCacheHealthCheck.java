@@ -0,0 +1,34 @@
+package com.octopus.jenkins.github.application.health;
+
+import com.octopus.builders.PipelineCache;
+import com.octopus.builders.PipelineCacheStats;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the statistics of the cache of generated pipelines.
+ */
+@Readiness
+@ApplicationScoped
+public class PipelineCacheHealthCheck implements HealthCheck {
+
+  @Inject
+  PipelineCache pipelineCache;
+
+  @Override
+  public HealthCheckResponse call() {
+    final PipelineCacheStats stats = pipelineCache.getStats();
+    final HealthCheckResponseBuilder builder = HealthCheckResponse.named("Pipeline cache")
+        .up()
+        .withData("hits", stats.getHits())
+        .withData("misses", stats.getMisses())
+        .withData("puts", stats.getPuts())
+        .withData("hitRate", String.valueOf(stats.getHitRate()));
+    stats.getTierHits().forEach((tier, hits) -> builder.withData(tier + "Hits", hits));
+    return builder.build();
+  }
+}
@@ -0,0 +1,107 @@
+package com.octopus.jenkins.github.application.http;
+
+import com.octopus.PipelineConstants;
+import com.octopus.jenkins.github.GlobalConstants;
+import com.octopus.jenkins.github.domain.entities.BulkPipelineRequest;
+import com.octopus.jenkins.github.domain.entities.Utms;
+import com.octopus.jenkins.github.domain.exceptions.BadRequest;
+import com.octopus.jenkins.github.domain.hanlder.BulkPipelineBatch;
+import com.octopus.jenkins.github.domain.hanlder.BulkTemplateHandler;
+import com.octopus.json.JsonSerializer;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import javax.inject.Inject;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.CookieParam;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * The REST server generating the pipelines of many repos at once.
+ */
+@Path("/api/pipeline/jenkins/generate/bulk")
+public class BulkPipelineResource {
+
+  @Inject
+  BulkTemplateHandler bulkTemplateHandler;
+
+  @Inject
+  JsonSerializer jsonSerializer;
+
+  /**
+   * Generates a Jenkins Pipeline for each of the repos in the request, or in the org named
+   * by the request. The results are streamed as newline delimited JSON, one line per repo, in the
+   * order the repos finish. When the org has more repos than a single request can process, the
+   * response includes the X-Repos-Truncated header holding the number of repos that were processed.
+   *
+   * @param request The repos and org to generate pipelines for.
+   * @return The stream of results.
+   */
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(GlobalConstants.NDJSON_CONTENT_TYPE)
+  public Response pipelines(
+      final BulkPipelineRequest request,
+      @HeaderParam(GlobalConstants.AMAZON_TRACE_ID_HEADER) final String xray,
+      @HeaderParam(GlobalConstants.ROUTING_HEADER) final String routingHeaders,
+      @HeaderParam(GlobalConstants.DATA_PARTITION) final String dataPartitionHeaders,
+      @HeaderParam(GlobalConstants.AUTHORIZATION_HEADER) final String authHeaders,
+      @CookieParam(PipelineConstants.GITHUB_SESSION_COOKIE) final String auth,
+      @QueryParam("utm_source") final String source,
+      @QueryParam("utm_medium") final String medium,
+      @QueryParam("utm_campaign") final String campaign,
+      @QueryParam("utm_term") final String term,
+      @QueryParam("utm_content") final String content) {
+
+    if (request == null) {
+      throw new BadRequest();
+    }
+
+    // Errors with the request as a whole are reported before the response starts streaming
+    final BulkPipelineBatch batch = bulkTemplateHandler.prepareBatch(request, auth);
+    final Utms utms = Utms.builder()
+        .source(source)
+        .medium(medium)
+        .campaign(campaign)
+        .term(term)
+        .content(content)
+        .build();
+
+    final StreamingOutput stream = output -> {
+      final Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+      bulkTemplateHandler.generatePipelines(
+          batch,
+          xray,
+          routingHeaders,
+          dataPartitionHeaders,
+          authHeaders,
+          utms,
+          result -> {
+            try {
+              writer.write(jsonSerializer.toJson(result));
+              writer.write("\n");
+              writer.flush();
+            } catch (final IOException ex) {
+              // the client has gone, so there is no point processing the remaining repos
+              throw new UncheckedIOException(ex);
+            }
+          });
+    };
+
+    final ResponseBuilder response = Response.ok(stream);
+    if (batch.isTruncated()) {
+      response.header(GlobalConstants.REPOS_TRUNCATED_HEADER, batch.getRepos().size());
+    }
+    return response.build();
+  }
+}
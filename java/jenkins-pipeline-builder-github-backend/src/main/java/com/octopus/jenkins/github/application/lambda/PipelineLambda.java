@@ -4,16 +4,26 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 import com.octopus.PipelineConstants;
 import com.octopus.features.MicroserviceNameFeature;
 import com.octopus.jenkins.github.GlobalConstants;
+import com.octopus.jenkins.github.domain.entities.BulkPipelineRequest;
 import com.octopus.jenkins.github.domain.entities.Utms;
+import com.octopus.jenkins.github.domain.exceptions.BadRequest;
+import com.octopus.jenkins.github.domain.exceptions.EntityNotFound;
+import com.octopus.jenkins.github.domain.exceptions.Unauthorized;
+import com.octopus.jenkins.github.domain.hanlder.BulkPipelineBatch;
+import com.octopus.jenkins.github.domain.hanlder.BulkTemplateHandler;
 import com.octopus.jenkins.github.domain.hanlder.SimpleResponse;
 import com.octopus.jenkins.github.domain.hanlder.TemplateHandler;
+import com.octopus.json.JsonSerializer;
 import com.octopus.lambda.LambdaHttpCookieExtractor;
 import com.octopus.lambda.LambdaHttpHeaderExtractor;
 import com.octopus.lambda.LambdaHttpValueExtractor;
+import com.octopus.lambda.RequestBodyExtractor;
 import io.quarkus.logging.Log;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -27,6 +37,8 @@ import javax.inject.Named;
 public class PipelineLambda implements
     RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
   @Inject
   LambdaHttpValueExtractor lambdaHttpValueExtractor;
 
@@ -36,9 +48,18 @@ public class PipelineLambda implements
   @Inject
   LambdaHttpHeaderExtractor lambdaHttpHeaderExtractor;
 
+  @Inject
+  RequestBodyExtractor requestBodyExtractor;
+
   @Inject
   TemplateHandler templateHandler;
 
+  @Inject
+  BulkTemplateHandler bulkTemplateHandler;
+
+  @Inject
+  JsonSerializer jsonSerializer;
+
   @Inject
   MicroserviceNameFeature microserviceNameFeature;
 
@@ -91,6 +112,11 @@ public class PipelineLambda implements
               .build());
     }
 
+    if (lambdaHttpValueExtractor.getQueryParam(input, "action").orElse("").equals("bulk")) {
+      return generatePipelines(input, session, xray, routingHeaders, dataPartitionHeaders,
+          authHeaders, utms);
+    }
+
     try {
       final SimpleResponse response = templateHandler.generatePipeline(
           lambdaHttpValueExtractor.getQueryParam(input, "repo").orElse(""),
@@ -125,4 +151,57 @@ public class PipelineLambda implements
     }
   }
 
+  /**
+   * Generates the pipelines of the repos in the request body. Lambda responses can not be
+   * streamed, so the newline delimited JSON results are returned once every repo has finished.
+   */
+  private APIGatewayProxyResponseEvent generatePipelines(
+      final APIGatewayProxyRequestEvent input,
+      final String session,
+      final String xray,
+      final String routingHeaders,
+      final String dataPartitionHeaders,
+      final String authHeaders,
+      final Utms utms) {
+    try {
+      final BulkPipelineBatch batch = bulkTemplateHandler.prepareBatch(
+          OBJECT_MAPPER.readValue(requestBodyExtractor.getBody(input), BulkPipelineRequest.class),
+          session);
+
+      final StringBuilder body = new StringBuilder();
+      bulkTemplateHandler.generatePipelines(batch, xray, routingHeaders, dataPartitionHeaders,
+          authHeaders, utms, result -> body.append(jsonSerializer.toJson(result)).append("\n"));
+
+      final ImmutableMap.Builder<String, String> headers =
+          new ImmutableMap.Builder<String, String>()
+              .put("Content-Type", GlobalConstants.NDJSON_CONTENT_TYPE);
+      if (batch.isTruncated()) {
+        headers.put(GlobalConstants.REPOS_TRUNCATED_HEADER,
+            String.valueOf(batch.getRepos().size()));
+      }
+
+      return new APIGatewayProxyResponseEvent()
+          .withStatusCode(200)
+          .withBody(body.toString())
+          .withHeaders(headers.build());
+    } catch (final JsonProcessingException | IllegalArgumentException | BadRequest ex) {
+      return buildError(400, "The request was invalid.");
+    } catch (final Unauthorized ex) {
+      return buildError(401, "You must login to GitHub.");
+    } catch (final EntityNotFound ex) {
+      return buildError(404, "The org was not found.");
+    } catch (final Exception ex) {
+      Log.error(microserviceNameFeature.getMicroserviceName() + "-General-Error", ex);
+      return buildError(500, "An internal server error was encountered.");
+    }
+  }
+
+  private APIGatewayProxyResponseEvent buildError(final int code, final String body) {
+    return new APIGatewayProxyResponseEvent()
+        .withStatusCode(code)
+        .withBody(body)
+        .withHeaders(new ImmutableMap.Builder<String, String>()
+            .put("Content-Type", "text/plain")
+            .build());
+  }
 }
@@ -0,0 +1,22 @@
+package com.octopus.jenkins.github.domain.entities;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * The body of a request to generate pipelines for many repos. Either the repos, the org, or both
+ * can be supplied.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Jacksonized
+public class BulkPipelineRequest {
+  private List<String> repos;
+  private String org;
+}
@@ -0,0 +1,25 @@
+package com.octopus.jenkins.github.domain.entities;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The result of generating the pipeline for one repo in a bulk request. The code matches the
+ * status code that would have been returned for a request to generate the pipeline of the repo on
+ * its own.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkPipelineResult {
+  private String repo;
+  private int code;
+  private String builder;
+  private String pipeline;
+  private String message;
+}
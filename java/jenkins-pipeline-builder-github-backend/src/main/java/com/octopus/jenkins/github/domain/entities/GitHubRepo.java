@@ -0,0 +1,22 @@
+package com.octopus.jenkins.github.domain.entities;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * The data returned for each repo by the GitHub org repos endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Jacksonized
+public class GitHubRepo {
+  @JsonProperty("html_url")
+  private String htmlUrl;
+  private boolean archived;
+}
@@ -4,18 +4,42 @@ import com.github.jasminb.jsonapi.DeserializationFeature;
 import com.github.jasminb.jsonapi.ResourceConverter;
 import com.octopus.jenkins.github.domain.entities.Audit;
 import com.octopus.jenkins.github.domain.entities.GithubUserLoggedInForFreeToolsEventV1;
+import com.octopus.jsonapi.JsonApiDocumentWriter;
+import com.octopus.jsonapi.impl.ResourceConverterDocumentWriter;
 import javax.enterprise.inject.Produces;
 
 /** Produces a JSONAPI resource converter. */
 public class JsonApiConverter {
 
+  /**
+   * The converter scans the registered types with reflection and builds its own ObjectMapper, so it
+   * is built once and shared. It is thread safe once configured.
+   */
+  private static final ResourceConverter RESOURCE_CONVERTER = createResourceConverter();
+  private static final JsonApiDocumentWriter DOCUMENT_WRITER =
+      new ResourceConverterDocumentWriter(RESOURCE_CONVERTER);
+
   /**
    * Produces a ResourceConverter.
    *
-   * @return The configured ResourceConverter.
+   * @return The shared ResourceConverter.
    */
   @Produces
   public ResourceConverter buildResourceConverter() {
+    return RESOURCE_CONVERTER;
+  }
+
+  /**
+   * Produces a JsonApiDocumentWriter.
+   *
+   * @return The shared JsonApiDocumentWriter.
+   */
+  @Produces
+  public JsonApiDocumentWriter buildDocumentWriter() {
+    return DOCUMENT_WRITER;
+  }
+
+  private static ResourceConverter createResourceConverter() {
     final ResourceConverter resourceConverter =
         new ResourceConverter(Audit.class, GithubUserLoggedInForFreeToolsEventV1.class);
     resourceConverter.disableDeserializationOption(DeserializationFeature.REQUIRE_RESOURCE_ID);
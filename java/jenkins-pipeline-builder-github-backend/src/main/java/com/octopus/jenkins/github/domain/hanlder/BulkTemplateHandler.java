@@ -0,0 +1,240 @@
+package com.octopus.jenkins.github.domain.hanlder;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import com.octopus.builders.CachedPipeline;
+import com.octopus.builders.RepoBatchRunner;
+import com.octopus.jenkins.github.domain.entities.BulkPipelineRequest;
+import com.octopus.jenkins.github.domain.entities.BulkPipelineResult;
+import com.octopus.jenkins.github.domain.entities.GitHubRepo;
+import com.octopus.jenkins.github.domain.entities.Utms;
+import com.octopus.jenkins.github.domain.exceptions.BadRequest;
+import com.octopus.jenkins.github.domain.exceptions.EntityNotFound;
+import com.octopus.jenkins.github.domain.exceptions.Unauthorized;
+import com.octopus.jenkins.github.infrastructure.client.GitHubApi;
+import com.octopus.http.RateLimitScheduler;
+import com.octopus.http.RequestPriority;
+import com.octopus.repoclients.RepoClient;
+import com.octopus.repoclients.RepoClientFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.WebApplicationException;
+import lombok.NonNull;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.jboss.logging.Logger;
+
+/**
+ * Generates the pipelines of many repos in one request. The session is decrypted once, the repos
+ * share the pooled HTTP client and response cache, and the repos are processed concurrently under
+ * the global limit enforced by the RepoBatchRunner.
+ *
+ * <p>Every GitHub request made for the batch is low priority, so the scheduler sheds them before
+ * they reach the quota kept for interactive requests. Once the low priority quota is used up, the
+ * remaining repos are reported as rate limited rather than generated.
+ */
+@ApplicationScoped
+public class BulkTemplateHandler {
+
+  private static final Logger LOG = Logger.getLogger(BulkTemplateHandler.class.toString());
+  private static final int ORG_REPOS_PAGE_SIZE = 100;
+
+  @ConfigProperty(name = "bulk.max-repos", defaultValue = "500")
+  int maxRepos;
+
+  @Inject
+  TemplateHandler templateHandler;
+
+  @Inject
+  RepoClientFactory repoClientFactory;
+
+  @Inject
+  RepoBatchRunner repoBatchRunner;
+
+  @Inject
+  RateLimitScheduler rateLimitScheduler;
+
+  @RestClient
+  GitHubApi gitHubApi;
+
+  /**
+   * Decrypts the session, and collects the repos listed in the request along with the repos of the
+   * org. Bulk requests spend a lot of GitHub quota, so they require the user to log in. The repos of
+   * the org fill the batch up to the maximum number of repos, and the batch is marked as truncated
+   * if the org has more repos than would fit.
+   *
+   * @param request       The bulk request.
+   * @param sessionCookie The session cookie holding the GitHub access token.
+   * @return The batch of repos to generate pipelines for.
+   * @throws BadRequest     if no repos were requested, or too many repos were listed in the
+   *                        request.
+   * @throws Unauthorized   if the user has not logged in.
+   * @throws EntityNotFound if the org does not exist.
+   */
+  public BulkPipelineBatch prepareBatch(
+      @NonNull final BulkPipelineRequest request,
+      final String sessionCookie) {
+    LOG.log(DEBUG, "BulkTemplateHandler.prepareBatch(BulkPipelineRequest, String)");
+    final String auth = templateHandler.decryptSession(sessionCookie);
+    if (StringUtils.isBlank(auth)) {
+      throw new Unauthorized();
+    }
+
+    // Duplicates are removed, but the order of the repos is kept
+    final Set<String> repos = new LinkedHashSet<>();
+    Optional.ofNullable(request.getRepos()).stream()
+        .flatMap(List::stream)
+        .filter(StringUtils::isNotBlank)
+        .map(String::trim)
+        .forEach(repos::add);
+
+    if (repos.size() > maxRepos) {
+      throw new BadRequest();
+    }
+
+    final boolean truncated = StringUtils.isNotBlank(request.getOrg())
+        && addOrgRepos(request.getOrg().trim(), auth, repos);
+
+    if (repos.isEmpty()) {
+      throw new BadRequest();
+    }
+
+    return new BulkPipelineBatch(auth, new ArrayList<>(repos), truncated);
+  }
+
+  /**
+   * Generates the pipeline of every repo in the batch, passing each result to the consumer on the
+   * calling thread as soon as it is available.
+   *
+   * @param batch                The batch returned by prepareBatch().
+   * @param xray                 The AWS X-Ray trace header.
+   * @param routingHeaders       The "Routing" headers.
+   * @param dataPartitionHeaders The "Data-Partition" headers.
+   * @param authHeaders          The "Authorization" headers.
+   * @param utms                 The utm query params.
+   * @param consumer             Receives the result of each repo.
+   */
+  public void generatePipelines(
+      @NonNull final BulkPipelineBatch batch,
+      final String xray,
+      final String routingHeaders,
+      final String dataPartitionHeaders,
+      final String authHeaders,
+      @NonNull final Utms utms,
+      @NonNull final Consumer<BulkPipelineResult> consumer) {
+    LOG.log(DEBUG, "BulkTemplateHandler.generatePipelines(BulkPipelineBatch, ...)");
+    final String credential = rateLimitScheduler.identify("token " + batch.getAuth());
+
+    repoBatchRunner.run(
+        batch.getRepos(),
+        repo -> generatePipeline(repo, batch.getAuth(), credential, xray, routingHeaders,
+            dataPartitionHeaders, authHeaders),
+        (repo, ex) -> BulkPipelineResult.builder()
+            .repo(repo)
+            .code(500)
+            .message("An internal server error was encountered.")
+            .build(),
+        consumer);
+
+    // The user is the same for every repo, so their details are only logged once
+    templateHandler.logUserDetails(batch.getAuth(), xray, routingHeaders, dataPartitionHeaders,
+        authHeaders, utms, Optional.empty());
+  }
+
+  private BulkPipelineResult generatePipeline(
+      final String repo,
+      final String auth,
+      final String credential,
+      final String xray,
+      final String routingHeaders,
+      final String dataPartitionHeaders,
+      final String authHeaders) {
+    if (!rateLimitScheduler.hasQuota(credential, RequestPriority.LOW)) {
+      return rateLimited(repo);
+    }
+
+    final RepoClient accessor = repoClientFactory.buildRepoClient(repo, auth,
+        RequestPriority.LOW);
+    final Optional<SimpleResponse> error = templateHandler.checkForPublicRepo(accessor);
+    if (error.isPresent()) {
+      return BulkPipelineResult.builder()
+          .repo(repo)
+          .code(error.get().getCode())
+          .message(error.get().getBody())
+          .build();
+    }
+
+    // Requests shed part way through the repo look like missing files to the builders, so the
+    // result can not be trusted, or shared with other requests through the pipeline cache, once
+    // the low priority quota is used up
+    final Optional<CachedPipeline> pipeline = templateHandler.findPipeline(accessor, xray,
+        routingHeaders, dataPartitionHeaders, authHeaders,
+        () -> rateLimitScheduler.hasQuota(credential, RequestPriority.LOW));
+
+    if (!rateLimitScheduler.hasQuota(credential, RequestPriority.LOW)) {
+      return rateLimited(repo);
+    }
+
+    return BulkPipelineResult.builder()
+        .repo(repo)
+        .code(200)
+        .builder(pipeline.map(CachedPipeline::getBuilderName).orElse(null))
+        .pipeline(pipeline.map(CachedPipeline::getPipeline).orElse(null))
+        .message(pipeline.isPresent() ? null : "No suitable builders were found.")
+        .build();
+  }
+
+  private BulkPipelineResult rateLimited(final String repo) {
+    return BulkPipelineResult.builder()
+        .repo(repo)
+        .code(429)
+        .message("The GitHub quota available to bulk requests is exhausted.")
+        .build();
+  }
+
+  /**
+   * Adds the repos of the org, skipping archived repos, until the batch holds the maximum number of
+   * repos. Pages are only requested while there is room left in the batch.
+   *
+   * @return true if the org has more repos than would fit in the batch.
+   */
+  private boolean addOrgRepos(final String org, final String auth, final Set<String> repos) {
+    try {
+      for (int page = 1; ; ++page) {
+        final GitHubRepo[] orgRepos = gitHubApi.orgRepos(org, ORG_REPOS_PAGE_SIZE, page,
+            "token " + auth);
+        for (final GitHubRepo orgRepo : orgRepos) {
+          if (orgRepo.isArchived()
+              || StringUtils.isBlank(orgRepo.getHtmlUrl())
+              || repos.contains(orgRepo.getHtmlUrl())) {
+            continue;
+          }
+
+          if (repos.size() >= maxRepos) {
+            LOG.log(DEBUG, "The " + org + " org has more than " + maxRepos + " repos");
+            return true;
+          }
+          repos.add(orgRepo.getHtmlUrl());
+        }
+
+        if (orgRepos.length < ORG_REPOS_PAGE_SIZE) {
+          LOG.log(DEBUG, "The batch holds " + repos.size() + " repos after adding the " + org
+              + " org");
+          return false;
+        }
+      }
+    } catch (final WebApplicationException ex) {
+      if (ex.getResponse().getStatus() == 404) {
+        throw new EntityNotFound();
+      }
+      throw ex;
+    }
+  }
+}
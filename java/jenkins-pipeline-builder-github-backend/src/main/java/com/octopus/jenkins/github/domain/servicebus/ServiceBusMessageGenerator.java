@@ -6,8 +6,8 @@ import com.octopus.Constants;
 import com.octopus.features.MicroserviceNameFeature;
 import com.octopus.jenkins.github.GlobalConstants;
 import com.octopus.jenkins.github.domain.entities.GithubUserLoggedInForFreeToolsEventV1;
-import com.octopus.jenkins.github.domain.framework.jsonapi.JsonApiConverter;
 import com.octopus.jenkins.github.infrastructure.client.ServiceBusProxyClient;
+import com.octopus.jsonapi.JsonApiDocumentWriter;
 import com.octopus.oauth.OauthClientCredsAccessor;
 import com.octopus.utilties.PartitionIdentifier;
 import io.quarkus.logging.Log;
@@ -35,7 +35,7 @@ public class ServiceBusMessageGenerator {
   ServiceBusProxyClient serviceBusProxyClient;
 
   @Inject
-  JsonApiConverter jsonApiConverter;
+  JsonApiDocumentWriter jsonApiDocumentWriter;
 
   @Inject
   MicroserviceNameFeature microserviceNameFeature;
@@ -66,8 +66,7 @@ public class ServiceBusMessageGenerator {
     oauthClientCredsAccessor.getAccessToken(GlobalConstants.LOGINMESSAGE_SCOPE)
         .andThenTry(auditAccessToken -> {
           final Response response = serviceBusProxyClient.createLoginMessage(
-              new String(jsonApiConverter.buildResourceConverter().writeDocument(
-                  new JSONAPIDocument<>(loginMessage))),
+              jsonApiDocumentWriter.writeDocumentAsString(new JSONAPIDocument<>(loginMessage)),
               StringUtils.defaultString(xrayId),
               routingHeaders,
               dataPartitionHeaders,
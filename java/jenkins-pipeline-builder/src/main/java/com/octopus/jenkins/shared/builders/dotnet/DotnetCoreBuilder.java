@@ -4,7 +4,10 @@ import static org.jboss.logging.Logger.Level.DEBUG;
 
 import com.google.common.collect.ImmutableList;
 import com.octopus.jenkins.shared.builders.GitBuilder;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.DotNetCoreDetector;
 import com.octopus.jenkins.shared.dsl.ArgType;
 import com.octopus.jenkins.shared.dsl.Argument;
 import com.octopus.jenkins.shared.dsl.Comment;
@@ -15,8 +18,6 @@ import com.octopus.jenkins.shared.dsl.FunctionManyArgs;
 import com.octopus.jenkins.shared.dsl.FunctionTrailingLambda;
 import com.octopus.jenkins.shared.dsl.StringContent;
 import com.octopus.repoclients.RepoClient;
-import java.util.List;
-import java.util.regex.Pattern;
 import lombok.NonNull;
 import org.jboss.logging.Logger;
 
@@ -27,8 +28,7 @@ public class DotnetCoreBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(DotnetCoreBuilder.class.toString());
   private static final GitBuilder GIT_BUILDER = new GitBuilder();
-  private static final Pattern DOT_NET_CORE_REGEX = Pattern.compile(
-      "Sdk\\s*=\\s*\"Microsoft\\.NET\\.Sdk");
+  private static final LanguageDetector DETECTOR = new DotNetCoreDetector();
 
   @Override
   public String getName() {
@@ -49,29 +49,22 @@ public class DotnetCoreBuilder implements PipelineBuilder {
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
     LOG.log(DEBUG, "DotnetCoreBuilder.canBuild(RepoClient)");
-
-    return hasSolutionFiles(accessor) && hasDotNetCoreProjectFiles(accessor);
+    return detect(accessor).isMatched();
   }
 
-  private boolean hasDotNetCoreProjectFiles(@NonNull final RepoClient accessor) {
-    final List<String> projectFiles = accessor.getWildcardFiles("**/*.csproj", 1).getOrElse(List.of());
-    LOG.log(DEBUG, "Found " + projectFiles.size() + " project files");
-    projectFiles.forEach(s -> LOG.log(DEBUG, "  " + s));
-
-    /*
-     https://natemcmaster.com/blog/2017/03/09/vs2015-to-vs2017-upgrade/ provides some great insights
-     into the various project file formats.
-     */
-    return projectFiles
-        .stream()
-        .anyMatch(f -> DOT_NET_CORE_REGEX.matcher(accessor.getFile(f).getOrElse("")).find());
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    final DetectionResult detection = DETECTOR.detect(accessor);
+    return accepts(detection) ? detection : DetectionResult.notMatched();
   }
 
-  private boolean hasSolutionFiles(@NonNull final RepoClient accessor) {
-    final List<String> files = accessor.getWildcardFiles("*.sln", 1).getOrElse(List.of());
-    LOG.log(DEBUG, "Found " + files.size() + " solution files");
-    files.forEach(s -> LOG.log(DEBUG, "  " + s));
-    return !files.isEmpty();
+  /**
+   * The shared detector finds solution files anywhere in the repo, but this builder requires the
+   * solution file to be in the root directory.
+   */
+  @Override
+  public boolean accepts(@NonNull final DetectionResult detection) {
+    return detection.isMatched() && detection.getFlag(DotNetCoreDetector.ROOT_SOLUTION);
   }
 
   @Override
@@ -1,7 +1,10 @@
 package com.octopus.jenkins.shared.builders.go;
 
 import com.google.common.collect.ImmutableList;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.GoDetector;
 import com.octopus.jenkins.shared.builders.java.JavaGitBuilder;
 import com.octopus.jenkins.shared.dsl.ArgType;
 import com.octopus.jenkins.shared.dsl.Argument;
@@ -13,8 +16,6 @@ import com.octopus.jenkins.shared.dsl.FunctionManyArgs;
 import com.octopus.jenkins.shared.dsl.FunctionTrailingLambda;
 import com.octopus.jenkins.shared.dsl.StringContent;
 import com.octopus.repoclients.RepoClient;
-import io.vavr.control.Try;
-import java.util.List;
 import lombok.NonNull;
 import org.jboss.logging.Logger;
 
@@ -25,6 +26,7 @@ public class GoBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(GoBuilder.class.toString());
   private static final JavaGitBuilder GIT_BUILDER = new JavaGitBuilder();
+  private static final LanguageDetector DETECTOR = new GoDetector();
 
   @Override
   public String getName() {
@@ -33,10 +35,12 @@ public class GoBuilder implements PipelineBuilder {
 
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
-    final Try<List<String>> files = accessor.getWildcardFiles("*.go", 1);
+    return detect(accessor).isMatched();
+  }
 
-    return accessor.testFile("go.mod")
-        || (files.isSuccess() && !files.get().isEmpty());
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
@@ -3,7 +3,10 @@ package com.octopus.jenkins.shared.builders.java;
 import static org.jboss.logging.Logger.Level.DEBUG;
 
 import com.google.common.collect.ImmutableList;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.JavaGradleDetector;
 import com.octopus.jenkins.shared.dsl.ArgType;
 import com.octopus.jenkins.shared.dsl.Argument;
 import com.octopus.jenkins.shared.dsl.Comment;
@@ -13,7 +16,6 @@ import com.octopus.jenkins.shared.dsl.Function1ArgTrailingLambda;
 import com.octopus.jenkins.shared.dsl.FunctionManyArgs;
 import com.octopus.jenkins.shared.dsl.FunctionTrailingLambda;
 import com.octopus.repoclients.RepoClient;
-import java.util.Arrays;
 import java.util.List;
 import lombok.NonNull;
 import org.jboss.logging.Logger;
@@ -25,9 +27,8 @@ public class JavaGradleBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(JavaGradleBuilder.class.toString());
   private static final JavaGitBuilder GIT_BUILDER = new JavaGitBuilder();
-  private static final String[] GRADLE_BUILD_FILES = {"build.gradle", "build.gradle.kts"};
   private static final String GRADLE_OUTPUT_DIR = "build/libs";
-  private boolean usesWrapper = false;
+  private static final LanguageDetector DETECTOR = new JavaGradleDetector();
 
   @Override
   public String getName() {
@@ -36,20 +37,24 @@ public class JavaGradleBuilder implements PipelineBuilder {
 
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
-    LOG.log(DEBUG, "JavaGradleBuilder.canBuild(RepoClient)");
-
-    if (Arrays.stream(GRADLE_BUILD_FILES).anyMatch(accessor::testFile)) {
-      LOG.log(DEBUG, String.join(" or ", GRADLE_BUILD_FILES) + " was found");
-      usesWrapper = usesWrapper(accessor);
-      LOG.log(DEBUG, "Wrapper script was " + (usesWrapper ? "" : "not ") + "found");
-      return true;
-    }
+    return detect(accessor).isMatched();
+  }
 
-    return false;
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
   public String generate(@NonNull final RepoClient accessor) {
+    return generate(accessor, detect(accessor));
+  }
+
+  @Override
+  public String generate(
+      @NonNull final RepoClient accessor,
+      @NonNull final DetectionResult detection) {
+    final boolean usesWrapper = detection.getFlag(JavaGradleDetector.USES_WRAPPER);
     return FunctionTrailingLambda.builder()
         .name("pipeline")
         .children(new ImmutableList.Builder<Element>()
@@ -62,7 +67,7 @@ public class JavaGradleBuilder implements PipelineBuilder {
             .add(GIT_BUILDER.createParameters(accessor))
             .add(FunctionTrailingLambda.builder()
                 .name("tools")
-                .children(createTools())
+                .children(createTools(usesWrapper))
                 .build())
             .add(Function1Arg.builder().name("agent").value("any").build())
             .add(FunctionTrailingLambda.builder()
@@ -70,9 +75,9 @@ public class JavaGradleBuilder implements PipelineBuilder {
                 .children(new ImmutableList.Builder<Element>()
                     .add(GIT_BUILDER.createEnvironmentStage())
                     .add(GIT_BUILDER.createCheckoutStep(accessor))
-                    .add(createDependenciesStep())
-                    .add(createBuildStep())
-                    .add(createTestStep())
+                    .add(createDependenciesStep(usesWrapper))
+                    .add(createBuildStep(usesWrapper))
+                    .add(createTestStep(usesWrapper))
                     .add(GIT_BUILDER.createDeployStep(GRADLE_OUTPUT_DIR, accessor))
                     .add(GIT_BUILDER.createDeployStage(accessor))
                     .build())
@@ -83,15 +88,11 @@ public class JavaGradleBuilder implements PipelineBuilder {
         .toString();
   }
 
-  private Boolean usesWrapper(@NonNull final RepoClient accessor) {
-    return accessor.testFile("gradlew");
-  }
-
-  private String gradleExecutable() {
+  private String gradleExecutable(final boolean usesWrapper) {
     return usesWrapper ? "./gradlew" : "gradle";
   }
 
-  private List<Element> createTools() {
+  private List<Element> createTools(final boolean usesWrapper) {
     final ImmutableList.Builder<Element> list = new ImmutableList.Builder<Element>()
         .add(Function1Arg.builder().name("jdk").value("Java").build());
 
@@ -102,7 +103,7 @@ public class JavaGradleBuilder implements PipelineBuilder {
     return list.build();
   }
 
-  private Element createDependenciesStep() {
+  private Element createDependenciesStep(final boolean usesWrapper) {
     return Function1ArgTrailingLambda.builder()
         .name("stage")
         .arg("Dependencies")
@@ -115,7 +116,7 @@ public class JavaGradleBuilder implements PipelineBuilder {
                 .name("sh")
                 .args(new ImmutableList.Builder<Argument>()
                     .add(new Argument("script",
-                        gradleExecutable() + " dependencies --console=plain > dependencies.txt",
+                        gradleExecutable(usesWrapper) + " dependencies --console=plain > dependencies.txt",
                         ArgType.STRING))
                     .build())
                 .build())
@@ -130,7 +131,7 @@ public class JavaGradleBuilder implements PipelineBuilder {
         .build();
   }
 
-  private Element createBuildStep() {
+  private Element createBuildStep(final boolean usesWrapper) {
     return Function1ArgTrailingLambda.builder()
         .name("stage")
         .arg("Build")
@@ -140,7 +141,7 @@ public class JavaGradleBuilder implements PipelineBuilder {
                 .name("sh")
                 .args(new ImmutableList.Builder<Argument>()
                     .add(new Argument("script",
-                        gradleExecutable() + " clean assemble --console=plain", ArgType.STRING))
+                        gradleExecutable(usesWrapper) + " clean assemble --console=plain", ArgType.STRING))
                     .add(new Argument("returnStdout", "true", ArgType.BOOLEAN))
                     .build())
                 .build())
@@ -148,7 +149,7 @@ public class JavaGradleBuilder implements PipelineBuilder {
         .build();
   }
 
-  private Element createTestStep() {
+  private Element createTestStep(final boolean usesWrapper) {
     return Function1ArgTrailingLambda.builder()
         .name("stage")
         .arg("Test")
@@ -157,7 +158,7 @@ public class JavaGradleBuilder implements PipelineBuilder {
                 .name("sh")
                 .args(new ImmutableList.Builder<Argument>()
                     .add(new Argument("script",
-                        gradleExecutable() + " check --console=plain",
+                        gradleExecutable(usesWrapper) + " check --console=plain",
                         ArgType.STRING))
                     .build())
                 .build())
@@ -3,7 +3,10 @@ package com.octopus.jenkins.shared.builders.java;
 import static org.jboss.logging.Logger.Level.DEBUG;
 
 import com.google.common.collect.ImmutableList;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.JavaMavenDetector;
 import com.octopus.jenkins.shared.dsl.ArgType;
 import com.octopus.jenkins.shared.dsl.Argument;
 import com.octopus.jenkins.shared.dsl.Comment;
@@ -25,7 +28,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(JavaMavenBuilder.class.toString());
   private static final JavaGitBuilder GIT_BUILDER = new JavaGitBuilder();
-  private boolean usesWrapper = false;
+  private static final LanguageDetector DETECTOR = new JavaMavenDetector();
 
   @Override
   public String getName() {
@@ -34,20 +37,24 @@ public class JavaMavenBuilder implements PipelineBuilder {
 
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
-    LOG.log(DEBUG, "JavaMavenBuilder.canBuild(RepoClient)");
-
-    if (accessor.testFile("pom.xml")) {
-      LOG.log(DEBUG, "pom.xml file was found");
-      usesWrapper = usesWrapper(accessor);
-      LOG.log(DEBUG, "Wrapper script was " + (usesWrapper ? "" : "not ") + "found");
-      return true;
-    }
+    return detect(accessor).isMatched();
+  }
 
-    return false;
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
   public String generate(@NonNull final RepoClient accessor) {
+    return generate(accessor, detect(accessor));
+  }
+
+  @Override
+  public String generate(
+      @NonNull final RepoClient accessor,
+      @NonNull final DetectionResult detection) {
+    final boolean usesWrapper = detection.getFlag(JavaMavenDetector.USES_WRAPPER);
     return FunctionTrailingLambda.builder()
         .name("pipeline")
         .children(new ImmutableList.Builder<Element>()
@@ -60,7 +67,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
             .add(GIT_BUILDER.createParameters(accessor))
             .add(FunctionTrailingLambda.builder()
                 .name("tools")
-                .children(createTools())
+                .children(createTools(usesWrapper))
                 .build())
             .add(Function1Arg.builder().name("agent").value("any").build())
             .add(FunctionTrailingLambda.builder()
@@ -68,10 +75,10 @@ public class JavaMavenBuilder implements PipelineBuilder {
                 .children(new ImmutableList.Builder<Element>()
                     .add(GIT_BUILDER.createEnvironmentStage())
                     .add(GIT_BUILDER.createCheckoutStep(accessor))
-                    .add(createDependenciesStep())
-                    .add(createBuildStep())
-                    .add(createTestStep())
-                    .add(createPackageStep())
+                    .add(createDependenciesStep(usesWrapper))
+                    .add(createBuildStep(usesWrapper))
+                    .add(createTestStep(usesWrapper))
+                    .add(createPackageStep(usesWrapper))
                     .add(GIT_BUILDER.createDeployStep("target", accessor))
                     .add(GIT_BUILDER.createDeployStage(accessor))
                     .build())
@@ -82,15 +89,11 @@ public class JavaMavenBuilder implements PipelineBuilder {
         .toString();
   }
 
-  private boolean usesWrapper(@NonNull final RepoClient accessor) {
-    return accessor.testFile("mvnw");
-  }
-
-  private String mavenExecutable() {
+  private String mavenExecutable(final boolean usesWrapper) {
     return usesWrapper ? "./mvnw" : "mvn";
   }
 
-  private List<Element> createTools() {
+  private List<Element> createTools(final boolean usesWrapper) {
     final ImmutableList.Builder<Element> list = new ImmutableList.Builder<Element>()
         .add(Function1Arg.builder().name("jdk").value("Java").build());
 
@@ -101,7 +104,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
     return list.build();
   }
 
-  private Element createDependenciesStep() {
+  private Element createDependenciesStep(final boolean usesWrapper) {
     return Function1ArgTrailingLambda.builder()
         .name("stage")
         .arg("Dependencies")
@@ -113,7 +116,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
             .add(FunctionManyArgs.builder()
                 .name("sh")
                 .args(new ImmutableList.Builder<Argument>()
-                    .add(new Argument("script", mavenExecutable()
+                    .add(new Argument("script", mavenExecutable(usesWrapper)
                         + " --batch-mode dependency:resolve-plugins dependency:go-offline",
                         ArgType.STRING))
                     .build())
@@ -126,7 +129,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
                 .name("sh")
                 .args(new ImmutableList.Builder<Argument>()
                     .add(new Argument("script",
-                        mavenExecutable() + " --batch-mode dependency:tree > dependencies.txt",
+                        mavenExecutable(usesWrapper) + " --batch-mode dependency:tree > dependencies.txt",
                         ArgType.STRING))
                     .build())
                 .build())
@@ -143,7 +146,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
             .add(FunctionManyArgs.builder()
                 .name("sh")
                 .args(new ImmutableList.Builder<Argument>()
-                    .add(new Argument("script", mavenExecutable()
+                    .add(new Argument("script", mavenExecutable(usesWrapper)
                         + " --batch-mode versions:display-dependency-updates > dependencieupdates.txt",
                         ArgType.STRING))
                     .build())
@@ -159,7 +162,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
         .build();
   }
 
-  private Element createBuildStep() {
+  private Element createBuildStep(final boolean usesWrapper) {
     return Function1ArgTrailingLambda.builder()
         .name("stage")
         .arg("Build")
@@ -169,14 +172,14 @@ public class JavaMavenBuilder implements PipelineBuilder {
                 .build())
             .add(Function1Arg.builder()
                 .name("sh")
-                .value(mavenExecutable()
+                .value(mavenExecutable(usesWrapper)
                     + " --batch-mode build-helper:parse-version versions:set \\\n"
                     + "-DnewVersion=\\\\${parsedVersion.majorVersion}.\\\\${parsedVersion.minorVersion}.\\\\${parsedVersion.incrementalVersion}.${BUILD_NUMBER}")
                 .build())
             .add(FunctionManyArgs.builder()
                 .name("sh")
                 .args(new ImmutableList.Builder<Argument>()
-                    .add(new Argument("script", mavenExecutable() + " --batch-mode -DskipTests clean compile",
+                    .add(new Argument("script", mavenExecutable(usesWrapper) + " --batch-mode -DskipTests clean compile",
                         ArgType.STRING))
                     .add(new Argument("returnStdout", "true", ArgType.BOOLEAN))
                     .build())
@@ -185,7 +188,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
                 .name("script")
                 .children(new ImmutableList.Builder<Element>()
                     .add(StringContent.builder()
-                        .content("env.VERSION_SEMVER = sh (script: '" + mavenExecutable()
+                        .content("env.VERSION_SEMVER = sh (script: '" + mavenExecutable(usesWrapper)
                             + " -q -Dexec.executable=echo -Dexec.args=\\'${project.version}\\' --non-recursive exec:exec', returnStdout: true)\n"
                           + "env.VERSION_SEMVER = env.VERSION_SEMVER.trim()")
                         .build())
@@ -195,7 +198,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
         .build();
   }
 
-  private Element createTestStep() {
+  private Element createTestStep(final boolean usesWrapper) {
     return Function1ArgTrailingLambda.builder()
         .name("stage")
         .arg("Test")
@@ -204,7 +207,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
                 .name("sh")
                 .args(new ImmutableList.Builder<Argument>()
                     .add(new Argument("script",
-                        mavenExecutable() + " --batch-mode test",
+                        mavenExecutable(usesWrapper) + " --batch-mode test",
                         ArgType.STRING))
                     .build())
                 .build())
@@ -220,7 +223,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
         .build();
   }
 
-  private Element createPackageStep() {
+  private Element createPackageStep(final boolean usesWrapper) {
     return Function1ArgTrailingLambda.builder()
         .name("stage")
         .arg("Package")
@@ -229,7 +232,7 @@ public class JavaMavenBuilder implements PipelineBuilder {
                 .name("sh")
                 .args(new ImmutableList.Builder<Argument>()
                     .add(new Argument("script",
-                        mavenExecutable() + " --batch-mode package -DskipTests", ArgType.STRING))
+                        mavenExecutable(usesWrapper) + " --batch-mode package -DskipTests", ArgType.STRING))
                     .build())
                 .build())
             .build()))
@@ -2,7 +2,10 @@ package com.octopus.jenkins.shared.builders.nodejs;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.NodeJsDetector;
 import com.octopus.jenkins.shared.builders.java.JavaGitBuilder;
 import com.octopus.jenkins.shared.dsl.ArgType;
 import com.octopus.jenkins.shared.dsl.Argument;
@@ -25,7 +28,7 @@ public class NodejsBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(NodejsBuilder.class.toString());
   private static final JavaGitBuilder GIT_BUILDER = new JavaGitBuilder();
-  private boolean useYarn = false;
+  private static final LanguageDetector DETECTOR = new NodeJsDetector();
 
   @Override
   public String getName() {
@@ -34,12 +37,24 @@ public class NodejsBuilder implements PipelineBuilder {
 
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
-    useYarn = accessor.testFile("yarn.lock");
-    return accessor.testFile("package.json");
+    return detect(accessor).isMatched();
+  }
+
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
   public String generate(@NonNull final RepoClient accessor) {
+    return generate(accessor, detect(accessor));
+  }
+
+  @Override
+  public String generate(
+      @NonNull final RepoClient accessor,
+      @NonNull final DetectionResult detection) {
+    final boolean useYarn = detection.getFlag(NodeJsDetector.USE_YARN);
     return FunctionTrailingLambda.builder()
         .name("pipeline")
         .children(new ImmutableList.Builder<Element>()
@@ -51,9 +66,9 @@ public class NodejsBuilder implements PipelineBuilder {
                 .children(new ImmutableList.Builder<Element>()
                     .add(GIT_BUILDER.createEnvironmentStage())
                     .add(GIT_BUILDER.createCheckoutStep(accessor))
-                    .add(createDependenciesStep())
-                    .add(createTestStep())
-                    .add(createBuildStep(accessor))
+                    .add(createDependenciesStep(useYarn))
+                    .add(createTestStep(useYarn))
+                    .add(createBuildStep(accessor, useYarn))
                     .add(createPackageStep(accessor))
                     .add(GIT_BUILDER.createDeployStage(accessor))
                     .build())
@@ -64,11 +79,11 @@ public class NodejsBuilder implements PipelineBuilder {
         .toString();
   }
 
-  private String getPackageManager() {
+  private String getPackageManager(final boolean useYarn) {
     return useYarn ? "yarn" : "npm";
   }
 
-  private Element createDependenciesStep() {
+  private Element createDependenciesStep(final boolean useYarn) {
     return Function1ArgTrailingLambda.builder()
         .name("stage")
         .arg("Dependencies")
@@ -77,7 +92,7 @@ public class NodejsBuilder implements PipelineBuilder {
                 .name("sh")
                 .args(new ImmutableList.Builder<Argument>()
                     .add(new Argument("script",
-                        getPackageManager() + " install",
+                        getPackageManager(useYarn) + " install",
                         ArgType.STRING))
                     .build())
                 .build())
@@ -89,7 +104,7 @@ public class NodejsBuilder implements PipelineBuilder {
                 .name("sh")
                 .args(new ImmutableList.Builder<Argument>()
                     .add(new Argument("script",
-                        getPackageManager() + " list --all > dependencies.txt",
+                        getPackageManager(useYarn) + " list --all > dependencies.txt",
                         ArgType.STRING))
                     .build())
                 .build())
@@ -108,7 +123,7 @@ public class NodejsBuilder implements PipelineBuilder {
                 .args(new ImmutableList.Builder<Argument>()
                     .add(new Argument(
                         "script",
-                        getPackageManager() + " outdated > dependencieupdates.txt || true",
+                        getPackageManager(useYarn) + " outdated > dependencieupdates.txt || true",
                         ArgType.STRING))
                     .build())
                 .build())
@@ -123,7 +138,7 @@ public class NodejsBuilder implements PipelineBuilder {
         .build();
   }
 
-  private Element createTestStep() {
+  private Element createTestStep(final boolean useYarn) {
     return Function1ArgTrailingLambda.builder()
         .name("stage")
         .arg("Test")
@@ -133,7 +148,7 @@ public class NodejsBuilder implements PipelineBuilder {
                 .args(new ImmutableList.Builder<Argument>()
                     .add(new Argument(
                         "script",
-                        getPackageManager() + " test",
+                        getPackageManager(useYarn) + " test",
                         ArgType.STRING))
                     .add(new Argument("returnStdout", "true", ArgType.BOOLEAN))
                     .build())
@@ -161,7 +176,7 @@ public class NodejsBuilder implements PipelineBuilder {
         .build();
   }
 
-  private Element createBuildStep(@NonNull final RepoClient accessor) {
+  private Element createBuildStep(@NonNull final RepoClient accessor, final boolean useYarn) {
     if (scriptExists(accessor, "build")) {
       return Function1ArgTrailingLambda.builder()
           .name("stage")
@@ -172,7 +187,7 @@ public class NodejsBuilder implements PipelineBuilder {
                   .args(new ImmutableList.Builder<Argument>()
                       .add(new Argument(
                           "script",
-                          getPackageManager() + " run build",
+                          getPackageManager(useYarn) + " run build",
                           ArgType.STRING))
                       .add(new Argument("returnStdout", "true", ArgType.BOOLEAN))
                       .build())
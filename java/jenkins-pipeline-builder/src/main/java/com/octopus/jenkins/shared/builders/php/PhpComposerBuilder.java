@@ -1,7 +1,10 @@
 package com.octopus.jenkins.shared.builders.php;
 
 import com.google.common.collect.ImmutableList;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.SingleFileDetector;
 import com.octopus.jenkins.shared.builders.java.JavaGitBuilder;
 import com.octopus.jenkins.shared.dsl.ArgType;
 import com.octopus.jenkins.shared.dsl.Argument;
@@ -26,6 +29,7 @@ public class PhpComposerBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(PhpComposerBuilder.class.toString());
   private static final JavaGitBuilder GIT_BUILDER = new JavaGitBuilder();
+  private static final LanguageDetector DETECTOR = new SingleFileDetector("PHP", "composer.json");
 
   @Override
   public String getName() {
@@ -34,7 +38,12 @@ public class PhpComposerBuilder implements PipelineBuilder {
 
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
-    return accessor.testFile("composer.json");
+    return detect(accessor).isMatched();
+  }
+
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
@@ -1,7 +1,10 @@
 package com.octopus.jenkins.shared.builders.python;
 
 import com.google.common.collect.ImmutableList;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.SingleFileDetector;
 import com.octopus.jenkins.shared.builders.java.JavaGitBuilder;
 import com.octopus.jenkins.shared.dsl.ArgType;
 import com.octopus.jenkins.shared.dsl.Argument;
@@ -23,6 +26,7 @@ public class PythonBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(PythonBuilder.class.toString());
   private static final JavaGitBuilder GIT_BUILDER = new JavaGitBuilder();
+  private static final LanguageDetector DETECTOR = new SingleFileDetector("Python", "requirements.txt");
 
   @Override
   public String getName() {
@@ -31,7 +35,12 @@ public class PythonBuilder implements PipelineBuilder {
 
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
-    return accessor.testFile("requirements.txt");
+    return detect(accessor).isMatched();
+  }
+
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
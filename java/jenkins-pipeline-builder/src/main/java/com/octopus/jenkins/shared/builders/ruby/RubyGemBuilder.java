@@ -1,7 +1,10 @@
 package com.octopus.jenkins.shared.builders.ruby;
 
 import com.google.common.collect.ImmutableList;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
 import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.impl.SingleFileDetector;
 import com.octopus.jenkins.shared.builders.java.JavaGitBuilder;
 import com.octopus.jenkins.shared.dsl.ArgType;
 import com.octopus.jenkins.shared.dsl.Argument;
@@ -25,6 +28,7 @@ public class RubyGemBuilder implements PipelineBuilder {
 
   private static final Logger LOG = Logger.getLogger(RubyGemBuilder.class.toString());
   private static final JavaGitBuilder GIT_BUILDER = new JavaGitBuilder();
+  private static final LanguageDetector DETECTOR = new SingleFileDetector("Ruby", "Gemfile");
 
   @Override
   public String getName() {
@@ -33,7 +37,12 @@ public class RubyGemBuilder implements PipelineBuilder {
 
   @Override
   public Boolean canBuild(@NonNull final RepoClient accessor) {
-    return accessor.testFile("Gemfile");
+    return detect(accessor).isMatched();
+  }
+
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    return DETECTOR.detect(accessor);
   }
 
   @Override
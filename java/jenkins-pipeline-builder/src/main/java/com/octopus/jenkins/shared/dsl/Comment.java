@@ -1,7 +1,5 @@
 package com.octopus.jenkins.shared.dsl;
 
-import java.util.Arrays;
-import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.experimental.SuperBuilder;
 
@@ -14,13 +12,14 @@ public class Comment extends Element {
 
   private String content;
 
-  /**
-   * Returns the content as a comment.
-   *
-   * @return The groovy comment
-   */
-  public String toString() {
-    return Arrays.stream(content.split("\n")).map(c -> getIndent() + "// " + c)
-        .collect(Collectors.joining("\n"));
+  @Override
+  public void accept(final ElementVisitor visitor, final int depth) {
+    visitor.visit(this, depth);
+  }
+
+  @Override
+  public boolean isBlank() {
+    // content made up only of line breaks renders no lines
+    return content.split("\n").length == 0;
   }
 }
@@ -0,0 +1,199 @@
+package com.octopus.jenkins.shared.dsl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * Renders a DSL tree as groovy in a single pass. Each element is written directly to the output,
+ * with the depth of each element passed down from its parent, so the time taken to render a tree
+ * grows linearly with the size of the output. The tree is not modified.
+ */
+public class DslRenderer implements ElementVisitor {
+
+  private static final String INDENT = "  ";
+  private static final int MAX_ARGS_SINGLE_LINE = 4;
+
+  private final Appendable output;
+
+  /**
+   * Creates a renderer that writes to the supplied output.
+   *
+   * @param output The output to write the groovy to, such as a StringBuilder or Writer.
+   */
+  public DslRenderer(@NonNull final Appendable output) {
+    this.output = output;
+  }
+
+  /**
+   * Renders an element and its children as a string.
+   *
+   * @param element The root element.
+   * @return The groovy representation of the element.
+   */
+  public static String render(@NonNull final Element element) {
+    return render(element, 0);
+  }
+
+  /**
+   * Renders an element and its children as a string, indented to the supplied depth.
+   */
+  static String render(@NonNull final Element element, final int depth) {
+    final StringBuilder builder = new StringBuilder();
+    element.accept(new DslRenderer(builder), depth);
+    return builder.toString();
+  }
+
+  /**
+   * Writes an element and its children to the output.
+   *
+   * @param element The root element.
+   */
+  public void write(@NonNull final Element element) {
+    element.accept(this, 0);
+  }
+
+  @Override
+  public void visit(final Element element, final int depth) {
+    // an empty element renders nothing
+  }
+
+  @Override
+  public void visit(final Comment comment, final int depth) {
+    final String[] lines = comment.getContent().split("\n");
+    for (int i = 0; i < lines.length; ++i) {
+      if (i != 0) {
+        append("\n");
+      }
+      indent(depth);
+      append("// ");
+      append(lines[i]);
+    }
+  }
+
+  @Override
+  public void visit(final StringContent content, final int depth) {
+    indent(depth);
+    append(INDENT);
+    appendLines(content.getContent(), depth + 1);
+  }
+
+  @Override
+  public void visit(final Function1Arg function, final int depth) {
+    final String value = function.getValue();
+    if (value == null) {
+      throw new IllegalStateException("Value can not be null");
+    }
+
+    indent(depth);
+    append(function.getName());
+    if (value.contains("\n")) {
+      append(" '''\n");
+      indent(depth + 1);
+      appendLines(value, depth + 1);
+      append("\n");
+      indent(depth);
+      append("'''");
+    } else {
+      append(" '");
+      append(value);
+      append("'");
+    }
+  }
+
+  @Override
+  public void visit(final FunctionManyArgs function, final int depth) {
+    final List<Argument> args = function.getArgs();
+    final boolean multiline = args.size() > MAX_ARGS_SINGLE_LINE;
+
+    indent(depth);
+    append(function.getName());
+    append("(");
+    boolean first = true;
+    for (final Argument arg : args) {
+      final String value = arg.toString();
+      if (value.isBlank()) {
+        continue;
+      }
+      if (!first) {
+        append(",");
+        if (multiline) {
+          append("\n");
+          indent(depth + 1);
+        } else {
+          append(" ");
+        }
+      }
+      append(value);
+      first = false;
+    }
+    append(")");
+  }
+
+  @Override
+  public void visit(final FunctionTrailingLambda function, final int depth) {
+    indent(depth);
+    append(function.getName());
+    append(" {\n");
+    appendChildren(function, depth);
+  }
+
+  @Override
+  public void visit(final Function1ArgTrailingLambda function, final int depth) {
+    indent(depth);
+    append(function.getName());
+    append("('");
+    append(function.getArg());
+    append("') {\n");
+    appendChildren(function, depth);
+  }
+
+  /**
+   * Writes the non-blank children on their own lines, followed by the closing brace.
+   */
+  private void appendChildren(final ElementWithChildren element, final int depth) {
+    boolean first = true;
+    for (final Element child : element.getSafeChildren()) {
+      if (child.isBlank()) {
+        continue;
+      }
+      if (!first) {
+        append("\n");
+      }
+      child.accept(this, depth + 1);
+      first = false;
+    }
+    append("\n");
+    indent(depth);
+    append("}");
+  }
+
+  /**
+   * Writes multiline content, indenting every line after the first.
+   */
+  private void appendLines(final String content, final int depth) {
+    final String[] lines = content.split("\n");
+    for (int i = 0; i < lines.length; ++i) {
+      if (i != 0) {
+        append("\n");
+        indent(depth);
+      }
+      append(lines[i]);
+    }
+  }
+
+  private void indent(final int depth) {
+    for (int i = 0; i < depth; ++i) {
+      append(INDENT);
+    }
+  }
+
+  private void append(final CharSequence value) {
+    try {
+      output.append(value);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
@@ -1,33 +1,38 @@
 package com.octopus.jenkins.shared.dsl;
 
-import lombok.Getter;
 import lombok.experimental.SuperBuilder;
 
 /**
  * The base class for all the DSL elements. Also used to represent an empty element in the DSL.
  */
-@Getter
 @SuperBuilder
 public class Element {
 
-  protected Element parent;
-
-  protected int getDepth() {
-    Element currentParent = parent;
-    int depth = 0;
-    while (currentParent != null) {
-      ++depth;
-      currentParent = currentParent.parent;
-    }
-    return depth;
+  /**
+   * Passes this element to the visitor.
+   *
+   * @param visitor The visitor.
+   * @param depth   The depth of this element in the tree.
+   */
+  public void accept(final ElementVisitor visitor, final int depth) {
+    visitor.visit(this, depth);
   }
 
-  protected String getIndent() {
-    final int depth = getDepth();
-    return "  ".repeat(Math.max(0, depth));
+  /**
+   * Indicates if this element renders no content, in which case it is skipped by its parent.
+   *
+   * @return true if the element renders as a blank string.
+   */
+  public boolean isBlank() {
+    return true;
   }
 
+  /**
+   * Renders the element and its children with the DslRenderer.
+   *
+   * @return The groovy representation of the element.
+   */
   public String toString() {
-    return "";
+    return DslRenderer.render(this, 0);
   }
 }
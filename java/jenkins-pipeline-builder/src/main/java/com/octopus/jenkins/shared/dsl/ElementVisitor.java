@@ -0,0 +1,64 @@
+package com.octopus.jenkins.shared.dsl;
+
+/**
+ * Visits the elements in a DSL tree. The depth of each element is passed down by the visitor,
+ * so elements do not need to know their parents.
+ */
+public interface ElementVisitor {
+
+  /**
+   * Visits an empty element.
+   *
+   * @param element The element.
+   * @param depth   The depth of the element in the tree.
+   */
+  void visit(Element element, int depth);
+
+  /**
+   * Visits a comment.
+   *
+   * @param comment The comment.
+   * @param depth   The depth of the comment in the tree.
+   */
+  void visit(Comment comment, int depth);
+
+  /**
+   * Visits plain string content.
+   *
+   * @param content The content.
+   * @param depth   The depth of the content in the tree.
+   */
+  void visit(StringContent content, int depth);
+
+  /**
+   * Visits a function with a single argument.
+   *
+   * @param function The function.
+   * @param depth    The depth of the function in the tree.
+   */
+  void visit(Function1Arg function, int depth);
+
+  /**
+   * Visits a function with many arguments.
+   *
+   * @param function The function.
+   * @param depth    The depth of the function in the tree.
+   */
+  void visit(FunctionManyArgs function, int depth);
+
+  /**
+   * Visits a function with a trailing lambda.
+   *
+   * @param function The function.
+   * @param depth    The depth of the function in the tree.
+   */
+  void visit(FunctionTrailingLambda function, int depth);
+
+  /**
+   * Visits a function with one argument and a trailing lambda.
+   *
+   * @param function The function.
+   * @param depth    The depth of the function in the tree.
+   */
+  void visit(Function1ArgTrailingLambda function, int depth);
+}
@@ -12,20 +12,13 @@ public class Function1Arg extends ElementWithChildren {
 
   private String value;
 
-  /**
-   * Returns the function with an argument.
-   *
-   * @return The groovy function
-   */
-  public String toString() {
-    if (value == null) {
-      throw new IllegalStateException("Value can not be null");
-    }
+  @Override
+  public void accept(final ElementVisitor visitor, final int depth) {
+    visitor.visit(this, depth);
+  }
 
-    if (value.contains("\n")) {
-      return getIndent() + name + " '''\n" + getIndent() + "  " + String.join(
-          "\n" + getIndent() + "  ", value.split("\n")) + "\n" + getIndent() + "'''";
-    }
-    return getIndent() + name + " '" + value + "'";
+  @Override
+  public boolean isBlank() {
+    return false;
   }
 }
@@ -1,7 +1,5 @@
 package com.octopus.jenkins.shared.dsl;
 
-import java.util.List;
-import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.experimental.SuperBuilder;
 
@@ -14,21 +12,8 @@ public class Function1ArgTrailingLambda extends FunctionTrailingLambda {
 
   private String arg;
 
-  /**
-   * Builds a function with an argument and trailing lambda containing the children.
-   *
-   * @return The groovy function.
-   */
-  public String toString() {
-    final List<Element> safeChildren = getSafeChildren();
-    safeChildren.forEach(c -> c.parent = this);
-
-    return getIndent() + name + "('" + arg + "') {\n"
-        + safeChildren
-        .stream()
-        .map(Object::toString)
-        .filter(c -> !c.isBlank())
-        .collect(Collectors.joining("\n"))
-        + "\n" + getIndent() + "}";
+  @Override
+  public void accept(final ElementVisitor visitor, final int depth) {
+    visitor.visit(this, depth);
   }
 }
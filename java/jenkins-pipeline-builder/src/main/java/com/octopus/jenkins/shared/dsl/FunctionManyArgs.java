@@ -1,7 +1,6 @@
 package com.octopus.jenkins.shared.dsl;
 
 import java.util.List;
-import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.experimental.SuperBuilder;
 
@@ -11,23 +10,16 @@ import lombok.experimental.SuperBuilder;
 @Getter
 @SuperBuilder
 public class FunctionManyArgs extends ElementWithChildren {
-  private static final int MAX_ARGS_SINGLE_LINE = 4;
-  private List<Argument> args;
 
-  /**
-   * Builds a function with many arguments.
-   *
-   * @return The groovy function.
-   */
-  public String toString() {
-    final List<Element> safeChildren = getSafeChildren();
-    safeChildren.forEach(c -> c.parent = this);
+  private List<Argument> args;
 
-    final String delimiter = args.size() > MAX_ARGS_SINGLE_LINE ? ",\n" + getIndent() + "  " : ", ";
+  @Override
+  public void accept(final ElementVisitor visitor, final int depth) {
+    visitor.visit(this, depth);
+  }
 
-    return getIndent() + name + "("
-        + args.stream().map(Argument::toString)
-        .filter(c -> !c.isBlank())
-        .collect(Collectors.joining(delimiter)) + ")";
+  @Override
+  public boolean isBlank() {
+    return false;
   }
 }
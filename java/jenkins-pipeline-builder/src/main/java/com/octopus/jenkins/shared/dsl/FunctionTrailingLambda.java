@@ -1,7 +1,5 @@
 package com.octopus.jenkins.shared.dsl;
 
-import java.util.List;
-import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.experimental.SuperBuilder;
 
@@ -12,18 +10,13 @@ import lombok.experimental.SuperBuilder;
 @SuperBuilder
 public class FunctionTrailingLambda extends ElementWithChildren {
 
-  /**
-   * Builds a function with a trailing lambda containing the children.
-   *
-   * @return The groovy function.
-   */
-  public String toString() {
-    final List<Element> safeChildren = getSafeChildren();
-    safeChildren.forEach(c -> c.parent = this);
+  @Override
+  public void accept(final ElementVisitor visitor, final int depth) {
+    visitor.visit(this, depth);
+  }
 
-    return getIndent() + name + " {\n"
-        + safeChildren.stream().map(Object::toString).filter(c -> !c.isBlank())
-        .collect(Collectors.joining("\n"))
-        + "\n" + getIndent() + "}";
+  @Override
+  public boolean isBlank() {
+    return false;
   }
 }
@@ -1,7 +1,5 @@
 package com.octopus.jenkins.shared.dsl;
 
-import java.util.Arrays;
-import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.experimental.SuperBuilder;
 
@@ -14,13 +12,13 @@ public class StringContent extends Element {
 
   private String content;
 
-  /**
-   * Returns the content as plain, indented string.
-   *
-   * @return The groovy content
-   */
-  public String toString() {
-    return getIndent() + "  " + Arrays.stream(content.split("\n"))
-        .collect(Collectors.joining("\n" + getIndent() + "  "));
+  @Override
+  public void accept(final ElementVisitor visitor, final int depth) {
+    visitor.visit(this, depth);
+  }
+
+  @Override
+  public boolean isBlank() {
+    return content.isBlank();
   }
 }
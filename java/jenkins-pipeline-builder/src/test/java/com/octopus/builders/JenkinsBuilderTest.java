@@ -265,8 +265,9 @@ public class JenkinsBuilderTest {
     System.out.println("Testing " + accessor.getClass().getName());
 
     final Optional<String> template = Arrays.stream(PIPELINE_BUILDERS)
-        .filter(p -> p.canBuild(accessor))
-        .map(p -> p.generate(accessor))
+        .map(p -> new SelectedBuilder(p, p.detect(accessor)))
+        .filter(b -> b.getDetection().isMatched())
+        .map(b -> b.generate(accessor))
         .findFirst();
 
     if (template.isEmpty()) {
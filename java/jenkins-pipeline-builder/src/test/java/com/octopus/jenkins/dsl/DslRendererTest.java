@@ -0,0 +1,97 @@
+package com.octopus.jenkins.dsl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import com.octopus.jenkins.shared.dsl.ArgType;
+import com.octopus.jenkins.shared.dsl.Argument;
+import com.octopus.jenkins.shared.dsl.Comment;
+import com.octopus.jenkins.shared.dsl.DslRenderer;
+import com.octopus.jenkins.shared.dsl.Element;
+import com.octopus.jenkins.shared.dsl.Function1Arg;
+import com.octopus.jenkins.shared.dsl.FunctionManyArgs;
+import com.octopus.jenkins.shared.dsl.FunctionTrailingLambda;
+import com.octopus.jenkins.shared.dsl.StringContent;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+public class DslRendererTest {
+
+  private static final String EXPECTED = "pipeline {\n"
+      + "  stages {\n"
+      + "    // build\n"
+      + "    sh 'echo hi'\n"
+      + "    script(name: 'value')\n"
+      + "      echo\n"
+      + "  }\n"
+      + "}";
+
+  @Test
+  public void testNestedElements() {
+    final Element stages = buildStages();
+    final Element pipeline = FunctionTrailingLambda.builder()
+        .name("pipeline")
+        .children(new ImmutableList.Builder<Element>().add(stages).build())
+        .build();
+
+    assertEquals(EXPECTED, DslRenderer.render(pipeline));
+    assertEquals(EXPECTED, pipeline.toString());
+  }
+
+  @Test
+  public void testTreeIsNotModified() {
+    final Element stages = buildStages();
+    final Element pipeline = FunctionTrailingLambda.builder()
+        .name("pipeline")
+        .children(new ImmutableList.Builder<Element>().add(stages).build())
+        .build();
+
+    pipeline.toString();
+    // A child rendered on its own is not indented as if it was still in the tree
+    assertEquals("stages {", stages.toString().split("\n")[0]);
+  }
+
+  @Test
+  public void testWriteToAppendable() {
+    final StringWriter writer = new StringWriter();
+    new DslRenderer(writer).write(FunctionTrailingLambda.builder()
+        .name("pipeline")
+        .children(new ImmutableList.Builder<Element>().add(buildStages()).build())
+        .build());
+    assertEquals(EXPECTED, writer.toString());
+  }
+
+  @Test
+  public void testDeepTree() {
+    Element element = Comment.builder().content("leaf").build();
+    for (int i = 0; i < 100; ++i) {
+      element = FunctionTrailingLambda.builder()
+          .name("f")
+          .children(new ImmutableList.Builder<Element>().add(element).build())
+          .build();
+    }
+    final String[] lines = DslRenderer.render(element).split("\n");
+    assertEquals(201, lines.length);
+    assertEquals("  ".repeat(100) + "// leaf", lines[100]);
+  }
+
+  private Element buildStages() {
+    return FunctionTrailingLambda.builder()
+        .name("stages")
+        .children(new ImmutableList.Builder<Element>()
+            .add(Comment.builder().content("build").build())
+            .add(Element.builder().build())
+            .add(Function1Arg.builder().name("sh").value("echo hi").build())
+            .add(StringContent.builder().content(" ").build())
+            .add(FunctionManyArgs.builder()
+                .name("script")
+                .args(new ImmutableList.Builder<Argument>()
+                    .add(new Argument("name", "value", ArgType.STRING))
+                    .add(new Argument("", "", ArgType.CODE))
+                    .build())
+                .build())
+            .add(StringContent.builder().content("echo").build())
+            .build())
+        .build();
+  }
+}
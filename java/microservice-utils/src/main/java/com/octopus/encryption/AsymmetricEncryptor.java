@@ -1,5 +1,8 @@
 package com.octopus.encryption;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * An interface exposing string encryption methods.
  */
@@ -13,4 +16,17 @@ public interface AsymmetricEncryptor {
    * @return The decrypted value.
    */
   String encrypt(String value, String publicKeyBase64);
+
+  /**
+   * Encrypt a list of values with the same key.
+   *
+   * @param values          The values to encrypt.
+   * @param publicKeyBase64 The public key to encrypt the values with.
+   * @return The encrypted values, in the same order as the supplied values.
+   */
+  default List<String> encrypt(final List<String> values, final String publicKeyBase64) {
+    return values.stream()
+        .map(v -> encrypt(v, publicKeyBase64))
+        .collect(Collectors.toList());
+  }
 }
@@ -1,5 +1,8 @@
 package com.octopus.encryption.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import com.octopus.encryption.CryptoUtils;
 import com.octopus.exceptions.EncryptionException;
 import java.nio.ByteBuffer;
@@ -11,6 +14,7 @@ import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.KeySpec;
 import java.util.Base64;
+import java.util.concurrent.ExecutionException;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
@@ -26,6 +30,11 @@ import org.apache.commons.lang3.StringUtils;
 /**
  * Use AES to encrypt and decrypt strings.
  * https://mkyong.com/java/java-aes-encryption-and-decryption/
+ *
+ * <p>Deriving a key from a password is deliberately slow, and the password and salt are usually
+ * fixed configuration values, so derived keys are cached against a hash of the password and salt.
+ * Cipher instances are expensive to look up and are not thread safe, so each thread reuses its
+ * own instance.
  */
 public class AesCryptoUtils implements CryptoUtils {
 
@@ -34,6 +43,15 @@ public class AesCryptoUtils implements CryptoUtils {
   private static final int IV_LENGTH_BYTE = 12;
   private static final String ALGORITHM = "AES";
   private static final int MIN_PASSWORD_LENGTH = 32;
+  private static final int KEY_DERIVATION_ITERATIONS = 65536;
+  private static final int KEY_LENGTH_BIT = 256;
+  private static final int MAXIMUM_CACHED_KEYS = 16;
+  private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+  private static final ThreadLocal<Cipher> CIPHERS = new ThreadLocal<>();
+
+  private final Cache<String, SecretKey> derivedKeys = CacheBuilder.newBuilder()
+      .maximumSize(MAXIMUM_CACHED_KEYS)
+      .build();
 
   /**
    * {@inheritDoc}
@@ -51,10 +69,8 @@ public class AesCryptoUtils implements CryptoUtils {
       }
 
       final byte[] iv = getRandomNonce(IV_LENGTH_BYTE);
-      final Cipher cipher = Cipher.getInstance(ENCRYPT_ALGO);
-      final SecretKey secretKey = getAesKeyFromPassword(
-          password.toCharArray(),
-          salt.getBytes(StandardCharsets.UTF_8));
+      final Cipher cipher = getCipher();
+      final SecretKey secretKey = getAesKeyFromPassword(password, salt);
       cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(TAG_LENGTH_BIT, iv));
       final byte[] cipherText = cipher.doFinal(value.getBytes(StandardCharsets.UTF_8));
       final byte[] encryptedWithIv = ByteBuffer.allocate(iv.length + cipherText.length)
@@ -63,8 +79,8 @@ public class AesCryptoUtils implements CryptoUtils {
           .array();
       return Base64.getEncoder().encodeToString(encryptedWithIv);
     } catch (final NoSuchAlgorithmException | NoSuchPaddingException | IllegalBlockSizeException
-                   | BadPaddingException | InvalidKeySpecException
-                   | InvalidAlgorithmParameterException | InvalidKeyException e) {
+                   | BadPaddingException | InvalidAlgorithmParameterException
+                   | InvalidKeyException e) {
       throw new EncryptionException(e);
     }
   }
@@ -88,29 +104,63 @@ public class AesCryptoUtils implements CryptoUtils {
       bb.get(iv);
       final byte[] cipherText = new byte[bb.remaining()];
       bb.get(cipherText);
-      final SecretKey secretKey = getAesKeyFromPassword(
-          password.toCharArray(),
-          salt.getBytes(StandardCharsets.UTF_8));
-      final Cipher cipher = Cipher.getInstance(ENCRYPT_ALGO);
+      final SecretKey secretKey = getAesKeyFromPassword(password, salt);
+      final Cipher cipher = getCipher();
       cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(TAG_LENGTH_BIT, iv));
       return new String(cipher.doFinal(cipherText), StandardCharsets.UTF_8);
     } catch (final NoSuchPaddingException | IllegalBlockSizeException | NoSuchAlgorithmException
-                   | BadPaddingException | InvalidKeySpecException
-                   | InvalidAlgorithmParameterException | InvalidKeyException e) {
+                   | BadPaddingException | InvalidAlgorithmParameterException
+                   | InvalidKeyException e) {
       throw new EncryptionException(e);
     }
   }
 
-  private SecretKey getAesKeyFromPassword(final char[] password, final byte[] salt)
+  /**
+   * Returns the key derived from the password and salt, deriving it the first time it is used.
+   * The cache is keyed by a hash so the password is not held in the cache.
+   */
+  private SecretKey getAesKeyFromPassword(final String password, final String salt) {
+    final String cacheKey = Hashing.sha256().newHasher()
+        .putString(password, StandardCharsets.UTF_8)
+        .putByte((byte) 0)
+        .putString(salt, StandardCharsets.UTF_8)
+        .hash()
+        .toString();
+
+    try {
+      return derivedKeys.get(cacheKey, () -> deriveAesKey(
+          password.toCharArray(),
+          salt.getBytes(StandardCharsets.UTF_8)));
+    } catch (final ExecutionException e) {
+      throw new EncryptionException(e.getCause());
+    }
+  }
+
+  private SecretKey deriveAesKey(final char[] password, final byte[] salt)
       throws NoSuchAlgorithmException, InvalidKeySpecException {
     final SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-    final KeySpec spec = new PBEKeySpec(password, salt, 65536, 256);
+    final KeySpec spec = new PBEKeySpec(password, salt, KEY_DERIVATION_ITERATIONS, KEY_LENGTH_BIT);
     return new SecretKeySpec(factory.generateSecret(spec).getEncoded(), ALGORITHM);
   }
 
+  /**
+   * Returns the cipher owned by the current thread. Calling init() resets the cipher, so it can be
+   * reused for any number of operations.
+   */
+  private Cipher getCipher() throws NoSuchAlgorithmException, NoSuchPaddingException {
+    final Cipher existing = CIPHERS.get();
+    if (existing != null) {
+      return existing;
+    }
+
+    final Cipher cipher = Cipher.getInstance(ENCRYPT_ALGO);
+    CIPHERS.set(cipher);
+    return cipher;
+  }
+
   private byte[] getRandomNonce(final int numBytes) {
     final byte[] nonce = new byte[numBytes];
-    new SecureRandom().nextBytes(nonce);
+    SECURE_RANDOM.nextBytes(nonce);
     return nonce;
   }
 }
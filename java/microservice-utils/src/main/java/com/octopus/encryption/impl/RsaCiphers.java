@@ -0,0 +1,44 @@
+package com.octopus.encryption.impl;
+
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+
+/**
+ * Shared support for the RSA encryptor and decryptor. Cipher instances are expensive to look up and
+ * are not thread safe, so each thread reuses its own instance. Calling init() resets the cipher, so
+ * one instance can be used for both encryption and decryption.
+ */
+final class RsaCiphers {
+
+  static final String ALGORITHM = "RSA";
+  static final int MAXIMUM_CACHED_KEYS = 16;
+  private static final ThreadLocal<Cipher> CIPHERS = new ThreadLocal<>();
+
+  private RsaCiphers() {
+  }
+
+  /**
+   * Returns the cipher owned by the current thread.
+   */
+  static Cipher getCipher() throws NoSuchAlgorithmException, NoSuchPaddingException {
+    final Cipher existing = CIPHERS.get();
+    if (existing != null) {
+      return existing;
+    }
+
+    final Cipher cipher = Cipher.getInstance(ALGORITHM);
+    CIPHERS.set(cipher);
+    return cipher;
+  }
+
+  /**
+   * Returns the fingerprint used to cache a parsed key, so the key material itself is not held as
+   * a cache key.
+   */
+  static String fingerprint(final String keyBase64) {
+    return Hashing.sha256().hashString(keyBase64, StandardCharsets.UTF_8).toString();
+  }
+}
@@ -1,47 +1,91 @@
 package com.octopus.encryption.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.octopus.encryption.AsymmetricDecryptor;
 import com.octopus.exceptions.EncryptionException;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import javax.crypto.Cipher;
 import javax.crypto.NoSuchPaddingException;
+import lombok.NonNull;
 
 /**
  * A service that can decrypt values with asymmetric key pairs.
  * https://mkyong.com/java/java-asymmetric-cryptography-example/
  * https://gist.github.com/mcasperson/92e8b9c38793cc830bbbbcf094ce63f6
+ *
+ * <p>This class is thread safe. Parsed private keys are cached against the fingerprint of the
+ * encoded key, and each thread reuses its own cipher.
  */
 public class RsaCryptoUtilsDecryptor implements AsymmetricDecryptor {
 
-  private final Cipher cipher;
+  private final Cache<String, PrivateKey> privateKeys = CacheBuilder.newBuilder()
+      .maximumSize(RsaCiphers.MAXIMUM_CACHED_KEYS)
+      .build();
 
+  /**
+   * Constructor.
+   *
+   * @throws NoSuchPaddingException   If the RSA cipher is not available.
+   * @throws NoSuchAlgorithmException If the RSA cipher is not available.
+   */
   public RsaCryptoUtilsDecryptor()
       throws NoSuchPaddingException, NoSuchAlgorithmException {
-    this.cipher = Cipher.getInstance("RSA");
+    // Fail fast if the platform does not support RSA
+    RsaCiphers.getCipher();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String decrypt(@NonNull final String value, @NonNull final String privateKeyBase64) {
+    return decrypt(List.of(value), privateKeyBase64).get(0);
   }
 
   /**
    * {@inheritDoc}
+   * The key is resolved and the cipher initialized once for the whole list.
    */
   @Override
-  public String decrypt(final String value, final String privateKeyBase64) {
+  public List<String> decrypt(@NonNull final List<String> values,
+      @NonNull final String privateKeyBase64) {
     try {
-      this.cipher.init(Cipher.DECRYPT_MODE, getPrivate(privateKeyBase64));
-      return new String(this.cipher.doFinal(Base64.getDecoder().decode(value)));
-    } catch (Exception e) {
+      final Cipher cipher = RsaCiphers.getCipher();
+      cipher.init(Cipher.DECRYPT_MODE, getPrivate(privateKeyBase64));
+      final List<String> decrypted = new ArrayList<>(values.size());
+      for (final String value : values) {
+        decrypted.add(new String(
+            cipher.doFinal(Base64.getDecoder().decode(value)),
+            StandardCharsets.UTF_8));
+      }
+      return decrypted;
+    } catch (final EncryptionException e) {
+      throw e;
+    } catch (final Exception e) {
       throw new EncryptionException(e);
     }
   }
 
   // https://docs.oracle.com/javase/8/docs/api/java/security/spec/X509EncodedKeySpec.html
-  private PrivateKey getPrivate(final String key) throws Exception {
-    final byte[] keyBytes = Base64.getDecoder().decode(key);
-    final PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(keyBytes);
-    final KeyFactory kf = KeyFactory.getInstance("RSA");
-    return kf.generatePrivate(spec);
+  private PrivateKey getPrivate(final String key) {
+    try {
+      return privateKeys.get(RsaCiphers.fingerprint(key), () -> {
+        final byte[] keyBytes = Base64.getDecoder().decode(key);
+        final PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(keyBytes);
+        final KeyFactory kf = KeyFactory.getInstance(RsaCiphers.ALGORITHM);
+        return kf.generatePrivate(spec);
+      });
+    } catch (final ExecutionException e) {
+      throw new EncryptionException(e.getCause());
+    }
   }
 }
@@ -1,47 +1,90 @@
 package com.octopus.encryption.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.octopus.encryption.AsymmetricEncryptor;
 import com.octopus.exceptions.EncryptionException;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import javax.crypto.Cipher;
 import javax.crypto.NoSuchPaddingException;
+import lombok.NonNull;
 
 /**
  * A service that can encrypt values with asymmetric key pairs.
  * https://mkyong.com/java/java-asymmetric-cryptography-example/
  * https://gist.github.com/mcasperson/92e8b9c38793cc830bbbbcf094ce63f6
+ *
+ * <p>This class is thread safe. Parsed public keys are cached against the fingerprint of the
+ * encoded key, and each thread reuses its own cipher.
  */
 public class RsaCryptoUtilsEncryptor implements AsymmetricEncryptor {
 
-  private final Cipher cipher;
+  private final Cache<String, PublicKey> publicKeys = CacheBuilder.newBuilder()
+      .maximumSize(RsaCiphers.MAXIMUM_CACHED_KEYS)
+      .build();
 
+  /**
+   * Constructor.
+   *
+   * @throws NoSuchPaddingException   If the RSA cipher is not available.
+   * @throws NoSuchAlgorithmException If the RSA cipher is not available.
+   */
   public RsaCryptoUtilsEncryptor()
       throws NoSuchPaddingException, NoSuchAlgorithmException {
-    this.cipher = Cipher.getInstance("RSA");
+    // Fail fast if the platform does not support RSA
+    RsaCiphers.getCipher();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String encrypt(@NonNull final String value, @NonNull final String publicKeyBase64) {
+    return encrypt(List.of(value), publicKeyBase64).get(0);
   }
 
   /**
    * {@inheritDoc}
+   * The key is resolved and the cipher initialized once for the whole list.
    */
   @Override
-  public String encrypt(final String value, final String publicKeyBase64) {
+  public List<String> encrypt(@NonNull final List<String> values,
+      @NonNull final String publicKeyBase64) {
     try {
-      this.cipher.init(Cipher.ENCRYPT_MODE, getPublic(publicKeyBase64));
-      return Base64.getEncoder().encodeToString(this.cipher.doFinal(value.getBytes()));
-    } catch (Exception e) {
+      final Cipher cipher = RsaCiphers.getCipher();
+      cipher.init(Cipher.ENCRYPT_MODE, getPublic(publicKeyBase64));
+      final List<String> encrypted = new ArrayList<>(values.size());
+      for (final String value : values) {
+        encrypted.add(Base64.getEncoder().encodeToString(
+            cipher.doFinal(value.getBytes(StandardCharsets.UTF_8))));
+      }
+      return encrypted;
+    } catch (final EncryptionException e) {
+      throw e;
+    } catch (final Exception e) {
       throw new EncryptionException(e);
     }
   }
 
   // https://docs.oracle.com/javase/8/docs/api/java/security/spec/X509EncodedKeySpec.html
-  private PublicKey getPublic(final String key) throws Exception {
-    byte[] keyBytes = Base64.getDecoder().decode(key);
-    final X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-    final KeyFactory kf = KeyFactory.getInstance("RSA");
-    return kf.generatePublic(spec);
+  private PublicKey getPublic(final String key) {
+    try {
+      return publicKeys.get(RsaCiphers.fingerprint(key), () -> {
+        final byte[] keyBytes = Base64.getDecoder().decode(key);
+        final X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
+        final KeyFactory kf = KeyFactory.getInstance(RsaCiphers.ALGORITHM);
+        return kf.generatePublic(spec);
+      });
+    } catch (final ExecutionException e) {
+      throw new EncryptionException(e.getCause());
+    }
   }
 }
@@ -0,0 +1,25 @@
+package com.octopus.exceptions;
+
+import lombok.Getter;
+
+/**
+ * The exception thrown when a request was not sent because the credential it would use has run out
+ * of quota.
+ */
+public class RateLimitedException extends RuntimeException {
+
+  /**
+   * The number of milliseconds until the quota is expected to be available again.
+   */
+  @Getter
+  private final long retryAfterMillis;
+
+  public RateLimitedException(final String message) {
+    this(message, 0);
+  }
+
+  public RateLimitedException(final String message, final long retryAfterMillis) {
+    super(message);
+    this.retryAfterMillis = retryAfterMillis;
+  }
+}
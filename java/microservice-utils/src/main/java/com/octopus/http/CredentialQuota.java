@@ -0,0 +1,37 @@
+package com.octopus.http;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A point in time snapshot of the quota remaining for a credential.
+ */
+@Value
+@Builder
+public class CredentialQuota {
+
+  /**
+   * The name of the credential. This never includes the secret.
+   */
+  String credential;
+
+  /**
+   * The number of requests allowed in the current window, or -1 if it is not known yet.
+   */
+  long limit;
+
+  /**
+   * The estimated number of requests remaining in the current window.
+   */
+  long remaining;
+
+  /**
+   * The time the window resets, in seconds since the epoch.
+   */
+  long resetEpochSeconds;
+
+  /**
+   * true if the server asked us to stop sending requests for a while.
+   */
+  boolean blocked;
+}
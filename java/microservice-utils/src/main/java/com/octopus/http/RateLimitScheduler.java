@@ -0,0 +1,54 @@
+package com.octopus.http;
+
+import java.util.function.Function;
+
+/**
+ * Schedules outbound requests against the quota of the credential they use. Callers ask for
+ * permission before sending a request, and report the rate limit headers of the response, which
+ * keeps the scheduler's estimate of the remaining quota up to date.
+ */
+public interface RateLimitScheduler {
+
+  /**
+   * Identifies the credential used by a request. The returned name never includes the secret.
+   *
+   * @param authorization The value of the Authorization header, or null if there is none.
+   * @return The name of the credential.
+   */
+  String identify(String authorization);
+
+  /**
+   * Waits until the credential has quota for the request, reserving it.
+   *
+   * @param credential The name of the credential returned by identify().
+   * @param priority   The priority of the request.
+   * @throws com.octopus.exceptions.RateLimitedException if the request must not be sent.
+   */
+  void acquire(String credential, RequestPriority priority);
+
+  /**
+   * Tests if the credential has quota for a request right now, without reserving it.
+   *
+   * @param credential The name of the credential returned by identify().
+   * @param priority   The priority of the request.
+   * @return true if a request with the priority would be sent without waiting.
+   */
+  boolean hasQuota(String credential, RequestPriority priority);
+
+  /**
+   * Updates the quota of the credential from the headers of a response.
+   *
+   * @param credential The name of the credential returned by identify().
+   * @param statusCode The HTTP status code of the response.
+   * @param headers    A function returning the value of a response header, or null if the header
+   *                   is missing.
+   */
+  void update(String credential, int statusCode, Function<String, String> headers);
+
+  /**
+   * Returns a snapshot of the scheduler statistics.
+   *
+   * @return The scheduler statistics.
+   */
+  RateLimitStats getStats();
+}
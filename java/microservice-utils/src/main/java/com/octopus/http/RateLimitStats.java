@@ -0,0 +1,45 @@
+package com.octopus.http;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * A point in time snapshot of the statistics of a rate limit scheduler.
+ */
+@Value
+@Builder
+public class RateLimitStats {
+
+  /**
+   * The number of requests that were allowed to be sent.
+   */
+  long allowed;
+
+  /**
+   * The number of allowed requests that first had to wait for quota to become available.
+   */
+  long delayed;
+
+  /**
+   * The number of high priority requests that were rejected.
+   */
+  long shedHigh;
+
+  /**
+   * The number of low priority requests that were rejected.
+   */
+  long shedLow;
+
+  /**
+   * The number of credentials whose quota is being tracked.
+   */
+  long trackedCredentials;
+
+  /**
+   * The quotas of the credentials with the least remaining quota.
+   */
+  @Singular
+  List<CredentialQuota> quotas;
+}
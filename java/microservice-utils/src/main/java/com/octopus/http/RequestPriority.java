@@ -0,0 +1,16 @@
+package com.octopus.http;
+
+/**
+ * The priority of an outbound request. When a credential is running low on quota, low priority
+ * requests are delayed or dropped so the remaining quota is spent on high priority requests.
+ */
+public enum RequestPriority {
+  /**
+   * Requests that the response depends on, like the file probes used to generate a pipeline.
+   */
+  HIGH,
+  /**
+   * Requests that are nice to have, like looking up email addresses for an audit.
+   */
+  LOW
+}
@@ -0,0 +1,283 @@
+package com.octopus.http.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.Longs;
+import com.octopus.exceptions.RateLimitedException;
+import com.octopus.http.CredentialQuota;
+import com.octopus.http.RateLimitScheduler;
+import com.octopus.http.RateLimitStats;
+import com.octopus.http.RequestPriority;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.NonNull;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Schedules requests against the GitHub API rate limits. Each credential (the client ID of the
+ * GitHub app, or the token of a user) has its own bucket of tokens. The bucket is filled from the
+ * X-RateLimit-Limit and X-RateLimit-Remaining headers of each response, one token is taken for each
+ * request sent, and the bucket is refilled when the X-RateLimit-Reset time passes.
+ *
+ * <p>Once a bucket is empty, or GitHub has responded with a Retry-After header, requests wait if
+ * the quota is available again within the maximum wait, and are rejected otherwise. Low priority
+ * requests are also rejected once the bucket drops to the reserve kept for high priority requests,
+ * so audits and other background calls never use up the quota needed to generate pipelines.
+ *
+ * <p>See https://docs.github.com/en/rest/overview/resources-in-the-rest-api#rate-limiting.
+ */
+public class GitHubRateLimitScheduler implements RateLimitScheduler {
+
+  private static final String LIMIT_HEADER = "X-RateLimit-Limit";
+  private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+  private static final String RESET_HEADER = "X-RateLimit-Reset";
+  private static final String RETRY_AFTER_HEADER = "Retry-After";
+  private static final long DEFAULT_SECONDARY_LIMIT_MILLIS = 60000;
+  private static final long WINDOW_MILLIS = 60 * 60 * 1000;
+  private static final int DEFAULT_LOW_PRIORITY_RESERVE_PERCENT = 20;
+  private static final long DEFAULT_MAX_WAIT_MILLIS = 2000;
+  private static final int DEFAULT_MAXIMUM_CREDENTIALS = 10000;
+  private static final int REPORTED_QUOTAS = 10;
+
+  private final Cache<String, Quota> quotas;
+  private final int lowPriorityReservePercent;
+  private final long maxWaitMillis;
+  private final Clock clock;
+  private final LongAdder allowed = new LongAdder();
+  private final LongAdder delayed = new LongAdder();
+  private final LongAdder shedHigh = new LongAdder();
+  private final LongAdder shedLow = new LongAdder();
+
+  /**
+   * Builds the scheduler. Any value that is zero or negative is replaced with a sensible default.
+   *
+   * @param lowPriorityReservePercent The percentage of the limit kept for high priority requests.
+   * @param maxWaitMillis             The longest time a request will wait for quota.
+   * @param maximumCredentials        The maximum number of credentials to track.
+   * @param clock                     The clock used to measure time, or null to use the system
+   *                                  clock.
+   */
+  @Builder
+  public GitHubRateLimitScheduler(
+      final int lowPriorityReservePercent,
+      final long maxWaitMillis,
+      final int maximumCredentials,
+      final Clock clock) {
+    this.lowPriorityReservePercent = lowPriorityReservePercent > 0
+        ? Math.min(lowPriorityReservePercent, 100)
+        : DEFAULT_LOW_PRIORITY_RESERVE_PERCENT;
+    this.maxWaitMillis = maxWaitMillis > 0 ? maxWaitMillis : DEFAULT_MAX_WAIT_MILLIS;
+    this.clock = clock == null ? Clock.systemUTC() : clock;
+    this.quotas = CacheBuilder.newBuilder()
+        .maximumSize(maximumCredentials > 0 ? maximumCredentials : DEFAULT_MAXIMUM_CREDENTIALS)
+        // Quotas are refilled at least every hour, so an idle credential can be forgotten
+        .expireAfterAccess(2, TimeUnit.HOURS)
+        .build();
+  }
+
+  /**
+   * {@inheritDoc}
+   * GitHub apps authenticate with basic auth, where the username is the client ID, which is not a
+   * secret. User tokens are identified by a hash.
+   */
+  @Override
+  public String identify(final String authorization) {
+    if (StringUtils.isBlank(authorization)) {
+      return "anonymous";
+    }
+
+    final String[] parts = authorization.trim().split("\\s+", 2);
+    if (parts.length == 2 && parts[0].equalsIgnoreCase("Basic")) {
+      try {
+        final String decoded = new String(Base64.getDecoder().decode(parts[1]),
+            StandardCharsets.UTF_8);
+        final int colon = decoded.indexOf(':');
+        if (colon > 0) {
+          return "app:" + decoded.substring(0, colon);
+        }
+      } catch (final IllegalArgumentException ex) {
+        // not valid base64, so fall back to identifying the header by its hash
+      }
+    }
+
+    return "user:" + Hashing.sha256()
+        .hashString(parts[parts.length - 1], StandardCharsets.UTF_8)
+        .toString()
+        .substring(0, 12);
+  }
+
+  @Override
+  public void acquire(@NonNull final String credential, @NonNull final RequestPriority priority) {
+    final Quota quota = getQuota(credential);
+    final long deadline = clock.millis() + maxWaitMillis;
+    boolean waited = false;
+
+    while (true) {
+      final long now = clock.millis();
+      final long wait = quota.tryAcquire(now, priority);
+      if (wait == 0) {
+        allowed.increment();
+        if (waited) {
+          delayed.increment();
+        }
+        return;
+      }
+
+      if (now + wait > deadline) {
+        (priority == RequestPriority.LOW ? shedLow : shedHigh).increment();
+        throw new RateLimitedException(
+            "The GitHub quota for " + credential + " is exhausted", wait);
+      }
+
+      try {
+        waited = true;
+        Thread.sleep(wait);
+      } catch (final InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        (priority == RequestPriority.LOW ? shedLow : shedHigh).increment();
+        throw new RateLimitedException("Interrupted while waiting for GitHub quota", wait);
+      }
+    }
+  }
+
+  @Override
+  public boolean hasQuota(
+      @NonNull final String credential,
+      @NonNull final RequestPriority priority) {
+    return getQuota(credential).getWait(clock.millis(), priority) == 0;
+  }
+
+  @Override
+  public void update(
+      @NonNull final String credential,
+      final int statusCode,
+      @NonNull final Function<String, String> headers) {
+    final Long limit = parse(headers.apply(LIMIT_HEADER));
+    final Long remaining = parse(headers.apply(REMAINING_HEADER));
+    final Long reset = parse(headers.apply(RESET_HEADER));
+    final Long retryAfter = parse(headers.apply(RETRY_AFTER_HEADER));
+    final long now = clock.millis();
+    final Quota quota = getQuota(credential);
+
+    synchronized (quota) {
+      if (limit != null && remaining != null && reset != null) {
+        quota.limit = limit;
+        quota.tokens = remaining;
+        quota.resetMillis = reset * 1000;
+      }
+
+      // See https://docs.github.com/en/rest/guides/best-practices-for-integrators#dealing-with-secondary-rate-limits
+      if (retryAfter != null) {
+        quota.blockedUntilMillis = now + retryAfter * 1000;
+      } else if ((statusCode == 403 || statusCode == 429) && remaining != null && remaining == 0) {
+        quota.blockedUntilMillis = quota.resetMillis;
+      } else if (statusCode == 429) {
+        quota.blockedUntilMillis = now + DEFAULT_SECONDARY_LIMIT_MILLIS;
+      }
+    }
+  }
+
+  @Override
+  public RateLimitStats getStats() {
+    final long now = clock.millis();
+    final Map<String, Quota> snapshot = quotas.asMap();
+    return RateLimitStats.builder()
+        .allowed(allowed.sum())
+        .delayed(delayed.sum())
+        .shedHigh(shedHigh.sum())
+        .shedLow(shedLow.sum())
+        .trackedCredentials(snapshot.size())
+        .quotas(snapshot.entrySet().stream()
+            .map(e -> e.getValue().toCredentialQuota(e.getKey(), now))
+            .filter(q -> q.getLimit() >= 0 || q.isBlocked())
+            .sorted(Comparator.comparingLong(CredentialQuota::getRemaining))
+            .limit(REPORTED_QUOTAS)
+            .collect(Collectors.toList()))
+        .build();
+  }
+
+  private Quota getQuota(final String credential) {
+    try {
+      return quotas.get(credential, Quota::new);
+    } catch (final Exception ex) {
+      // The loader can not fail, but the cache API forces us to handle the exception
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static Long parse(final String value) {
+    return value == null ? null : Longs.tryParse(value.trim());
+  }
+
+  /**
+   * The token bucket of a single credential. The limit is -1 until the first response with rate
+   * limit headers is seen, and requests are allowed freely until then.
+   */
+  private class Quota {
+
+    private long limit = -1;
+    private long tokens;
+    private long resetMillis;
+    private long blockedUntilMillis;
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 if a token was taken, or the time to wait before trying again.
+     */
+    synchronized long tryAcquire(final long now, final RequestPriority priority) {
+      final long wait = getWait(now, priority);
+      if (wait == 0 && limit >= 0) {
+        --tokens;
+      }
+      return wait;
+    }
+
+    /**
+     * Tests if a token is available without taking it.
+     *
+     * @return 0 if a token is available, or the time to wait before trying again.
+     */
+    synchronized long getWait(final long now, final RequestPriority priority) {
+      if (limit >= 0 && now >= resetMillis) {
+        // Assume a full window until the next response reports the actual reset time
+        tokens = limit;
+        resetMillis = now + WINDOW_MILLIS;
+      }
+
+      if (blockedUntilMillis > now) {
+        return blockedUntilMillis - now;
+      }
+
+      if (limit >= 0) {
+        final long reserve = priority == RequestPriority.LOW
+            ? limit * lowPriorityReservePercent / 100
+            : 0;
+        if (tokens <= reserve) {
+          return Math.max(resetMillis - now, 1);
+        }
+      }
+
+      return 0;
+    }
+
+    synchronized CredentialQuota toCredentialQuota(final String credential, final long now) {
+      return CredentialQuota.builder()
+          .credential(credential)
+          .limit(limit)
+          .remaining(limit >= 0 && now >= resetMillis ? limit : tokens)
+          .resetEpochSeconds(resetMillis / 1000)
+          .blocked(blockedUntilMillis > now)
+          .build();
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.octopus.jsonapi;
+
+import com.github.jasminb.jsonapi.JSONAPIDocument;
+import java.io.OutputStream;
+
+/**
+ * Represents a service used to serialize JSONAPI documents. Implementations are thread safe, so a
+ * single instance is shared by every caller.
+ */
+public interface JsonApiDocumentWriter {
+
+  /**
+   * Serializes the document.
+   *
+   * @param document The document to serialize.
+   * @return The UTF-8 encoded JSONAPI document.
+   */
+  byte[] writeDocument(JSONAPIDocument<?> document);
+
+  /**
+   * Serializes the document to a string.
+   *
+   * @param document The document to serialize.
+   * @return The JSONAPI document.
+   */
+  String writeDocumentAsString(JSONAPIDocument<?> document);
+
+  /**
+   * Serializes the document to a stream. The stream is not closed.
+   *
+   * @param document     The document to serialize.
+   * @param outputStream The stream the UTF-8 encoded JSONAPI document is written to.
+   */
+  void writeDocument(JSONAPIDocument<?> document, OutputStream outputStream);
+
+  /**
+   * Serializes a document whose primary data is an array of resources to a string.
+   *
+   * @param document The document to serialize.
+   * @return The JSONAPI document.
+   */
+  String writeDocumentCollectionAsString(JSONAPIDocument<? extends Iterable<?>> document);
+}
@@ -0,0 +1,66 @@
+package com.octopus.jsonapi.impl;
+
+import com.github.jasminb.jsonapi.JSONAPIDocument;
+import com.github.jasminb.jsonapi.ResourceConverter;
+import com.github.jasminb.jsonapi.exceptions.DocumentSerializationException;
+import com.octopus.exceptions.JsonSerializationException;
+import com.octopus.jsonapi.JsonApiDocumentWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import lombok.NonNull;
+
+/**
+ * A JsonApiDocumentWriter backed by a ResourceConverter. Building a ResourceConverter scans the
+ * registered types with reflection and creates a new ObjectMapper, so the converter should be
+ * configured once and shared. It is safe to share between threads once configured, as the state
+ * kept while serializing a document is thread local.
+ */
+public class ResourceConverterDocumentWriter implements JsonApiDocumentWriter {
+
+  private final ResourceConverter resourceConverter;
+
+  /**
+   * Creates the writer.
+   *
+   * @param resourceConverter The configured converter with all the serialized types registered.
+   */
+  public ResourceConverterDocumentWriter(@NonNull final ResourceConverter resourceConverter) {
+    this.resourceConverter = resourceConverter;
+  }
+
+  @Override
+  public byte[] writeDocument(@NonNull final JSONAPIDocument<?> document) {
+    try {
+      return resourceConverter.writeDocument(document);
+    } catch (final DocumentSerializationException ex) {
+      throw new JsonSerializationException(ex);
+    }
+  }
+
+  @Override
+  public String writeDocumentAsString(@NonNull final JSONAPIDocument<?> document) {
+    return new String(writeDocument(document), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void writeDocument(
+      @NonNull final JSONAPIDocument<?> document,
+      @NonNull final OutputStream outputStream) {
+    try {
+      outputStream.write(writeDocument(document));
+    } catch (final IOException ex) {
+      throw new JsonSerializationException(ex);
+    }
+  }
+
+  @Override
+  public String writeDocumentCollectionAsString(
+      @NonNull final JSONAPIDocument<? extends Iterable<?>> document) {
+    try {
+      return new String(resourceConverter.writeDocumentCollection(document), StandardCharsets.UTF_8);
+    } catch (final DocumentSerializationException ex) {
+      throw new JsonSerializationException(ex);
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.octopus.jwt;
 
 import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSObject;
 import java.io.IOException;
 import java.text.ParseException;
 
@@ -21,4 +22,20 @@ public interface JwtValidator {
    */
   boolean jwtIsValid(String jwt, String jwk)
       throws ParseException, IOException, JOSEException;
+
+  /**
+   * Verify a JWT that has already been parsed has the correct signature and is not expired. This
+   * allows callers that also need to read the claims to parse the token once.
+   *
+   * @param jwsObject The parsed JWT.
+   * @param jwk       The JWK, base64 encoded.
+   * @return true if the JWT is valid, false otherwise.
+   * @throws ParseException If the JWK couldn't be parsed.
+   * @throws IOException    If the input stream couldn't be read.
+   * @throws JOSEException  If the RSA JWK extraction failed.
+   */
+  default boolean jwtIsValid(JWSObject jwsObject, String jwk)
+      throws ParseException, IOException, JOSEException {
+    return jwtIsValid(jwsObject.serialize(), jwk);
+  }
 }
@@ -1,5 +1,8 @@
 package com.octopus.jwt.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSObject;
 import com.nimbusds.jose.JWSVerifier;
@@ -8,35 +11,146 @@ import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.octopus.jwt.JwtValidator;
 import java.io.IOException;
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
-import org.apache.commons.io.IOUtils;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
 
 /**
  * A service to validate JWT tokens.
+ *
+ * <p>The JWK config string is decoded and parsed once, and the verifier for each key ID is built
+ * once and reused. Tokens that pass validation are remembered for a short time, so a token
+ * presented with every request from a client is only verified once. A remembered token is still
+ * rejected as soon as it expires.
  */
 public class JwtValidatorImpl implements JwtValidator {
+
+  private static final int MAXIMUM_KEY_SETS = 8;
+  private static final int DEFAULT_MAXIMUM_VERIFIED_TOKENS = 10000;
+  private static final long DEFAULT_VERIFIED_TOKEN_TTL_SECONDS = 60;
+
+  private final Cache<String, KeySet> keySets = CacheBuilder.newBuilder()
+      .maximumSize(MAXIMUM_KEY_SETS)
+      .build();
+  private final int maximumVerifiedTokens;
+  private final long verifiedTokenTtlSeconds;
+
+  /**
+   * Creates a validator with the default limits on the verified token cache.
+   */
+  public JwtValidatorImpl() {
+    this(DEFAULT_MAXIMUM_VERIFIED_TOKENS, DEFAULT_VERIFIED_TOKEN_TTL_SECONDS);
+  }
+
+  /**
+   * Creates a validator. Any value that is zero or negative is replaced with a sensible default.
+   *
+   * @param maximumVerifiedTokens   The maximum number of verified tokens remembered for each JWK.
+   * @param verifiedTokenTtlSeconds The longest time a verified token is remembered for.
+   */
+  public JwtValidatorImpl(final int maximumVerifiedTokens, final long verifiedTokenTtlSeconds) {
+    this.maximumVerifiedTokens = maximumVerifiedTokens > 0
+        ? maximumVerifiedTokens
+        : DEFAULT_MAXIMUM_VERIFIED_TOKENS;
+    this.verifiedTokenTtlSeconds = verifiedTokenTtlSeconds > 0
+        ? verifiedTokenTtlSeconds
+        : DEFAULT_VERIFIED_TOKEN_TTL_SECONDS;
+  }
+
   @Override
   public boolean jwtIsValid(final String jwt, final String jwk)
       throws ParseException, IOException, JOSEException {
-    final JWSObject jwsObject = JWSObject.parse(jwt);
-    final String jwkDecoded = new String(Base64.getDecoder().decode(jwk));
-    final JWKSet publicKeys = JWKSet.load(
-        IOUtils.toInputStream(jwkDecoded, Charset.defaultCharset()));
-    final JWK key = publicKeys.getKeyByKeyId(jwsObject.getHeader().getKeyID());
-    if (key != null) {
-      final JWSVerifier verifier = new RSASSAVerifier(key.toRSAKey());
-      if (jwsObject.verify(verifier)) {
-        final Map<String, Object> payload = jwsObject.getPayload().toJSONObject();
-        if (payload.containsKey("exp")) {
-          return ((Long) payload.get("exp") * 1000) > new Date().getTime();
+    return jwtIsValid(JWSObject.parse(jwt), jwk);
+  }
+
+  @Override
+  public boolean jwtIsValid(@NonNull final JWSObject jwsObject, final String jwk)
+      throws ParseException, IOException, JOSEException {
+    final KeySet keySet = getKeySet(jwk);
+
+    // The hash covers the header, payload and signature, so a token is only found in the cache
+    // if it is identical to one that was verified against this JWK.
+    final String tokenHash = Hashing.sha256()
+        .hashString(jwsObject.serialize(), StandardCharsets.UTF_8)
+        .toString();
+    final Long cachedExpiry = keySet.verifiedTokens.getIfPresent(tokenHash);
+    if (cachedExpiry != null) {
+      return cachedExpiry > new Date().getTime();
+    }
+
+    final JWSVerifier verifier = keySet.getVerifier(jwsObject.getHeader().getKeyID());
+    if (verifier != null && jwsObject.verify(verifier)) {
+      final Map<String, Object> payload = jwsObject.getPayload().toJSONObject();
+      if (payload.containsKey("exp")) {
+        final long expiry = (Long) payload.get("exp") * 1000;
+        if (expiry > new Date().getTime()) {
+          keySet.verifiedTokens.put(tokenHash, expiry);
+          return true;
         }
       }
     }
 
     return false;
   }
+
+  /**
+   * Returns the parsed JWK set for the config string. Two threads may parse the same string at
+   * once, but both results are equivalent, and only one is kept.
+   */
+  private KeySet getKeySet(final String jwk) throws ParseException {
+    final KeySet cached = keySets.getIfPresent(jwk);
+    if (cached != null) {
+      return cached;
+    }
+
+    final String jwkDecoded = new String(Base64.getDecoder().decode(jwk));
+    final KeySet keySet = new KeySet(JWKSet.parse(jwkDecoded));
+    keySets.put(jwk, keySet);
+    return keySet;
+  }
+
+  /**
+   * A parsed JWK set, along with the verifiers built from its keys and the tokens it has verified.
+   */
+  private class KeySet {
+
+    private final JWKSet publicKeys;
+    private final Map<String, JWSVerifier> verifiers = new ConcurrentHashMap<>();
+    private final Cache<String, Long> verifiedTokens = CacheBuilder.newBuilder()
+        .maximumSize(maximumVerifiedTokens)
+        .expireAfterWrite(verifiedTokenTtlSeconds, TimeUnit.SECONDS)
+        .build();
+
+    KeySet(final JWKSet publicKeys) {
+      this.publicKeys = publicKeys;
+    }
+
+    /**
+     * Returns the verifier for the key ID, or null if the JWK set has no matching key.
+     */
+    JWSVerifier getVerifier(final String keyId) throws JOSEException {
+      if (keyId == null) {
+        return null;
+      }
+
+      final JWSVerifier cached = verifiers.get(keyId);
+      if (cached != null) {
+        return cached;
+      }
+
+      final JWK key = publicKeys.getKeyByKeyId(keyId);
+      if (key == null) {
+        return null;
+      }
+
+      final JWSVerifier verifier = new RSASSAVerifier(key.toRSAKey());
+      verifiers.put(keyId, verifier);
+      return verifier;
+    }
+  }
 }
@@ -4,6 +4,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 import com.octopus.encryption.impl.AesCryptoUtils;
+import com.octopus.exceptions.EncryptionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -49,4 +55,46 @@ public class CryptoUtilsTest {
     Assertions.assertThrows(NullPointerException.class, () -> AES_CRYPTO_UTILS.decrypt(null, password, salt));
     Assertions.assertThrows(IllegalArgumentException.class, () -> AES_CRYPTO_UTILS.decrypt(" ", password, salt));
   }
+
+  @Test
+  public void testDecryptionWithNewInstance() {
+    final String password = RandomStringUtils.random(32, true, true);
+    final String salt = RandomStringUtils.random(32, true, true);
+
+    final String encrypted = AES_CRYPTO_UTILS.encrypt("value", password, salt);
+    assertEquals("value", new AesCryptoUtils().decrypt(encrypted, password, salt));
+    assertEquals("value", AES_CRYPTO_UTILS.decrypt(encrypted, password, salt));
+  }
+
+  @Test
+  public void testConcurrentEncryptionAndDecryption() throws Exception {
+    final String password = RandomStringUtils.random(32, true, true);
+    final String salt = RandomStringUtils.random(32, true, true);
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 200; ++i) {
+        final String value = RandomStringUtils.random(32, true, true);
+        results.add(executor.submit(() -> value.equals(AES_CRYPTO_UTILS.decrypt(
+            AES_CRYPTO_UTILS.encrypt(value, password, salt), password, salt))));
+      }
+      for (final Future<Boolean> result : results) {
+        Assertions.assertTrue(result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testDecryptionWithWrongPassword() {
+    final String password = RandomStringUtils.random(32, true, true);
+    final String salt = RandomStringUtils.random(32, true, true);
+    final String encrypted = AES_CRYPTO_UTILS.encrypt("value", password, salt);
+
+    Assertions.assertThrows(EncryptionException.class, () -> AES_CRYPTO_UTILS.decrypt(
+        encrypted, RandomStringUtils.random(32, true, true), salt));
+    // the cipher is reset and reused after a failure
+    assertEquals("value", AES_CRYPTO_UTILS.decrypt(encrypted, password, salt));
+  }
 }
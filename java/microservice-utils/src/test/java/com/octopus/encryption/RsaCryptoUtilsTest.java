@@ -2,13 +2,20 @@ package com.octopus.encryption;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.google.common.io.Resources;
 import com.octopus.encryption.impl.RsaCryptoUtilsDecryptor;
 import com.octopus.encryption.impl.RsaCryptoUtilsEncryptor;
+import com.octopus.exceptions.EncryptionException;
 import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.crypto.NoSuchPaddingException;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,4 +51,47 @@ public class RsaCryptoUtilsTest {
       assertEquals(generatedString, decrypted);
     }
   }
+
+  @Test
+  public void verifyBatchEncryptionAndDecryption() {
+    final List<String> values = new ArrayList<>();
+    for (int i = 0; i < 20; ++i) {
+      values.add(RandomStringUtils.random(32, true, true));
+    }
+
+    final List<String> encrypted = rsaCryptoUtilsEncryptor.encrypt(values, publicKeyBase64);
+    assertEquals(values.size(), encrypted.size());
+    assertEquals(values, rsaCryptoUtilsDecryptor.decrypt(encrypted, privateKeyBase64));
+    assertEquals(values.get(0), rsaCryptoUtilsDecryptor.decrypt(encrypted.get(0), privateKeyBase64));
+  }
+
+  @Test
+  public void verifyConcurrentEncryptionAndDecryption() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 200; ++i) {
+        results.add(executor.submit(() -> {
+          final String generatedString = RandomStringUtils.random(32, true, true);
+          return generatedString.equals(rsaCryptoUtilsDecryptor.decrypt(
+              rsaCryptoUtilsEncryptor.encrypt(generatedString, publicKeyBase64),
+              privateKeyBase64));
+        }));
+      }
+
+      for (final Future<Boolean> result : results) {
+        assertEquals(true, result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void verifyInvalidKey() {
+    assertThrows(EncryptionException.class,
+        () -> rsaCryptoUtilsEncryptor.encrypt("value", "bm90IGEga2V5"));
+    assertThrows(EncryptionException.class,
+        () -> rsaCryptoUtilsDecryptor.decrypt("value", "bm90IGEga2V5"));
+  }
 }
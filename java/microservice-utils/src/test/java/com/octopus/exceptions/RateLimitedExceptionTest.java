@@ -0,0 +1,14 @@
+package com.octopus.exceptions;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RateLimitedExceptionTest {
+
+  @Test
+  public void verifyValidInputs() {
+    Assertions.assertDoesNotThrow(() -> new RateLimitedException("hi"));
+    Assertions.assertDoesNotThrow(() -> new RateLimitedException(null));
+    Assertions.assertEquals(10, new RateLimitedException("hi", 10).getRetryAfterMillis());
+  }
+}
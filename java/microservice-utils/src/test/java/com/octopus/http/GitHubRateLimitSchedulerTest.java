@@ -0,0 +1,196 @@
+package com.octopus.http;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.exceptions.RateLimitedException;
+import com.octopus.http.impl.GitHubRateLimitScheduler;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GitHubRateLimitSchedulerTest {
+
+  private static final String CREDENTIAL = "user:test";
+  private MutableClock clock;
+  private RateLimitScheduler scheduler;
+
+  @BeforeEach
+  public void init() {
+    clock = new MutableClock();
+    scheduler = GitHubRateLimitScheduler.builder()
+        .lowPriorityReservePercent(20)
+        .maxWaitMillis(1000)
+        .clock(clock)
+        .build();
+  }
+
+  @Test
+  public void testIdentify() {
+    final String basic = "Basic " + Base64.getEncoder()
+        .encodeToString("clientid:secret".getBytes(StandardCharsets.UTF_8));
+
+    assertEquals("anonymous", scheduler.identify(null));
+    assertEquals("anonymous", scheduler.identify(" "));
+    assertEquals("app:clientid", scheduler.identify(basic));
+    assertTrue(scheduler.identify("token secret").startsWith("user:"));
+    assertFalse(scheduler.identify("token secret").contains("secret"));
+    assertEquals(scheduler.identify("token secret"), scheduler.identify("token secret"));
+    assertTrue(scheduler.identify("Basic !!!").startsWith("user:"));
+  }
+
+  @Test
+  public void testUnknownQuotaIsAllowed() {
+    for (int i = 0; i < 100; ++i) {
+      scheduler.acquire(CREDENTIAL, RequestPriority.LOW);
+    }
+    assertEquals(100, scheduler.getStats().getAllowed());
+    assertTrue(scheduler.getStats().getQuotas().isEmpty());
+  }
+
+  @Test
+  public void testLowPriorityIsShedFirst() {
+    scheduler.update(CREDENTIAL, 200, headers(10, 3, 3600));
+    scheduler.acquire(CREDENTIAL, RequestPriority.LOW);
+
+    // 2 remaining is within the 20% reserve of a limit of 10
+    assertThrows(RateLimitedException.class,
+        () -> scheduler.acquire(CREDENTIAL, RequestPriority.LOW));
+    scheduler.acquire(CREDENTIAL, RequestPriority.HIGH);
+    scheduler.acquire(CREDENTIAL, RequestPriority.HIGH);
+    assertThrows(RateLimitedException.class,
+        () -> scheduler.acquire(CREDENTIAL, RequestPriority.HIGH));
+
+    final RateLimitStats stats = scheduler.getStats();
+    assertEquals(3, stats.getAllowed());
+    assertEquals(1, stats.getShedLow());
+    assertEquals(1, stats.getShedHigh());
+    assertEquals(1, stats.getTrackedCredentials());
+    assertEquals(0, stats.getQuotas().get(0).getRemaining());
+    assertEquals(10, stats.getQuotas().get(0).getLimit());
+  }
+
+  @Test
+  public void testHasQuotaDoesNotReserve() {
+    scheduler.update(CREDENTIAL, 200, headers(10, 3, 3600));
+
+    assertTrue(scheduler.hasQuota(CREDENTIAL, RequestPriority.LOW));
+    assertTrue(scheduler.hasQuota(CREDENTIAL, RequestPriority.LOW));
+    assertEquals(3, scheduler.getStats().getQuotas().get(0).getRemaining());
+
+    scheduler.acquire(CREDENTIAL, RequestPriority.LOW);
+    assertFalse(scheduler.hasQuota(CREDENTIAL, RequestPriority.LOW));
+    assertTrue(scheduler.hasQuota(CREDENTIAL, RequestPriority.HIGH));
+  }
+
+  @Test
+  public void testQuotaRefillsAfterReset() {
+    scheduler.update(CREDENTIAL, 200, headers(10, 0, 60));
+    assertThrows(RateLimitedException.class,
+        () -> scheduler.acquire(CREDENTIAL, RequestPriority.HIGH));
+
+    clock.advance(61000);
+    assertDoesNotThrow(() -> scheduler.acquire(CREDENTIAL, RequestPriority.LOW));
+    assertEquals(9, scheduler.getStats().getQuotas().get(0).getRemaining());
+  }
+
+  @Test
+  public void testRequestWaitsForShortReset() {
+    final RateLimitScheduler realTime = GitHubRateLimitScheduler.builder()
+        .maxWaitMillis(5000)
+        .build();
+    final long reset = System.currentTimeMillis() / 1000 + 1;
+    realTime.update(CREDENTIAL, 200, name -> Map.of(
+        "X-RateLimit-Limit", "10",
+        "X-RateLimit-Remaining", "0",
+        "X-RateLimit-Reset", String.valueOf(reset)).get(name));
+
+    realTime.acquire(CREDENTIAL, RequestPriority.HIGH);
+    assertEquals(1, realTime.getStats().getDelayed());
+  }
+
+  @Test
+  public void testRetryAfterBlocksCredential() {
+    scheduler.update(CREDENTIAL, 403, name -> "Retry-After".equals(name) ? "30" : null);
+
+    assertThrows(RateLimitedException.class,
+        () -> scheduler.acquire(CREDENTIAL, RequestPriority.HIGH));
+    assertTrue(scheduler.getStats().getQuotas().get(0).isBlocked());
+    // Other credentials are not affected
+    scheduler.acquire("user:other", RequestPriority.HIGH);
+
+    clock.advance(31000);
+    scheduler.acquire(CREDENTIAL, RequestPriority.HIGH);
+  }
+
+  @Test
+  public void testTooManyRequestsBlocksCredential() {
+    scheduler.update(CREDENTIAL, 429, name -> null);
+
+    assertThrows(RateLimitedException.class,
+        () -> scheduler.acquire(CREDENTIAL, RequestPriority.HIGH));
+  }
+
+  @Test
+  public void testExhaustedQuotaBlocksUntilReset() {
+    scheduler.update(CREDENTIAL, 403, headers(10, 0, 120));
+
+    assertThrows(RateLimitedException.class,
+        () -> scheduler.acquire(CREDENTIAL, RequestPriority.HIGH));
+    clock.advance(121000);
+    scheduler.acquire(CREDENTIAL, RequestPriority.HIGH);
+  }
+
+  private Function<String, String> headers(
+      final long limit,
+      final long remaining,
+      final long resetInSeconds) {
+    final Map<String, String> headers = Map.of(
+        "X-RateLimit-Limit", String.valueOf(limit),
+        "X-RateLimit-Remaining", String.valueOf(remaining),
+        "X-RateLimit-Reset", String.valueOf(clock.millis() / 1000 + resetInSeconds));
+    return headers::get;
+  }
+
+  /**
+   * A clock that only moves when the test advances it.
+   */
+  private static class MutableClock extends Clock {
+
+    private long millis = 1_000_000_000_000L;
+
+    void advance(final long delta) {
+      millis += delta;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+  }
+}
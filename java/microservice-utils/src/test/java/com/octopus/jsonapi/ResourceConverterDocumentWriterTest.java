@@ -0,0 +1,90 @@
+package com.octopus.jsonapi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.jasminb.jsonapi.JSONAPIDocument;
+import com.github.jasminb.jsonapi.ResourceConverter;
+import com.github.jasminb.jsonapi.annotations.Id;
+import com.github.jasminb.jsonapi.annotations.Type;
+import com.octopus.jsonapi.impl.ResourceConverterDocumentWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class ResourceConverterDocumentWriterTest {
+
+  private static final JsonApiDocumentWriter WRITER =
+      new ResourceConverterDocumentWriter(new ResourceConverter(Message.class));
+
+  @Test
+  public void testWritersAgree() {
+    final JSONAPIDocument<Message> document = new JSONAPIDocument<>(new Message("1", "héllo"));
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    WRITER.writeDocument(document, outputStream);
+
+    final byte[] bytes = WRITER.writeDocument(document);
+    assertArrayEquals(bytes, outputStream.toByteArray());
+    assertEquals(new String(bytes, StandardCharsets.UTF_8), WRITER.writeDocumentAsString(document));
+    assertTrue(WRITER.writeDocumentAsString(document).contains("\"text\":\"héllo\""));
+  }
+
+  @Test
+  public void testWriteCollection() {
+    final String collection = WRITER.writeDocumentCollectionAsString(
+        new JSONAPIDocument<>(List.of(new Message("1", "one"), new Message("2", "two"))));
+
+    assertTrue(collection.startsWith("{\"data\":["));
+    assertTrue(collection.contains("\"text\":\"one\""));
+    assertTrue(collection.contains("\"text\":\"two\""));
+  }
+
+  @Test
+  public void testWriterIsThreadSafe() throws InterruptedException, ExecutionException {
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<String>> results = IntStream.range(0, 200)
+          .mapToObj(i -> executor.submit(() -> WRITER.writeDocumentAsString(
+              new JSONAPIDocument<>(new Message(String.valueOf(i), "message" + i)))))
+          .collect(Collectors.toList());
+
+      for (int i = 0; i < results.size(); ++i) {
+        assertTrue(results.get(i).get().contains("\"text\":\"message" + i + "\""));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Type("messages")
+  public static class Message {
+
+    @Id
+    private String id;
+    private String text;
+
+    public Message() {
+    }
+
+    public Message(final String id, final String text) {
+      this.id = id;
+      this.text = text;
+    }
+
+    public String getId() {
+      return id;
+    }
+
+    public String getText() {
+      return text;
+    }
+  }
+}
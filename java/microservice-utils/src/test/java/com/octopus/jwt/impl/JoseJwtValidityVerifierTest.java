@@ -2,12 +2,23 @@ package com.octopus.jwt.impl;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
 import com.octopus.jwt.JwtValidator;
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 public class JoseJwtValidityVerifierTest {
@@ -43,4 +54,69 @@ public class JoseJwtValidityVerifierTest {
       JWT_VALIDATOR.jwtIsValid("blah", jwkBase64);
     });
   }
+
+  @Test
+  public void verifyValidToken() throws ParseException, IOException, JOSEException {
+    final RSAKey key = new RSAKeyGenerator(2048).keyID("test").generate();
+    final String jwkBase64 = toBase64(key);
+    final String jwt = sign(key, new Date().getTime() / 1000 + 3600);
+
+    assertTrue(JWT_VALIDATOR.jwtIsValid(jwt, jwkBase64));
+    // The second check is answered from the verified token cache
+    assertTrue(JWT_VALIDATOR.jwtIsValid(jwt, jwkBase64));
+    assertTrue(JWT_VALIDATOR.jwtIsValid(JWSObject.parse(jwt), jwkBase64));
+  }
+
+  @Test
+  public void verifyCachedTokenIsNotValidForOtherJwk()
+      throws ParseException, IOException, JOSEException {
+    final RSAKey key = new RSAKeyGenerator(2048).keyID("test").generate();
+    final RSAKey otherKey = new RSAKeyGenerator(2048).keyID("test").generate();
+    final String jwt = sign(key, new Date().getTime() / 1000 + 3600);
+
+    assertTrue(JWT_VALIDATOR.jwtIsValid(jwt, toBase64(key)));
+    assertFalse(JWT_VALIDATOR.jwtIsValid(jwt, toBase64(otherKey)));
+  }
+
+  @Test
+  public void verifyTamperedTokenNotValid() throws ParseException, IOException, JOSEException {
+    final RSAKey key = new RSAKeyGenerator(2048).keyID("test").generate();
+    final String jwkBase64 = toBase64(key);
+    final String jwt = sign(key, new Date().getTime() / 1000 + 3600);
+    assertTrue(JWT_VALIDATOR.jwtIsValid(jwt, jwkBase64));
+
+    // Swap the payload of a verified token while keeping its signature
+    final String[] parts = jwt.split("\\.");
+    final String tamperedPayload = new Payload(Map.of("exp", new Date().getTime() / 1000 + 7200))
+        .toBase64URL()
+        .toString();
+    final String tampered = parts[0] + "." + tamperedPayload + "." + parts[2];
+    assertFalse(JWT_VALIDATOR.jwtIsValid(tampered, jwkBase64));
+  }
+
+  @Test
+  public void verifyCachedTokenExpires()
+      throws ParseException, IOException, JOSEException, InterruptedException {
+    final RSAKey key = new RSAKeyGenerator(2048).keyID("test").generate();
+    final String jwkBase64 = toBase64(key);
+    final long expiry = new Date().getTime() / 1000 + 2;
+    final String jwt = sign(key, expiry);
+
+    assertTrue(JWT_VALIDATOR.jwtIsValid(jwt, jwkBase64));
+    Thread.sleep(expiry * 1000 - new Date().getTime() + 100);
+    assertFalse(JWT_VALIDATOR.jwtIsValid(jwt, jwkBase64));
+  }
+
+  private static String toBase64(final RSAKey key) {
+    return Base64.getEncoder().encodeToString(
+        new JWKSet(key.toPublicJWK()).toString().getBytes());
+  }
+
+  private static String sign(final RSAKey key, final long expiry) throws JOSEException {
+    final JWSObject jwsObject = new JWSObject(
+        new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+        new Payload(Map.of("exp", expiry, "client_id", "client")));
+    jwsObject.sign(new RSASSASigner(key));
+    return jwsObject.serialize();
+  }
 }
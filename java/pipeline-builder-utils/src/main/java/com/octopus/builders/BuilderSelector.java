@@ -0,0 +1,37 @@
+package com.octopus.builders;
+
+import com.octopus.repoclients.RepoClient;
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Selects the pipeline builder to use for a repo.
+ */
+public interface BuilderSelector extends Closeable {
+
+  /**
+   * Finds the highest priority builder that can build a pipeline for the repo.
+   *
+   * @param builders The builders to test.
+   * @param accessor The repo to test the builders against.
+   * @return The selected builder and the facts it found, or empty if no builder matched. The
+   *     selection is marked as degraded if it may be wrong because some probes could not answer.
+   */
+  Optional<SelectedBuilder> selectBuilder(
+      Collection<PipelineBuilder> builders,
+      RepoClient accessor);
+
+  /**
+   * Returns the statistics of the selections made so far.
+   *
+   * @return The selection statistics.
+   */
+  BuilderSelectorStats getStats();
+
+  /**
+   * Shuts down any threads used by the selector.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,33 @@
+package com.octopus.builders;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The statistics of a BuilderSelector.
+ */
+@Value
+@Builder
+public class BuilderSelectorStats {
+
+  /**
+   * The number of repos builders were selected for.
+   */
+  long selections;
+  /**
+   * The number of selections that reached the deadline before all the required probes answered.
+   */
+  long deadlinesExceeded;
+  /**
+   * The number of probes that were cancelled because their answer was no longer needed.
+   */
+  long cancelledProbes;
+  /**
+   * The number of probes that threw an exception.
+   */
+  long failedProbes;
+  /**
+   * The average time taken to select a builder.
+   */
+  double averageSelectionMillis;
+}
@@ -0,0 +1,41 @@
+package com.octopus.builders;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A generated pipeline, along with the name of the builder that generated it.
+ */
+@Value
+@AllArgsConstructor
+public class CachedPipeline {
+
+  /**
+   * The name of the builder that generated the pipeline.
+   */
+  @NonNull
+  String builderName;
+
+  /**
+   * The generated pipeline.
+   */
+  @NonNull
+  String pipeline;
+
+  /**
+   * true if the pipeline was generated from guessed answers about the repo. A degraded pipeline is
+   * returned to the caller, but is not cached.
+   */
+  boolean degraded;
+
+  /**
+   * Creates a pipeline that was generated from complete answers about the repo.
+   *
+   * @param builderName The name of the builder that generated the pipeline.
+   * @param pipeline    The generated pipeline.
+   */
+  public CachedPipeline(@NonNull final String builderName, @NonNull final String pipeline) {
+    this(builderName, pipeline, false);
+  }
+}
@@ -0,0 +1,72 @@
+package com.octopus.builders;
+
+import java.util.Map;
+import java.util.Optional;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * The immutable result of a builder testing a repo. As well as recording whether the builder can
+ * build a pipeline for the repo, it holds any facts found along the way (like whether the repo
+ * includes a Maven wrapper script) that are needed to generate the pipeline.
+ *
+ * <p>Builders are shared between requests, so these facts must be passed from detection to
+ * generation in this object rather than being saved in the builder.
+ */
+@Value
+@Builder
+public class DetectionResult {
+
+  private static final DetectionResult NOT_MATCHED = DetectionResult.builder().build();
+  private static final DetectionResult MATCHED = DetectionResult.builder().matched(true).build();
+
+  /**
+   * true if the builder can build a pipeline for the repo.
+   */
+  boolean matched;
+  /**
+   * The facts found while testing the repo.
+   */
+  @Singular
+  Map<String, String> facts;
+
+  /**
+   * Returns a result for a repo the builder can not build.
+   *
+   * @return A result with no facts that did not match.
+   */
+  public static DetectionResult notMatched() {
+    return NOT_MATCHED;
+  }
+
+  /**
+   * Returns a result for a repo the builder can build, with no additional facts.
+   *
+   * @return A result with no facts that matched.
+   */
+  public static DetectionResult matched() {
+    return MATCHED;
+  }
+
+  /**
+   * Returns a fact found while testing the repo.
+   *
+   * @param name The name of the fact.
+   * @return The value of the fact, or empty if it was not found.
+   */
+  public Optional<String> getFact(@NonNull final String name) {
+    return Optional.ofNullable(facts.get(name));
+  }
+
+  /**
+   * Returns a boolean fact found while testing the repo.
+   *
+   * @param name The name of the fact.
+   * @return true if the fact was recorded as true, and false otherwise.
+   */
+  public boolean getFlag(@NonNull final String name) {
+    return getFact(name).map(Boolean::parseBoolean).orElse(false);
+  }
+}
@@ -0,0 +1,31 @@
+package com.octopus.builders;
+
+import com.octopus.repoclients.RepoClient;
+
+/**
+ * Detects the language and tooling of a repo. Detectors are shared by the builders of every
+ * target, like Jenkins and GitHub Actions, so a repo is tested once no matter how many pipelines
+ * are generated from it.
+ *
+ * <p>Detectors are shared between concurrent requests, so they must not hold any state about the
+ * repo being tested.
+ */
+public interface LanguageDetector {
+
+  /**
+   * Defines the name of the language. This matches the name of the builders that generate a
+   * pipeline from the facts returned by this detector.
+   *
+   * @return The language name.
+   */
+  String getName();
+
+  /**
+   * Tests the repo, returning whether it uses this language along with the facts about its tooling
+   * that are needed to generate a pipeline.
+   *
+   * @param accessor The repo to test.
+   * @return The result of testing the repo.
+   */
+  DetectionResult detect(RepoClient accessor);
+}
@@ -0,0 +1,59 @@
+package com.octopus.builders;
+
+import com.octopus.repoclients.RepoClient;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Generates pipelines for many targets, like Jenkins and GitHub Actions, from a single detection
+ * pass over a repo.
+ */
+public interface MultiTargetGenerator {
+
+  /**
+   * Returns the names of the targets, in the order their pipelines are generated.
+   *
+   * @return The target names.
+   */
+  List<String> getTargets();
+
+  /**
+   * Returns the builders of a target.
+   *
+   * @param target The name of the target.
+   * @return The builders that generate the pipelines of the target.
+   */
+  List<PipelineBuilder> getBuilders(String target);
+
+  /**
+   * Detects the language and tooling of the repo.
+   *
+   * @param accessor The repo to test.
+   * @return The facts found in the repo, or empty if no language was detected.
+   */
+  Optional<RepoFacts> detect(RepoClient accessor);
+
+  /**
+   * Generates the pipeline of every target from the facts found by detect().
+   *
+   * @param accessor The repo to generate the pipelines for.
+   * @param facts    The facts found by detect().
+   * @param targets  The targets to generate pipelines for.
+   * @return The pipelines keyed by target name. Targets with no builder for the repo are omitted,
+   *     and pipelines generated from guessed answers about the repo are marked as degraded.
+   */
+  Map<String, CachedPipeline> generate(RepoClient accessor, RepoFacts facts, List<String> targets);
+
+  /**
+   * Detects the language of the repo and generates the pipeline of every target.
+   *
+   * @param accessor The repo to generate the pipelines for.
+   * @return The pipelines keyed by target name.
+   */
+  default Map<String, CachedPipeline> generate(final RepoClient accessor) {
+    return detect(accessor)
+        .map(f -> generate(accessor, f, getTargets()))
+        .orElse(Map.of());
+  }
+}
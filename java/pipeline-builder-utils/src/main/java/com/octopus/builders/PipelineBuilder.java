@@ -5,6 +5,10 @@ import com.octopus.repoclients.RepoClient;
 /**
  * This interface defines a pipeline builder. Each builder is responsible for detecting files in a
  * repo that indicate that it can build a suitable pipeline.
+ *
+ * <p>Builders are shared between concurrent requests, so they must not hold any state about the
+ * repo being tested. Anything found during detection that is needed to generate the pipeline is
+ * returned in a DetectionResult and passed back to generate().
  */
 public interface PipelineBuilder {
 
@@ -22,6 +26,29 @@ public interface PipelineBuilder {
    */
   Boolean canBuild(RepoClient accessor);
 
+  /**
+   * Tests the repo, returning whether this builder can build a pipeline along with any facts
+   * needed to generate it. Builders that need no facts can rely on the default implementation.
+   *
+   * @param accessor The repo to test.
+   * @return The result of testing the repo.
+   */
+  default DetectionResult detect(final RepoClient accessor) {
+    return canBuild(accessor) ? DetectionResult.matched() : DetectionResult.notMatched();
+  }
+
+  /**
+   * Tests the facts found by detect(), or by the shared LanguageDetector with the same name as this
+   * builder, to decide if this builder can generate a pipeline from them. Builders that can build
+   * every repo their detector matches can rely on the default implementation.
+   *
+   * @param detection The facts found by testing the repo.
+   * @return true if this builder can generate a pipeline from the facts, and false otherwise.
+   */
+  default boolean accepts(final DetectionResult detection) {
+    return detection.isMatched();
+  }
+
   /**
    * Builds the pipeline from a given repo.
    *
@@ -29,6 +56,18 @@ public interface PipelineBuilder {
    */
   String generate(RepoClient accessor);
 
+  /**
+   * Builds the pipeline from a given repo using the facts found by detect(). Builders that need no
+   * facts can rely on the default implementation.
+   *
+   * @param accessor  The repo to build the pipeline for.
+   * @param detection The result of calling detect() on the repo.
+   * @return The pipeline generated from the repo
+   */
+  default String generate(final RepoClient accessor, final DetectionResult detection) {
+    return generate(accessor);
+  }
+
   /**
    * The builder priority. Higher number means this builder will be tested first.
    *
@@ -0,0 +1,32 @@
+package com.octopus.builders;
+
+import java.util.Optional;
+
+/**
+ * Defines a cache of generated pipelines.
+ */
+public interface PipelineCache {
+
+  /**
+   * Returns the cached pipeline.
+   *
+   * @param key The key identifying the pipeline.
+   * @return The cached pipeline, if there is one.
+   */
+  Optional<CachedPipeline> get(PipelineCacheKey key);
+
+  /**
+   * Caches a pipeline.
+   *
+   * @param key      The key identifying the pipeline.
+   * @param pipeline The pipeline to cache.
+   */
+  void put(PipelineCacheKey key, CachedPipeline pipeline);
+
+  /**
+   * Returns a snapshot of the cache statistics.
+   *
+   * @return The cache statistics.
+   */
+  PipelineCacheStats getStats();
+}
@@ -0,0 +1,93 @@
+package com.octopus.builders;
+
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Identifies a generated pipeline. A pipeline only depends on the files in the repo, the builders
+ * that generated it, and the backend it was generated for, so a pipeline generated for the same
+ * commit by the same builders can be reused.
+ */
+@Value
+@Builder(toBuilder = true)
+public class PipelineCacheKey {
+
+  /**
+   * The URL of the repo.
+   */
+  @NonNull
+  String repo;
+
+  /**
+   * The SHA of the commit at the head of the default branch.
+   */
+  @NonNull
+  String commit;
+
+  /**
+   * The version of the builders, as returned by getBuilderVersion().
+   */
+  @NonNull
+  String builderVersion;
+
+  /**
+   * The backend generating the pipeline, like GitHub Actions or Jenkins.
+   */
+  @NonNull
+  String backend;
+
+  /**
+   * Returns a hash of the key, which is safe to use as a file name.
+   *
+   * @return The hash identifying the key.
+   */
+  public String getId() {
+    return Hashing.sha256()
+        .hashString(
+            normalizeRepo(repo) + "\n" + commit + "\n" + builderVersion + "\n" + backend,
+            StandardCharsets.UTF_8)
+        .toString();
+  }
+
+  /**
+   * Builds the version of a set of builders from the application version and the builder classes,
+   * so adding, removing or upgrading a builder invalidates the cached pipelines.
+   *
+   * @param builders           The builders used to generate pipelines.
+   * @param applicationVersion The version of the application holding the builders.
+   * @return The version of the builders.
+   */
+  public static String getBuilderVersion(
+      @NonNull final Collection<PipelineBuilder> builders,
+      @NonNull final String applicationVersion) {
+    return applicationVersion + ":" + Hashing.sha256()
+        .hashString(
+            builders.stream()
+                .map(b -> b.getClass().getName() + "=" + b.getName())
+                .sorted()
+                .collect(Collectors.joining(",")),
+            StandardCharsets.UTF_8)
+        .toString()
+        .substring(0, 12);
+  }
+
+  /**
+   * GitHub treats the owner and name of a repo as case insensitive, and the same repo can be
+   * referenced with or without a trailing slash or .git suffix.
+   */
+  private static String normalizeRepo(final String repo) {
+    String normalized = repo.trim().toLowerCase();
+    if (normalized.endsWith("/")) {
+      normalized = normalized.substring(0, normalized.length() - 1);
+    }
+    if (normalized.endsWith(".git")) {
+      normalized = normalized.substring(0, normalized.length() - 4);
+    }
+    return normalized;
+  }
+}
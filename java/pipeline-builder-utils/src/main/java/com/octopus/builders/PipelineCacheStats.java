@@ -0,0 +1,45 @@
+package com.octopus.builders;
+
+import java.util.Map;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * A point in time snapshot of the statistics of a pipeline cache.
+ */
+@Value
+@Builder
+public class PipelineCacheStats {
+
+  /**
+   * The number of pipelines found in any tier.
+   */
+  long hits;
+
+  /**
+   * The number of pipelines that were not found in any tier.
+   */
+  long misses;
+
+  /**
+   * The number of pipelines added to the cache.
+   */
+  long puts;
+
+  /**
+   * The number of hits in each tier.
+   */
+  @Singular
+  Map<String, Long> tierHits;
+
+  /**
+   * Returns the fraction of lookups that found a cached pipeline.
+   *
+   * @return The hit rate between 0 and 1.
+   */
+  public double getHitRate() {
+    final long lookups = hits + misses;
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+}
@@ -0,0 +1,33 @@
+package com.octopus.builders;
+
+import java.util.Optional;
+
+/**
+ * A single level of a pipeline cache, like memory or local files. Tiers must not throw; a tier
+ * that can not read or write an entry behaves as though the entry was not cached.
+ */
+public interface PipelineCacheTier {
+
+  /**
+   * Returns the name of the tier, used when reporting statistics.
+   *
+   * @return The name of the tier.
+   */
+  String getName();
+
+  /**
+   * Returns the cached pipeline.
+   *
+   * @param id The ID of the pipeline cache key.
+   * @return The cached pipeline, if there is one.
+   */
+  Optional<CachedPipeline> get(String id);
+
+  /**
+   * Caches a pipeline.
+   *
+   * @param id       The ID of the pipeline cache key.
+   * @param pipeline The pipeline to cache.
+   */
+  void put(String id, CachedPipeline pipeline);
+}
@@ -0,0 +1,46 @@
+package com.octopus.builders;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs a task, like generating a pipeline, against every repo in a batch. The tasks of all the
+ * batches share one concurrency limit, so a large batch can not exhaust the threads or the GitHub
+ * quota of the service.
+ */
+public interface RepoBatchRunner extends Closeable {
+
+  /**
+   * Runs the task against every repo, passing each result to the consumer as soon as it is
+   * available. The consumer is called on the calling thread, one result at a time, in the order
+   * the tasks finish, which allows results to be streamed to the client. If the consumer throws an
+   * exception, the remaining tasks are cancelled and the exception is rethrown.
+   *
+   * @param repos    The repos to process.
+   * @param task     The task run against each repo.
+   * @param failure  Builds the result of a repo whose task threw an exception.
+   * @param consumer Receives the result of each repo.
+   * @param <T>      The type of the results.
+   */
+  <T> void run(
+      List<String> repos,
+      Function<String, T> task,
+      BiFunction<String, Exception, T> failure,
+      Consumer<T> consumer);
+
+  /**
+   * Returns the statistics of the batches run so far.
+   *
+   * @return The batch statistics.
+   */
+  RepoBatchStats getStats();
+
+  /**
+   * Shuts down any threads used by the runner.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,33 @@
+package com.octopus.builders;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The statistics of a RepoBatchRunner.
+ */
+@Value
+@Builder
+public class RepoBatchStats {
+
+  /**
+   * The number of batches that were started.
+   */
+  long batches;
+  /**
+   * The number of batches that are running now.
+   */
+  long activeBatches;
+  /**
+   * The number of repos that were processed.
+   */
+  long repos;
+  /**
+   * The number of repos whose task threw an exception.
+   */
+  long failedRepos;
+  /**
+   * The number of repos that were not processed because their batch was abandoned.
+   */
+  long cancelledRepos;
+}
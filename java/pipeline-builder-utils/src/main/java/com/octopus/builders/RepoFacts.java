@@ -0,0 +1,40 @@
+package com.octopus.builders;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * The language and tooling of a repo, found once by the shared detection stage and then used to
+ * generate the pipeline of every target.
+ */
+@Value
+public class RepoFacts {
+
+  /**
+   * The name of the detected language, which matches the name of the builders of each target.
+   */
+  @NonNull
+  String language;
+  /**
+   * The facts found while detecting the language.
+   */
+  @NonNull
+  DetectionResult detection;
+  /**
+   * true if the language was detected from a degraded selection.
+   */
+  boolean degraded;
+
+  /**
+   * Builds the facts from the builder selected for a repo.
+   *
+   * @param selectedBuilder The selected builder.
+   * @return The facts found by the selected builder.
+   */
+  public static RepoFacts of(@NonNull final SelectedBuilder selectedBuilder) {
+    return new RepoFacts(
+        selectedBuilder.getBuilder().getName(),
+        selectedBuilder.getDetection(),
+        selectedBuilder.isDegraded());
+  }
+}
@@ -0,0 +1,58 @@
+package com.octopus.builders;
+
+import com.octopus.repoclients.RepoClient;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A builder selected for a repo, along with the facts it found while testing the repo.
+ */
+@Value
+@AllArgsConstructor
+public class SelectedBuilder {
+
+  @NonNull
+  PipelineBuilder builder;
+  @NonNull
+  DetectionResult detection;
+  /**
+   * true if the selection may be wrong, because a probe failed, a request was rate limited, or the
+   * selection deadline passed before every higher priority builder had answered.
+   */
+  boolean degraded;
+
+  /**
+   * Creates a selection that was made from the complete answers of every builder.
+   *
+   * @param builder   The selected builder.
+   * @param detection The facts found by the builder.
+   */
+  public SelectedBuilder(
+      @NonNull final PipelineBuilder builder,
+      @NonNull final DetectionResult detection) {
+    this(builder, detection, false);
+  }
+
+  /**
+   * Generates the pipeline using the facts found when the builder was selected.
+   *
+   * @param accessor The repo the builder was selected for.
+   * @return The generated pipeline.
+   */
+  public String generate(@NonNull final RepoClient accessor) {
+    return builder.generate(accessor, detection);
+  }
+
+  /**
+   * Generates the pipeline, noting if it was generated from a degraded selection or from degraded
+   * answers given by the repo while generating.
+   *
+   * @param accessor The repo the builder was selected for.
+   * @return The generated pipeline.
+   */
+  public CachedPipeline generatePipeline(@NonNull final RepoClient accessor) {
+    final String pipeline = generate(accessor);
+    return new CachedPipeline(builder.getName(), pipeline, degraded || accessor.isDegraded());
+  }
+}
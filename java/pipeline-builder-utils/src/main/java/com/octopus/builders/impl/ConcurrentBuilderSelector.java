@@ -0,0 +1,223 @@
+package com.octopus.builders.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+import static org.jboss.logging.Logger.Level.WARN;
+
+import com.octopus.builders.BuilderSelector;
+import com.octopus.builders.BuilderSelectorStats;
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.SelectedBuilder;
+import com.octopus.repoclients.RepoClient;
+import io.vavr.control.Try;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * A BuilderSelector that runs the detect() probes of every builder at the same time on a
+ * dedicated thread pool. The probes make blocking HTTP requests, so they are kept off the common
+ * ForkJoinPool used by parallel streams.
+ *
+ * <p>Results are consumed in priority order. As soon as a builder answers true and every higher
+ * priority builder has answered false, that builder is selected and the remaining probes are
+ * cancelled. A slow low priority probe therefore never delays the selection of a higher priority
+ * builder.
+ *
+ * <p>Each selection has a deadline. If it passes before the highest priority positive answer is
+ * known, the highest priority builder that has already answered true is used instead.
+ *
+ * <p>A selection is reported as degraded if the deadline passed, a higher priority probe failed, or
+ * the repo client guessed any of its answers. A degraded selection may be wrong, so it is returned
+ * to the caller but the pipeline it generates is not cached.
+ */
+public class ConcurrentBuilderSelector implements BuilderSelector {
+
+  private static final Logger LOG = Logger.getLogger(ConcurrentBuilderSelector.class.toString());
+  private static final int DEFAULT_THREADS = 16;
+  private static final int DEFAULT_QUEUE_SIZE = 256;
+  private static final long DEFAULT_DEADLINE_MILLIS = 20000;
+
+  private final ExecutorService executor;
+  private final long deadlineMillis;
+  private final LongAdder selections = new LongAdder();
+  private final LongAdder deadlinesExceeded = new LongAdder();
+  private final LongAdder cancelledProbes = new LongAdder();
+  private final LongAdder failedProbes = new LongAdder();
+  private final LongAdder selectionNanos = new LongAdder();
+
+  /**
+   * Builds the selector. Any value that is zero or negative is replaced with a sensible default.
+   *
+   * @param threads        The maximum number of probes that can run at once.
+   * @param queueSize      The number of probes that can wait for a thread. Once the queue is full,
+   *                       probes are run on the calling thread.
+   * @param deadlineMillis The time allowed to select a builder.
+   */
+  @Builder
+  public ConcurrentBuilderSelector(
+      final int threads,
+      final int queueSize,
+      final long deadlineMillis) {
+    final int poolSize = threads > 0 ? threads : DEFAULT_THREADS;
+    final AtomicInteger threadCount = new AtomicInteger();
+    final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+        poolSize,
+        poolSize,
+        60,
+        TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueSize > 0 ? queueSize : DEFAULT_QUEUE_SIZE),
+        r -> {
+          final Thread thread = new Thread(r, "builder-probe-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.CallerRunsPolicy());
+    threadPoolExecutor.allowCoreThreadTimeOut(true);
+    this.executor = threadPoolExecutor;
+    this.deadlineMillis = deadlineMillis > 0 ? deadlineMillis : DEFAULT_DEADLINE_MILLIS;
+  }
+
+  @Override
+  public Optional<SelectedBuilder> selectBuilder(
+      @NonNull final Collection<PipelineBuilder> builders,
+      @NonNull final RepoClient accessor) {
+    final long start = System.nanoTime();
+    final long deadline = start + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+
+    final List<PipelineBuilder> sorted = builders.stream()
+        .sorted(Comparator.comparing(PipelineBuilder::getPriority).reversed())
+        .collect(Collectors.toList());
+
+    final List<Future<DetectionResult>> probes = new ArrayList<>(sorted.size());
+    for (final PipelineBuilder builder : sorted) {
+      probes.add(executor.submit(() -> builder.detect(accessor)));
+    }
+
+    try {
+      boolean failed = false;
+      for (int i = 0; i < sorted.size(); ++i) {
+        final Optional<Try<DetectionResult>> result =
+            waitForProbe(sorted.get(i), probes.get(i), deadline);
+        if (result.isEmpty()) {
+          deadlinesExceeded.increment();
+          LOG.log(WARN, "Builder selection for " + accessor.getRepo() + " exceeded the deadline of "
+              + deadlineMillis + "ms while waiting for " + sorted.get(i).getName());
+          return firstCompletedMatch(sorted, probes, i + 1);
+        }
+
+        if (result.get().isFailure()) {
+          // a failed probe is treated as not matching, which may be the wrong answer
+          failed = true;
+        } else if (result.get().get().isMatched()) {
+          LOG.log(DEBUG, "Selected builder " + sorted.get(i).getName() + " for "
+              + accessor.getRepo());
+          return Optional.of(new SelectedBuilder(
+              sorted.get(i),
+              result.get().get(),
+              failed || accessor.isDegraded()));
+        }
+      }
+
+      return Optional.empty();
+    } finally {
+      cancel(probes);
+      selections.increment();
+      selectionNanos.add(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public BuilderSelectorStats getStats() {
+    final long selectionCount = selections.sum();
+    return BuilderSelectorStats.builder()
+        .selections(selectionCount)
+        .deadlinesExceeded(deadlinesExceeded.sum())
+        .cancelledProbes(cancelledProbes.sum())
+        .failedProbes(failedProbes.sum())
+        .averageSelectionMillis(selectionCount == 0
+            ? 0
+            : selectionNanos.sum() / (double) selectionCount / 1_000_000)
+        .build();
+  }
+
+  @Override
+  public void close() {
+    LOG.log(DEBUG, "ConcurrentBuilderSelector.close()");
+    executor.shutdownNow();
+  }
+
+  /**
+   * Waits for a probe to answer.
+   *
+   * @return The answer of the probe or the reason it failed, or empty if the deadline passed first.
+   */
+  private Optional<Try<DetectionResult>> waitForProbe(
+      final PipelineBuilder builder,
+      final Future<DetectionResult> probe,
+      final long deadline) {
+    try {
+      return Optional.of(Try.success(Optional.ofNullable(
+              probe.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS))
+          .orElse(DetectionResult.notMatched())));
+    } catch (final TimeoutException ex) {
+      return Optional.empty();
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    } catch (final ExecutionException ex) {
+      failedProbes.increment();
+      LOG.log(WARN, "The " + builder.getName() + " builder failed to test the repo", ex.getCause());
+      return Optional.of(Try.failure(ex));
+    }
+  }
+
+  /**
+   * Finds the highest priority builder, starting at the supplied index, whose probe has already
+   * answered true. A higher priority builder may have answered true had there been more time, so
+   * the selection is degraded.
+   */
+  private Optional<SelectedBuilder> firstCompletedMatch(
+      final List<PipelineBuilder> sorted,
+      final List<Future<DetectionResult>> probes,
+      final int from) {
+    for (int i = from; i < sorted.size(); ++i) {
+      final Future<DetectionResult> probe = probes.get(i);
+      if (probe.isDone() && !probe.isCancelled()) {
+        try {
+          final DetectionResult result = probe.get();
+          if (result != null && result.isMatched()) {
+            return Optional.of(new SelectedBuilder(sorted.get(i), result, true));
+          }
+        } catch (final InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          return Optional.empty();
+        } catch (final ExecutionException ex) {
+          // a failed probe is treated as not matching
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  private void cancel(final List<Future<DetectionResult>> probes) {
+    probes.stream()
+        .filter(p -> p.cancel(true))
+        .forEach(p -> cancelledProbes.increment());
+  }
+}
@@ -0,0 +1,157 @@
+package com.octopus.builders.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+import static org.jboss.logging.Logger.Level.WARN;
+
+import com.octopus.builders.RepoBatchRunner;
+import com.octopus.builders.RepoBatchStats;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.Builder;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * A RepoBatchRunner that runs the tasks of every batch on one shared thread pool. The size of the
+ * pool is the global concurrency limit.
+ *
+ * <p>Each batch only has a limited number of tasks queued or running at once, and submits the
+ * next task as each one finishes. Concurrent batches therefore take turns on the pool, rather than
+ * a large batch queueing all its repos ahead of a smaller batch that started later.
+ */
+public class ConcurrentRepoBatchRunner implements RepoBatchRunner {
+
+  private static final Logger LOG = Logger.getLogger(ConcurrentRepoBatchRunner.class.toString());
+  private static final int DEFAULT_THREADS = 8;
+
+  private final ExecutorService executor;
+  private final int batchConcurrency;
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder activeBatches = new LongAdder();
+  private final LongAdder repos = new LongAdder();
+  private final LongAdder failedRepos = new LongAdder();
+  private final LongAdder cancelledRepos = new LongAdder();
+
+  /**
+   * Builds the runner. Any value that is zero or negative is replaced with a sensible default.
+   *
+   * @param threads          The maximum number of tasks that can run at once across all batches.
+   * @param batchConcurrency The maximum number of tasks a single batch can have queued or running
+   *                         at once. Defaults to the number of threads.
+   */
+  @Builder
+  public ConcurrentRepoBatchRunner(final int threads, final int batchConcurrency) {
+    final int poolSize = threads > 0 ? threads : DEFAULT_THREADS;
+    final AtomicInteger threadCount = new AtomicInteger();
+    final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+        poolSize,
+        poolSize,
+        60,
+        TimeUnit.SECONDS,
+        // the queue is bounded by the batch concurrency of each running batch
+        new LinkedBlockingQueue<>(),
+        r -> {
+          final Thread thread = new Thread(r, "repo-batch-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    threadPoolExecutor.allowCoreThreadTimeOut(true);
+    this.executor = threadPoolExecutor;
+    this.batchConcurrency = batchConcurrency > 0 ? batchConcurrency : poolSize;
+  }
+
+  @Override
+  public <T> void run(
+      @NonNull final List<String> repos,
+      @NonNull final Function<String, T> task,
+      @NonNull final BiFunction<String, Exception, T> failure,
+      @NonNull final Consumer<T> consumer) {
+    LOG.log(DEBUG, "Running a batch of " + repos.size() + " repos");
+    batches.increment();
+    activeBatches.increment();
+
+    final CompletionService<T> completionService = new ExecutorCompletionService<>(executor);
+    final List<Future<T>> futures = new ArrayList<>(repos.size());
+    int completed = 0;
+    try {
+      while (futures.size() < Math.min(batchConcurrency, repos.size())) {
+        futures.add(submit(completionService, repos.get(futures.size()), task, failure));
+      }
+
+      while (completed < futures.size()) {
+        final T result = completionService.take().get();
+        ++completed;
+        this.repos.increment();
+        if (futures.size() < repos.size()) {
+          futures.add(submit(completionService, repos.get(futures.size()), task, failure));
+        }
+        consumer.accept(result);
+      }
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("The batch was interrupted", ex);
+    } catch (final ExecutionException ex) {
+      // tasks catch their own exceptions, so this is not expected
+      throw new IllegalStateException("The batch failed", ex.getCause());
+    } finally {
+      cancel(futures, repos.size() - completed);
+      activeBatches.decrement();
+    }
+  }
+
+  @Override
+  public RepoBatchStats getStats() {
+    return RepoBatchStats.builder()
+        .batches(batches.sum())
+        .activeBatches(activeBatches.sum())
+        .repos(repos.sum())
+        .failedRepos(failedRepos.sum())
+        .cancelledRepos(cancelledRepos.sum())
+        .build();
+  }
+
+  @Override
+  public void close() {
+    LOG.log(DEBUG, "ConcurrentRepoBatchRunner.close()");
+    executor.shutdownNow();
+  }
+
+  private <T> Future<T> submit(
+      final CompletionService<T> completionService,
+      final String repo,
+      final Function<String, T> task,
+      final BiFunction<String, Exception, T> failure) {
+    return completionService.submit(() -> {
+      try {
+        return task.apply(repo);
+      } catch (final Exception ex) {
+        failedRepos.increment();
+        LOG.log(WARN, "Failed to process " + repo, ex);
+        return failure.apply(repo, ex);
+      }
+    });
+  }
+
+  /**
+   * Cancels the tasks of an abandoned batch, and counts the repos that were never processed.
+   */
+  private <T> void cancel(final List<Future<T>> futures, final int unprocessed) {
+    futures.forEach(f -> f.cancel(true));
+    if (unprocessed > 0) {
+      cancelledRepos.add(unprocessed);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.octopus.builders.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
+import com.octopus.repoclients.RepoClient;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * Detects DotNET Core projects. This detector is very permissive, finding solution files anywhere
+ * in the repo, so builders that need the solution file to be in the root directory check the
+ * ROOT_SOLUTION fact.
+ */
+public class DotNetCoreDetector implements LanguageDetector {
+
+  /**
+   * The directory holding the first solution file, if it is not in the root directory.
+   */
+  public static final String WORKING_DIRECTORY = "workingDirectory";
+  /**
+   * true if there is a solution file in the root directory.
+   */
+  public static final String ROOT_SOLUTION = "rootSolution";
+
+  private static final Logger LOG = Logger.getLogger(DotNetCoreDetector.class.toString());
+  private static final Pattern DOT_NET_CORE_REGEX = Pattern.compile(
+      "Sdk\\s*=\\s*\"Microsoft\\.NET\\.Sdk");
+
+  @Override
+  public String getName() {
+    return "DotNET Core";
+  }
+
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    LOG.log(DEBUG, "DotNetCoreDetector.detect(RepoClient)");
+
+    final List<String> solutionFiles = getSolutionFiles(accessor, "**/*.sln");
+    if (solutionFiles.isEmpty() || !hasDotNetCoreProjectFiles(accessor)) {
+      return DetectionResult.notMatched();
+    }
+
+    final DetectionResult.DetectionResultBuilder result = DetectionResult.builder()
+        .matched(true)
+        .fact(ROOT_SOLUTION, String.valueOf(!getSolutionFiles(accessor, "*.sln").isEmpty()));
+    getWorkingDir(solutionFiles.get(0)).ifPresent(d -> result.fact(WORKING_DIRECTORY, d));
+    return result.build();
+  }
+
+  private List<String> getSolutionFiles(final RepoClient accessor, final String glob) {
+    final List<String> files = accessor.getWildcardFiles(glob, 1).getOrElse(List.of());
+    LOG.log(DEBUG, "Found " + files.size() + " solution files matching " + glob);
+    files.forEach(s -> LOG.log(DEBUG, "  " + s));
+    return files;
+  }
+
+  private boolean hasDotNetCoreProjectFiles(final RepoClient accessor) {
+    final List<String> projectFiles = accessor.getWildcardFiles("**/*.csproj", 1)
+        .getOrElse(List.of());
+    LOG.log(DEBUG, "Found " + projectFiles.size() + " project files");
+    projectFiles.forEach(s -> LOG.log(DEBUG, "  " + s));
+
+    /*
+     https://natemcmaster.com/blog/2017/03/09/vs2015-to-vs2017-upgrade/ provides some great insights
+     into the various project file formats.
+     */
+    return projectFiles
+        .stream()
+        .anyMatch(f -> DOT_NET_CORE_REGEX.matcher(accessor.getFile(f).getOrElse("")).find());
+  }
+
+  private Optional<String> getWorkingDir(final String solutionFile) {
+    final List<String> split = new ArrayList<>(Arrays.asList(solutionFile.split("/")));
+    if (split.size() > 1) {
+      split.remove(split.size() - 1);
+      return Optional.of(String.join("/", split));
+    }
+    return Optional.empty();
+  }
+}
@@ -0,0 +1,93 @@
+package com.octopus.builders.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+import static org.jboss.logging.Logger.Level.WARN;
+
+import com.octopus.builders.CachedPipeline;
+import com.octopus.builders.PipelineCacheTier;
+import io.vavr.control.Try;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.Builder;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * A pipeline cache tier held in files on the local disk, which survives restarts and can be shared
+ * by processes on the same host. Each pipeline is written to a file named after the ID of its key,
+ * with the builder name on the first line and the pipeline after it. Files are written to a
+ * temporary file and then moved into place, so readers never see a partially written pipeline.
+ */
+public class FilePipelineCacheTier implements PipelineCacheTier {
+
+  private static final Logger LOG = Logger.getLogger(FilePipelineCacheTier.class.toString());
+  private static final long DEFAULT_TTL_SECONDS = 7 * 24 * 60 * 60;
+
+  private final Path directory;
+  private final long ttlMillis;
+
+  /**
+   * Builds the tier.
+   *
+   * @param directory  The directory holding the cached pipelines. It is created if it does not
+   *                   exist.
+   * @param ttlSeconds The time a pipeline is cached for. A value that is zero or negative is
+   *                   replaced with a sensible default.
+   */
+  @Builder
+  public FilePipelineCacheTier(@NonNull final Path directory, final long ttlSeconds) {
+    this.directory = directory;
+    this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds > 0 ? ttlSeconds : DEFAULT_TTL_SECONDS);
+  }
+
+  @Override
+  public String getName() {
+    return "file";
+  }
+
+  @Override
+  public Optional<CachedPipeline> get(@NonNull final String id) {
+    final Path file = directory.resolve(id);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+
+    return Try.of(() -> {
+          if (System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis() > ttlMillis) {
+            Files.deleteIfExists(file);
+            return null;
+          }
+
+          final String contents = Files.readString(file, StandardCharsets.UTF_8);
+          final int newline = contents.indexOf('\n');
+          return newline == -1
+              ? null
+              : new CachedPipeline(contents.substring(0, newline), contents.substring(newline + 1));
+        })
+        .onFailure(e -> LOG.log(WARN, "Failed to read the cached pipeline " + file, e))
+        .toJavaOptional()
+        .flatMap(Optional::ofNullable);
+  }
+
+  @Override
+  public void put(@NonNull final String id, @NonNull final CachedPipeline pipeline) {
+    Try.run(() -> {
+          Files.createDirectories(directory);
+          final Path temp = Files.createTempFile(directory, id, ".tmp");
+          try {
+            Files.writeString(temp, pipeline.getBuilderName() + "\n" + pipeline.getPipeline(),
+                StandardCharsets.UTF_8);
+            Files.move(temp, directory.resolve(id), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+          } finally {
+            Files.deleteIfExists(temp);
+          }
+        })
+        .onSuccess(v -> LOG.log(DEBUG, "Cached pipeline " + id + " in " + directory))
+        .onFailure(e -> LOG.log(WARN, "Failed to cache the pipeline " + id, e));
+  }
+}
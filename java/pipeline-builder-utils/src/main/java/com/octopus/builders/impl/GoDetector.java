@@ -0,0 +1,33 @@
+package com.octopus.builders.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
+import com.octopus.repoclients.RepoClient;
+import io.vavr.control.Try;
+import java.util.List;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * Detects Go projects, either from a module file or from Go source files in the root of the repo.
+ */
+public class GoDetector implements LanguageDetector {
+
+  private static final Logger LOG = Logger.getLogger(GoDetector.class.toString());
+
+  @Override
+  public String getName() {
+    return "Go";
+  }
+
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    LOG.log(DEBUG, "GoDetector.detect(RepoClient)");
+    final Try<List<String>> files = accessor.getWildcardFiles("*.go", 1);
+    return accessor.testFile("go.mod") || (files.isSuccess() && !files.get().isEmpty())
+        ? DetectionResult.matched()
+        : DetectionResult.notMatched();
+  }
+}
@@ -0,0 +1,45 @@
+package com.octopus.builders.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
+import com.octopus.repoclients.RepoClient;
+import java.util.Arrays;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * Detects Gradle projects.
+ */
+public class JavaGradleDetector implements LanguageDetector {
+
+  /**
+   * true if the repo includes the Gradle wrapper script.
+   */
+  public static final String USES_WRAPPER = "usesWrapper";
+
+  private static final Logger LOG = Logger.getLogger(JavaGradleDetector.class.toString());
+  private static final String[] GRADLE_BUILD_FILES = {"build.gradle", "build.gradle.kts"};
+
+  @Override
+  public String getName() {
+    return "Java Gradle";
+  }
+
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    LOG.log(DEBUG, "JavaGradleDetector.detect(RepoClient)");
+    if (Arrays.stream(GRADLE_BUILD_FILES).anyMatch(accessor::testFile)) {
+      LOG.log(DEBUG, String.join(" or ", GRADLE_BUILD_FILES) + " was found");
+      final boolean usesWrapper = accessor.testFile("gradlew");
+      LOG.log(DEBUG, "Wrapper script was " + (usesWrapper ? "" : "not ") + "found");
+      return DetectionResult.builder()
+          .matched(true)
+          .fact(USES_WRAPPER, String.valueOf(usesWrapper))
+          .build();
+    }
+
+    return DetectionResult.notMatched();
+  }
+}
@@ -0,0 +1,43 @@
+package com.octopus.builders.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
+import com.octopus.repoclients.RepoClient;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * Detects Maven projects.
+ */
+public class JavaMavenDetector implements LanguageDetector {
+
+  /**
+   * true if the repo includes the Maven wrapper script.
+   */
+  public static final String USES_WRAPPER = "usesWrapper";
+
+  private static final Logger LOG = Logger.getLogger(JavaMavenDetector.class.toString());
+
+  @Override
+  public String getName() {
+    return "Java Maven";
+  }
+
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    LOG.log(DEBUG, "JavaMavenDetector.detect(RepoClient)");
+    if (accessor.testFile("pom.xml")) {
+      LOG.log(DEBUG, "pom.xml file was found");
+      final boolean usesWrapper = accessor.testFile("mvnw");
+      LOG.log(DEBUG, "Wrapper script was " + (usesWrapper ? "" : "not ") + "found");
+      return DetectionResult.builder()
+          .matched(true)
+          .fact(USES_WRAPPER, String.valueOf(usesWrapper))
+          .build();
+    }
+
+    return DetectionResult.notMatched();
+  }
+}
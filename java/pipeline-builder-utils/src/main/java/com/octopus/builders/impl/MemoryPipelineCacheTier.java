@@ -0,0 +1,52 @@
+package com.octopus.builders.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.octopus.builders.CachedPipeline;
+import com.octopus.builders.PipelineCacheTier;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.Builder;
+import lombok.NonNull;
+
+/**
+ * A pipeline cache tier held on the heap, bounded by the approximate size of the cached pipelines.
+ */
+public class MemoryPipelineCacheTier implements PipelineCacheTier {
+
+  private static final long DEFAULT_MAXIMUM_WEIGHT = 8 * 1024 * 1024;
+  private static final long DEFAULT_TTL_SECONDS = 24 * 60 * 60;
+
+  private final Cache<String, CachedPipeline> cache;
+
+  /**
+   * Builds the tier. Any value that is zero or negative is replaced with a sensible default.
+   *
+   * @param maximumWeight The approximate maximum number of characters held in the cache.
+   * @param ttlSeconds    The time a pipeline is cached for.
+   */
+  @Builder
+  public MemoryPipelineCacheTier(final long maximumWeight, final long ttlSeconds) {
+    cache = CacheBuilder.newBuilder()
+        .maximumWeight(maximumWeight > 0 ? maximumWeight : DEFAULT_MAXIMUM_WEIGHT)
+        .weigher((String key, CachedPipeline value) ->
+            key.length() + value.getBuilderName().length() + value.getPipeline().length())
+        .expireAfterWrite(ttlSeconds > 0 ? ttlSeconds : DEFAULT_TTL_SECONDS, TimeUnit.SECONDS)
+        .build();
+  }
+
+  @Override
+  public String getName() {
+    return "memory";
+  }
+
+  @Override
+  public Optional<CachedPipeline> get(@NonNull final String id) {
+    return Optional.ofNullable(cache.getIfPresent(id));
+  }
+
+  @Override
+  public void put(@NonNull final String id, @NonNull final CachedPipeline pipeline) {
+    cache.put(id, pipeline);
+  }
+}
@@ -0,0 +1,45 @@
+package com.octopus.builders.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
+import com.octopus.repoclients.RepoClient;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * Detects Node.js projects.
+ */
+public class NodeJsDetector implements LanguageDetector {
+
+  /**
+   * true if the repo includes a yarn lock file.
+   */
+  public static final String USE_YARN = "useYarn";
+  /**
+   * true if the repo includes a npm lock file.
+   */
+  public static final String PACKAGE_LOCK = "packageLock";
+
+  private static final Logger LOG = Logger.getLogger(NodeJsDetector.class.toString());
+
+  @Override
+  public String getName() {
+    return "Node.js";
+  }
+
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    LOG.log(DEBUG, "NodeJsDetector.detect(RepoClient)");
+    if (!accessor.testFile("package.json")) {
+      return DetectionResult.notMatched();
+    }
+
+    return DetectionResult.builder()
+        .matched(true)
+        .fact(USE_YARN, String.valueOf(accessor.testFile("yarn.lock")))
+        .fact(PACKAGE_LOCK, String.valueOf(accessor.testFile("package-lock.json")))
+        .build();
+  }
+}
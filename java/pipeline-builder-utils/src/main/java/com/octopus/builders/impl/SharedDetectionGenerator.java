@@ -0,0 +1,115 @@
+package com.octopus.builders.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import com.octopus.builders.BuilderSelector;
+import com.octopus.builders.CachedPipeline;
+import com.octopus.builders.MultiTargetGenerator;
+import com.octopus.builders.PipelineBuilder;
+import com.octopus.builders.RepoFacts;
+import com.octopus.builders.SelectedBuilder;
+import com.octopus.repoclients.RepoClient;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import org.jboss.logging.Logger;
+
+/**
+ * A MultiTargetGenerator whose targets share the same LanguageDetectors. The builders of the first
+ * target are used to detect the language of the repo, and the pipeline of each target is then
+ * generated by the builder with the same name as the detected language, using the facts that were
+ * already found.
+ *
+ * <p>A builder can reject facts its detector accepted, like the Jenkins DotNET Core builder, which
+ * requires the solution file to be in the root directory. That target then selects its own
+ * builder. The repo client answers these probes from the requests that have already been made, so
+ * this does not repeat the detection requests.
+ */
+public class SharedDetectionGenerator implements MultiTargetGenerator {
+
+  private static final Logger LOG = Logger.getLogger(SharedDetectionGenerator.class.toString());
+
+  private final BuilderSelector builderSelector;
+  private final Map<String, List<PipelineBuilder>> targets;
+
+  /**
+   * Creates the generator.
+   *
+   * @param builderSelector The selector used to detect the language of a repo.
+   * @param targets         The builders of each target, keyed by target name. The first target is
+   *                        used to detect the language.
+   */
+  @Builder
+  public SharedDetectionGenerator(
+      @NonNull final BuilderSelector builderSelector,
+      @Singular final Map<String, Collection<PipelineBuilder>> targets) {
+    if (targets.isEmpty()) {
+      throw new IllegalArgumentException("At least one target must be defined");
+    }
+
+    this.builderSelector = builderSelector;
+    this.targets = new LinkedHashMap<>();
+    targets.forEach((k, v) -> this.targets.put(k, List.copyOf(v)));
+  }
+
+  @Override
+  public List<String> getTargets() {
+    return new ArrayList<>(targets.keySet());
+  }
+
+  @Override
+  public List<PipelineBuilder> getBuilders(@NonNull final String target) {
+    return Optional.ofNullable(targets.get(target))
+        .orElseThrow(() -> new IllegalArgumentException("Unknown target " + target));
+  }
+
+  @Override
+  public Optional<RepoFacts> detect(@NonNull final RepoClient accessor) {
+    return builderSelector.selectBuilder(targets.values().iterator().next(), accessor)
+        .map(RepoFacts::of);
+  }
+
+  @Override
+  public Map<String, CachedPipeline> generate(
+      @NonNull final RepoClient accessor,
+      @NonNull final RepoFacts facts,
+      @NonNull final List<String> targetNames) {
+    final Map<String, CachedPipeline> pipelines = new LinkedHashMap<>();
+    for (final String target : targetNames) {
+      findBuilder(target, getBuilders(target), accessor, facts)
+          .map(b -> b.generatePipeline(accessor))
+          .ifPresent(p -> pipelines.put(target, p));
+    }
+    return pipelines;
+  }
+
+  /**
+   * Finds the builder of a target that accepts the shared facts, falling back to selecting a
+   * builder for the target if none do.
+   */
+  private Optional<SelectedBuilder> findBuilder(
+      final String target,
+      final List<PipelineBuilder> builders,
+      final RepoClient accessor,
+      final RepoFacts facts) {
+    final Optional<SelectedBuilder> shared = builders.stream()
+        .filter(b -> b.getName().equals(facts.getLanguage()))
+        .filter(b -> b.accepts(facts.getDetection()))
+        .findFirst()
+        .map(b -> new SelectedBuilder(b, facts.getDetection(), facts.isDegraded()));
+
+    if (shared.isPresent()) {
+      return shared;
+    }
+
+    LOG.log(DEBUG, "The " + target + " target has no builder accepting the "
+        + facts.getLanguage() + " facts, so it will select its own builder");
+    return builderSelector.selectBuilder(builders, accessor);
+  }
+}
@@ -0,0 +1,43 @@
+package com.octopus.builders.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import com.octopus.builders.DetectionResult;
+import com.octopus.builders.LanguageDetector;
+import com.octopus.repoclients.RepoClient;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * Detects languages whose projects are identified by a single file in the root of the repo, like
+ * the composer.json file of a PHP project.
+ */
+public class SingleFileDetector implements LanguageDetector {
+
+  private static final Logger LOG = Logger.getLogger(SingleFileDetector.class.toString());
+
+  private final String name;
+  private final String file;
+
+  /**
+   * Creates the detector.
+   *
+   * @param name The name of the language.
+   * @param file The file that identifies a project of the language.
+   */
+  public SingleFileDetector(@NonNull final String name, @NonNull final String file) {
+    this.name = name;
+    this.file = file;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public DetectionResult detect(@NonNull final RepoClient accessor) {
+    LOG.log(DEBUG, "SingleFileDetector.detect(RepoClient) looking for " + file);
+    return accessor.testFile(file) ? DetectionResult.matched() : DetectionResult.notMatched();
+  }
+}
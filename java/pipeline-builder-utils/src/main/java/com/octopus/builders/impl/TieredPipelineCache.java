@@ -0,0 +1,75 @@
+package com.octopus.builders.impl;
+
+import com.octopus.builders.CachedPipeline;
+import com.octopus.builders.PipelineCache;
+import com.octopus.builders.PipelineCacheKey;
+import com.octopus.builders.PipelineCacheStats;
+import com.octopus.builders.PipelineCacheTier;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+
+/**
+ * A pipeline cache made up of a number of tiers, ordered from fastest to slowest. Lookups check
+ * each tier in turn, and a pipeline found in a slower tier is copied into the faster tiers before
+ * it. New pipelines are written to every tier.
+ */
+public class TieredPipelineCache implements PipelineCache {
+
+  private final List<PipelineCacheTier> tiers;
+  private final List<LongAdder> tierHits;
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder puts = new LongAdder();
+
+  /**
+   * Builds the cache.
+   *
+   * @param tiers The tiers of the cache, from fastest to slowest.
+   */
+  @Builder
+  public TieredPipelineCache(@Singular final List<PipelineCacheTier> tiers) {
+    this.tiers = List.copyOf(tiers);
+    this.tierHits = tiers.stream().map(t -> new LongAdder()).collect(Collectors.toList());
+  }
+
+  @Override
+  public Optional<CachedPipeline> get(@NonNull final PipelineCacheKey key) {
+    final String id = key.getId();
+    for (int i = 0; i < tiers.size(); ++i) {
+      final Optional<CachedPipeline> pipeline = tiers.get(i).get(id);
+      if (pipeline.isPresent()) {
+        tierHits.get(i).increment();
+        for (int j = 0; j < i; ++j) {
+          tiers.get(j).put(id, pipeline.get());
+        }
+        return pipeline;
+      }
+    }
+
+    misses.increment();
+    return Optional.empty();
+  }
+
+  @Override
+  public void put(@NonNull final PipelineCacheKey key, @NonNull final CachedPipeline pipeline) {
+    final String id = key.getId();
+    puts.increment();
+    tiers.forEach(t -> t.put(id, pipeline));
+  }
+
+  @Override
+  public PipelineCacheStats getStats() {
+    final PipelineCacheStats.PipelineCacheStatsBuilder builder = PipelineCacheStats.builder()
+        .hits(tierHits.stream().mapToLong(LongAdder::sum).sum())
+        .misses(misses.sum())
+        .puts(puts.sum());
+    for (int i = 0; i < tiers.size(); ++i) {
+      builder.tierHit(tiers.get(i).getName(), tierHits.get(i).sum());
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,31 @@
+package com.octopus.http;
+
+import java.io.Closeable;
+import org.apache.http.impl.client.CloseableHttpClient;
+
+/**
+ * Defines a shared pool of keep-alive HTTP connections. Clients returned by the pool share the
+ * underlying connections, so callers may close them without tearing down the pool.
+ */
+public interface HttpClientPool extends Closeable {
+
+  /**
+   * Returns a HTTP client backed by the pooled connections.
+   *
+   * @return The pooled HTTP client.
+   */
+  CloseableHttpClient getClient();
+
+  /**
+   * Returns a snapshot of the current pool statistics.
+   *
+   * @return The pool statistics.
+   */
+  HttpClientPoolStats getStats();
+
+  /**
+   * Shuts down the pool and closes all connections.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,42 @@
+package com.octopus.http;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A point in time snapshot of the state of a HTTP connection pool.
+ */
+@Value
+@Builder
+public class HttpClientPoolStats {
+
+  /**
+   * The number of connections currently leased to requests.
+   */
+  int leased;
+
+  /**
+   * The number of idle connections available for reuse.
+   */
+  int available;
+
+  /**
+   * The number of requests waiting for a connection.
+   */
+  int pending;
+
+  /**
+   * The maximum number of connections the pool will open.
+   */
+  int max;
+
+  /**
+   * The number of TLS handshakes completed by the pool.
+   */
+  long handshakes;
+
+  /**
+   * The average time taken to complete a TLS handshake, in milliseconds.
+   */
+  double averageHandshakeMillis;
+}
@@ -0,0 +1,55 @@
+package com.octopus.http;
+
+import io.vavr.control.Try;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Defines a cache for the results of HTTP requests. Implementations decide how long successful and
+ * failed results are retained, and which failures are worth caching at all.
+ */
+public interface HttpResponseCache {
+
+  /**
+   * Returns the cached result for the key, or calls the loader and caches its result.
+   *
+   * @param key    The cache key. This must not contain any secrets.
+   * @param loader The function used to perform the request on a cache miss.
+   * @param <T>    The type of the result.
+   * @return The cached or loaded result.
+   */
+  <T> Try<T> get(String key, Supplier<Try<T>> loader);
+
+  /**
+   * Returns the last response body and validators saved for the key. Validators are retained
+   * after the cached result expires, so an expired response can be revalidated with a conditional
+   * request rather than downloaded again.
+   *
+   * @param key The cache key.
+   * @return The last validated response, if one was saved.
+   */
+  Optional<ValidatedResponse> getValidators(String key);
+
+  /**
+   * Saves the response body and validators for the key.
+   *
+   * @param key      The cache key.
+   * @param response The response body and validators.
+   */
+  void putValidators(String key, ValidatedResponse response);
+
+  /**
+   * Records the outcome of a conditional request.
+   *
+   * @param notModified true if the server responded with a 304 Not Modified, and false if it
+   *                    returned a new body.
+   */
+  void recordRevalidation(boolean notModified);
+
+  /**
+   * Returns a snapshot of the cache statistics.
+   *
+   * @return The cache statistics.
+   */
+  HttpResponseCacheStats getStats();
+}
@@ -0,0 +1,59 @@
+package com.octopus.http;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A point in time snapshot of the statistics of a HTTP response cache.
+ */
+@Value
+@Builder
+public class HttpResponseCacheStats {
+
+  /**
+   * The number of requests served from a cached successful response.
+   */
+  long hits;
+
+  /**
+   * The number of requests served from a cached failed response.
+   */
+  long negativeHits;
+
+  /**
+   * The number of requests that had to be sent to the server.
+   */
+  long misses;
+
+  /**
+   * The number of conditional requests that returned a 304 Not Modified.
+   */
+  long notModified;
+
+  /**
+   * The number of conditional requests that returned a new body.
+   */
+  long modified;
+
+  /**
+   * The number of entries removed to keep the cache within its bounds.
+   */
+  long evictions;
+
+  /**
+   * The number of requests that shared the result of an identical request already in flight,
+   * rather than being sent to the server.
+   */
+  long coalesced;
+
+  /**
+   * The number of requests that gave up waiting on an identical request in flight, and were sent
+   * to the server instead.
+   */
+  long coalesceTimeouts;
+
+  /**
+   * The number of entries currently in the cache.
+   */
+  long size;
+}
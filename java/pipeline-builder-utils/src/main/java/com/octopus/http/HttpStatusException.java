@@ -0,0 +1,22 @@
+package com.octopus.http;
+
+import lombok.Getter;
+
+/**
+ * Represents a HTTP response whose status code did not indicate success.
+ */
+public class HttpStatusException extends Exception {
+
+  @Getter
+  private final int statusCode;
+
+  /**
+   * Creates the exception.
+   *
+   * @param statusCode The HTTP response code.
+   */
+  public HttpStatusException(final int statusCode) {
+    super("Response code " + statusCode + " did not indicate success");
+    this.statusCode = statusCode;
+  }
+}
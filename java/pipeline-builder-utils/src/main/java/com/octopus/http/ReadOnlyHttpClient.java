@@ -1,7 +1,9 @@
 package com.octopus.http;
 
 
+import io.vavr.CheckedFunction1;
 import io.vavr.control.Try;
+import java.io.InputStream;
 import java.util.List;
 import org.apache.http.Header;
 
@@ -24,4 +26,55 @@ public interface ReadOnlyHttpClient {
 
   boolean head(String url, List<Header> headers);
 
+  /**
+   * Performs a HTTP HEAD request, telling a resource that does not exist apart from a request that
+   * could not be answered. Clients that can not tell the two apart treat every failure as a
+   * resource that does not exist.
+   *
+   * @param url         The URL to access.
+   * @param username    The optional username used with basic auth.
+   * @param password    The optional password used with basic auth.
+   * @param accessToken The optional access token, which takes priority over the username and
+   *                    password.
+   * @return true if the resource exists, false if the server reported that it does not, or a
+   *     failure if the request failed for any other reason, like a server error, timeout or rate
+   *     limit.
+   */
+  default Try<Boolean> exists(String url, String username, String password, String accessToken) {
+    return Try.success(head(url, username, password, accessToken));
+  }
+
+  /**
+   * Returns a client that sends its requests with the supplied priority. Clients that do not
+   * schedule requests against a rate limit return themselves.
+   *
+   * @param priority The priority of the requests sent by the returned client.
+   * @return A client sharing the connections and cached responses of this client.
+   */
+  default ReadOnlyHttpClient withPriority(RequestPriority priority) {
+    return this;
+  }
+
+  /**
+   * Performs a GET request and passes the response body to the reader as a stream. The response is
+   * not cached, so this is used for large downloads like repo archives. The reader must not close
+   * the stream, and if the reader fails, the rest of the response is not downloaded.
+   *
+   * @param url         The URL to access.
+   * @param username    The optional username used with basic auth.
+   * @param password    The optional password used with basic auth.
+   * @param accessToken The optional access token, which takes priority over the username and
+   *                    password.
+   * @param reader      The function that reads the response body.
+   * @param <T>         The type returned by the reader.
+   * @return The result of the reader, or the exception thrown by the request or the reader.
+   */
+  default <T> Try<T> getStream(
+      String url,
+      String username,
+      String password,
+      String accessToken,
+      CheckedFunction1<InputStream, T> reader) {
+    return Try.failure(new UnsupportedOperationException("This client can not stream responses."));
+  }
 }
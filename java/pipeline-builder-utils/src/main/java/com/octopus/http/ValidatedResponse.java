@@ -0,0 +1,29 @@
+package com.octopus.http;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A response body along with the validators returned by the server. The validators are sent with
+ * later requests for the same resource, allowing the server to respond with a 304 Not Modified
+ * instead of the full body.
+ */
+@Value
+public class ValidatedResponse {
+
+  /**
+   * The response body.
+   */
+  @NonNull
+  String body;
+
+  /**
+   * The value of the ETag header, or null if the server did not return one.
+   */
+  String etag;
+
+  /**
+   * The value of the Last-Modified header, or null if the server did not return one.
+   */
+  String lastModified;
+}
@@ -0,0 +1,203 @@
+package com.octopus.http.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.octopus.http.HttpResponseCache;
+import com.octopus.http.HttpResponseCacheStats;
+import com.octopus.http.HttpStatusException;
+import com.octopus.http.ValidatedResponse;
+import io.vavr.control.Try;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.Builder;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * A HTTP response cache bounded by the approximate size of the cached responses. Successful
+ * responses and failed responses are held in separate caches so they can expire at different
+ * rates.
+ *
+ * <p>The bodies and validators (ETag and Last-Modified headers) of successful responses are kept in
+ * a third cache with a longer lifetime. Once a cached response expires, these validators allow the
+ * client to make a conditional request, which GitHub answers with an empty 304 response that does
+ * not count against the rate limit if the resource has not changed.
+ *
+ * <p>Only failures that are unlikely to change soon (like a 404 for a file that does not exist) are
+ * cached. Server errors, rate limit responses and network exceptions are returned to the caller but
+ * not cached, so the next request tries again.
+ *
+ * <p>Concurrent misses for the same key are coalesced, so when many requests for a popular repo
+ * arrive at once, only one of them is sent to the server and the others share its result.
+ */
+public class BoundedHttpResponseCache implements HttpResponseCache {
+
+  private static final Logger LOG = Logger.getLogger(BoundedHttpResponseCache.class.toString());
+  private static final long DEFAULT_MAXIMUM_WEIGHT = 32 * 1024 * 1024;
+  private static final long DEFAULT_TTL_SECONDS = 600;
+  private static final long DEFAULT_NEGATIVE_TTL_SECONDS = 60;
+  private static final long DEFAULT_VALIDATOR_TTL_SECONDS = 24 * 60 * 60;
+  private static final int MAXIMUM_NEGATIVE_ENTRIES = 10000;
+
+  private final Cache<String, Try<?>> positiveCache;
+  private final Cache<String, Try<?>> negativeCache;
+  private final Cache<String, ValidatedResponse> validatorCache;
+  private final RequestCoalescer coalescer;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder negativeHits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder notModified = new LongAdder();
+  private final LongAdder modified = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Builds the cache. Any value that is zero or negative is replaced with a sensible default.
+   *
+   * @param maximumWeight         The approximate number of characters the cache can hold.
+   * @param ttlSeconds            The time a successful response is cached for.
+   * @param negativeTtlSeconds    The time a failed response is cached for.
+   * @param validatorTtlSeconds   The time the validators of a response are kept for.
+   * @param coalesceTimeoutMillis The time a request waits on an identical request that is already
+   *                              in flight before making its own request.
+   */
+  @Builder
+  public BoundedHttpResponseCache(
+      final long maximumWeight,
+      final long ttlSeconds,
+      final long negativeTtlSeconds,
+      final long validatorTtlSeconds,
+      final long coalesceTimeoutMillis) {
+    final RemovalListener<String, Try<?>> evictionCounter = notification -> {
+      if (notification.wasEvicted()) {
+        evictions.increment();
+      }
+    };
+
+    positiveCache = CacheBuilder.newBuilder()
+        .maximumWeight(maximumWeight > 0 ? maximumWeight : DEFAULT_MAXIMUM_WEIGHT)
+        .weigher((String key, Try<?> value) -> key.length() + weigh(value))
+        .expireAfterWrite(ttlSeconds > 0 ? ttlSeconds : DEFAULT_TTL_SECONDS, TimeUnit.SECONDS)
+        .removalListener(evictionCounter)
+        .build();
+
+    negativeCache = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_NEGATIVE_ENTRIES)
+        .expireAfterWrite(
+            negativeTtlSeconds > 0 ? negativeTtlSeconds : DEFAULT_NEGATIVE_TTL_SECONDS,
+            TimeUnit.SECONDS)
+        .removalListener(evictionCounter)
+        .build();
+
+    validatorCache = CacheBuilder.newBuilder()
+        .maximumWeight(maximumWeight > 0 ? maximumWeight : DEFAULT_MAXIMUM_WEIGHT)
+        .weigher((String key, ValidatedResponse value) -> key.length() + value.getBody().length())
+        .expireAfterWrite(
+            validatorTtlSeconds > 0 ? validatorTtlSeconds : DEFAULT_VALIDATOR_TTL_SECONDS,
+            TimeUnit.SECONDS)
+        .build();
+
+    coalescer = new RequestCoalescer(coalesceTimeoutMillis);
+  }
+
+  @Override
+  public <T> Try<T> get(@NonNull final String key, @NonNull final Supplier<Try<T>> loader) {
+    return this.<T>getCached(key).orElseGet(() -> coalescer.execute(key, () -> {
+      // The result may have been cached by a request that completed since the first check
+      final Optional<Try<T>> cached = getCached(key);
+      return cached.isPresent() ? cached.get() : load(key, loader);
+    }));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Optional<Try<T>> getCached(final String key) {
+    final Try<?> positive = positiveCache.getIfPresent(key);
+    if (positive != null) {
+      hits.increment();
+      return Optional.of((Try<T>) positive);
+    }
+
+    final Try<?> negative = negativeCache.getIfPresent(key);
+    if (negative != null) {
+      negativeHits.increment();
+      return Optional.of((Try<T>) negative);
+    }
+
+    return Optional.empty();
+  }
+
+  private <T> Try<T> load(final String key, final Supplier<Try<T>> loader) {
+    misses.increment();
+    final Try<T> result = loader.get();
+    if (result.isSuccess()) {
+      positiveCache.put(key, result);
+    } else if (isCacheableFailure(result.getCause())) {
+      negativeCache.put(key, result);
+    } else {
+      LOG.log(DEBUG, "Not caching transient failure: " + result.getCause());
+    }
+    return result;
+  }
+
+  @Override
+  public Optional<ValidatedResponse> getValidators(@NonNull final String key) {
+    return Optional.ofNullable(validatorCache.getIfPresent(key));
+  }
+
+  @Override
+  public void putValidators(@NonNull final String key, @NonNull final ValidatedResponse response) {
+    validatorCache.put(key, response);
+  }
+
+  @Override
+  public void recordRevalidation(final boolean notModified) {
+    if (notModified) {
+      this.notModified.increment();
+    } else {
+      modified.increment();
+    }
+  }
+
+  @Override
+  public HttpResponseCacheStats getStats() {
+    return HttpResponseCacheStats.builder()
+        .hits(hits.sum())
+        .negativeHits(negativeHits.sum())
+        .misses(misses.sum())
+        .notModified(notModified.sum())
+        .modified(modified.sum())
+        .evictions(evictions.sum())
+        .coalesced(coalescer.getCoalesced())
+        .coalesceTimeouts(coalescer.getTimeouts())
+        .size(positiveCache.size() + negativeCache.size())
+        .build();
+  }
+
+  /**
+   * Client errors like 404 are cached, as the same request will return the same result. Server
+   * errors, rate limiting (which GitHub reports as a 403 or 429) and network errors are transient,
+   * and are not cached.
+   *
+   * @param cause The reason the request failed.
+   * @return true if the failure can be cached, and false otherwise.
+   */
+  protected boolean isCacheableFailure(final Throwable cause) {
+    if (!(cause instanceof HttpStatusException)) {
+      return false;
+    }
+
+    final int code = ((HttpStatusException) cause).getStatusCode();
+    return code >= 400 && code < 500 && code != 403 && code != 429;
+  }
+
+  private static int weigh(final Try<?> value) {
+    if (value.isSuccess() && value.get() instanceof String) {
+      return ((String) value.get()).length();
+    }
+    return 1;
+  }
+}
@@ -0,0 +1,166 @@
+package com.octopus.http.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import com.octopus.http.HttpClientPool;
+import com.octopus.http.HttpClientPoolStats;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Builder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+import org.jboss.logging.Logger;
+
+/**
+ * A HTTP client pool backed by a PoolingHttpClientConnectionManager. A single client is shared by
+ * all callers, which means TLS connections to hosts like api.github.com are kept alive and reused
+ * between requests rather than being negotiated for every call.
+ *
+ * <p>The client is built with a shared connection manager, so closing the client (as the
+ * Try.withResources pattern used by the HTTP clients does) does not close the pool. Idle and
+ * expired connections are evicted by a background thread owned by this pool.
+ */
+public class PoolingHttpClientPool implements HttpClientPool {
+
+  private static final Logger LOG = Logger.getLogger(PoolingHttpClientPool.class.toString());
+  private static final int DEFAULT_MAX_TOTAL = 50;
+  private static final int DEFAULT_MAX_PER_ROUTE = 20;
+  private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 5000;
+  private static final int DEFAULT_SOCKET_TIMEOUT_MILLIS = 15000;
+  private static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS = 5000;
+  private static final int DEFAULT_IDLE_TIMEOUT_SECONDS = 30;
+  private static final int VALIDATE_AFTER_INACTIVITY_MILLIS = 2000;
+
+  private final PoolingHttpClientConnectionManager connectionManager;
+  private final CloseableHttpClient client;
+  private final ScheduledExecutorService evictor;
+  private final LongAdder handshakes = new LongAdder();
+  private final LongAdder handshakeNanos = new LongAdder();
+
+  /**
+   * Builds the pool. Any value that is zero or negative is replaced with a sensible default.
+   *
+   * @param maxTotal                       The maximum number of connections.
+   * @param maxPerRoute                    The maximum number of connections to any one host.
+   * @param connectTimeoutMillis           The time allowed to establish a connection.
+   * @param socketTimeoutMillis            The time allowed between packets.
+   * @param connectionRequestTimeoutMillis The time allowed to lease a connection from the pool.
+   * @param idleTimeoutSeconds             The time an idle connection is kept before it is
+   *                                       closed.
+   */
+  @Builder
+  public PoolingHttpClientPool(
+      final int maxTotal,
+      final int maxPerRoute,
+      final int connectTimeoutMillis,
+      final int socketTimeoutMillis,
+      final int connectionRequestTimeoutMillis,
+      final int idleTimeoutSeconds) {
+    connectionManager = new PoolingHttpClientConnectionManager(
+        RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", new TimedSslConnectionSocketFactory())
+            .build());
+    connectionManager.setMaxTotal(positiveOrDefault(maxTotal, DEFAULT_MAX_TOTAL));
+    connectionManager.setDefaultMaxPerRoute(
+        positiveOrDefault(maxPerRoute, DEFAULT_MAX_PER_ROUTE));
+    connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MILLIS);
+
+    client = HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setConnectionManagerShared(true)
+        .setDefaultRequestConfig(RequestConfig.custom()
+            .setConnectTimeout(
+                positiveOrDefault(connectTimeoutMillis, DEFAULT_CONNECT_TIMEOUT_MILLIS))
+            .setSocketTimeout(
+                positiveOrDefault(socketTimeoutMillis, DEFAULT_SOCKET_TIMEOUT_MILLIS))
+            .setConnectionRequestTimeout(positiveOrDefault(
+                connectionRequestTimeoutMillis,
+                DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS))
+            .build())
+        .build();
+
+    final int idleTimeout = positiveOrDefault(idleTimeoutSeconds, DEFAULT_IDLE_TIMEOUT_SECONDS);
+    evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+      final Thread thread = new Thread(r, "http-connection-evictor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    evictor.scheduleWithFixedDelay(
+        () -> {
+          connectionManager.closeExpiredConnections();
+          connectionManager.closeIdleConnections(idleTimeout, TimeUnit.SECONDS);
+        },
+        idleTimeout,
+        idleTimeout,
+        TimeUnit.SECONDS);
+  }
+
+  @Override
+  public CloseableHttpClient getClient() {
+    return client;
+  }
+
+  @Override
+  public HttpClientPoolStats getStats() {
+    final PoolStats stats = connectionManager.getTotalStats();
+    final long handshakeCount = handshakes.sum();
+    return HttpClientPoolStats.builder()
+        .leased(stats.getLeased())
+        .available(stats.getAvailable())
+        .pending(stats.getPending())
+        .max(stats.getMax())
+        .handshakes(handshakeCount)
+        .averageHandshakeMillis(handshakeCount == 0
+            ? 0
+            : handshakeNanos.sum() / (double) handshakeCount / 1_000_000)
+        .build();
+  }
+
+  @Override
+  public void close() {
+    LOG.log(DEBUG, "PoolingHttpClientPool.close()");
+    evictor.shutdownNow();
+    connectionManager.shutdown();
+  }
+
+  private static int positiveOrDefault(final int value, final int defaultValue) {
+    return value > 0 ? value : defaultValue;
+  }
+
+  /**
+   * A SSL socket factory that records the time taken to complete each TLS handshake.
+   */
+  private class TimedSslConnectionSocketFactory extends SSLConnectionSocketFactory {
+
+    TimedSslConnectionSocketFactory() {
+      super(SSLContexts.createDefault(), getDefaultHostnameVerifier());
+    }
+
+    @Override
+    public Socket createLayeredSocket(
+        final Socket socket,
+        final String target,
+        final int port,
+        final HttpContext context) throws IOException {
+      final long start = System.nanoTime();
+      final Socket retValue = super.createLayeredSocket(socket, target, port, context);
+      handshakeNanos.add(System.nanoTime() - start);
+      handshakes.increment();
+      return retValue;
+    }
+  }
+}
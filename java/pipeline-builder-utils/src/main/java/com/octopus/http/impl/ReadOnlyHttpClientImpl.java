@@ -3,18 +3,31 @@ package com.octopus.http.impl;
 import static org.jboss.logging.Logger.Level.DEBUG;
 import static org.jboss.logging.Logger.Level.ERROR;
 
+import com.google.common.hash.Hashing;
+import com.octopus.http.HttpClientPool;
+import com.octopus.http.HttpResponseCache;
+import com.octopus.http.HttpStatusException;
+import com.octopus.http.RateLimitScheduler;
 import com.octopus.http.ReadOnlyHttpClient;
+import com.octopus.http.RequestPriority;
+import com.octopus.http.ValidatedResponse;
+import io.vavr.CheckedFunction1;
 import io.vavr.control.Try;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.NonNull;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
@@ -30,14 +43,106 @@ import org.jboss.logging.Logger;
  * accessing repos: https://github.com/github/feedback/discussions/7891. So by ensuring we use a
  * client that can only make GET or HEAD calls, we can be sure we don't make any unwanted
  * modifications. All GET and HEAD requests are cached to help prevent GitHub API rate limit
- * issues.
+ * issues. The cache is bounded and expires entries, so it is safe to use in long-running services.
+ * Expired GET responses are revalidated with conditional requests where the server supplied an ETag
+ * or Last-Modified header.
+ *
+ * <p>When a rate limit scheduler is supplied, every request that reaches the network first reserves
+ * quota for the credential it uses, and the rate limit headers of the response are reported back to
+ * the scheduler. Requests made by this client are probes of the repo, and so are high priority by
+ * default. Bulk work uses a low priority copy of the client returned by withPriority(), so it can
+ * not spend the quota kept for interactive requests.
  */
 public class ReadOnlyHttpClientImpl implements ReadOnlyHttpClient {
 
   private static final Logger LOG = Logger.getLogger(
       ReadOnlyHttpClientImpl.class.toString());
-  private static final Map<String, Boolean> CACHED_BOOLEAN_RESULTS = new ConcurrentHashMap<>();
-  private static final Map<String, Try<String>> CACHED_STRING_RESULTS = new ConcurrentHashMap<>();
+  private static final String AUTHORIZATION_HEADER = "Authorization";
+
+  private final HttpClientPool httpClientPool;
+  private final HttpResponseCache httpResponseCache;
+  private final RateLimitScheduler rateLimitScheduler;
+  private final RequestPriority priority;
+
+  /**
+   * Creates a client that opens a new connection for each request.
+   */
+  public ReadOnlyHttpClientImpl() {
+    this(null);
+  }
+
+  /**
+   * Creates a client that reuses the connections from the supplied pool.
+   *
+   * @param httpClientPool The shared connection pool, or null to open a new connection for each
+   *                       request.
+   */
+  public ReadOnlyHttpClientImpl(final HttpClientPool httpClientPool) {
+    this(httpClientPool, BoundedHttpResponseCache.builder().build());
+  }
+
+  /**
+   * Creates a client that reuses the connections from the supplied pool, and caches responses in
+   * the supplied cache.
+   *
+   * @param httpClientPool    The shared connection pool, or null to open a new connection for each
+   *                          request.
+   * @param httpResponseCache The cache holding the results of previous requests.
+   */
+  public ReadOnlyHttpClientImpl(
+      final HttpClientPool httpClientPool,
+      @NonNull final HttpResponseCache httpResponseCache) {
+    this(httpClientPool, httpResponseCache, null);
+  }
+
+  /**
+   * Creates a client that reuses the connections from the supplied pool, caches responses in the
+   * supplied cache, and schedules requests against the quota of the credentials they use.
+   *
+   * @param httpClientPool     The shared connection pool, or null to open a new connection for
+   *                           each request.
+   * @param httpResponseCache  The cache holding the results of previous requests.
+   * @param rateLimitScheduler The scheduler tracking the quota of each credential, or null to send
+   *                           requests without checking the quota.
+   */
+  public ReadOnlyHttpClientImpl(
+      final HttpClientPool httpClientPool,
+      @NonNull final HttpResponseCache httpResponseCache,
+      final RateLimitScheduler rateLimitScheduler) {
+    this(httpClientPool, httpResponseCache, rateLimitScheduler, RequestPriority.HIGH);
+  }
+
+  /**
+   * Creates a client that reuses the connections from the supplied pool, caches responses in the
+   * supplied cache, and schedules requests with the supplied priority against the quota of the
+   * credentials they use.
+   *
+   * @param httpClientPool     The shared connection pool, or null to open a new connection for
+   *                           each request.
+   * @param httpResponseCache  The cache holding the results of previous requests.
+   * @param rateLimitScheduler The scheduler tracking the quota of each credential, or null to send
+   *                           requests without checking the quota.
+   * @param priority           The priority of the requests sent by this client.
+   */
+  public ReadOnlyHttpClientImpl(
+      final HttpClientPool httpClientPool,
+      @NonNull final HttpResponseCache httpResponseCache,
+      final RateLimitScheduler rateLimitScheduler,
+      @NonNull final RequestPriority priority) {
+    this.httpClientPool = httpClientPool;
+    this.httpResponseCache = httpResponseCache;
+    this.rateLimitScheduler = rateLimitScheduler;
+    this.priority = priority;
+  }
+
+  @Override
+  public ReadOnlyHttpClient withPriority(@NonNull final RequestPriority priority) {
+    if (priority == this.priority) {
+      return this;
+    }
+    return new ReadOnlyHttpClientImpl(httpClientPool, httpResponseCache, rateLimitScheduler,
+        priority);
+  }
 
   /**
    * Performs a HTTP GET request.
@@ -49,13 +154,13 @@ public class ReadOnlyHttpClientImpl implements ReadOnlyHttpClient {
     LOG.log(DEBUG, "StringHttpClient.get(String)");
     LOG.log(DEBUG, "url: " + url);
 
-    return CACHED_STRING_RESULTS.computeIfAbsent(
-        generateCacheKey("GET", url, null),
-        s ->
+    final String cacheKey = generateCacheKey("GET", url, null);
+
+    return httpResponseCache.get(
+        cacheKey,
+        () ->
             getClient()
-                .of(httpClient -> getResponse(httpClient, url, List.of())
-                    .of(response -> EntityUtils.toString(checkSuccess(response).getEntity()))
-                    .get())
+                .of(httpClient -> conditionalGet(httpClient, url, List.of(), cacheKey))
                 .onSuccess(c -> LOG.log(DEBUG, "HTTP GET response body: " + c))
                 .onFailure(e -> LOG.log(DEBUG, "Exception message: " + e.toString())));
   }
@@ -88,16 +193,17 @@ public class ReadOnlyHttpClientImpl implements ReadOnlyHttpClient {
         ? List.of(new BasicHeader("Authorization", "token " + accessToken))
         : buildHeaders(username, password);
 
-    return CACHED_STRING_RESULTS.computeIfAbsent(
-        generateCacheKey("GET", url, headers),
-        s ->
+    final String cacheKey = generateCacheKey("GET", url, headers);
+
+    return httpResponseCache.get(
+        cacheKey,
+        () ->
             getClient()
-                .of(httpClient -> getResponse(
+                .of(httpClient -> conditionalGet(
                     httpClient,
                     url,
-                    headers)
-                    .of(response -> EntityUtils.toString(checkSuccess(response).getEntity()))
-                    .get())
+                    headers,
+                    cacheKey))
                 .onSuccess(c -> LOG.log(DEBUG, "HTTP GET response body: " + c))
                 .onFailure(e -> LOG.log(ERROR, "Exception message: " + e.toString())));
   }
@@ -110,19 +216,48 @@ public class ReadOnlyHttpClientImpl implements ReadOnlyHttpClient {
     LOG.log(DEBUG, "url: " + url);
     LOG.log(DEBUG, "headers: " + headers);
 
-    return CACHED_STRING_RESULTS.computeIfAbsent(
-        generateCacheKey("GET", url, headers),
-        s ->
+    final String cacheKey = generateCacheKey("GET", url, headers);
+
+    return httpResponseCache.get(
+        cacheKey,
+        () ->
             getClient()
-                .of(httpClient -> getResponse(
+                .of(httpClient -> conditionalGet(
                     httpClient, url,
-                    headers)
-                    .of(response -> EntityUtils.toString(checkSuccess(response).getEntity()))
-                    .get())
+                    headers,
+                    cacheKey))
                 .onSuccess(c -> LOG.log(DEBUG, "HTTP GET response body: " + c))
                 .onFailure(e -> LOG.log(ERROR, "Exception message: " + e.toString())));
   }
 
+  @Override
+  public <T> Try<T> getStream(
+      @NonNull final String url,
+      final String username,
+      final String password,
+      final String accessToken,
+      @NonNull final CheckedFunction1<InputStream, T> reader) {
+    LOG.log(DEBUG, "StringHttpClient.getStream(String, String, String, String, CheckedFunction1)");
+    LOG.log(DEBUG, "url: " + url);
+
+    final List<Header> headers = StringUtils.isNotBlank(accessToken)
+        ? List.of(new BasicHeader("Authorization", "token " + accessToken))
+        : buildHeaders(username, password);
+
+    return getClient()
+        .of(httpClient -> getResponse(httpClient, url, headers)
+            .of(response -> {
+              final HttpEntity entity = checkSuccess(response).getEntity();
+              final T result = reader.apply(entity.getContent());
+              // Reading the rest of a successful response allows the connection to be reused. A
+              // failed reader skips this, and the connection is dropped when the response closes.
+              EntityUtils.consume(entity);
+              return result;
+            })
+            .get())
+        .onFailure(e -> LOG.log(ERROR, "Exception message: " + e.toString()));
+  }
+
   /**
    * Performs a HTTP HEAD request.
    *
@@ -133,20 +268,32 @@ public class ReadOnlyHttpClientImpl implements ReadOnlyHttpClient {
     LOG.log(DEBUG, "StringHttpClient.head(String)");
     LOG.log(DEBUG, "url: " + url);
 
-    return CACHED_BOOLEAN_RESULTS.computeIfAbsent(
+    return httpResponseCache.get(
         generateCacheKey("HEAD", url, null),
-        s ->
+        () ->
             getClient()
                 .of(httpClient -> headResponse(httpClient, url, List.of()).of(this::checkSuccess)
+                    .map(r -> true)
                     .get())
                 .onSuccess(c -> LOG.log(DEBUG, "HTTP HEAD request was successful."))
-                .onFailure(e -> LOG.log(ERROR, "Exception message: " + e.toString()))
-                .isSuccess());
+                .onFailure(e -> LOG.log(ERROR, "Exception message: " + e.toString())))
+        .isSuccess();
   }
 
   @Override
   public boolean head(String url, String username, String password, String accessToken) {
     LOG.log(DEBUG, "StringHttpClient.head(String, String, String)");
+
+    return exists(url, username, password, accessToken).getOrElse(false);
+  }
+
+  @Override
+  public Try<Boolean> exists(
+      @NonNull final String url,
+      final String username,
+      final String password,
+      final String accessToken) {
+    LOG.log(DEBUG, "StringHttpClient.exists(String, String, String, String)");
     LOG.log(DEBUG, "url: " + url);
     LOG.log(DEBUG, "username: " + username);
     LOG.log(DEBUG, "password present: " + !StringUtils.isBlank(password));
@@ -156,18 +303,21 @@ public class ReadOnlyHttpClientImpl implements ReadOnlyHttpClient {
         ? List.of(new BasicHeader("Authorization", "token " + accessToken))
         : buildHeaders(username, password);
 
-    return CACHED_BOOLEAN_RESULTS.computeIfAbsent(
+    return httpResponseCache.get(
         generateCacheKey("HEAD", url, headers),
-        s ->
+        () ->
             getClient()
                 .of(httpClient -> headResponse(
                     httpClient,
                     url,
                     headers)
                     .of(this::checkSuccess)
-                    .get())
-                .isSuccess()
-    );
+                    .map(r -> true)
+                    .get()))
+        // Only a 404 means the resource does not exist. Anything else leaves the question open.
+        .recoverWith(HttpStatusException.class, e -> e.getStatusCode() == HttpStatus.SC_NOT_FOUND
+            ? Try.success(false)
+            : Try.<Boolean>failure(e));
   }
 
   @Override
@@ -179,17 +329,21 @@ public class ReadOnlyHttpClientImpl implements ReadOnlyHttpClient {
     LOG.log(DEBUG, "url: " + url);
     LOG.log(DEBUG, "username: " + username);
 
-    return CACHED_BOOLEAN_RESULTS.computeIfAbsent(
-        generateCacheKey("HEAD", url, null),
-        s ->
+    final List<Header> headers = buildHeaders(username, password);
+
+    return httpResponseCache.get(
+        generateCacheKey("HEAD", url, headers),
+        () ->
             getClient()
                 .of(httpClient -> headResponse(
                     httpClient, url,
-                    buildHeaders(username, password))
-                    .of(this::checkSuccess).get())
+                    headers)
+                    .of(this::checkSuccess)
+                    .map(r -> true)
+                    .get())
                 .onSuccess(c -> LOG.log(DEBUG, "HTTP HEAD request was successful."))
-                .onFailure(e -> LOG.log(ERROR, "Exception message: " + e.toString()))
-                .isSuccess());
+                .onFailure(e -> LOG.log(ERROR, "Exception message: " + e.toString())))
+        .isSuccess();
   }
 
   @Override
@@ -198,17 +352,19 @@ public class ReadOnlyHttpClientImpl implements ReadOnlyHttpClient {
     LOG.log(DEBUG, "url: " + url);
     LOG.log(DEBUG, "headers: " + headers);
 
-    return CACHED_BOOLEAN_RESULTS.computeIfAbsent(
+    return httpResponseCache.get(
         generateCacheKey("HEAD", url, headers),
-        s ->
+        () ->
             getClient()
                 .of(httpClient -> headResponse(
                     httpClient, url,
                     headers)
-                    .of(this::checkSuccess).get())
+                    .of(this::checkSuccess)
+                    .map(r -> true)
+                    .get())
                 .onSuccess(c -> LOG.log(DEBUG, "HTTP HEAD request was successful."))
-                .onFailure(e -> LOG.log(ERROR, "Exception message: " + e.toString()))
-                .isSuccess());
+                .onFailure(e -> LOG.log(ERROR, "Exception message: " + e.toString())))
+        .isSuccess();
   }
 
   protected List<Header> buildHeaders(final String username, final String password) {
@@ -225,10 +381,14 @@ public class ReadOnlyHttpClientImpl implements ReadOnlyHttpClient {
 
     return Optional.of(new BasicHeader(
         "AUTHORIZATION",
-        "Basic " + Base64.encodeBase64((username + ":" + password).getBytes())));
+        "Basic " + Base64.encodeBase64String((username + ":" + password).getBytes())));
   }
 
   protected Try.WithResources1<CloseableHttpClient> getClient() {
+    if (httpClientPool != null) {
+      // The pooled client shares its connection manager, so closing it leaves the pool open
+      return Try.withResources(httpClientPool::getClient);
+    }
     return Try.withResources(HttpClients::createDefault);
   }
 
@@ -236,14 +396,101 @@ public class ReadOnlyHttpClientImpl implements ReadOnlyHttpClient {
       @NonNull final CloseableHttpClient httpClient,
       @NonNull final String path,
       @NonNull final List<Header> headers) {
-    return Try.withResources(() -> httpClient.execute(getRequest(path, headers)));
+    return Try.withResources(() -> execute(httpClient, getRequest(path, headers)));
+  }
+
+  /**
+   * Performs a GET request, including the validators from any previous response. A 304 response
+   * returns the previous body, while any other successful response saves the new body and
+   * validators.
+   */
+  private String conditionalGet(
+      @NonNull final CloseableHttpClient httpClient,
+      @NonNull final String url,
+      @NonNull final List<Header> headers,
+      @NonNull final String cacheKey) {
+    final Optional<ValidatedResponse> previous = httpResponseCache.getValidators(cacheKey);
+
+    return getResponse(httpClient, url, addValidators(headers, previous))
+        .of(response -> {
+          if (previous.isPresent()
+              && response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+            LOG.log(DEBUG, "Response for " + url + " was not modified");
+            httpResponseCache.recordRevalidation(true);
+            return previous.get().getBody();
+          }
+
+          final String body = EntityUtils.toString(checkSuccess(response).getEntity());
+          previous.ifPresent(p -> httpResponseCache.recordRevalidation(false));
+          saveValidators(cacheKey, body, response);
+          return body;
+        })
+        .get();
+  }
+
+  private List<Header> addValidators(
+      @NonNull final List<Header> headers,
+      @NonNull final Optional<ValidatedResponse> previous) {
+    if (previous.isEmpty()) {
+      return headers;
+    }
+
+    final List<Header> retValue = new ArrayList<>(headers);
+    if (previous.get().getEtag() != null) {
+      retValue.add(new BasicHeader(HttpHeaders.IF_NONE_MATCH, previous.get().getEtag()));
+    }
+    if (previous.get().getLastModified() != null) {
+      retValue.add(
+          new BasicHeader(HttpHeaders.IF_MODIFIED_SINCE, previous.get().getLastModified()));
+    }
+    return retValue;
+  }
+
+  private void saveValidators(
+      @NonNull final String cacheKey,
+      @NonNull final String body,
+      @NonNull final CloseableHttpResponse response) {
+    final Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+    final Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+    if (etag != null || lastModified != null) {
+      httpResponseCache.putValidators(cacheKey, new ValidatedResponse(
+          body,
+          etag == null ? null : etag.getValue(),
+          lastModified == null ? null : lastModified.getValue()));
+    }
   }
 
   private Try.WithResources1<CloseableHttpResponse> headResponse(
       @NonNull final CloseableHttpClient httpClient,
       @NonNull final String path,
       @NonNull final List<Header> headers) {
-    return Try.withResources(() -> httpClient.execute(headRequest(path, headers)));
+    return Try.withResources(() -> execute(httpClient, headRequest(path, headers)));
+  }
+
+  /**
+   * Sends the request, reserving quota for it first if a rate limit scheduler was supplied. A
+   * request that can not be sent fails with a RateLimitedException, which is not cached.
+   */
+  private CloseableHttpResponse execute(
+      @NonNull final CloseableHttpClient httpClient,
+      @NonNull final HttpRequestBase request) throws IOException {
+    if (rateLimitScheduler == null) {
+      return httpClient.execute(request);
+    }
+
+    final Header authorization = request.getFirstHeader(HttpHeaders.AUTHORIZATION);
+    final String credential = rateLimitScheduler.identify(
+        authorization == null ? null : authorization.getValue());
+    rateLimitScheduler.acquire(credential, priority);
+
+    final CloseableHttpResponse response = httpClient.execute(request);
+    rateLimitScheduler.update(
+        credential,
+        response.getStatusLine().getStatusCode(),
+        name -> Optional.ofNullable(response.getFirstHeader(name))
+            .map(Header::getValue)
+            .orElse(null));
+    return response;
   }
 
   private HttpRequestBase headRequest(
@@ -262,6 +509,10 @@ public class ReadOnlyHttpClientImpl implements ReadOnlyHttpClient {
     return request;
   }
 
+  /**
+   * Generates the key used to cache a response. Credentials are hashed so the cache does not hold
+   * raw tokens or passwords.
+   */
   private String generateCacheKey(@NonNull final String method, @NonNull final String url,
       final List<Header> headers) {
     final StringBuilder sb = new StringBuilder(method + "\n" + url);
@@ -269,7 +520,9 @@ public class ReadOnlyHttpClientImpl implements ReadOnlyHttpClient {
       sb.append("\n");
       sb.append(headers
           .stream()
-          .map(h -> h.getName() + ":" + h.getValue())
+          .map(h -> h.getName() + ":" + (AUTHORIZATION_HEADER.equalsIgnoreCase(h.getName())
+              ? Hashing.sha256().hashString(h.getValue(), StandardCharsets.UTF_8).toString()
+              : h.getValue()))
           .sorted()
           .collect(Collectors.joining("\n")));
     }
@@ -288,6 +541,6 @@ public class ReadOnlyHttpClientImpl implements ReadOnlyHttpClient {
 
     LOG.log(ERROR, "Response code " + code + " did not indicate success");
     LOG.log(ERROR, EntityUtils.toString(response.getEntity()));
-    throw new Exception("Response code " + code + " did not indicate success");
+    throw new HttpStatusException(code);
   }
 }
@@ -3,6 +3,7 @@ package com.octopus.http.impl;
 import static org.jboss.logging.Logger.Level.DEBUG;
 import static org.jboss.logging.Logger.Level.ERROR;
 
+import com.octopus.http.HttpClientPool;
 import io.vavr.control.Try;
 import java.util.List;
 import lombok.NonNull;
@@ -22,6 +23,22 @@ import org.jboss.logging.Logger;
 public class ReadWriteHttpClientImpl extends ReadOnlyHttpClientImpl {
   private static final Logger LOG = Logger.getLogger(ReadWriteHttpClientImpl.class.toString());
 
+  /**
+   * Creates a client that opens a new connection for each request.
+   */
+  public ReadWriteHttpClientImpl() {
+    super();
+  }
+
+  /**
+   * Creates a client that reuses the connections from the supplied pool.
+   *
+   * @param httpClientPool The shared connection pool.
+   */
+  public ReadWriteHttpClientImpl(final HttpClientPool httpClientPool) {
+    super(httpClientPool);
+  }
+
   /**
    * Performs a HTTP POST request.
    *
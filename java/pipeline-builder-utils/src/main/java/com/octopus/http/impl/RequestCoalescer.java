@@ -0,0 +1,167 @@
+package com.octopus.http.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import io.vavr.control.Try;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * Collapses concurrent requests for the same key into a single request. The first caller for a key
+ * makes the request, and any caller that arrives while it is in flight waits for and shares the
+ * same result. The request is made outside of any map lock, so requests for other keys are never
+ * blocked behind it.
+ *
+ * <p>Callers only wait on an in-flight request until its deadline, which is fixed when the request
+ * starts. Once the deadline passes the request is no longer joined, and callers make their own
+ * request instead, so one stalled request can not hold up every caller for that key.
+ */
+public class RequestCoalescer {
+
+  private static final Logger LOG = Logger.getLogger(RequestCoalescer.class.toString());
+  private static final long DEFAULT_TIMEOUT_MILLIS = 20000;
+
+  private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+  private final long timeoutNanos;
+  private final LongAdder originated = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+
+  /**
+   * Creates a coalescer with the default timeout.
+   */
+  public RequestCoalescer() {
+    this(0);
+  }
+
+  /**
+   * Creates a coalescer.
+   *
+   * @param timeoutMillis The time callers will wait on a request made by another caller. A value
+   *                      that is zero or negative is replaced with a sensible default.
+   */
+  public RequestCoalescer(final long timeoutMillis) {
+    this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(
+        timeoutMillis > 0 ? timeoutMillis : DEFAULT_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * Returns the result of the in-flight request for the key, or calls the loader if there is no
+   * request in flight.
+   *
+   * @param key    The key identifying the request.
+   * @param loader The function used to perform the request.
+   * @param <T>    The type of the result.
+   * @return The shared or loaded result.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Try<T> execute(@NonNull final String key, @NonNull final Supplier<Try<T>> loader) {
+    final InFlight created = new InFlight(System.nanoTime() + timeoutNanos);
+    final InFlight existing = inFlight.putIfAbsent(key, created);
+    if (existing == null) {
+      return originate(key, created, loader);
+    }
+
+    final long remaining = existing.deadline - System.nanoTime();
+    if (remaining > 0) {
+      coalesced.increment();
+      try {
+        return (Try<T>) existing.result.get(remaining, TimeUnit.NANOSECONDS);
+      } catch (final InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return Try.failure(ex);
+      } catch (final ExecutionException | TimeoutException ex) {
+        // fall through and make our own request
+      }
+    }
+
+    timeouts.increment();
+    LOG.log(DEBUG, "In-flight request for " + key + " passed its deadline");
+    inFlight.remove(key, existing);
+    originated.increment();
+    return load(loader);
+  }
+
+  /**
+   * Returns the number of requests that were made by the loader.
+   *
+   * @return The number of requests originated by a caller.
+   */
+  public long getOriginated() {
+    return originated.sum();
+  }
+
+  /**
+   * Returns the number of requests that shared the result of an in-flight request.
+   *
+   * @return The number of coalesced requests.
+   */
+  public long getCoalesced() {
+    return coalesced.sum();
+  }
+
+  /**
+   * Returns the number of times a caller stopped waiting on an in-flight request.
+   *
+   * @return The number of timeouts.
+   */
+  public long getTimeouts() {
+    return timeouts.sum();
+  }
+
+  /**
+   * Returns the number of requests currently in flight.
+   *
+   * @return The number of requests in flight.
+   */
+  public int getInFlight() {
+    return inFlight.size();
+  }
+
+  private <T> Try<T> originate(
+      final String key,
+      final InFlight request,
+      final Supplier<Try<T>> loader) {
+    originated.increment();
+    Try<T> result = null;
+    try {
+      result = load(loader);
+      return result;
+    } finally {
+      // Waiting callers are released even if the loader threw an Error
+      request.result.complete(result != null
+          ? result
+          : Try.failure(new IllegalStateException("The request for " + key + " failed")));
+      inFlight.remove(key, request);
+    }
+  }
+
+  private static <T> Try<T> load(final Supplier<Try<T>> loader) {
+    try {
+      return loader.get();
+    } catch (final RuntimeException ex) {
+      return Try.failure(ex);
+    }
+  }
+
+  /**
+   * A request that is in flight, along with the time after which callers stop waiting on it.
+   */
+  private static class InFlight {
+
+    private final long deadline;
+    private final CompletableFuture<Try<?>> result = new CompletableFuture<>();
+
+    InFlight(final long deadline) {
+      this.deadline = deadline;
+    }
+  }
+}
@@ -56,6 +56,39 @@ public interface RepoClient {
    */
   Try<Boolean> wildCardFileExist(@NonNull final String path);
 
+  /**
+   * Returns the paths of all the files and directories in the default branch of the repo. Clients
+   * that can not list the repo contents in a single request return a failure, in which case callers
+   * must fall back to the individual file methods.
+   *
+   * @return The paths of all the files and directories in the repo.
+   */
+  default Try<List<String>> getFileTree() {
+    return Try.failure(new UnsupportedOperationException("This client can not list the repo."));
+  }
+
+  /**
+   * Returns the SHA of the commit at the head of the default branch. Clients that can not resolve
+   * the commit return a failure.
+   *
+   * @return The SHA of the head commit.
+   */
+  default Try<String> getHeadCommit() {
+    return Try.failure(new UnsupportedOperationException("This client can not resolve commits."));
+  }
+
+  /**
+   * Returns true if a request made to answer a file test, file read or wildcard match failed for
+   * a reason other than the file not existing, like a server error, timeout or rate limit. The
+   * answer to that request was a guess, so a pipeline generated from this client may be wrong and
+   * must not be cached.
+   *
+   * @return true if any answer given by this client was a guess, and false otherwise.
+   */
+  default boolean isDegraded() {
+    return false;
+  }
+
   /**
    * Returns the path to the repository, suitable for performing a clone operation.
    *
@@ -1,5 +1,7 @@
 package com.octopus.repoclients;
 
+import com.octopus.http.RequestPriority;
+
 /**
  * Repo clients usually share a base set of credentials, defined once in an implementation of this
  * factory. Then each request will have its own unique repo and access token, so a new client is
@@ -15,4 +17,18 @@ public interface RepoClientFactory {
    * @return A request specific repo client
    */
   RepoClient buildRepoClient(String repo, String accessToken);
+
+  /**
+   * Returns a repo client for a specific repo and credentials, whose requests are scheduled with
+   * the supplied priority. Bulk work uses low priority clients, so it can not spend the quota kept
+   * for interactive requests.
+   *
+   * @param repo        The repo to access
+   * @param accessToken The access token to use
+   * @param priority    The priority of the requests made by the client
+   * @return A request specific repo client
+   */
+  default RepoClient buildRepoClient(String repo, String accessToken, RequestPriority priority) {
+    return buildRepoClient(repo, accessToken);
+  }
 }
@@ -0,0 +1,152 @@
+package com.octopus.repoclients.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import com.google.common.base.Suppliers;
+import com.octopus.repoclients.RepoClient;
+import io.vavr.control.Try;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.Builder;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * A RepoClient decorator that downloads the head commit of a GitHub repo as a single archive,
+ * and then answers every file read, file test and wildcard match locally. Builders like the
+ * DotNET Core builder read many files to detect a project, so this replaces a request for each
+ * file with one download.
+ *
+ * <p>Archive mode is only used when GitHub reports the repo to be no larger than the maximum
+ * size. Larger repos, and repos whose archive could not be downloaded or exceeded the byte cap,
+ * fall back to the API requests made by the wrapped client.
+ *
+ * <p>The archive is downloaded for the commit SHA rather than the branch, so it always matches the
+ * commit the pipeline is cached against. When an archive cache is supplied, the archive is shared
+ * by every request for the same commit.
+ *
+ * <p>Instances are created for each request, and so capture the state of the repo at the time of
+ * the first call.
+ */
+public class ArchiveRepoClient implements RepoClient {
+
+  private static final Logger LOG = Logger.getLogger(ArchiveRepoClient.class.toString());
+  private static final long DEFAULT_MAX_REPO_SIZE_KILOBYTES = 20 * 1024;
+  private static final long DEFAULT_MAX_ARCHIVE_BYTES = 64 * 1024 * 1024;
+  private static final long DEFAULT_MEMORY_THRESHOLD_BYTES = 8 * 1024 * 1024;
+
+  private final GithubRepoClient repoClient;
+  private final Supplier<Try<RepoArchive>> archive;
+
+  /**
+   * Creates the decorator. Any value that is zero or negative is replaced with a sensible default.
+   *
+   * @param repoClient           The client used to access the repo.
+   * @param maxRepoSizeKilobytes The largest repo, as reported by GitHub, that is downloaded.
+   * @param maxArchiveBytes      The maximum size of the extracted archive.
+   * @param memoryThresholdBytes The size of the extracted archive above which it is held in a
+   *                             memory mapped file rather than on the heap.
+   * @param archiveCache         The optional cache of downloaded archives.
+   */
+  @Builder
+  public ArchiveRepoClient(
+      @NonNull final GithubRepoClient repoClient,
+      final long maxRepoSizeKilobytes,
+      final long maxArchiveBytes,
+      final long memoryThresholdBytes,
+      final RepoArchiveCache archiveCache) {
+    this.repoClient = repoClient;
+    final long maxSize = maxRepoSizeKilobytes > 0
+        ? maxRepoSizeKilobytes
+        : DEFAULT_MAX_REPO_SIZE_KILOBYTES;
+    final long maxBytes = maxArchiveBytes > 0 ? maxArchiveBytes : DEFAULT_MAX_ARCHIVE_BYTES;
+    final long threshold = memoryThresholdBytes > 0
+        ? memoryThresholdBytes
+        : DEFAULT_MEMORY_THRESHOLD_BYTES;
+    this.archive = Suppliers.memoize(() -> repoClient.getSizeKilobytes()
+        .filter(s -> s <= maxSize, s -> new Exception("The repo is " + s + "KB"))
+        .flatMap(s -> repoClient.getHeadCommit())
+        .flatMap(c -> archiveCache == null
+            ? repoClient.getArchive(c, maxBytes, threshold)
+            : archiveCache.get(repoClient.getRepo(), c,
+                () -> repoClient.getArchive(c, maxBytes, threshold)))
+        .onSuccess(a -> LOG.log(DEBUG, "Read " + a.getIndex().size() + " paths from the archive"
+            + (a.isMapped() ? " into a mapped file" : "")))
+        .onFailure(e -> LOG.log(DEBUG, "Falling back to API requests: " + e)));
+  }
+
+  @Override
+  public String getRepo() {
+    return repoClient.getRepo();
+  }
+
+  @Override
+  public boolean hasAccessToken() {
+    return repoClient.hasAccessToken();
+  }
+
+  @Override
+  public Try<String> getFile(@NonNull final String path) {
+    return archive.get()
+        .map(a -> a.getFile(path))
+        .getOrElse(() -> repoClient.getFile(path));
+  }
+
+  @Override
+  public boolean testFile(@NonNull final String path) {
+    return archive.get()
+        .map(a -> a.getIndex().contains(path))
+        .getOrElse(() -> repoClient.testFile(path));
+  }
+
+  @Override
+  public Try<List<String>> getWildcardFiles(@NonNull final String path, final int limit) {
+    return archive.get()
+        .map(a -> Try.of(() -> a.getIndex().match(path, limit)))
+        .getOrElse(() -> repoClient.getWildcardFiles(path, limit));
+  }
+
+  @Override
+  public Try<Boolean> wildCardFileExist(@NonNull final String path) {
+    return archive.get()
+        .map(a -> Try.of(() -> a.getIndex().anyMatch(path)))
+        .getOrElse(() -> repoClient.wildCardFileExist(path));
+  }
+
+  @Override
+  public Try<List<String>> getFileTree() {
+    return archive.get()
+        .map(a -> Try.of(() -> a.getIndex().getPaths()))
+        .getOrElse(repoClient::getFileTree);
+  }
+
+  @Override
+  public Try<String> getHeadCommit() {
+    return repoClient.getHeadCommit();
+  }
+
+  @Override
+  public boolean isDegraded() {
+    return repoClient.isDegraded();
+  }
+
+  @Override
+  public String getRepoPath() {
+    return repoClient.getRepoPath();
+  }
+
+  @Override
+  public List<String> getDefaultBranches() {
+    return repoClient.getDefaultBranches();
+  }
+
+  @Override
+  public Try<String> getRepoName() {
+    return repoClient.getRepoName();
+  }
+
+  @Override
+  public boolean testRepo() {
+    return repoClient.testRepo();
+  }
+}
@@ -1,6 +1,7 @@
 package com.octopus.repoclients.impl;
 
 import com.octopus.http.ReadOnlyHttpClient;
+import com.octopus.http.RequestPriority;
 import com.octopus.repoclients.RepoClient;
 import com.octopus.repoclients.RepoClientFactory;
 import lombok.Builder;
@@ -9,7 +10,13 @@ import lombok.NonNull;
 import lombok.Setter;
 
 /**
- * An implementation of RepoClientFactory that creates GithubRepoClients.
+ * An implementation of RepoClientFactory that creates GithubRepoClients. The clients are wrapped in
+ * a SnapshotRepoClient, so the many file tests performed by the builders are answered from a single
+ * listing of the repo.
+ *
+ * <p>When the maximum archive repo size is set, repos up to that size are downloaded as a single
+ * archive by an ArchiveRepoClient, and every file is read from the archive rather than the API.
+ * Archives are shared between requests for the same commit through the archive cache.
  */
 @Builder
 public class GitHubRepoClientFactory implements RepoClientFactory {
@@ -26,10 +33,53 @@ public class GitHubRepoClientFactory implements RepoClientFactory {
   @Setter
   private String password;
 
+  /**
+   * The largest repo, in kilobytes, that is downloaded as an archive. Zero disables archive mode.
+   */
+  @Getter
+  @Setter
+  private long archiveMaxRepoSizeKilobytes;
+
+  @Getter
+  @Setter
+  private long archiveMaxBytes;
+
+  @Getter
+  @Setter
+  private long archiveMemoryThresholdBytes;
+
+  @Getter
+  @Setter
+  private RepoArchiveCache archiveCache;
+
   /**
    * {@inheritDoc}
    */
   public RepoClient buildRepoClient(@NonNull final String repo, final String accessToken) {
-    return new GithubRepoClient(repo, readOnlyHttpClient, username, password, accessToken);
+    return buildRepoClient(repo, accessToken, RequestPriority.HIGH);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public RepoClient buildRepoClient(
+      @NonNull final String repo,
+      final String accessToken,
+      @NonNull final RequestPriority priority) {
+    final GithubRepoClient repoClient = new GithubRepoClient(
+        repo, readOnlyHttpClient.withPriority(priority), username, password, accessToken);
+
+    if (archiveMaxRepoSizeKilobytes <= 0) {
+      return new SnapshotRepoClient(repoClient);
+    }
+
+    return new SnapshotRepoClient(ArchiveRepoClient.builder()
+        .repoClient(repoClient)
+        .maxRepoSizeKilobytes(archiveMaxRepoSizeKilobytes)
+        .maxArchiveBytes(archiveMaxBytes)
+        .memoryThresholdBytes(archiveMemoryThresholdBytes)
+        .archiveCache(archiveCache)
+        .build());
   }
 }
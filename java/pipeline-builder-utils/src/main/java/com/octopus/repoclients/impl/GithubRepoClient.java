@@ -3,22 +3,24 @@ package com.octopus.repoclients.impl;
 import static org.jboss.logging.Logger.Level.DEBUG;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Suppliers;
+import com.octopus.exceptions.RateLimitedException;
+import com.octopus.http.HttpStatusException;
 import com.octopus.http.ReadOnlyHttpClient;
 import com.octopus.repoclients.RepoClient;
 import io.vavr.control.Try;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.shiro.util.AntPathMatcher;
-import org.apache.shiro.util.PatternMatcher;
 import org.jboss.logging.Logger;
 
 /**
@@ -30,7 +32,6 @@ public class GithubRepoClient implements RepoClient {
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
   public static final String GITHUB_REGEX = "https://github.com/(?<username>.*?)/(?<repo>.*?)(/|\\.git$|$).*";
   private static final Logger LOG = Logger.getLogger(GithubRepoClient.class.toString());
-  private static final PatternMatcher ANT_PATH_MATCHER = new AntPathMatcher();
   private static final Pattern GITHUB_PATTERN = Pattern.compile(GITHUB_REGEX);
   private static final String GITHUB_CLIENT_ID_ENV_VAR = "GITHUB_CLIENT_ID";
   private static final String GITHUB_CLIENT_SECRET_ENV_VAR = "GITHUB_CLIENT_SECRET";
@@ -46,6 +47,26 @@ public class GithubRepoClient implements RepoClient {
 
   private String accessToken;
 
+  /**
+   * Every request made for the repo refers to the default branch, so it is resolved once for the
+   * life of the client.
+   */
+  private final Supplier<List<String>> defaultBranches =
+      Suppliers.memoize(this::resolveDefaultBranches);
+
+  /**
+   * The head commit identifies both the cached pipeline and the archive of the repo, so it is
+   * resolved once for the life of the client. Otherwise a branch that moved between the two
+   * requests would cache a pipeline built from the newer commit under the older one.
+   */
+  private final Supplier<Try<String>> headCommit = Suppliers.memoize(this::resolveHeadCommit);
+
+  /**
+   * Set when a request that answers a probe fails for any reason other than the resource not
+   * existing, as the probe then reports a guess.
+   */
+  private final AtomicBoolean degraded = new AtomicBoolean();
+
   @Override
   public boolean hasAccessToken() {
     return StringUtils.isNotBlank(accessToken);
@@ -62,6 +83,7 @@ public class GithubRepoClient implements RepoClient {
                 username,
                 password,
                 accessToken)
+                .onFailure(this::recordFailure)
                 .mapTry(r -> OBJECT_MAPPER.readValue(r, HashMap.class))
                 .mapTry(m -> m.get("content").toString())
                 .mapTry(c -> new String(new Base64().decode(c))))
@@ -77,12 +99,14 @@ public class GithubRepoClient implements RepoClient {
     return getDetails()
         .map(d -> getDefaultBranches()
             .stream()
-            .anyMatch(b -> readOnlyHttpClient.head(
-                "https://api.github.com/repos/" + d.getUsername() + "/" + d.getRepository()
-                    + "/contents/" + path + "?ref=" + b,
-                username,
-                password,
-                accessToken)))
+            .anyMatch(b -> readOnlyHttpClient.exists(
+                    "https://api.github.com/repos/" + d.getUsername() + "/" + d.getRepository()
+                        + "/contents/" + path + "?ref=" + b,
+                    username,
+                    password,
+                    accessToken)
+                .onFailure(this::recordFailure)
+                .getOrElse(false)))
         .get();
   }
 
@@ -90,58 +114,46 @@ public class GithubRepoClient implements RepoClient {
   public Try<List<String>> getWildcardFiles(@NonNull final String path, int limit) {
     LOG.debug("GithubRepoClient.getWildcardFiles(String)");
 
-    return getDetails()
-        // Get the repository tree list
-        .flatMap(d -> getDefaultBranches()
-            .stream()
-            .map(b -> readOnlyHttpClient.get(
-                "https://api.github.com/repos/" + d.getUsername() + "/" + d.getRepository()
-                    + "/git/trees/" + b + "?recursive=0",
-                username,
-                password,
-                accessToken))
-            .filter(Try::isSuccess)
-            .findFirst()
-            .orElse(Try.failure(new Exception("Could not contact any of the branches"))))
-        // Convert the resulting JSON into a map
-        .mapTry(j -> new ObjectMapper().readValue(j, Map.class))
-        // files are contained in the tree array
-        .mapTry(d -> (List<Map<Object, Object>>) d.get("tree"))
-        // each member of the tree array is an object containing a path
-        .mapTry(t -> t
-            .stream()
-            .map(u -> u.get("path").toString())
-            .filter(p -> ANT_PATH_MATCHER.matches(path, p))
-            .limit(limit)
-            .collect(Collectors.toList()));
+    return getTree().mapTry(t -> t.match(path, limit));
   }
 
   @Override
   public Try<Boolean> wildCardFileExist(@NonNull final String path) {
     LOG.debug("GithubRepoClient.getWildcardFiles(String)");
 
+    return getTree().mapTry(t -> t.anyMatch(path));
+  }
+
+  @Override
+  public Try<List<String>> getFileTree() {
+    LOG.debug("GithubRepoClient.getFileTree()");
+
+    return getTree(true).map(PathIndex::getPaths);
+  }
+
+  @Override
+  public Try<String> getHeadCommit() {
+    LOG.debug("GithubRepoClient.getHeadCommit()");
+
+    return headCommit.get();
+  }
+
+  private Try<String> resolveHeadCommit() {
     return getDetails()
-        // Get the repository tree list
-        .flatMap(d -> getDefaultBranches()
-            .stream()
-            .map(b -> readOnlyHttpClient.get(
-                "https://api.github.com/repos/" + d.getUsername() + "/" + d.getRepository()
-                    + "/git/trees/" + b + "?recursive=0",
-                username,
-                password,
-                accessToken))
-            .filter(Try::isSuccess)
-            .findFirst()
-            .orElse(Try.failure(new Exception("Could not contact any of the branches"))))
-        // Convert the resulting JSON into a map
-        .mapTry(j -> new ObjectMapper().readValue(j, Map.class))
-        // files are contained in the tree array
-        .mapTry(d -> (List<Map<Object, Object>>) d.get("tree"))
-        // each member of the tree array is an object containing a path
-        .mapTry(t -> t
-            .stream()
-            .map(u -> u.get("path").toString())
-            .anyMatch(p -> ANT_PATH_MATCHER.matches(path, p)));
+        // Get the branch reference: https://docs.github.com/en/rest/git/refs#get-a-reference
+        .flatMap(d -> readOnlyHttpClient.get(
+            "https://api.github.com/repos/" + d.getUsername() + "/" + d.getRepository()
+                + "/git/ref/heads/" + getDefaultBranches().get(0),
+            username,
+            password,
+            accessToken))
+        .mapTry(j -> OBJECT_MAPPER.readTree(j).path("object").path("sha").asText())
+        .filter(StringUtils::isNotBlank, () -> new Exception("The branch has no commit SHA"));
+  }
+
+  @Override
+  public boolean isDegraded() {
+    return degraded.get();
   }
 
   @Override
@@ -162,22 +174,73 @@ public class GithubRepoClient implements RepoClient {
   public List<String> getDefaultBranches() {
     LOG.debug("GithubRepoClient.getDefaultBranches()");
 
-    return getDetails()
-        // Get the repository details: https://docs.github.com/en/rest/reference/repos#get-a-repository
-        .flatMap(d -> readOnlyHttpClient.get(
-            "https://api.github.com/repos/" + d.getUsername() + "/" + d.getRepository(),
-            username,
-            password,
-            accessToken))
-        // Convert the resulting JSON into a map
-        .mapTry(j -> OBJECT_MAPPER.readValue(j, Map.class))
+    return defaultBranches.get();
+  }
+
+  private List<String> resolveDefaultBranches() {
+    final Try<List<String>> defaultBranch = getMetadata()
         // get the default branch key
         .map(r -> r.get("default_branch"))
         // convert to a string
-        .map(d -> List.of(d.toString()))
-        // If there was a failure, assume the default branch is main or master.
-        // We may also fall back to this if Github adds any rate limiting
-        .getOrElse(List.of("main", "master"));
+        .map(d -> List.of(d.toString()));
+
+    if (defaultBranch.isSuccess()) {
+      return defaultBranch.get();
+    }
+
+    // Probes of a guessed branch may be probes of the wrong branch
+    recordFailure(defaultBranch.getCause());
+
+    // When rate limited, every request made with a guessed branch will be rejected too, so guess
+    // a single branch rather than doubling the number of requests.
+    if (isRateLimited(defaultBranch.getCause())) {
+      LOG.log(DEBUG, "Rate limited while getting the default branch of " + repo);
+      return List.of("main");
+    }
+
+    // If there was any other failure, assume the default branch is main or master.
+    return List.of("main", "master");
+  }
+
+  /**
+   * Returns the size of the repo reported by GitHub. This is the size of the git repository,
+   * including its history, so it is only an approximation of the size of the files in a branch.
+   *
+   * @return The size of the repo in kilobytes.
+   */
+  public Try<Long> getSizeKilobytes() {
+    LOG.debug("GithubRepoClient.getSizeKilobytes()");
+
+    return getMetadata()
+        .map(r -> r.get("size"))
+        .filter(Number.class::isInstance, () -> new Exception("The repo size was not reported"))
+        .map(s -> ((Number) s).longValue());
+  }
+
+  /**
+   * Downloads the files of a commit as a single zip archive.
+   *
+   * @param commit               The SHA of the commit.
+   * @param maxBytes             The maximum size of the extracted files.
+   * @param memoryThresholdBytes The size of the extracted files above which they are held in a
+   *                             memory mapped file rather than on the heap.
+   * @return The archive, or a failure if it could not be downloaded or was too large.
+   */
+  public Try<RepoArchive> getArchive(
+      @NonNull final String commit,
+      final long maxBytes,
+      final long memoryThresholdBytes) {
+    LOG.debug("GithubRepoClient.getArchive(String, long, long)");
+
+    return getDetails()
+        // Get the archive: https://docs.github.com/en/rest/repos/contents#download-a-repository-archive-zip
+        .flatMap(d -> readOnlyHttpClient.getStream(
+            "https://api.github.com/repos/" + d.getUsername() + "/" + d.getRepository()
+                + "/zipball/" + commit,
+            username,
+            password,
+            accessToken,
+            s -> RepoArchive.readZip(s, maxBytes, memoryThresholdBytes)));
   }
 
   @Override
@@ -196,6 +259,90 @@ public class GithubRepoClient implements RepoClient {
         .isSuccess();
   }
 
+  /**
+   * Returns the repository details: https://docs.github.com/en/rest/reference/repos#get-a-repository.
+   */
+  private Try<Map> getMetadata() {
+    return getDetails()
+        .flatMap(d -> readOnlyHttpClient.get(
+            "https://api.github.com/repos/" + d.getUsername() + "/" + d.getRepository(),
+            username,
+            password,
+            accessToken))
+        // Convert the resulting JSON into a map
+        .mapTry(j -> OBJECT_MAPPER.readValue(j, Map.class));
+  }
+
+  private boolean isRateLimited(final Throwable cause) {
+    if (cause instanceof RateLimitedException) {
+      return true;
+    }
+
+    // GitHub reports an exhausted primary rate limit as a 403, and a secondary rate limit as a
+    // 403 or 429
+    return cause instanceof HttpStatusException
+        && (((HttpStatusException) cause).getStatusCode() == 403
+        || ((HttpStatusException) cause).getStatusCode() == 429);
+  }
+
+  /**
+   * Marks the client as degraded if a request failed for any reason other than the resource not
+   * existing. Requests failing on an interrupted thread belong to cancelled probes, whose answers
+   * are discarded, so they are ignored.
+   */
+  private void recordFailure(final Throwable cause) {
+    if (cause instanceof HttpStatusException
+        && ((HttpStatusException) cause).getStatusCode() == 404) {
+      return;
+    }
+
+    if (Thread.currentThread().isInterrupted()) {
+      return;
+    }
+
+    if (!degraded.getAndSet(true)) {
+      LOG.log(DEBUG, "Answers for " + repo + " are degraded: " + cause);
+    }
+  }
+
+  private Try<PathIndex> getTree() {
+    return getTree(false);
+  }
+
+  /**
+   * Returns the recursive tree of the default branch.
+   *
+   * @param complete true if a truncated tree is to be treated as a failure.
+   * @return The index of the paths in the tree.
+   */
+  private Try<PathIndex> getTree(final boolean complete) {
+    return getDetails()
+        // Get the repository tree list
+        .flatMap(d -> getDefaultBranches()
+            .stream()
+            .map(b -> readOnlyHttpClient.get(
+                "https://api.github.com/repos/" + d.getUsername() + "/" + d.getRepository()
+                    + "/git/trees/" + b + "?recursive=0",
+                username,
+                password,
+                accessToken)
+                // A complete tree is only requested by callers that fall back to other requests
+                .onFailure(e -> {
+                  if (!complete) {
+                    recordFailure(e);
+                  }
+                }))
+            .filter(Try::isSuccess)
+            .findFirst()
+            .orElse(Try.failure(new Exception("Could not contact any of the branches"))))
+        // Stream the paths out of the tree array
+        .mapTry(PathIndex::parseGitTree)
+        // Very large repos return a partial tree
+        .filter(
+            t -> !complete || !t.isTruncated(),
+            () -> new Exception("The repository tree was truncated"));
+  }
+
   /**
    * Extract the details of a GitHub repo from the url.
    *
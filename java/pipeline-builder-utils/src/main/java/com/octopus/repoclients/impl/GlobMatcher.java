@@ -0,0 +1,174 @@
+package com.octopus.repoclients.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.vavr.control.Try;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * An Ant style path pattern (like "**&#47;*.csproj" or "*.sln") compiled once into a form that can
+ * be matched against many paths. The semantics match Shiro's AntPathMatcher: "?" matches one
+ * character, "*" matches zero or more characters within a directory, and "**" matches zero or more
+ * directories.
+ *
+ * <p>Common patterns are also classified so a PathIndex can answer them from its extension and
+ * file name buckets without testing every path.
+ */
+public final class GlobMatcher {
+
+  private static final int MAXIMUM_CACHED_PATTERNS = 1000;
+  private static final Cache<String, GlobMatcher> COMPILED_PATTERNS = CacheBuilder.newBuilder()
+      .maximumSize(MAXIMUM_CACHED_PATTERNS)
+      .build();
+
+  /**
+   * The ways a pattern can be answered by a PathIndex.
+   */
+  enum Kind {
+    /**
+     * The pattern has no wildcards, and matches a single path.
+     */
+    LITERAL,
+    /**
+     * The pattern is "**&#47;name", matching a file name in any directory.
+     */
+    ANY_DIRECTORY_NAME,
+    /**
+     * The pattern is "**&#47;*suffix", matching a file name suffix in any directory.
+     */
+    ANY_DIRECTORY_SUFFIX,
+    /**
+     * The pattern is "*suffix", matching a file name suffix in the root directory.
+     */
+    ROOT_SUFFIX,
+    /**
+     * The pattern must be tested against every path.
+     */
+    REGEX
+  }
+
+  @Getter
+  private final String pattern;
+  private final Kind kind;
+  /**
+   * The literal path, file name, or file name suffix, depending on the kind.
+   */
+  private final String literal;
+  private final Pattern regex;
+
+  private GlobMatcher(@NonNull final String pattern) {
+    this.pattern = pattern;
+    this.regex = Pattern.compile(toRegex(pattern));
+
+    if (!hasWildcard(pattern)) {
+      kind = Kind.LITERAL;
+      literal = pattern;
+    } else if (pattern.startsWith("**/") && !hasWildcard(pattern.substring(3))
+        && !pattern.substring(3).contains("/")) {
+      kind = Kind.ANY_DIRECTORY_NAME;
+      literal = pattern.substring(3);
+    } else if (pattern.startsWith("**/*") && isSuffix(pattern.substring(4))) {
+      kind = Kind.ANY_DIRECTORY_SUFFIX;
+      literal = pattern.substring(4);
+    } else if (pattern.startsWith("*") && isSuffix(pattern.substring(1))) {
+      kind = Kind.ROOT_SUFFIX;
+      literal = pattern.substring(1);
+    } else {
+      kind = Kind.REGEX;
+      literal = null;
+    }
+  }
+
+  /**
+   * Returns the compiled form of the pattern. Patterns are compiled once and reused.
+   *
+   * @param pattern The Ant style path pattern.
+   * @return The compiled pattern.
+   */
+  public static GlobMatcher compile(@NonNull final String pattern) {
+    return Try.of(() -> COMPILED_PATTERNS.get(pattern, () -> new GlobMatcher(pattern)))
+        .getOrElse(() -> new GlobMatcher(pattern));
+  }
+
+  /**
+   * Tests a path against the pattern.
+   *
+   * @param path The path to test.
+   * @return true if the path matches, and false otherwise.
+   */
+  public boolean matches(@NonNull final String path) {
+    switch (kind) {
+      case LITERAL:
+        return literal.equals(path);
+      case ANY_DIRECTORY_NAME:
+        return PathIndex.getName(path).equals(literal);
+      case ANY_DIRECTORY_SUFFIX:
+        return PathIndex.getName(path).endsWith(literal);
+      case ROOT_SUFFIX:
+        return path.indexOf('/') == -1 && path.endsWith(literal);
+      default:
+        return regex.matcher(path).matches();
+    }
+  }
+
+  Kind getKind() {
+    return kind;
+  }
+
+  String getLiteral() {
+    return literal;
+  }
+
+  private static boolean hasWildcard(final String value) {
+    return value.indexOf('*') != -1 || value.indexOf('?') != -1;
+  }
+
+  /**
+   * A suffix must have an extension that can be used to look up the extension bucket, like
+   * ".csproj" or "Test.php".
+   */
+  private static boolean isSuffix(final String value) {
+    return !hasWildcard(value) && !value.contains("/") && value.contains(".")
+        && !value.endsWith(".");
+  }
+
+  /**
+   * Converts an Ant style pattern to a regular expression.
+   */
+  private static String toRegex(final String pattern) {
+    final String[] parts = pattern.split("/", -1);
+    final StringBuilder regex = new StringBuilder();
+    for (int i = 0; i < parts.length; ++i) {
+      final boolean last = i == parts.length - 1;
+      if (parts[i].equals("**")) {
+        if (!last) {
+          regex.append("(?:[^/]*/)*");
+        } else if (i == 0) {
+          regex.append(".*");
+        } else {
+          // "dir/**" matches the directory itself, as well as anything under it
+          regex.setLength(regex.length() - 1);
+          regex.append("(?:/.*)?");
+        }
+        continue;
+      }
+
+      for (final char c : parts[i].toCharArray()) {
+        if (c == '*') {
+          regex.append("[^/]*");
+        } else if (c == '?') {
+          regex.append("[^/]");
+        } else {
+          regex.append(Pattern.quote(String.valueOf(c)));
+        }
+      }
+
+      if (!last) {
+        regex.append('/');
+      }
+    }
+    return regex.toString();
+  }
+}
@@ -0,0 +1,252 @@
+package com.octopus.repoclients.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.common.base.Suppliers;
+import com.google.common.primitives.Ints;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * An immutable index of the paths in a repo. Paths are held in a single array in the order they
+ * were listed, and are bucketed by file name and by extension, so the patterns builders test for
+ * (like "**&#47;*.csproj" or "**&#47;package.json") only look at the paths that could match rather
+ * than scanning the entire tree.
+ *
+ * <p>The lookup tables are built the first time they are needed, so an index that is only used to
+ * list the paths costs no more than the list itself.
+ */
+public final class PathIndex {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final int[] EMPTY = new int[0];
+
+  private final String[] paths;
+  @Getter
+  private final boolean truncated;
+  private final Supplier<Lookup> lookup;
+
+  /**
+   * Creates an index from a list of paths.
+   *
+   * @param paths     The paths in the repo.
+   * @param truncated true if the list of paths is known to be incomplete.
+   */
+  public PathIndex(@NonNull final Collection<String> paths, final boolean truncated) {
+    this.paths = paths.toArray(new String[0]);
+    this.truncated = truncated;
+    this.lookup = Suppliers.memoize(() -> new Lookup(this.paths));
+  }
+
+  /**
+   * Creates an index from a complete list of paths.
+   *
+   * @param paths The paths in the repo.
+   */
+  public PathIndex(@NonNull final Collection<String> paths) {
+    this(paths, false);
+  }
+
+  /**
+   * Reads the paths from the response returned by the GitHub tree API. The response is streamed
+   * rather than being converted to maps, as the tree of a large repo can have tens of thousands
+   * of entries, and only the path of each one is needed.
+   *
+   * @param json The JSON returned by https://api.github.com/repos/owner/repo/git/trees/branch.
+   * @return The index of the paths in the tree.
+   * @throws IOException if the JSON could not be parsed.
+   */
+  public static PathIndex parseGitTree(@NonNull final String json) throws IOException {
+    try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("The tree response was not a JSON object");
+      }
+
+      final List<String> paths = new ArrayList<>();
+      boolean truncated = false;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String field = parser.getCurrentName();
+        final JsonToken value = parser.nextToken();
+        if ("truncated".equals(field)) {
+          truncated = value == JsonToken.VALUE_TRUE;
+        } else if ("tree".equals(field) && value == JsonToken.START_ARRAY) {
+          readTreeEntries(parser, paths);
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return new PathIndex(paths, truncated);
+    }
+  }
+
+  /**
+   * Returns the paths in the order they were listed.
+   *
+   * @return An unmodifiable list of paths.
+   */
+  public List<String> getPaths() {
+    return Collections.unmodifiableList(Arrays.asList(paths));
+  }
+
+  /**
+   * Returns the number of paths in the index.
+   *
+   * @return The number of paths.
+   */
+  public int size() {
+    return paths.length;
+  }
+
+  /**
+   * Tests if the index contains the exact path.
+   *
+   * @param path The path to find.
+   * @return true if the path is in the index, and false otherwise.
+   */
+  public boolean contains(@NonNull final String path) {
+    return lookup.get().pathSet.contains(path);
+  }
+
+  /**
+   * Finds the paths that match a pattern.
+   *
+   * @param pattern The Ant style pattern to match.
+   * @param limit   The maximum number of paths to return.
+   * @return The matching paths, in the order they were listed.
+   */
+  public List<String> match(@NonNull final String pattern, final int limit) {
+    return match(GlobMatcher.compile(pattern), limit);
+  }
+
+  /**
+   * Finds the paths that match a compiled pattern.
+   *
+   * @param matcher The compiled pattern to match.
+   * @param limit   The maximum number of paths to return.
+   * @return The matching paths, in the order they were listed.
+   */
+  public List<String> match(@NonNull final GlobMatcher matcher, final int limit) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("limit must not be negative");
+    }
+
+    switch (matcher.getKind()) {
+      case LITERAL:
+        return limit > 0 && contains(matcher.getLiteral())
+            ? List.of(matcher.getLiteral())
+            : List.of();
+      case ANY_DIRECTORY_NAME:
+        return select(
+            lookup.get().byName.getOrDefault(matcher.getLiteral(), EMPTY),
+            matcher,
+            limit);
+      case ANY_DIRECTORY_SUFFIX:
+      case ROOT_SUFFIX:
+        return select(
+            lookup.get().byExtension.getOrDefault(getExtension(matcher.getLiteral()), EMPTY),
+            matcher,
+            limit);
+      default:
+        final List<String> matches = new ArrayList<>();
+        for (int i = 0; i < paths.length && matches.size() < limit; ++i) {
+          if (matcher.matches(paths[i])) {
+            matches.add(paths[i]);
+          }
+        }
+        return matches;
+    }
+  }
+
+  /**
+   * Tests if any path matches a pattern.
+   *
+   * @param pattern The Ant style pattern to match.
+   * @return true if a path matched, and false otherwise.
+   */
+  public boolean anyMatch(@NonNull final String pattern) {
+    return !match(pattern, 1).isEmpty();
+  }
+
+  /**
+   * Returns the file name of a path, which is everything after the last slash.
+   */
+  static String getName(final String path) {
+    return path.substring(path.lastIndexOf('/') + 1);
+  }
+
+  /**
+   * Returns the extension of a file name or path, which is everything after the last period in
+   * the file name.
+   */
+  static String getExtension(final String path) {
+    final String name = getName(path);
+    final int period = name.lastIndexOf('.');
+    return period == -1 ? "" : name.substring(period + 1);
+  }
+
+  private List<String> select(final int[] candidates, final GlobMatcher matcher, final int limit) {
+    final List<String> matches = new ArrayList<>();
+    for (int i = 0; i < candidates.length && matches.size() < limit; ++i) {
+      if (matcher.matches(paths[candidates[i]])) {
+        matches.add(paths[candidates[i]]);
+      }
+    }
+    return matches;
+  }
+
+  private static void readTreeEntries(final JsonParser parser, final List<String> paths)
+      throws IOException {
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String field = parser.getCurrentName();
+        parser.nextToken();
+        if ("path".equals(field)) {
+          paths.add(parser.getText());
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+  }
+
+  /**
+   * The lookup tables built over the paths. Buckets hold positions in the path array in ascending
+   * order, so matches are returned in the order the paths were listed.
+   */
+  private static class Lookup {
+
+    private final Set<String> pathSet;
+    private final Map<String, int[]> byName;
+    private final Map<String, int[]> byExtension;
+
+    Lookup(final String[] paths) {
+      pathSet = new HashSet<>(Arrays.asList(paths));
+      final Map<String, List<Integer>> names = new HashMap<>();
+      final Map<String, List<Integer>> extensions = new HashMap<>();
+      for (int i = 0; i < paths.length; ++i) {
+        names.computeIfAbsent(getName(paths[i]), k -> new ArrayList<>()).add(i);
+        extensions.computeIfAbsent(getExtension(paths[i]), k -> new ArrayList<>()).add(i);
+      }
+      byName = toArrays(names);
+      byExtension = toArrays(extensions);
+    }
+
+    private static Map<String, int[]> toArrays(final Map<String, List<Integer>> buckets) {
+      final Map<String, int[]> arrays = new HashMap<>(buckets.size() * 2);
+      buckets.forEach((key, value) -> arrays.put(key, Ints.toArray(value)));
+      return arrays;
+    }
+  }
+}
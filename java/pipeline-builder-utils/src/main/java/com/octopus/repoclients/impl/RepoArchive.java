@@ -0,0 +1,249 @@
+package com.octopus.repoclients.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import io.vavr.control.Try;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import lombok.Getter;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * An immutable copy of the files in a repo, read from a single zip archive like the one returned
+ * by https://api.github.com/repos/owner/repo/zipball/branch. The contents of every file are held
+ * in one buffer, and the paths are held in a PathIndex, so builders can read and test files
+ * without making any further requests.
+ *
+ * <p>Small archives are held in memory. Once the extracted contents grow beyond the memory
+ * threshold they are spilled to a temporary file, which is memory mapped once the archive has been
+ * read. The total size of the extracted contents is capped, and an archive that exceeds the cap
+ * is rejected before it is fully downloaded.
+ */
+public final class RepoArchive {
+
+  private static final Logger LOG = Logger.getLogger(RepoArchive.class.toString());
+  private static final int BUFFER_SIZE = 8192;
+
+  private final PathIndex index;
+  private final Map<String, long[]> files;
+  private final ByteBuffer contents;
+  @Getter
+  private final boolean mapped;
+
+  private RepoArchive(
+      final PathIndex index,
+      final Map<String, long[]> files,
+      final ByteBuffer contents,
+      final boolean mapped) {
+    this.index = index;
+    this.files = files;
+    this.contents = contents;
+    this.mapped = mapped;
+  }
+
+  /**
+   * Reads a zip archive. The first directory of every entry is removed from its path, as GitHub
+   * places the contents of the repo in a directory named after the repo and commit. The stream is
+   * read up to the end of the last entry, and is not closed.
+   *
+   * @param inputStream          The zip archive.
+   * @param maxBytes             The maximum size of the extracted contents.
+   * @param memoryThresholdBytes The size of the extracted contents above which they are held in a
+   *                             memory mapped file rather than on the heap.
+   * @return The archive.
+   * @throws IOException if the archive could not be read, or exceeded the maximum size.
+   */
+  public static RepoArchive readZip(
+      @NonNull final InputStream inputStream,
+      final long maxBytes,
+      final long memoryThresholdBytes) throws IOException {
+    // A buffer can not hold more than 2GB
+    final long cap = Math.min(maxBytes, Integer.MAX_VALUE);
+    final List<String> paths = new ArrayList<>();
+    final Map<String, long[]> files = new HashMap<>();
+    final byte[] buffer = new byte[BUFFER_SIZE];
+    long pathBytes = 0;
+
+    // Closing the zip stream would close the response, which downloads the rest of it
+    final ZipInputStream zip = new ZipInputStream(new NonClosingInputStream(inputStream));
+    try (ContentStore store = new ContentStore(memoryThresholdBytes)) {
+      for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+        final String path = stripRootDirectory(entry.getName());
+        pathBytes += entry.getName().length();
+        if (path.isEmpty()) {
+          continue;
+        }
+
+        paths.add(path);
+        if (!entry.isDirectory()) {
+          final long offset = store.getSize();
+          for (int read = zip.read(buffer); read != -1; read = zip.read(buffer)) {
+            if (store.getSize() + pathBytes + read > cap) {
+              throw new IOException("The archive is larger than " + cap + " bytes");
+            }
+            store.write(buffer, read);
+          }
+          files.put(path, new long[]{offset, store.getSize() - offset});
+        }
+      }
+
+      LOG.log(DEBUG, "Read " + paths.size() + " entries totalling " + store.getSize()
+          + " bytes from the archive");
+      final ByteBuffer contents = store.finish();
+      return new RepoArchive(new PathIndex(paths), files, contents, store.isSpilled());
+    }
+  }
+
+  /**
+   * Returns the index of the files and directories in the archive.
+   *
+   * @return The index of the paths in the archive.
+   */
+  public PathIndex getIndex() {
+    return index;
+  }
+
+  /**
+   * Returns the contents of a file.
+   *
+   * @param path The path of the file.
+   * @return The contents of the file decoded as UTF-8, or a failure if the file does not exist.
+   */
+  public Try<String> getFile(@NonNull final String path) {
+    final long[] location = files.get(path);
+    if (location == null) {
+      return Try.failure(new Exception("The file " + path + " does not exist."));
+    }
+
+    // The buffer is shared between threads, so each read uses its own position
+    final ByteBuffer view = contents.duplicate();
+    view.position((int) location[0]);
+    view.limit((int) (location[0] + location[1]));
+    final byte[] bytes = new byte[(int) location[1]];
+    view.get(bytes);
+    return Try.of(() -> new String(bytes, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns the total size of the files in the archive.
+   *
+   * @return The size of the extracted contents in bytes.
+   */
+  public long getSize() {
+    return contents.capacity();
+  }
+
+  /**
+   * Removes the top level directory from the path of an archive entry, along with any trailing
+   * slash.
+   */
+  static String stripRootDirectory(final String name) {
+    final int slash = name.indexOf('/');
+    final String path = slash == -1 ? "" : name.substring(slash + 1);
+    return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+  }
+
+  /**
+   * Collects the extracted contents, moving them from the heap to a temporary file once they grow
+   * beyond the memory threshold.
+   */
+  private static class ContentStore implements Closeable {
+
+    private final long memoryThresholdBytes;
+    private final ExposedByteArrayOutputStream memory = new ExposedByteArrayOutputStream();
+    private OutputStream output = memory;
+    private Path file;
+    @Getter
+    private long size;
+    private boolean finished;
+
+    ContentStore(final long memoryThresholdBytes) {
+      this.memoryThresholdBytes = memoryThresholdBytes;
+    }
+
+    boolean isSpilled() {
+      return file != null;
+    }
+
+    void write(final byte[] buffer, final int length) throws IOException {
+      if (file == null && size + length > memoryThresholdBytes) {
+        file = Files.createTempFile("repo-archive", ".bin");
+        output = Files.newOutputStream(file, StandardOpenOption.WRITE);
+        memory.writeTo(output);
+        memory.reset();
+      }
+      output.write(buffer, 0, length);
+      size += length;
+    }
+
+    ByteBuffer finish() throws IOException {
+      finished = true;
+      if (file == null) {
+        return memory.toByteBuffer();
+      }
+
+      output.close();
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      } finally {
+        deleteFile();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!finished && file != null) {
+        output.close();
+        deleteFile();
+      }
+    }
+
+    private void deleteFile() {
+      // A mapped file can not be deleted on Windows, so remove it when the JVM exits instead
+      Try.run(() -> Files.delete(file))
+          .onFailure(e -> file.toFile().deleteOnExit());
+    }
+  }
+
+  /**
+   * A ByteArrayOutputStream that wraps its buffer rather than copying it.
+   */
+  private static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+    ByteBuffer toByteBuffer() {
+      return ByteBuffer.wrap(buf, 0, count).slice();
+    }
+  }
+
+  /**
+   * An InputStream that ignores requests to close it.
+   */
+  private static class NonClosingInputStream extends FilterInputStream {
+
+    NonClosingInputStream(final InputStream inputStream) {
+      super(inputStream);
+    }
+
+    @Override
+    public void close() {
+      // the owner of the stream closes it
+    }
+  }
+}
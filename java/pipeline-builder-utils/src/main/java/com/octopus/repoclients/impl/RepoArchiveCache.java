@@ -0,0 +1,73 @@
+package com.octopus.repoclients.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.octopus.http.impl.RequestCoalescer;
+import io.vavr.control.Try;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.Builder;
+import lombok.NonNull;
+
+/**
+ * A cache of the archives downloaded for repo commits, bounded by the size of the extracted
+ * archives. The files at a commit never change, so an archive can be shared by every request for
+ * the same commit. Concurrent requests for an archive that is not cached share one download.
+ *
+ * <p>Callers must resolve the commit with their own credentials before asking for its archive, so
+ * a cached archive is only ever returned to a caller that can read the repo.
+ */
+public class RepoArchiveCache {
+
+  private static final long DEFAULT_MAXIMUM_WEIGHT = 32 * 1024 * 1024;
+  private static final long DEFAULT_TTL_SECONDS = 600;
+
+  private final Cache<String, RepoArchive> cache;
+  private final RequestCoalescer coalescer;
+
+  /**
+   * Builds the cache. Any value that is zero or negative is replaced with a sensible default.
+   *
+   * @param maximumWeight         The approximate number of extracted bytes the cache can hold.
+   * @param ttlSeconds            The time an archive is cached for.
+   * @param coalesceTimeoutMillis The time a request waits on a download of the same archive that
+   *                              is already in flight before downloading it itself.
+   */
+  @Builder
+  public RepoArchiveCache(
+      final long maximumWeight,
+      final long ttlSeconds,
+      final long coalesceTimeoutMillis) {
+    cache = CacheBuilder.newBuilder()
+        .maximumWeight(maximumWeight > 0 ? maximumWeight : DEFAULT_MAXIMUM_WEIGHT)
+        .weigher((String key, RepoArchive value) ->
+            (int) Math.min(Integer.MAX_VALUE, key.length() + value.getSize()))
+        .expireAfterWrite(ttlSeconds > 0 ? ttlSeconds : DEFAULT_TTL_SECONDS, TimeUnit.SECONDS)
+        .build();
+    coalescer = new RequestCoalescer(coalesceTimeoutMillis);
+  }
+
+  /**
+   * Returns the cached archive of a commit, or calls the loader and caches the archive it returns.
+   * Failures are not cached.
+   *
+   * @param repo   The repo URL.
+   * @param commit The SHA of the commit.
+   * @param loader Downloads the archive of the commit.
+   * @return The cached or downloaded archive.
+   */
+  public Try<RepoArchive> get(
+      @NonNull final String repo,
+      @NonNull final String commit,
+      @NonNull final Supplier<Try<RepoArchive>> loader) {
+    final String key = repo + "\n" + commit;
+    return getCached(key).orElseGet(() -> coalescer.execute(key, () ->
+        // The archive may have been cached by a download that completed since the first check
+        getCached(key).orElseGet(() -> loader.get().onSuccess(a -> cache.put(key, a)))));
+  }
+
+  private Optional<Try<RepoArchive>> getCached(final String key) {
+    return Optional.ofNullable(cache.getIfPresent(key)).map(Try::success);
+  }
+}
@@ -0,0 +1,120 @@
+package com.octopus.repoclients.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+
+import com.google.common.base.Suppliers;
+import com.octopus.repoclients.RepoClient;
+import io.vavr.control.Try;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * A RepoClient decorator that resolves the default branch and lists the repo contents once, and
+ * then answers file and wildcard tests from the in-memory list. Builders probe the same repo for
+ * many different files, so this turns dozens of sequential API calls into two. The contents of
+ * files are still read through the wrapped client.
+ *
+ * <p>If the repo contents could not be listed (for example the tree was truncated because the
+ * repo is very large), every call falls through to the wrapped client.
+ *
+ * <p>Instances are created for each request, and so capture the state of the repo at the time of
+ * the first call.
+ */
+public class SnapshotRepoClient implements RepoClient {
+
+  private static final Logger LOG = Logger.getLogger(SnapshotRepoClient.class.toString());
+
+  private final RepoClient repoClient;
+  private final Supplier<List<String>> defaultBranches;
+  private final Supplier<Try<PathIndex>> snapshot;
+
+  /**
+   * Creates the decorator.
+   *
+   * @param repoClient The client used to access the repo.
+   */
+  public SnapshotRepoClient(@NonNull final RepoClient repoClient) {
+    this.repoClient = repoClient;
+    this.defaultBranches = Suppliers.memoize(repoClient::getDefaultBranches);
+    this.snapshot = Suppliers.memoize(() -> repoClient.getFileTree()
+        .map(PathIndex::new)
+        .onFailure(e -> LOG.log(DEBUG, "Falling back to individual file requests: " + e)));
+  }
+
+  @Override
+  public String getRepo() {
+    return repoClient.getRepo();
+  }
+
+  @Override
+  public boolean hasAccessToken() {
+    return repoClient.hasAccessToken();
+  }
+
+  @Override
+  public Try<String> getFile(@NonNull final String path) {
+    return snapshot.get()
+        // a file that is not in the tree can not be read, so don't bother asking for it
+        .filter(s -> !s.contains(path))
+        .map(s -> Try.<String>failure(new Exception("The file " + path + " does not exist.")))
+        .getOrElse(() -> repoClient.getFile(path));
+  }
+
+  @Override
+  public boolean testFile(@NonNull final String path) {
+    return snapshot.get()
+        .map(s -> s.contains(path))
+        .getOrElse(() -> repoClient.testFile(path));
+  }
+
+  @Override
+  public Try<List<String>> getWildcardFiles(@NonNull final String path, final int limit) {
+    return snapshot.get()
+        .map(s -> Try.of(() -> s.match(path, limit)))
+        .getOrElse(() -> repoClient.getWildcardFiles(path, limit));
+  }
+
+  @Override
+  public Try<Boolean> wildCardFileExist(@NonNull final String path) {
+    return snapshot.get()
+        .map(s -> Try.of(() -> s.anyMatch(path)))
+        .getOrElse(() -> repoClient.wildCardFileExist(path));
+  }
+
+  @Override
+  public Try<List<String>> getFileTree() {
+    return snapshot.get().map(PathIndex::getPaths);
+  }
+
+  @Override
+  public Try<String> getHeadCommit() {
+    return repoClient.getHeadCommit();
+  }
+
+  @Override
+  public boolean isDegraded() {
+    return repoClient.isDegraded();
+  }
+
+  @Override
+  public String getRepoPath() {
+    return repoClient.getRepoPath();
+  }
+
+  @Override
+  public List<String> getDefaultBranches() {
+    return defaultBranches.get();
+  }
+
+  @Override
+  public Try<String> getRepoName() {
+    return repoClient.getRepoName();
+  }
+
+  @Override
+  public boolean testRepo() {
+    return repoClient.testRepo();
+  }
+}
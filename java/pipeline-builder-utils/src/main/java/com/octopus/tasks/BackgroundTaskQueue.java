@@ -0,0 +1,34 @@
+package com.octopus.tasks;
+
+import java.io.Closeable;
+
+/**
+ * Runs best effort side effects, like auditing or recording the details of a user, outside of the
+ * request that triggered them. Tasks must catch and log their own errors, as there is no caller to
+ * report them to.
+ */
+public interface BackgroundTaskQueue extends Closeable {
+
+  /**
+   * Queues a task. If the queue is full the task is dropped rather than blocking the caller.
+   *
+   * @param name The name of the task, used in log messages.
+   * @param task The task to run.
+   * @return true if the task was queued or run, and false if it was dropped.
+   */
+  boolean submit(String name, Runnable task);
+
+  /**
+   * Returns the statistics of the tasks submitted so far.
+   *
+   * @return The task statistics.
+   */
+  BackgroundTaskStats getStats();
+
+  /**
+   * Stops accepting tasks, and runs the tasks that are already queued before shutting down any
+   * threads used by the queue.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,33 @@
+package com.octopus.tasks;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The statistics of a BackgroundTaskQueue.
+ */
+@Value
+@Builder
+public class BackgroundTaskStats {
+
+  /**
+   * The number of tasks that were submitted.
+   */
+  long submitted;
+  /**
+   * The number of tasks that ran to completion.
+   */
+  long completed;
+  /**
+   * The number of tasks that threw an exception.
+   */
+  long failed;
+  /**
+   * The number of tasks that were dropped because the queue was full or had been closed.
+   */
+  long dropped;
+  /**
+   * The number of tasks waiting to run now.
+   */
+  long queued;
+}
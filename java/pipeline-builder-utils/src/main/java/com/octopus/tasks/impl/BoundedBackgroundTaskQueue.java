@@ -0,0 +1,124 @@
+package com.octopus.tasks.impl;
+
+import static org.jboss.logging.Logger.Level.DEBUG;
+import static org.jboss.logging.Logger.Level.WARN;
+
+import com.octopus.tasks.BackgroundTaskQueue;
+import com.octopus.tasks.BackgroundTaskStats;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Builder;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * A BackgroundTaskQueue holding a bounded number of tasks, which are run by a small pool of worker
+ * threads. When the queue is full new tasks are dropped and counted, so a slow downstream service
+ * can not build up an unbounded backlog or slow down the requests submitting the tasks.
+ *
+ * <p>Closing the queue waits for the queued tasks to finish, up to the shutdown timeout. Any tasks
+ * still queued after the timeout are abandoned and counted as dropped.
+ */
+public class BoundedBackgroundTaskQueue implements BackgroundTaskQueue {
+
+  private static final Logger LOG = Logger.getLogger(BoundedBackgroundTaskQueue.class.toString());
+  private static final int DEFAULT_THREADS = 2;
+  private static final int DEFAULT_QUEUE_SIZE = 1000;
+  private static final int DEFAULT_SHUTDOWN_TIMEOUT_MILLIS = 10000;
+
+  private final ThreadPoolExecutor executor;
+  private final int shutdownTimeoutMillis;
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+
+  /**
+   * Builds the queue. Any value that is zero or negative is replaced with a sensible default.
+   *
+   * @param threads               The number of worker threads running the tasks.
+   * @param queueSize             The maximum number of tasks waiting to run.
+   * @param shutdownTimeoutMillis The time allowed for the queued tasks to finish when the queue is
+   *                              closed.
+   */
+  @Builder
+  public BoundedBackgroundTaskQueue(
+      final int threads,
+      final int queueSize,
+      final int shutdownTimeoutMillis) {
+    final int poolSize = threads > 0 ? threads : DEFAULT_THREADS;
+    final AtomicInteger threadCount = new AtomicInteger();
+    executor = new ThreadPoolExecutor(
+        poolSize,
+        poolSize,
+        60,
+        TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueSize > 0 ? queueSize : DEFAULT_QUEUE_SIZE),
+        r -> {
+          final Thread thread = new Thread(r, "background-task-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    this.shutdownTimeoutMillis = shutdownTimeoutMillis > 0
+        ? shutdownTimeoutMillis
+        : DEFAULT_SHUTDOWN_TIMEOUT_MILLIS;
+  }
+
+  @Override
+  public boolean submit(@NonNull final String name, @NonNull final Runnable task) {
+    submitted.increment();
+    try {
+      executor.execute(() -> run(name, task));
+      return true;
+    } catch (final RejectedExecutionException ex) {
+      dropped.increment();
+      LOG.log(DEBUG, "Dropped the " + name + " task as the queue is full or closed");
+      return false;
+    }
+  }
+
+  @Override
+  public BackgroundTaskStats getStats() {
+    return BackgroundTaskStats.builder()
+        .submitted(submitted.sum())
+        .completed(completed.sum())
+        .failed(failed.sum())
+        .dropped(dropped.sum())
+        .queued(executor.getQueue().size())
+        .build();
+  }
+
+  @Override
+  public void close() {
+    LOG.log(DEBUG, "BoundedBackgroundTaskQueue.close()");
+    executor.shutdown();
+    try {
+      if (executor.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        return;
+      }
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+
+    final int abandoned = executor.shutdownNow().size();
+    dropped.add(abandoned);
+    LOG.log(WARN, "Abandoned " + abandoned + " background tasks that did not finish within "
+        + shutdownTimeoutMillis + "ms of shutting down");
+  }
+
+  private void run(final String name, final Runnable task) {
+    try {
+      task.run();
+      completed.increment();
+    } catch (final Exception ex) {
+      failed.increment();
+      LOG.log(WARN, "The " + name + " task failed", ex);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.octopus.tasks.impl;
+
+import static org.jboss.logging.Logger.Level.WARN;
+
+import com.octopus.tasks.BackgroundTaskQueue;
+import com.octopus.tasks.BackgroundTaskStats;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * A BackgroundTaskQueue that runs each task on the calling thread. This is used where background
+ * threads can not be relied on, like a Lambda, whose process is frozen as soon as the response is
+ * returned.
+ */
+public class SynchronousBackgroundTaskQueue implements BackgroundTaskQueue {
+
+  private static final Logger LOG = Logger.getLogger(
+      SynchronousBackgroundTaskQueue.class.toString());
+
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+
+  @Override
+  public boolean submit(@NonNull final String name, @NonNull final Runnable task) {
+    submitted.increment();
+    try {
+      task.run();
+      completed.increment();
+    } catch (final Exception ex) {
+      failed.increment();
+      LOG.log(WARN, "The " + name + " task failed", ex);
+    }
+    return true;
+  }
+
+  @Override
+  public BackgroundTaskStats getStats() {
+    return BackgroundTaskStats.builder()
+        .submitted(submitted.sum())
+        .completed(completed.sum())
+        .failed(failed.sum())
+        .build();
+  }
+
+  @Override
+  public void close() {
+    // there are no threads or queued tasks
+  }
+}
@@ -0,0 +1,193 @@
+package com.octopus.builders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.builders.impl.ConcurrentBuilderSelector;
+import com.octopus.repoclients.RepoClient;
+import com.octopus.test.repoclients.GenericTestRepoClient;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentBuilderSelectorTest {
+
+  private static final RepoClient REPO_CLIENT = new GenericTestRepoClient("https://github.com/a/b");
+
+  @Test
+  public void testHighestPriorityMatchWins() {
+    try (final BuilderSelector selector = ConcurrentBuilderSelector.builder().build()) {
+      final Optional<SelectedBuilder> builder = selector.selectBuilder(
+          List.of(
+              new DelayedBuilder("low", -100, true, 0),
+              new DelayedBuilder("high", 10, false, 50),
+              new DelayedBuilder("middle", 0, true, 100)),
+          REPO_CLIENT);
+
+      assertEquals("middle", builder.get().getBuilder().getName());
+      assertFalse(builder.get().isDegraded());
+      assertEquals(1, selector.getStats().getSelections());
+    }
+  }
+
+  @Test
+  public void testSlowLowerPriorityProbesAreCancelled() {
+    try (final BuilderSelector selector = ConcurrentBuilderSelector.builder().build()) {
+      final long start = System.currentTimeMillis();
+      final Optional<SelectedBuilder> builder = selector.selectBuilder(
+          List.of(
+              new DelayedBuilder("high", 10, true, 0),
+              new DelayedBuilder("slow", 0, true, 10000)),
+          REPO_CLIENT);
+
+      assertEquals("high", builder.get().getBuilder().getName());
+      assertTrue(System.currentTimeMillis() - start < 5000);
+      assertEquals(1, selector.getStats().getCancelledProbes());
+    }
+  }
+
+  @Test
+  public void testDeadlineFallsBackToCompletedMatch() {
+    try (final BuilderSelector selector = ConcurrentBuilderSelector.builder()
+        .deadlineMillis(200)
+        .build()) {
+      final Optional<SelectedBuilder> builder = selector.selectBuilder(
+          List.of(
+              new DelayedBuilder("slow", 10, true, 10000),
+              new DelayedBuilder("fast", 0, true, 0)),
+          REPO_CLIENT);
+
+      assertEquals("fast", builder.get().getBuilder().getName());
+      assertTrue(builder.get().isDegraded());
+      assertEquals(1, selector.getStats().getDeadlinesExceeded());
+    }
+  }
+
+  @Test
+  public void testFailedProbesAreIgnored() {
+    try (final BuilderSelector selector = ConcurrentBuilderSelector.builder().build()) {
+      final Optional<SelectedBuilder> builder = selector.selectBuilder(
+          List.of(
+              new DelayedBuilder("broken", 10, null, 0),
+              new DelayedBuilder("working", 0, true, 0)),
+          REPO_CLIENT);
+
+      assertEquals("working", builder.get().getBuilder().getName());
+      assertTrue(builder.get().isDegraded());
+      assertEquals(1, selector.getStats().getFailedProbes());
+    }
+  }
+
+  @Test
+  public void testFailedLowerPriorityProbesAreNotDegraded() {
+    try (final BuilderSelector selector = ConcurrentBuilderSelector.builder().build()) {
+      final Optional<SelectedBuilder> builder = selector.selectBuilder(
+          List.of(
+              new DelayedBuilder("working", 10, true, 0),
+              new DelayedBuilder("broken", 0, null, 0)),
+          REPO_CLIENT);
+
+      assertEquals("working", builder.get().getBuilder().getName());
+      assertFalse(builder.get().isDegraded());
+    }
+  }
+
+  @Test
+  public void testDegradedRepoClient() {
+    final RepoClient degradedClient = new GenericTestRepoClient("https://github.com/a/b") {
+      @Override
+      public boolean isDegraded() {
+        return true;
+      }
+    };
+
+    try (final BuilderSelector selector = ConcurrentBuilderSelector.builder().build()) {
+      final Optional<SelectedBuilder> builder = selector.selectBuilder(
+          List.of(new DelayedBuilder("working", 0, true, 0)),
+          degradedClient);
+
+      assertTrue(builder.get().isDegraded());
+      assertTrue(builder.get().generatePipeline(degradedClient).isDegraded());
+    }
+  }
+
+  @Test
+  public void testDetectionIsReturned() {
+    try (final BuilderSelector selector = ConcurrentBuilderSelector.builder().build()) {
+      final PipelineBuilder factBuilder = new DelayedBuilder("facts", 0, true, 0) {
+        @Override
+        public DetectionResult detect(final RepoClient accessor) {
+          return DetectionResult.builder().matched(true).fact("usesWrapper", "true").build();
+        }
+
+        @Override
+        public String generate(final RepoClient accessor, final DetectionResult detection) {
+          return detection.getFlag("usesWrapper") ? "./mvnw" : "mvn";
+        }
+      };
+
+      final Optional<SelectedBuilder> builder =
+          selector.selectBuilder(List.of(factBuilder), REPO_CLIENT);
+
+      assertTrue(builder.get().getDetection().getFlag("usesWrapper"));
+      assertEquals("./mvnw", builder.get().generate(REPO_CLIENT));
+    }
+  }
+
+  @Test
+  public void testNoMatch() {
+    try (final BuilderSelector selector = ConcurrentBuilderSelector.builder().build()) {
+      assertTrue(selector.selectBuilder(
+              List.of(new DelayedBuilder("none", 0, false, 0)),
+              REPO_CLIENT)
+          .isEmpty());
+    }
+  }
+
+  /**
+   * A builder that takes a fixed time to answer. A null result throws an exception.
+   */
+  private static class DelayedBuilder implements PipelineBuilder {
+
+    private final String name;
+    private final int priority;
+    private final Boolean result;
+    private final long delay;
+
+    DelayedBuilder(final String name, final int priority, final Boolean result, final long delay) {
+      this.name = name;
+      this.priority = priority;
+      this.result = result;
+      this.delay = delay;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public Integer getPriority() {
+      return priority;
+    }
+
+    @Override
+    public Boolean canBuild(final RepoClient accessor) {
+      try {
+        Thread.sleep(delay);
+      } catch (final InterruptedException ex) {
+        return false;
+      }
+      if (result == null) {
+        throw new IllegalStateException("probe failed");
+      }
+      return result;
+    }
+
+    @Override
+    public String generate(final RepoClient accessor) {
+      return "";
+    }
+  }
+}
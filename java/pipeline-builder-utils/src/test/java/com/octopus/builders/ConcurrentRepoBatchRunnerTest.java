@@ -0,0 +1,96 @@
+package com.octopus.builders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.builders.impl.ConcurrentRepoBatchRunner;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentRepoBatchRunnerTest {
+
+  private static final List<String> REPOS = IntStream.range(0, 20)
+      .mapToObj(i -> "https://github.com/OctopusSamples/repo" + i)
+      .collect(Collectors.toList());
+
+  @Test
+  public void testEveryRepoIsProcessed() {
+    try (RepoBatchRunner runner = ConcurrentRepoBatchRunner.builder().threads(4).build()) {
+      final List<String> results = new ArrayList<>();
+      runner.run(REPOS, r -> r + ":ok", (r, e) -> r + ":failed", results::add);
+
+      assertEquals(REPOS.size(), results.size());
+      assertEquals(
+          REPOS.stream().map(r -> r + ":ok").collect(Collectors.toSet()),
+          new HashSet<>(results));
+      assertEquals(REPOS.size(), runner.getStats().getRepos());
+      assertEquals(0, runner.getStats().getActiveBatches());
+    }
+  }
+
+  @Test
+  public void testConcurrencyIsLimited() {
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maximum = new AtomicInteger();
+    try (RepoBatchRunner runner = ConcurrentRepoBatchRunner.builder()
+        .threads(4)
+        .batchConcurrency(2)
+        .build()) {
+      runner.run(REPOS, r -> {
+        maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+        sleep();
+        running.decrementAndGet();
+        return r;
+      }, (r, e) -> r, r -> {});
+
+      assertTrue(maximum.get() <= 2);
+    }
+  }
+
+  @Test
+  public void testFailedTasks() {
+    try (RepoBatchRunner runner = ConcurrentRepoBatchRunner.builder().threads(4).build()) {
+      final Set<String> results = new HashSet<>();
+      runner.run(REPOS, r -> {
+        if (r.endsWith("repo3")) {
+          throw new IllegalStateException("failed");
+        }
+        return "ok";
+      }, (r, e) -> e.getMessage(), results::add);
+
+      assertEquals(Set.of("ok", "failed"), results);
+      assertEquals(1, runner.getStats().getFailedRepos());
+    }
+  }
+
+  @Test
+  public void testConsumerFailureCancelsBatch() {
+    try (RepoBatchRunner runner = ConcurrentRepoBatchRunner.builder()
+        .threads(2)
+        .batchConcurrency(2)
+        .build()) {
+      assertThrows(IllegalStateException.class, () -> runner.run(REPOS, r -> r, (r, e) -> r,
+          r -> {
+            throw new IllegalStateException("The client disconnected");
+          }));
+
+      assertEquals(REPOS.size() - 1, runner.getStats().getCancelledRepos());
+      assertEquals(0, runner.getStats().getActiveBatches());
+    }
+  }
+
+  private void sleep() {
+    try {
+      Thread.sleep(5);
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
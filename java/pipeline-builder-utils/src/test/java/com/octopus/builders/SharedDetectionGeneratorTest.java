@@ -0,0 +1,148 @@
+package com.octopus.builders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.builders.impl.ConcurrentBuilderSelector;
+import com.octopus.builders.impl.DotNetCoreDetector;
+import com.octopus.builders.impl.SharedDetectionGenerator;
+import com.octopus.repoclients.RepoClient;
+import com.octopus.test.repoclients.DotnetTestRepoClient;
+import com.octopus.test.repoclients.GenericTestRepoClient;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class SharedDetectionGeneratorTest {
+
+  private static final RepoClient REPO_CLIENT = new GenericTestRepoClient("https://github.com/a/b");
+
+  @Test
+  public void testLanguageIsDetectedOnce() {
+    final FactBuilder jenkins = new FactBuilder("Maven", 0, true, "Jenkinsfile");
+    final FactBuilder githubActions = new FactBuilder("Maven", 0, true, "workflow");
+
+    try (final BuilderSelector selector = ConcurrentBuilderSelector.builder().build()) {
+      final MultiTargetGenerator generator = SharedDetectionGenerator.builder()
+          .builderSelector(selector)
+          .target("GitHub Actions", List.of(githubActions, new FactBuilder("Generic", -100, true,
+              "generic")))
+          .target("Jenkins", List.of(jenkins))
+          .build();
+
+      final Map<String, CachedPipeline> pipelines = generator.generate(REPO_CLIENT);
+
+      assertEquals(List.of("GitHub Actions", "Jenkins"), List.copyOf(pipelines.keySet()));
+      assertEquals("workflow wrapper", pipelines.get("GitHub Actions").getPipeline());
+      assertEquals("Jenkinsfile wrapper", pipelines.get("Jenkins").getPipeline());
+      assertEquals("Maven", pipelines.get("Jenkins").getBuilderName());
+      assertEquals(1, githubActions.detections.get());
+      assertEquals(0, jenkins.detections.get());
+    }
+  }
+
+  @Test
+  public void testRejectedFactsFallBackToSelection() {
+    // Like the Jenkins DotNET Core builder, this builder is stricter than the shared detector
+    final FactBuilder rejecting = new FactBuilder("Maven", 0, false, "Jenkinsfile") {
+      @Override
+      public boolean accepts(final DetectionResult detection) {
+        return false;
+      }
+    };
+
+    try (final BuilderSelector selector = ConcurrentBuilderSelector.builder().build()) {
+      final MultiTargetGenerator generator = SharedDetectionGenerator.builder()
+          .builderSelector(selector)
+          .target("GitHub Actions", List.of(new FactBuilder("Maven", 0, true, "workflow")))
+          .target("Jenkins", List.of(rejecting, new FactBuilder("Generic", -100, true, "generic")))
+          .build();
+
+      final RepoFacts facts = generator.detect(REPO_CLIENT).get();
+      assertEquals("Maven", facts.getLanguage());
+
+      final Map<String, CachedPipeline> pipelines =
+          generator.generate(REPO_CLIENT, facts, generator.getTargets());
+
+      assertEquals("Maven", pipelines.get("GitHub Actions").getBuilderName());
+      assertEquals("Generic", pipelines.get("Jenkins").getBuilderName());
+      assertEquals(1, rejecting.detections.get());
+    }
+  }
+
+  @Test
+  public void testNoLanguageDetected() {
+    try (final BuilderSelector selector = ConcurrentBuilderSelector.builder().build()) {
+      final MultiTargetGenerator generator = SharedDetectionGenerator.builder()
+          .builderSelector(selector)
+          .target("Jenkins", List.of(new FactBuilder("Maven", 0, false, "Jenkinsfile")))
+          .build();
+
+      assertTrue(generator.generate(REPO_CLIENT).isEmpty());
+    }
+  }
+
+  @Test
+  public void testDotNetCoreFacts() {
+    final DetectionResult detection = new DotNetCoreDetector().detect(
+        new DotnetTestRepoClient("https://github.com/OctopusSamples/RandomQuotes"));
+
+    assertTrue(detection.isMatched());
+    assertTrue(detection.getFlag(DotNetCoreDetector.ROOT_SOLUTION));
+    assertEquals("subdir/proj", detection.getFact(DotNetCoreDetector.WORKING_DIRECTORY).get());
+  }
+
+  /**
+   * A builder that records a fact when it detects the repo, and includes it in the pipeline.
+   */
+  private static class FactBuilder implements PipelineBuilder {
+
+    final AtomicInteger detections = new AtomicInteger();
+    private final String name;
+    private final int priority;
+    private final boolean matches;
+    private final String pipeline;
+
+    FactBuilder(final String name, final int priority, final boolean matches,
+        final String pipeline) {
+      this.name = name;
+      this.priority = priority;
+      this.matches = matches;
+      this.pipeline = pipeline;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public Integer getPriority() {
+      return priority;
+    }
+
+    @Override
+    public Boolean canBuild(final RepoClient accessor) {
+      return detect(accessor).isMatched();
+    }
+
+    @Override
+    public DetectionResult detect(final RepoClient accessor) {
+      detections.incrementAndGet();
+      return matches
+          ? DetectionResult.builder().matched(true).fact("tool", "wrapper").build()
+          : DetectionResult.notMatched();
+    }
+
+    @Override
+    public String generate(final RepoClient accessor) {
+      return generate(accessor, detect(accessor));
+    }
+
+    @Override
+    public String generate(final RepoClient accessor, final DetectionResult detection) {
+      return pipeline + " " + detection.getFact("tool").orElse("");
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.octopus.builders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.builders.impl.FilePipelineCacheTier;
+import com.octopus.builders.impl.MemoryPipelineCacheTier;
+import com.octopus.builders.impl.TieredPipelineCache;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class TieredPipelineCacheTest {
+
+  private static final PipelineCacheKey KEY = PipelineCacheKey.builder()
+      .repo("https://github.com/OctopusSamples/RandomQuotes")
+      .commit("abc123")
+      .builderVersion("1.0:builders")
+      .backend("GitHubActions")
+      .build();
+
+  private static final CachedPipeline PIPELINE = new CachedPipeline("Maven", "name: Build\n");
+
+  @Test
+  public void testMissThenHit() {
+    final PipelineCache cache = TieredPipelineCache.builder()
+        .tier(MemoryPipelineCacheTier.builder().build())
+        .build();
+
+    assertTrue(cache.get(KEY).isEmpty());
+    cache.put(KEY, PIPELINE);
+    assertEquals(Optional.of(PIPELINE), cache.get(KEY));
+
+    final PipelineCacheStats stats = cache.getStats();
+    assertEquals(1, stats.getHits());
+    assertEquals(1, stats.getMisses());
+    assertEquals(1, stats.getPuts());
+    assertEquals(0.5, stats.getHitRate());
+  }
+
+  @Test
+  public void testFileTierIsPromoted() throws Exception {
+    final Path directory = Files.createTempDirectory("pipelines");
+    final PipelineCacheTier fileTier = FilePipelineCacheTier.builder()
+        .directory(directory)
+        .build();
+
+    // Simulate a restart by populating only the file tier
+    fileTier.put(KEY.getId(), PIPELINE);
+    final PipelineCache cache = TieredPipelineCache.builder()
+        .tier(MemoryPipelineCacheTier.builder().build())
+        .tier(fileTier)
+        .build();
+
+    assertEquals(Optional.of(PIPELINE), cache.get(KEY));
+    assertEquals(Optional.of(PIPELINE), cache.get(KEY));
+    assertEquals(1L, (long) cache.getStats().getTierHits().get("file"));
+    assertEquals(1L, (long) cache.getStats().getTierHits().get("memory"));
+  }
+
+  @Test
+  public void testKeyIdentity() {
+    final PipelineCacheKey equivalent = KEY.toBuilder()
+        .repo("https://github.com/octopussamples/randomquotes.git")
+        .build();
+    final PipelineCacheKey otherCommit = KEY.toBuilder().commit("def456").build();
+    final PipelineCacheKey otherBackend = KEY.toBuilder().backend("Jenkins").build();
+
+    assertEquals(KEY.getId(), equivalent.getId());
+    assertNotEquals(KEY.getId(), otherCommit.getId());
+    assertNotEquals(KEY.getId(), otherBackend.getId());
+  }
+}
@@ -0,0 +1,116 @@
+package com.octopus.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.http.impl.BoundedHttpResponseCache;
+import io.vavr.control.Try;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class BoundedHttpResponseCacheTest {
+
+  @Test
+  public void testSuccessIsCached() {
+    final HttpResponseCache cache = BoundedHttpResponseCache.builder().build();
+
+    assertEquals("a", cache.get("key", () -> Try.of(() -> "a")).get());
+    assertEquals("a", cache.get("key", () -> Try.of(() -> "b")).get());
+    assertEquals(1, cache.getStats().getHits());
+    assertEquals(1, cache.getStats().getMisses());
+  }
+
+  @Test
+  public void testNotFoundIsCached() {
+    final HttpResponseCache cache = BoundedHttpResponseCache.builder().build();
+    final AtomicInteger calls = new AtomicInteger();
+
+    cache.get("key", () -> {
+      calls.incrementAndGet();
+      return Try.failure(new HttpStatusException(404));
+    });
+    assertTrue(cache.get("key", () -> Try.of(() -> "a")).isFailure());
+    assertEquals(1, calls.get());
+    assertEquals(1, cache.getStats().getNegativeHits());
+  }
+
+  @Test
+  public void testTransientFailuresAreNotCached() {
+    final HttpResponseCache cache = BoundedHttpResponseCache.builder().build();
+
+    assertTrue(cache.get("500", () -> Try.failure(new HttpStatusException(500))).isFailure());
+    assertTrue(cache.get("500", () -> Try.of(() -> "a")).isSuccess());
+    assertTrue(cache.get("403", () -> Try.failure(new HttpStatusException(403))).isFailure());
+    assertTrue(cache.get("403", () -> Try.of(() -> "a")).isSuccess());
+    assertTrue(cache.get("io", () -> Try.failure(new Exception("timeout"))).isFailure());
+    assertTrue(cache.get("io", () -> Try.of(() -> "a")).isSuccess());
+  }
+
+  @Test
+  public void testWeightBound() {
+    final HttpResponseCache cache = BoundedHttpResponseCache.builder().maximumWeight(100).build();
+
+    for (int i = 0; i < 100; ++i) {
+      final String value = "value" + i;
+      cache.get("key" + i, () -> Try.of(() -> value));
+    }
+
+    assertTrue(cache.getStats().getSize() < 100);
+    assertTrue(cache.getStats().getEvictions() > 0);
+  }
+
+  @Test
+  public void testValidators() {
+    final HttpResponseCache cache = BoundedHttpResponseCache.builder().build();
+
+    assertTrue(cache.getValidators("key").isEmpty());
+    cache.putValidators("key", new ValidatedResponse("body", "\"etag\"", null));
+    assertEquals("body", cache.getValidators("key").get().getBody());
+    assertEquals("\"etag\"", cache.getValidators("key").get().getEtag());
+
+    cache.recordRevalidation(true);
+    cache.recordRevalidation(true);
+    cache.recordRevalidation(false);
+    assertEquals(2, cache.getStats().getNotModified());
+    assertEquals(1, cache.getStats().getModified());
+  }
+
+  @Test
+  public void testConcurrentMissesAreCoalesced() throws Exception {
+    final HttpResponseCache cache = BoundedHttpResponseCache.builder().build();
+    final AtomicInteger calls = new AtomicInteger();
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    try {
+      final List<Future<Try<String>>> results = new ArrayList<>();
+      for (int i = 0; i < 4; ++i) {
+        results.add(executor.submit(() -> cache.get("key", () -> {
+          calls.incrementAndGet();
+          Try.run(release::await);
+          return Try.of(() -> "a");
+        })));
+      }
+
+      while (cache.getStats().getMisses() + cache.getStats().getCoalesced() < 4) {
+        Thread.sleep(10);
+      }
+      release.countDown();
+
+      for (final Future<Try<String>> result : results) {
+        assertEquals("a", result.get().get());
+      }
+      assertEquals(1, calls.get());
+      assertEquals(1, cache.getStats().getMisses());
+      assertEquals(3, cache.getStats().getCoalesced());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.octopus.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.http.impl.PoolingHttpClientPool;
+import com.octopus.http.impl.ReadOnlyHttpClientImpl;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+
+public class PoolingHttpClientPoolTest {
+
+  @Test
+  public void testDefaults() {
+    try (final HttpClientPool pool = PoolingHttpClientPool.builder().build()) {
+      final HttpClientPoolStats stats = pool.getStats();
+      assertEquals(50, stats.getMax());
+      assertEquals(0, stats.getLeased());
+      assertEquals(0, stats.getHandshakes());
+    }
+  }
+
+  @Test
+  public void testConnectionReuse() throws IOException {
+    // Each connection to the server is identified by the port the client connected from
+    final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    final HttpServer server = HttpServer.create(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/", exchange -> {
+      clientPorts.add(exchange.getRemoteAddress().getPort());
+      final byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (final OutputStream output = exchange.getResponseBody()) {
+        output.write(body);
+      }
+    });
+    server.start();
+
+    try (final HttpClientPool pool = PoolingHttpClientPool.builder().maxTotal(5).build()) {
+      final String url = "http://" + server.getAddress().getHostString() + ":"
+          + server.getAddress().getPort() + "/";
+      final ReadOnlyHttpClient readOnlyHttpClient = new ReadOnlyHttpClientImpl(pool);
+      assertTrue(readOnlyHttpClient.get(url + "?pooltest=1").isSuccess());
+      assertTrue(readOnlyHttpClient.get(url + "?pooltest=2").isSuccess());
+
+      final HttpClientPoolStats stats = pool.getStats();
+      assertEquals(5, stats.getMax());
+      assertEquals(0, stats.getLeased());
+      // The second request reuses the connection opened by the first
+      assertEquals(1, clientPorts.size());
+      assertEquals(1, stats.getAvailable());
+    } finally {
+      server.stop(0);
+    }
+  }
+}
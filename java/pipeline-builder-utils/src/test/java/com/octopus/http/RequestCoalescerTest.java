@@ -0,0 +1,114 @@
+package com.octopus.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.http.impl.RequestCoalescer;
+import io.vavr.control.Try;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class RequestCoalescerTest {
+
+  @Test
+  public void testConcurrentRequestsAreCoalesced() throws Exception {
+    final RequestCoalescer coalescer = new RequestCoalescer();
+    final AtomicInteger calls = new AtomicInteger();
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    try {
+      final List<Future<Try<String>>> results = new ArrayList<>();
+      for (int i = 0; i < 8; ++i) {
+        results.add(executor.submit(() -> coalescer.execute("key", () -> {
+          calls.incrementAndGet();
+          Try.run(release::await);
+          return Try.of(() -> "a");
+        })));
+      }
+
+      // Wait for every caller to either start the request or join it
+      while (coalescer.getOriginated() + coalescer.getCoalesced() < 8) {
+        Thread.sleep(10);
+      }
+      release.countDown();
+
+      for (final Future<Try<String>> result : results) {
+        assertEquals("a", result.get().get());
+      }
+      assertEquals(1, calls.get());
+      assertEquals(1, coalescer.getOriginated());
+      assertEquals(7, coalescer.getCoalesced());
+      assertEquals(0, coalescer.getInFlight());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testOtherKeysAreNotBlocked() throws Exception {
+    final RequestCoalescer coalescer = new RequestCoalescer();
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      final Future<Try<String>> slow = executor.submit(() -> coalescer.execute("slow", () -> {
+        Try.run(release::await);
+        return Try.of(() -> "slow");
+      }));
+
+      while (coalescer.getInFlight() == 0) {
+        Thread.sleep(10);
+      }
+      assertEquals("fast", coalescer.execute("fast", () -> Try.of(() -> "fast")).get());
+
+      release.countDown();
+      assertEquals("slow", slow.get().get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testStalledRequestTimesOut() throws Exception {
+    final RequestCoalescer coalescer = new RequestCoalescer(100);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      final Future<Try<String>> stalled = executor.submit(() -> coalescer.execute("key", () -> {
+        Try.run(release::await);
+        return Try.of(() -> "stalled");
+      }));
+
+      while (coalescer.getInFlight() == 0) {
+        Thread.sleep(10);
+      }
+      assertEquals("fresh", coalescer.execute("key", () -> Try.of(() -> "fresh")).get());
+      assertEquals(1, coalescer.getTimeouts());
+
+      release.countDown();
+      assertEquals("stalled", stalled.get(10, TimeUnit.SECONDS).get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testLoaderExceptionIsReturned() {
+    final RequestCoalescer coalescer = new RequestCoalescer();
+
+    final Try<String> result = coalescer.execute("key", () -> {
+      throw new IllegalStateException("failed");
+    });
+    assertTrue(result.isFailure());
+    assertEquals(0, coalescer.getInFlight());
+  }
+}
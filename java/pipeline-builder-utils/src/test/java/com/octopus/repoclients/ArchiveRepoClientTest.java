@@ -0,0 +1,170 @@
+package com.octopus.repoclients;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.http.ReadOnlyHttpClient;
+import com.octopus.repoclients.impl.ArchiveRepoClient;
+import com.octopus.repoclients.impl.GithubRepoClient;
+import com.octopus.repoclients.impl.RepoArchiveCache;
+import io.vavr.CheckedFunction1;
+import io.vavr.control.Try;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.http.Header;
+import org.junit.jupiter.api.Test;
+
+public class ArchiveRepoClientTest {
+
+  private static final String REPO = "https://github.com/OctopusSamples/RandomQuotes";
+  private static final String SHA = "0123456789abcdef0123456789abcdef01234567";
+
+  @Test
+  public void testSmallRepoIsReadFromArchive() throws Exception {
+    final ArchiveHttpClient httpClient = new ArchiveHttpClient(100, RepoArchiveTest.buildZip(Map.of(
+        "pom.xml", "<project/>",
+        "web/package.json", "{}")));
+    final RepoClient client = buildClient(httpClient);
+
+    assertTrue(client.testFile("pom.xml"));
+    assertFalse(client.testFile("build.gradle"));
+    assertEquals("<project/>", client.getFile("pom.xml").get());
+    assertTrue(client.getFile("build.gradle").isFailure());
+    assertEquals(List.of("web/package.json"), client.getWildcardFiles("**/package.json", 10).get());
+    assertTrue(client.wildCardFileExist("**/*.json").get());
+    assertTrue(client.getFileTree().get().contains("web"));
+
+    assertEquals(1, httpClient.archiveRequests.get());
+    assertEquals(0, httpClient.fileRequests.get());
+    assertEquals(0, httpClient.headRequests.get());
+  }
+
+  @Test
+  public void testLargeRepoUsesApi() throws Exception {
+    final ArchiveHttpClient httpClient = new ArchiveHttpClient(100000, RepoArchiveTest.buildZip(
+        Map.of("pom.xml", "<project/>")));
+    final RepoClient client = buildClient(httpClient);
+
+    client.testFile("pom.xml");
+    client.getFile("pom.xml");
+
+    assertEquals(0, httpClient.archiveRequests.get());
+    assertEquals(1, httpClient.headRequests.get());
+    assertEquals(1, httpClient.fileRequests.get());
+  }
+
+  @Test
+  public void testOversizedArchiveUsesApi() throws Exception {
+    final ArchiveHttpClient httpClient = new ArchiveHttpClient(100, RepoArchiveTest.buildZip(
+        Map.of("pom.xml", "<project/>")));
+    final RepoClient client = ArchiveRepoClient.builder()
+        .repoClient(GithubRepoClient.builder().readOnlyHttpClient(httpClient).repo(REPO).build())
+        .maxArchiveBytes(4)
+        .build();
+
+    client.testFile("pom.xml");
+
+    assertEquals(1, httpClient.archiveRequests.get());
+    assertEquals(1, httpClient.headRequests.get());
+  }
+
+  @Test
+  public void testArchiveIsSharedByCommit() throws Exception {
+    final ArchiveHttpClient httpClient = new ArchiveHttpClient(100, RepoArchiveTest.buildZip(
+        Map.of("pom.xml", "<project/>")));
+    final RepoArchiveCache archiveCache = RepoArchiveCache.builder().build();
+
+    for (int i = 0; i < 2; ++i) {
+      final RepoClient client = ArchiveRepoClient.builder()
+          .repoClient(GithubRepoClient.builder().readOnlyHttpClient(httpClient).repo(REPO).build())
+          .maxRepoSizeKilobytes(1000)
+          .archiveCache(archiveCache)
+          .build();
+      assertTrue(client.testFile("pom.xml"));
+    }
+
+    assertEquals(1, httpClient.archiveRequests.get());
+    assertEquals(0, httpClient.headRequests.get());
+  }
+
+  private RepoClient buildClient(final ReadOnlyHttpClient httpClient) {
+    return ArchiveRepoClient.builder()
+        .repoClient(GithubRepoClient.builder().readOnlyHttpClient(httpClient).repo(REPO).build())
+        .maxRepoSizeKilobytes(1000)
+        .build();
+  }
+
+  /**
+   * A HTTP client that returns the repo metadata and archive, and counts the other requests.
+   */
+  private static class ArchiveHttpClient implements ReadOnlyHttpClient {
+
+    final AtomicInteger archiveRequests = new AtomicInteger();
+    final AtomicInteger fileRequests = new AtomicInteger();
+    final AtomicInteger headRequests = new AtomicInteger();
+    private final long size;
+    private final byte[] archive;
+
+    ArchiveHttpClient(final long size, final byte[] archive) {
+      this.size = size;
+      this.archive = archive;
+    }
+
+    @Override
+    public Try<String> get(final String url) {
+      return get(url, null, null, null);
+    }
+
+    @Override
+    public Try<String> get(final String url, final String username, final String password,
+        final String accessToken) {
+      if (url.endsWith("/repos/OctopusSamples/RandomQuotes")) {
+        return Try.of(() -> "{\"default_branch\": \"main\", \"size\": " + size + "}");
+      }
+      if (url.endsWith("/git/ref/heads/main")) {
+        return Try.of(() -> "{\"object\": {\"sha\": \"" + SHA + "\"}}");
+      }
+      fileRequests.incrementAndGet();
+      return Try.failure(new Exception("Not found"));
+    }
+
+    @Override
+    public Try<String> get(final String url, final List<Header> headers) {
+      return get(url);
+    }
+
+    @Override
+    public boolean head(final String url) {
+      headRequests.incrementAndGet();
+      return false;
+    }
+
+    @Override
+    public boolean head(final String url, final String username, final String password,
+        final String accessToken) {
+      return head(url);
+    }
+
+    @Override
+    public boolean head(final String url, final String username, final String password) {
+      return head(url);
+    }
+
+    @Override
+    public boolean head(final String url, final List<Header> headers) {
+      return head(url);
+    }
+
+    @Override
+    public <T> Try<T> getStream(final String url, final String username, final String password,
+        final String accessToken, final CheckedFunction1<InputStream, T> reader) {
+      archiveRequests.incrementAndGet();
+      assertTrue(url.endsWith("/zipball/" + SHA));
+      return Try.of(() -> reader.apply(new ByteArrayInputStream(archive)));
+    }
+  }
+}
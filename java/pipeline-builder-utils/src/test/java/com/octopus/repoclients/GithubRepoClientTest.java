@@ -1,16 +1,21 @@
 package com.octopus.repoclients;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.octopus.exceptions.RateLimitedException;
+import com.octopus.http.HttpStatusException;
 import com.octopus.http.ReadOnlyHttpClient;
 import com.octopus.http.impl.ReadOnlyHttpClientImpl;
 import com.octopus.repoclients.impl.GithubRepoClient;
 import com.octopus.repoclients.impl.GithubRepoDetails;
 import io.vavr.control.Try;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.apache.http.Header;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -74,4 +79,152 @@ public class GithubRepoClientTest {
     assertEquals(username, details.get().getUsername());
     assertEquals(repo, details.get().getRepository());
   }
+
+  @Test
+  public void testDefaultBranchFallback() {
+    assertEquals(List.of("main", "master"), GithubRepoClient.builder()
+        .readOnlyHttpClient(new FailingHttpClient(new HttpStatusException(404)))
+        .repo("https://github.com/OctopusSamples/RandomQuotes")
+        .build()
+        .getDefaultBranches());
+  }
+
+  @Test
+  public void testRateLimitedDefaultBranchFallback() {
+    assertEquals(List.of("main"), GithubRepoClient.builder()
+        .readOnlyHttpClient(new FailingHttpClient(new RateLimitedException("limited")))
+        .repo("https://github.com/OctopusSamples/RandomQuotes")
+        .build()
+        .getDefaultBranches());
+
+    assertEquals(List.of("main"), GithubRepoClient.builder()
+        .readOnlyHttpClient(new FailingHttpClient(new HttpStatusException(403)))
+        .repo("https://github.com/OctopusSamples/RandomQuotes")
+        .build()
+        .getDefaultBranches());
+  }
+
+  @Test
+  public void testDefaultBranchIsResolvedOnce() {
+    final AtomicInteger metadataRequests = new AtomicInteger();
+    final GithubRepoClient client = GithubRepoClient.builder()
+        .readOnlyHttpClient(new FailingHttpClient(new HttpStatusException(404)) {
+          @Override
+          public Try<String> get(final String url, final String username, final String password,
+              final String accessToken) {
+            if (url.equals("https://api.github.com/repos/OctopusSamples/RandomQuotes")) {
+              metadataRequests.incrementAndGet();
+            }
+            return super.get(url, username, password, accessToken);
+          }
+        })
+        .repo("https://github.com/OctopusSamples/RandomQuotes")
+        .build();
+
+    client.getFile("pom.xml");
+    client.getHeadCommit();
+    client.getDefaultBranches();
+
+    assertEquals(1, metadataRequests.get());
+  }
+
+  @Test
+  public void testMissingFilesAreNotDegraded() {
+    final GithubRepoClient client = GithubRepoClient.builder()
+        .readOnlyHttpClient(new FailingHttpClient(new HttpStatusException(404)))
+        .repo("https://github.com/OctopusSamples/RandomQuotes")
+        .build();
+
+    assertFalse(client.testFile("pom.xml"));
+    assertTrue(client.getFile("pom.xml").isFailure());
+    assertFalse(client.isDegraded());
+  }
+
+  @Test
+  public void testFailedProbesAreDegraded() {
+    final GithubRepoClient client = GithubRepoClient.builder()
+        .readOnlyHttpClient(new FailingHttpClient(new HttpStatusException(502)) {
+          @Override
+          public Try<String> get(final String url, final String username, final String password,
+              final String accessToken) {
+            // the repo metadata is available, so the default branch is known
+            if (url.equals("https://api.github.com/repos/OctopusSamples/RandomQuotes")) {
+              return Try.success("{\"default_branch\": \"main\"}");
+            }
+            return super.get(url, username, password, accessToken);
+          }
+        })
+        .repo("https://github.com/OctopusSamples/RandomQuotes")
+        .build();
+
+    assertFalse(client.isDegraded());
+    assertFalse(client.testFile("pom.xml"));
+    assertTrue(client.isDegraded());
+  }
+
+  @Test
+  public void testRateLimitedProbesAreDegraded() {
+    final GithubRepoClient client = GithubRepoClient.builder()
+        .readOnlyHttpClient(new FailingHttpClient(new RateLimitedException("limited")))
+        .repo("https://github.com/OctopusSamples/RandomQuotes")
+        .build();
+
+    assertTrue(client.wildCardFileExist("*.sln").isFailure());
+    assertTrue(client.isDegraded());
+  }
+
+  /**
+   * A HTTP client where every request fails with the same exception.
+   */
+  private static class FailingHttpClient implements ReadOnlyHttpClient {
+
+    private final Exception cause;
+
+    FailingHttpClient(final Exception cause) {
+      this.cause = cause;
+    }
+
+    @Override
+    public Try<String> get(final String url) {
+      return Try.failure(cause);
+    }
+
+    @Override
+    public Try<String> get(final String url, final String username, final String password,
+        final String accessToken) {
+      return Try.failure(cause);
+    }
+
+    @Override
+    public Try<String> get(final String url, final List<Header> headers) {
+      return Try.failure(cause);
+    }
+
+    @Override
+    public boolean head(final String url) {
+      return false;
+    }
+
+    @Override
+    public boolean head(final String url, final String username, final String password,
+        final String accessToken) {
+      return false;
+    }
+
+    @Override
+    public boolean head(final String url, final String username, final String password) {
+      return false;
+    }
+
+    @Override
+    public boolean head(final String url, final List<Header> headers) {
+      return false;
+    }
+
+    @Override
+    public Try<Boolean> exists(final String url, final String username, final String password,
+        final String accessToken) {
+      return Try.failure(cause);
+    }
+  }
 }
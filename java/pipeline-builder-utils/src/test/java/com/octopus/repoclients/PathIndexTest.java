@@ -0,0 +1,91 @@
+package com.octopus.repoclients;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.repoclients.impl.GlobMatcher;
+import com.octopus.repoclients.impl.PathIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.shiro.util.AntPathMatcher;
+import org.junit.jupiter.api.Test;
+
+public class PathIndexTest {
+
+  private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+  private static final List<String> PATTERNS = List.of(
+      "**/*.csproj",
+      "*.sln",
+      "**/*.sln",
+      "pom.xml",
+      "**/pom.xml",
+      "**/package.json",
+      "src/**/*.java",
+      "src/main/**",
+      "**/test/*Test.php",
+      "*.tar.gz",
+      "**/*.tar.gz",
+      "project?/*.csproj",
+      "**/project1/**/*.cs",
+      "**");
+
+  @Test
+  public void testParseGitTree() throws Exception {
+    final PathIndex index = PathIndex.parseGitTree("{\"sha\":\"abc\",\"url\":\"https://x\","
+        + "\"tree\":[{\"path\":\"pom.xml\",\"mode\":\"100644\",\"type\":\"blob\",\"size\":10},"
+        + "{\"path\":\"src\",\"type\":\"tree\",\"extra\":{\"nested\":[1,2]}},"
+        + "{\"path\":\"src/App.java\",\"type\":\"blob\"}],\"truncated\":true}");
+
+    assertEquals(List.of("pom.xml", "src", "src/App.java"), index.getPaths());
+    assertTrue(index.isTruncated());
+    assertTrue(index.contains("src/App.java"));
+    assertFalse(index.contains("App.java"));
+  }
+
+  @Test
+  public void testMatchesAntPathMatcher() {
+    final List<String> paths = buildTree(50000);
+    final PathIndex index = new PathIndex(paths);
+
+    for (final String pattern : PATTERNS) {
+      final List<String> expected = paths.stream()
+          .filter(p -> ANT_PATH_MATCHER.matches(pattern, p))
+          .collect(Collectors.toList());
+      assertEquals(expected, index.match(pattern, Integer.MAX_VALUE), pattern);
+      assertEquals(expected.stream().limit(2).collect(Collectors.toList()),
+          index.match(pattern, 2), pattern);
+      assertEquals(!expected.isEmpty(), index.anyMatch(pattern), pattern);
+
+      final GlobMatcher matcher = GlobMatcher.compile(pattern);
+      for (final String path : paths.subList(0, 1000)) {
+        assertEquals(ANT_PATH_MATCHER.matches(pattern, path), matcher.matches(path),
+            pattern + " " + path);
+      }
+    }
+  }
+
+  @Test
+  public void testCompiledPatternsAreReused() {
+    assertTrue(GlobMatcher.compile("**/*.csproj") == GlobMatcher.compile("**/*.csproj"));
+  }
+
+  /**
+   * Builds a tree that looks like a large monorepo, with a mix of directories, extensions and
+   * well known file names.
+   */
+  private static List<String> buildTree(final int size) {
+    final List<String> names = List.of("pom.xml", "package.json", "App.java", "Program.cs",
+        "project.csproj", "solution.sln", "archive.tar.gz", "README", "FooTest.php", ".csproj");
+    final List<String> paths = new ArrayList<>(List.of("pom.xml", "root.sln", "dist.tar.gz"));
+    for (int i = 0; paths.size() < size; ++i) {
+      final String dir = (i % 3 == 0 ? "src/main/" : i % 3 == 1 ? "test/" : "lib/")
+          + "project" + (i % 13) + "/module" + (i % 7);
+      paths.add(dir);
+      paths.add(dir + "/" + names.get(i % names.size()));
+      paths.add(dir + "/test/" + names.get((i + 3) % names.size()));
+    }
+    return paths;
+  }
+}
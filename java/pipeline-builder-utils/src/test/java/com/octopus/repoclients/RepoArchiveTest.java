@@ -0,0 +1,92 @@
+package com.octopus.repoclients;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.repoclients.impl.RepoArchive;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+
+public class RepoArchiveTest {
+
+  private static final Map<String, String> FILES = Map.of(
+      "pom.xml", "<project/>",
+      "src/main/App.java", "class App {}",
+      "web/package.json", "{\"name\": \"web\"}");
+
+  @Test
+  public void testArchiveInMemory() throws IOException {
+    final RepoArchive archive = RepoArchive.readZip(
+        new ByteArrayInputStream(buildZip(FILES)), 1024 * 1024, 1024 * 1024);
+
+    assertFalse(archive.isMapped());
+    verifyArchive(archive);
+  }
+
+  @Test
+  public void testArchiveSpilledToFile() throws IOException {
+    final RepoArchive archive = RepoArchive.readZip(
+        new ByteArrayInputStream(buildZip(FILES)), 1024 * 1024, 16);
+
+    assertTrue(archive.isMapped());
+    verifyArchive(archive);
+  }
+
+  @Test
+  public void testArchiveLargerThanCap() {
+    assertThrows(IOException.class, () -> RepoArchive.readZip(
+        new ByteArrayInputStream(buildZip(FILES)), 32, 1024));
+  }
+
+  @Test
+  public void testStreamIsNotClosed() throws IOException {
+    final boolean[] closed = {false};
+    final ByteArrayInputStream stream = new ByteArrayInputStream(buildZip(FILES)) {
+      @Override
+      public void close() {
+        closed[0] = true;
+      }
+    };
+
+    RepoArchive.readZip(stream, 1024 * 1024, 1024 * 1024);
+    assertFalse(closed[0]);
+  }
+
+  private void verifyArchive(final RepoArchive archive) {
+    assertEquals("<project/>", archive.getFile("pom.xml").get());
+    assertEquals("class App {}", archive.getFile("src/main/App.java").get());
+    assertTrue(archive.getFile("src").isFailure());
+    assertTrue(archive.getFile("build.gradle").isFailure());
+    assertTrue(archive.getIndex().contains("src/main"));
+    assertEquals(List.of("web/package.json"), archive.getIndex().match("**/package.json", 10));
+    assertEquals(FILES.values().stream().mapToInt(String::length).sum(), archive.getSize());
+  }
+
+  /**
+   * Builds a zip in the format returned by GitHub, where everything is in a directory named after
+   * the repo and commit.
+   */
+  static byte[] buildZip(final Map<String, String> files) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (ZipOutputStream zip = new ZipOutputStream(output)) {
+      zip.putNextEntry(new ZipEntry("owner-repo-abc123/"));
+      zip.putNextEntry(new ZipEntry("owner-repo-abc123/src/"));
+      zip.putNextEntry(new ZipEntry("owner-repo-abc123/src/main/"));
+      zip.putNextEntry(new ZipEntry("owner-repo-abc123/web/"));
+      for (final Map.Entry<String, String> file : files.entrySet()) {
+        zip.putNextEntry(new ZipEntry("owner-repo-abc123/" + file.getKey()));
+        zip.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    return output.toByteArray();
+  }
+}
@@ -0,0 +1,94 @@
+package com.octopus.repoclients;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.repoclients.impl.SnapshotRepoClient;
+import com.octopus.test.repoclients.TestRepoClient;
+import io.vavr.control.Try;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class SnapshotRepoClientTest {
+
+  @Test
+  public void testProbesUseSingleTree() {
+    final CountingRepoClient client = new CountingRepoClient(Try.of(() -> List.of(
+        "pom.xml",
+        "mvnw",
+        "src",
+        "src/main/App.java",
+        "web/package.json")));
+    final RepoClient snapshot = new SnapshotRepoClient(client);
+
+    assertTrue(snapshot.testFile("pom.xml"));
+    assertTrue(snapshot.testFile("mvnw"));
+    assertFalse(snapshot.testFile("gradlew"));
+    assertEquals(List.of("web/package.json"),
+        snapshot.getWildcardFiles("**/package.json", 10).get());
+    assertTrue(snapshot.wildCardFileExist("**/*.java").get());
+    assertFalse(snapshot.wildCardFileExist("*.sln").get());
+    assertTrue(snapshot.getFile("build.gradle").isFailure());
+    assertTrue(snapshot.getFile("pom.xml").isSuccess());
+    assertEquals(List.of("master"), snapshot.getDefaultBranches());
+    assertEquals(List.of("master"), snapshot.getDefaultBranches());
+
+    assertEquals(1, client.treeRequests.get());
+    assertEquals(1, client.branchRequests.get());
+    assertEquals(0, client.testFileRequests.get());
+    assertEquals(1, client.getFileRequests.get());
+  }
+
+  @Test
+  public void testFallbackWhenTreeUnavailable() {
+    final CountingRepoClient client =
+        new CountingRepoClient(Try.failure(new Exception("truncated")));
+    final RepoClient snapshot = new SnapshotRepoClient(client);
+
+    assertTrue(snapshot.testFile("pom.xml"));
+    assertTrue(snapshot.getFile("pom.xml").isSuccess());
+    assertEquals(1, client.treeRequests.get());
+    assertEquals(1, client.testFileRequests.get());
+    assertEquals(1, client.getFileRequests.get());
+  }
+
+  private static class CountingRepoClient extends TestRepoClient {
+
+    final AtomicInteger treeRequests = new AtomicInteger();
+    final AtomicInteger branchRequests = new AtomicInteger();
+    final AtomicInteger testFileRequests = new AtomicInteger();
+    final AtomicInteger getFileRequests = new AtomicInteger();
+    private final Try<List<String>> tree;
+
+    CountingRepoClient(final Try<List<String>> tree) {
+      super("https://github.com/OctopusSamples/RandomQuotes-Java", false);
+      this.tree = tree;
+    }
+
+    @Override
+    public Try<List<String>> getFileTree() {
+      treeRequests.incrementAndGet();
+      return tree;
+    }
+
+    @Override
+    public List<String> getDefaultBranches() {
+      branchRequests.incrementAndGet();
+      return super.getDefaultBranches();
+    }
+
+    @Override
+    public boolean testFile(final String path) {
+      testFileRequests.incrementAndGet();
+      return true;
+    }
+
+    @Override
+    public Try<String> getFile(final String path) {
+      getFileRequests.incrementAndGet();
+      return Try.of(() -> "");
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.octopus.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.octopus.tasks.impl.BoundedBackgroundTaskQueue;
+import com.octopus.tasks.impl.SynchronousBackgroundTaskQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class BoundedBackgroundTaskQueueTest {
+
+  @Test
+  public void testQueuedTasksAreFlushedOnClose() {
+    final AtomicInteger runs = new AtomicInteger();
+    final BackgroundTaskQueue queue = BoundedBackgroundTaskQueue.builder()
+        .threads(1)
+        .queueSize(100)
+        .build();
+
+    for (int i = 0; i < 50; ++i) {
+      assertTrue(queue.submit("test", () -> {
+        sleep(1);
+        runs.incrementAndGet();
+      }));
+    }
+    queue.close();
+
+    assertEquals(50, runs.get());
+    assertEquals(50, queue.getStats().getCompleted());
+    assertEquals(0, queue.getStats().getDropped());
+  }
+
+  @Test
+  public void testFullQueueDropsTasks() throws InterruptedException {
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    try (BackgroundTaskQueue queue = BoundedBackgroundTaskQueue.builder()
+        .threads(1)
+        .queueSize(2)
+        .build()) {
+      queue.submit("blocking", () -> {
+        blocked.countDown();
+        await(release);
+      });
+      assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+      assertTrue(queue.submit("queued", () -> {}));
+      assertTrue(queue.submit("queued", () -> {}));
+      assertFalse(queue.submit("dropped", () -> {}));
+
+      final BackgroundTaskStats stats = queue.getStats();
+      assertEquals(4, stats.getSubmitted());
+      assertEquals(1, stats.getDropped());
+      assertEquals(2, stats.getQueued());
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void testClosedQueueDropsTasks() {
+    final BackgroundTaskQueue queue = BoundedBackgroundTaskQueue.builder().build();
+    queue.close();
+
+    assertFalse(queue.submit("dropped", () -> {}));
+    assertEquals(1, queue.getStats().getDropped());
+  }
+
+  @Test
+  public void testFailedTasksAreCounted() {
+    final BackgroundTaskQueue queue = BoundedBackgroundTaskQueue.builder().build();
+    queue.submit("failing", () -> {
+      throw new IllegalStateException("failed");
+    });
+    queue.submit("working", () -> {});
+    queue.close();
+
+    assertEquals(1, queue.getStats().getFailed());
+    assertEquals(1, queue.getStats().getCompleted());
+  }
+
+  @Test
+  public void testSynchronousQueueRunsOnCallingThread() {
+    final Thread caller = Thread.currentThread();
+    final AtomicInteger runs = new AtomicInteger();
+    try (BackgroundTaskQueue queue = new SynchronousBackgroundTaskQueue()) {
+      assertTrue(queue.submit("test", () -> {
+        assertEquals(caller, Thread.currentThread());
+        runs.incrementAndGet();
+      }));
+      queue.submit("failing", () -> {
+        throw new IllegalStateException("failed");
+      });
+
+      assertEquals(1, runs.get());
+      assertEquals(1, queue.getStats().getFailed());
+    }
+  }
+
+  private static void sleep(final long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}